@@ -0,0 +1,101 @@
+package bsbll.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import bsbll.bases.Advance;
+import bsbll.bases.Base;
+
+/**
+ * The layout of the files of a box score archive.
+ * <p>
+ * An archive is a directory with three kinds of files, all of which start with the
+ * {@link #MAGIC} number and the {@link #VERSION} of the format, as two ints:
+ * <ul>
+ * <li>The dictionary, {@value #DICTIONARY_FILE}, which interns the teams and players of
+ * the games. Each entry is a kind byte ({@link #TEAM} or {@link #PLAYER}) followed by the
+ * team ID, or the player ID, first name and last name, as strings. The position of an
+ * entry in the dictionary is its ID in the games.</li>
+ * <li>The segments, {@code segment-00000.dat} and so on, which hold the games. A game
+ * record starts with its length, a flags byte, and the offsets of its
+ * {@link #NUMBER_OF_SECTIONS} sections relative to the start of the record, all ints.
+ * The sections can therefore be decoded independently of each other.</li>
+ * <li>The index, {@value #INDEX_FILE}, which gives the segment and the offset of every
+ * game, as two ints. The ID of a game is its position in the index.</li>
+ * </ul>
+ * All other numbers are written as unsigned variable-length ints, seven bits at a time,
+ * least significant bits first, and strings as their length followed by their UTF-8
+ * bytes. Enums are written by ordinal, which means that reordering the constants of the
+ * primitive stats, event types, bases, or decisions requires a new version of the
+ * format.
+ */
+final class ArchiveFormat {
+    /**
+     * "BSBA", for baseball archive.
+     */
+    static final int MAGIC = 0x42534241;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    static final String DICTIONARY_FILE = "dictionary.dat";
+    static final String INDEX_FILE = "index.dat";
+    static final int INDEX_ENTRY_SIZE = 8;
+
+    static final byte TEAM = 1;
+    static final byte PLAYER = 2;
+
+    static final int LINE_SCORE = 0;
+    static final int LINEUPS = 1;
+    static final int DECISIONS = 2;
+    static final int STATS = 3;
+    static final int PLAYS = 4;
+    static final int NUMBER_OF_SECTIONS = 5;
+    /**
+     * The record length, the flags, and the section offsets.
+     */
+    static final int RECORD_HEADER_SIZE = 4 + 1 + 4 * NUMBER_OF_SECTIONS;
+
+    /**
+     * The flag that is set for records that include the plays of the game.
+     */
+    static final byte WITH_PLAYS = 1;
+
+    private static final int NUMBER_OF_BASES = Base.values().length;
+    private static final int NUMBER_OF_OUTCOMES = Advance.Outcome.values().length;
+
+    private ArchiveFormat() {/**/}
+
+    static String segmentFileName(int segment) {
+        return String.format("segment-%05d.dat", segment);
+    }
+
+    static void writeHeader(RecordOutput out) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    static void checkHeader(ByteBuffer buffer, String fileName) throws IOException {
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a box score archive file: " + fileName);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported archive version in %s: %d (expected %d)",
+                    fileName, version, VERSION));
+        }
+    }
+
+    /**
+     * Encodes an advance in a single byte.
+     */
+    static int encode(Advance advance) {
+        return (advance.from().ordinal() * NUMBER_OF_BASES + advance.to().ordinal()) * NUMBER_OF_OUTCOMES
+                + advance.outcome().ordinal();
+    }
+
+    static Advance decodeAdvance(int code) {
+        Advance.Outcome outcome = Advance.Outcome.values()[code % NUMBER_OF_OUTCOMES];
+        int bases = code / NUMBER_OF_OUTCOMES;
+        return new Advance(Base.values()[bases / NUMBER_OF_BASES], Base.values()[bases % NUMBER_OF_BASES], outcome);
+    }
+}
@@ -0,0 +1,215 @@
+package bsbll.archive;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.bases.Advance;
+import bsbll.bases.Advances;
+import bsbll.game.Decision;
+import bsbll.game.HalfInning;
+import bsbll.game.LineScore;
+import bsbll.game.PitcherOfRecord;
+import bsbll.game.play.EventType;
+import bsbll.game.play.Play;
+import bsbll.game.play.PlayOutcome;
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.stats.WinLossRecord;
+import bsbll.team.BattingOrder;
+import bsbll.team.Lineup;
+
+/**
+ * A game in a box score archive. Every section of the game is decoded from the archive
+ * when it is asked for, and nothing is cached, so hold on to the values that are needed
+ * more than once.
+ */
+@ThreadSafe
+public final class ArchivedGame {
+    private static final PrimitiveBattingStat[] BATTING_STATS = PrimitiveBattingStat.values();
+    private static final PrimitivePitchingStat[] PITCHING_STATS = PrimitivePitchingStat.values();
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    private final BoxScoreArchiveReader archive;
+    private final long gameId;
+    private final ByteBuffer segment;
+    private final int start;
+
+    ArchivedGame(BoxScoreArchiveReader archive, long gameId, ByteBuffer segment, int start) {
+        this.archive = archive;
+        this.gameId = gameId;
+        this.segment = segment;
+        this.start = start;
+    }
+
+    public long getGameId() {
+        return gameId;
+    }
+
+    private RecordInput section(int section) {
+        return new RecordInput(segment, start + segment.getInt(start + 5 + 4 * section));
+    }
+
+    public LineScore getLineScore() {
+        RecordInput in = section(ArchiveFormat.LINE_SCORE);
+        int homeTeam = in.readVarInt();
+        int visitingTeam = in.readVarInt();
+        LineScore.Line homeLine = new LineScore.Line(archive.getTeam(homeTeam), readInnings(in));
+        LineScore.Line visitingLine = new LineScore.Line(archive.getTeam(visitingTeam), readInnings(in));
+        return new LineScore(homeLine, visitingLine);
+    }
+
+    private static List<HalfInning.Stats> readInnings(RecordInput in) {
+        int count = in.readVarInt();
+        List<HalfInning.Stats> innings = new ArrayList<>(count);
+        for (int n = 0; n < count; ++n) {
+            innings.add(new HalfInning.Stats(in.readVarInt(), in.readVarInt(), in.readVarInt(), in.readVarInt(),
+                    in.readVarInt()));
+        }
+        return innings;
+    }
+
+    public Lineup getHomeLineup() {
+        return readLineup(section(ArchiveFormat.LINEUPS));
+    }
+
+    public Lineup getVisitingLineup() {
+        RecordInput in = section(ArchiveFormat.LINEUPS);
+        readLineup(in);
+        return readLineup(in);
+    }
+
+    private Lineup readLineup(RecordInput in) {
+        Player pitcher = archive.getPlayer(in.readVarInt());
+        int count = in.readVarInt();
+        List<Player> batters = new ArrayList<>(count);
+        for (int n = 0; n < count; ++n) {
+            batters.add(archive.getPlayer(in.readVarInt()));
+        }
+        return new Lineup(BattingOrder.of(batters), pitcher);
+    }
+
+    /**
+     * Returns the winning pitcher, or an empty Optional if the game was tied.
+     */
+    public Optional<PitcherOfRecord> getWinningPitcher() {
+        RecordInput in = section(ArchiveFormat.DECISIONS);
+        return (in.readByte() == 0)
+                ? Optional.empty()
+                : Optional.of(readPitcherOfRecord(in, Decision.WIN));
+    }
+
+    /**
+     * Returns the losing pitcher, or an empty Optional if the game was tied.
+     */
+    public Optional<PitcherOfRecord> getLosingPitcher() {
+        RecordInput in = section(ArchiveFormat.DECISIONS);
+        if (in.readByte() == 0) {
+            return Optional.empty();
+        }
+        readPitcherOfRecord(in, Decision.WIN);
+        return Optional.of(readPitcherOfRecord(in, Decision.LOSS));
+    }
+
+    private PitcherOfRecord readPitcherOfRecord(RecordInput in, Decision decision) {
+        Player pitcher = archive.getPlayer(in.readVarInt());
+        WinLossRecord record = new WinLossRecord(in.readVarInt(), in.readVarInt());
+        return new PitcherOfRecord(pitcher, decision, record);
+    }
+
+    /**
+     * Returns the batting lines of the players who batted in the game.
+     */
+    public ImmutableMap<PlayerId, BattingStatLine> getBattingLines() {
+        RecordInput in = section(ArchiveFormat.STATS);
+        ImmutableMap.Builder<PlayerId, BattingStatLine> lines = ImmutableMap.builder();
+        int count = in.readVarInt();
+        for (int n = 0; n < count; ++n) {
+            Player player = archive.getPlayer(in.readVarInt());
+            Map<PrimitiveBattingStat, Integer> values = new EnumMap<>(PrimitiveBattingStat.class);
+            int stats = in.readVarInt();
+            for (int s = 0; s < stats; ++s) {
+                values.put(BATTING_STATS[in.readByte()], in.readVarInt());
+            }
+            lines.put(player.getId(), new BattingStatLine(values));
+        }
+        return lines.build();
+    }
+
+    /**
+     * Returns the pitching lines of the players who pitched in the game.
+     */
+    public ImmutableMap<PlayerId, PitchingStatLine> getPitchingLines() {
+        RecordInput in = section(ArchiveFormat.STATS);
+        int battingLines = in.readVarInt();
+        for (int n = 0; n < battingLines; ++n) {
+            in.readVarInt();
+            int stats = in.readVarInt();
+            for (int s = 0; s < stats; ++s) {
+                in.readByte();
+                in.readVarInt();
+            }
+        }
+        ImmutableMap.Builder<PlayerId, PitchingStatLine> lines = ImmutableMap.builder();
+        int count = in.readVarInt();
+        for (int n = 0; n < count; ++n) {
+            Player player = archive.getPlayer(in.readVarInt());
+            Map<PrimitivePitchingStat, Integer> values = new EnumMap<>(PrimitivePitchingStat.class);
+            int stats = in.readVarInt();
+            for (int s = 0; s < stats; ++s) {
+                values.put(PITCHING_STATS[in.readByte()], in.readVarInt());
+            }
+            lines.put(player.getId(), new PitchingStatLine(values));
+        }
+        return lines.build();
+    }
+
+    /**
+     * Checks if the plays of the game were stored in the archive.
+     */
+    public boolean hasPlays() {
+        return (segment.get(start + 4) & ArchiveFormat.WITH_PLAYS) != 0;
+    }
+
+    /**
+     * Returns the plays of the game, or an empty list if the plays were not stored.
+     */
+    public ImmutableList<Play> getPlays() {
+        if (!hasPlays()) {
+            return ImmutableList.of();
+        }
+        RecordInput in = section(ArchiveFormat.PLAYS);
+        int count = in.readVarInt();
+        ImmutableList.Builder<Play> plays = ImmutableList.builder();
+        for (int n = 0; n < count; ++n) {
+            Player batter = archive.getPlayer(in.readVarInt());
+            Player pitcher = archive.getPlayer(in.readVarInt());
+            EventType type = EVENT_TYPES[in.readByte()];
+            int errors = in.readVarInt();
+            int numberOfAdvances = in.readVarInt();
+            List<Advance> advances = new ArrayList<>(numberOfAdvances);
+            for (int a = 0; a < numberOfAdvances; ++a) {
+                advances.add(ArchiveFormat.decodeAdvance(in.readByte()));
+            }
+            plays.add(new Play(batter, pitcher, new PlayOutcome(type, new Advances(advances), errors)));
+        }
+        return plays.build();
+    }
+
+    @Override
+    public String toString() {
+        return "Game " + gameId;
+    }
+}
@@ -0,0 +1,198 @@
+package bsbll.archive;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.game.LineScore;
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.player.PlayerName;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import tzeth.collections.ImCollectors;
+
+/**
+ * Reads the games of an archive written by a {@link BoxScoreArchiveWriter}.
+ * <p>
+ * The index and the segments are memory-mapped when the archive is opened, and a game is
+ * located in constant time from its ID. Nothing but the dictionary is decoded up front:
+ * the sections of a game are decoded on demand by the {@link ArchivedGame}, so that for
+ * instance the game log only decodes the line scores.
+ * <p>
+ * A reader sees the games that had been flushed to the archive when it was opened.
+ */
+@ThreadSafe
+public final class BoxScoreArchiveReader {
+    private final ImmutableList<ByteBuffer> segments;
+    private final ByteBuffer index;
+    private final int numberOfGames;
+    /**
+     * The teams and players of the dictionary, by their position in it.
+     */
+    private final Team[] teams;
+    private final Player[] players;
+
+    private BoxScoreArchiveReader(ImmutableList<ByteBuffer> segments, ByteBuffer index, Team[] teams,
+            Player[] players) {
+        this.segments = segments;
+        this.index = index;
+        this.teams = teams;
+        this.players = players;
+        this.numberOfGames = countCompleteGames();
+    }
+
+    /**
+     * Opens the archive in the given directory.
+     *
+     * @param teams
+     *            the teams of the games in the archive
+     * @throws IOException
+     *             if the archive cannot be read, or was written in a version of the
+     *             format that is not supported
+     * @throws IllegalArgumentException
+     *             if the archive includes a team that is not among the given teams
+     */
+    public static BoxScoreArchiveReader open(Path directory, Collection<Team> teams) throws IOException {
+        ImmutableMap<TeamId, Team> teamsById = teams.stream()
+                .distinct()
+                .collect(ImCollectors.toMap(Team::getId, t -> t));
+        List<Team> dictionaryTeams = new ArrayList<>();
+        List<Player> dictionaryPlayers = new ArrayList<>();
+        readDictionary(directory.resolve(ArchiveFormat.DICTIONARY_FILE), teamsById, dictionaryTeams,
+                dictionaryPlayers);
+        ImmutableList.Builder<ByteBuffer> segments = ImmutableList.builder();
+        for (int n = 0; Files.exists(directory.resolve(ArchiveFormat.segmentFileName(n))); ++n) {
+            segments.add(map(directory.resolve(ArchiveFormat.segmentFileName(n))));
+        }
+        return new BoxScoreArchiveReader(segments.build(), map(directory.resolve(ArchiveFormat.INDEX_FILE)),
+                dictionaryTeams.toArray(new Team[0]), dictionaryPlayers.toArray(new Player[0]));
+    }
+
+    private static void readDictionary(Path file, ImmutableMap<TeamId, Team> teamsById, List<Team> teams,
+            List<Player> players) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        ArchiveFormat.checkHeader(buffer, file.getFileName().toString());
+        RecordInput in = new RecordInput(buffer, ArchiveFormat.HEADER_SIZE);
+        while (in.hasRemaining()) {
+            int kind = in.readByte();
+            if (kind == ArchiveFormat.TEAM) {
+                String id = in.readString();
+                Team team = teamsById.get(TeamId.of(id));
+                checkArgument(team != null, "The archive includes an unknown team: %s", id);
+                teams.add(team);
+                players.add(null);
+            } else if (kind == ArchiveFormat.PLAYER) {
+                PlayerId id = PlayerId.of(in.readString());
+                String firstName = in.readString();
+                String lastName = in.readString();
+                teams.add(null);
+                players.add(new Player(id, new PlayerName(firstName, lastName)));
+            } else {
+                throw new IOException("Invalid dictionary entry in " + file.getFileName());
+            }
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ArchiveFormat.checkHeader(buffer, file.getFileName().toString());
+            return buffer;
+        }
+    }
+
+    /**
+     * Returns the number of index entries whose records are complete in the segments.
+     * Only the last entries can be incomplete, if the archive was opened while it was
+     * being written.
+     */
+    private int countCompleteGames() {
+        int games = (index.limit() - ArchiveFormat.HEADER_SIZE) / ArchiveFormat.INDEX_ENTRY_SIZE;
+        while (games > 0 && !isComplete(games - 1)) {
+            --games;
+        }
+        return games;
+    }
+
+    private boolean isComplete(int game) {
+        int position = indexPosition(game);
+        int segment = index.getInt(position);
+        if (segment >= segments.size()) {
+            return false;
+        }
+        ByteBuffer buffer = segments.get(segment);
+        long start = index.getInt(position + 4);
+        return start + ArchiveFormat.RECORD_HEADER_SIZE <= buffer.limit()
+                && start + 4 + buffer.getInt((int) start) <= buffer.limit();
+    }
+
+    private static int indexPosition(int game) {
+        return ArchiveFormat.HEADER_SIZE + game * ArchiveFormat.INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * Returns the number of games in the archive.
+     */
+    public int getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    /**
+     * Returns the game with the given ID.
+     *
+     * @throws IllegalArgumentException
+     *             if there is no game with the given ID in the archive
+     */
+    public ArchivedGame getGame(long gameId) {
+        checkArgument(gameId >= 0 && gameId < numberOfGames, "No such game: %s", gameId);
+        int position = indexPosition((int) gameId);
+        return new ArchivedGame(this, gameId, segments.get(index.getInt(position)),
+                index.getInt(position + 4));
+    }
+
+    /**
+     * Returns the line score of the game with the given ID, without decoding the rest of
+     * the game.
+     */
+    public LineScore getLineScore(long gameId) {
+        return getGame(gameId).getLineScore();
+    }
+
+    /**
+     * Returns the line scores of all the games, in the order they were written.
+     */
+    public ImmutableList<LineScore> getGameLog() {
+        ImmutableList.Builder<LineScore> log = ImmutableList.builder();
+        for (int g = 0; g < numberOfGames; ++g) {
+            log.add(getLineScore(g));
+        }
+        return log.build();
+    }
+
+    Team getTeam(int id) {
+        Team team = (id < teams.length) ? teams[id] : null;
+        checkArgument(team != null, "Not a team in the dictionary: %s", id);
+        return team;
+    }
+
+    Player getPlayer(int id) {
+        Player player = (id < players.length) ? players[id] : null;
+        checkArgument(player != null, "Not a player in the dictionary: %s", id);
+        return player;
+    }
+}
@@ -0,0 +1,433 @@
+package bsbll.archive;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.bases.Advance;
+import bsbll.game.BoxScore;
+import bsbll.game.HalfInning;
+import bsbll.game.LineScore;
+import bsbll.game.PitcherOfRecord;
+import bsbll.game.play.Play;
+import bsbll.league.BoxScoreSink;
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.Lineup;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * Appends box scores to a new archive, in the format described by {@link ArchiveFormat}.
+ * <p>
+ * A box score is stored with its line score, the lineups, the pitchers of record, the
+ * stat lines of the players, and optionally the plays. The teams and players are
+ * interned in the dictionary of the archive, and are referred to by their position in
+ * it. The run scoring details and the game events are not stored.
+ * <p>
+ * The games are written to segment files of a limited size, and each game is given the
+ * next ID in sequence, starting at 0. The writes are buffered: games that have been
+ * appended can be read with a {@link BoxScoreArchiveReader} once the writer has been
+ * flushed or closed. The records and the index entries of the games are held back until
+ * the dictionary entries they refer to have been written, so a reader that is opened
+ * while the archive is being written sees a consistent prefix of the games.
+ */
+@NotThreadSafe
+public final class BoxScoreArchiveWriter implements Closeable {
+    /**
+     * The number of bytes of pending records that are written to the segment in one go.
+     */
+    private static final int PENDING_LIMIT = 1 << 16;
+
+    private final Path directory;
+    private final boolean includePlays;
+    private final long maximumSegmentSize;
+    /**
+     * The dictionary is buffered by the stream, while the index and the segments are
+     * buffered by the writer, in pendingIndexEntries and pendingRecords, and are written
+     * after the dictionary has been flushed.
+     */
+    private final OutputStream dictionary;
+    private final OutputStream index;
+    @Nullable
+    private OutputStream segment;
+    private final ByteArrayOutputStream pendingRecords = new ByteArrayOutputStream(PENDING_LIMIT);
+    private final ByteArrayOutputStream pendingIndexEntries = new ByteArrayOutputStream();
+    private int segmentNumber = -1;
+    private long segmentSize;
+    private long numberOfGames;
+    private final Map<TeamId, Integer> teamIds = new HashMap<>();
+    private final Map<PlayerId, Integer> playerIds = new HashMap<>();
+    private int dictionarySize;
+    /**
+     * Holds the record that is being written. Dictionary entries that are added along the
+     * way go to the entries buffer.
+     */
+    private final RecordOutput record = new RecordOutput();
+    private final RecordOutput entries = new RecordOutput();
+    private final RecordOutput indexEntry = new RecordOutput();
+    private boolean closed;
+
+    private BoxScoreArchiveWriter(Builder builder) throws IOException {
+        this.directory = builder.directory;
+        this.includePlays = builder.includePlays;
+        this.maximumSegmentSize = builder.maximumSegmentSize;
+        Files.createDirectories(directory);
+        this.dictionary = new BufferedOutputStream(create(ArchiveFormat.DICTIONARY_FILE), PENDING_LIMIT);
+        this.index = create(ArchiveFormat.INDEX_FILE);
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    private OutputStream create(String fileName) throws IOException {
+        OutputStream out = Files.newOutputStream(directory.resolve(fileName),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        RecordOutput header = new RecordOutput();
+        ArchiveFormat.writeHeader(header);
+        header.writeTo(out);
+        return out;
+    }
+
+    /**
+     * Returns the number of games that have been appended so far.
+     */
+    public long getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    /**
+     * Appends the given box score to the archive.
+     *
+     * @return the ID of the game in the archive
+     */
+    public long append(BoxScore boxScore) throws IOException {
+        checkState(!closed, "The archive has been closed");
+        record.clear();
+        entries.clear();
+        int dictionarySizeBefore = dictionarySize;
+        try {
+            encode(boxScore);
+        } catch (RuntimeException e) {
+            // Forget the dictionary entries of the game, since they will not be written.
+            teamIds.values().removeIf(id -> id >= dictionarySizeBefore);
+            playerIds.values().removeIf(id -> id >= dictionarySizeBefore);
+            dictionarySize = dictionarySizeBefore;
+            throw e;
+        }
+        if (segment == null || (segmentSize > ArchiveFormat.HEADER_SIZE
+                && segmentSize + record.size() > maximumSegmentSize)) {
+            startNewSegment();
+        }
+        entries.writeTo(dictionary);
+        record.writeTo(pendingRecords);
+        indexEntry.clear();
+        indexEntry.writeInt(segmentNumber);
+        indexEntry.writeInt((int) segmentSize);
+        indexEntry.writeTo(pendingIndexEntries);
+        segmentSize += record.size();
+        if (pendingRecords.size() >= PENDING_LIMIT) {
+            writePending();
+        }
+        return numberOfGames++;
+    }
+
+    /**
+     * Writes the pending records and index entries, after the dictionary entries they
+     * refer to, and the records before the index entries that point to them.
+     */
+    private void writePending() throws IOException {
+        dictionary.flush();
+        if (segment != null) {
+            pendingRecords.writeTo(segment);
+            pendingRecords.reset();
+        }
+        pendingIndexEntries.writeTo(index);
+        pendingIndexEntries.reset();
+    }
+
+    private void startNewSegment() throws IOException {
+        if (segment != null) {
+            writePending();
+            segment.close();
+        }
+        ++segmentNumber;
+        checkState(segmentNumber <= 99_999, "Too many segments");
+        segment = create(ArchiveFormat.segmentFileName(segmentNumber));
+        segmentSize = ArchiveFormat.HEADER_SIZE;
+    }
+
+    private void encode(BoxScore boxScore) {
+        int[] sections = new int[ArchiveFormat.NUMBER_OF_SECTIONS];
+        record.writeInt(0);
+        record.writeByte(includePlays ? ArchiveFormat.WITH_PLAYS : 0);
+        for (int s = 0; s < sections.length; ++s) {
+            record.writeInt(0);
+        }
+        Map<PlayerId, Player> players = new HashMap<>();
+        sections[ArchiveFormat.LINE_SCORE] = record.size();
+        encodeLineScore(boxScore.getLineScore());
+        sections[ArchiveFormat.LINEUPS] = record.size();
+        encodeLineup(boxScore.getHomeLineup(), players);
+        encodeLineup(boxScore.getVisitingLineup(), players);
+        sections[ArchiveFormat.DECISIONS] = record.size();
+        encodeDecisions(boxScore);
+        sections[ArchiveFormat.STATS] = record.size();
+        encodeStats(boxScore, players);
+        sections[ArchiveFormat.PLAYS] = record.size();
+        if (includePlays) {
+            encodePlays(boxScore.getPlays());
+        }
+        record.setInt(0, record.size() - 4);
+        for (int s = 0; s < sections.length; ++s) {
+            record.setInt(5 + 4 * s, sections[s]);
+        }
+    }
+
+    private void encodeLineScore(LineScore lineScore) {
+        record.writeVarInt(intern(lineScore.getHomeTeam()));
+        record.writeVarInt(intern(lineScore.getVisitingTeam()));
+        encodeLine(lineScore.getHomeLine());
+        encodeLine(lineScore.getVisitingLine());
+    }
+
+    private void encodeLine(LineScore.Line line) {
+        ImmutableList<HalfInning.Stats> innings = line.getInnings();
+        record.writeVarInt(innings.size());
+        for (HalfInning.Stats stats : innings) {
+            record.writeVarInt(stats.getRuns());
+            record.writeVarInt(stats.getHits());
+            record.writeVarInt(stats.getErrors());
+            record.writeVarInt(stats.getOuts());
+            record.writeVarInt(stats.getLeftOnBase());
+        }
+    }
+
+    private void encodeLineup(Lineup lineup, Map<PlayerId, Player> players) {
+        record.writeVarInt(intern(lineup.getPitcher()));
+        ImmutableList<Player> batters = lineup.getBattingOrder().getBatters();
+        record.writeVarInt(batters.size());
+        for (Player batter : batters) {
+            record.writeVarInt(intern(batter));
+            players.put(batter.getId(), batter);
+        }
+        players.put(lineup.getPitcher().getId(), lineup.getPitcher());
+    }
+
+    private void encodeDecisions(BoxScore boxScore) {
+        if (!boxScore.getWinningPitcher().isPresent()) {
+            record.writeByte(0);
+            return;
+        }
+        record.writeByte(1);
+        for (PitcherOfRecord p : ImmutableList.of(boxScore.getWinningPitcher().get(), 
+                boxScore.getLosingPitcher().get())) {
+            record.writeVarInt(intern(p.getPitcher()));
+            record.writeVarInt(p.getRecord().getWins());
+            record.writeVarInt(p.getRecord().getLosses());
+        }
+    }
+
+    private void encodeStats(BoxScore boxScore, Map<PlayerId, Player> players) {
+        Map<PlayerId, BattingStatLine> battingLines = new HashMap<>();
+        boxScore.getPlayerStats().gatherBattingStats(battingLines::put);
+        record.writeVarInt(battingLines.size());
+        battingLines.forEach((id, line) -> {
+            record.writeVarInt(intern(id, players));
+            int count = 0;
+            for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                count += (line.get(stat) != 0) ? 1 : 0;
+            }
+            record.writeVarInt(count);
+            for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                int value = line.get(stat);
+                if (value != 0) {
+                    record.writeByte(stat.ordinal());
+                    record.writeVarInt(value);
+                }
+            }
+        });
+        Map<PlayerId, PitchingStatLine> pitchingLines = new HashMap<>();
+        boxScore.getPlayerStats().gatherPitchingStats(pitchingLines::put);
+        record.writeVarInt(pitchingLines.size());
+        pitchingLines.forEach((id, line) -> {
+            record.writeVarInt(intern(id, players));
+            int count = 0;
+            for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                count += (line.get(stat) != 0) ? 1 : 0;
+            }
+            record.writeVarInt(count);
+            for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                int value = line.get(stat);
+                if (value != 0) {
+                    record.writeByte(stat.ordinal());
+                    record.writeVarInt(value);
+                }
+            }
+        });
+    }
+
+    private void encodePlays(ImmutableList<Play> plays) {
+        record.writeVarInt(plays.size());
+        for (Play play : plays) {
+            record.writeVarInt(intern(play.getBatter()));
+            record.writeVarInt(intern(play.getPitcher()));
+            record.writeByte(play.getOutcome().getType().ordinal());
+            record.writeVarInt(play.getNumberOfErrors());
+            record.writeVarInt((int) play.getAdvances().stream().count());
+            for (Advance advance : play.getAdvances()) {
+                record.writeByte(ArchiveFormat.encode(advance));
+            }
+        }
+    }
+
+    private int intern(Team team) {
+        Integer id = teamIds.get(team.getId());
+        if (id == null) {
+            id = dictionarySize++;
+            teamIds.put(team.getId(), id);
+            entries.writeByte(ArchiveFormat.TEAM);
+            entries.writeString(team.getId().toString());
+        }
+        return id;
+    }
+
+    private int intern(Player player) {
+        Integer id = playerIds.get(player.getId());
+        if (id == null) {
+            id = dictionarySize++;
+            playerIds.put(player.getId(), id);
+            entries.writeByte(ArchiveFormat.PLAYER);
+            entries.writeString(player.getId().toString());
+            entries.writeString(player.getName().getFirstName());
+            entries.writeString(player.getName().getLastName());
+        }
+        return id;
+    }
+
+    private int intern(PlayerId playerId, Map<PlayerId, Player> players) {
+        Player player = players.get(playerId);
+        checkArgument(player != null, "The box score has stats for a player that is not in the lineups: %s",
+                playerId);
+        return intern(player);
+    }
+
+    /**
+     * Writes all the games that have been appended so far to the files of the archive.
+     */
+    public void flush() throws IOException {
+        writePending();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            flush();
+            closed = true;
+            dictionary.close();
+            if (segment != null) {
+                segment.close();
+            }
+            index.close();
+        }
+    }
+
+    /**
+     * Returns a sink that appends the box scores to this archive. The game log of the
+     * sink is read back from the archive, which can only contain games between the given
+     * teams. The sink keeps the reader it reads the game log with, and opens a new one
+     * only when games have been appended since.
+     */
+    public BoxScoreSink asSink(Collection<Team> teams) {
+        return new BoxScoreSink() {
+            @Nullable
+            private BoxScoreArchiveReader reader;
+
+            @Override
+            public void add(BoxScore boxScore) {
+                try {
+                    append(boxScore);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public ImmutableList<LineScore> getGameLog() {
+                if (reader == null || reader.getNumberOfGames() < numberOfGames) {
+                    try {
+                        if (!closed) {
+                            flush();
+                        }
+                        reader = BoxScoreArchiveReader.open(directory, teams);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return reader.getGameLog();
+            }
+        };
+    }
+
+
+    public static final class Builder {
+        private final Path directory;
+        private boolean includePlays = true;
+        private long maximumSegmentSize = 64L << 20;
+
+        private Builder(Path directory) {
+            this.directory = requireNonNull(directory);
+        }
+
+        /**
+         * Whether the plays of the games are stored. The plays make up most of the size of
+         * a game, so leave them out if they are not needed. The default is true.
+         */
+        public Builder includePlays(boolean includePlays) {
+            this.includePlays = includePlays;
+            return this;
+        }
+
+        /**
+         * The size in bytes that a segment file may not exceed, unless it only holds a
+         * single game. The default is 64 MB.
+         */
+        public Builder maximumSegmentSize(long bytes) {
+            checkPositive(bytes);
+            checkArgument(bytes <= Integer.MAX_VALUE, "The segments must be smaller than 2 GB");
+            this.maximumSegmentSize = bytes;
+            return this;
+        }
+
+        /**
+         * Creates the archive. The directory is created if it does not exist, but must not
+         * already contain an archive.
+         */
+        public BoxScoreArchiveWriter build() throws IOException {
+            return new BoxScoreArchiveWriter(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package bsbll.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Reads numbers and strings in the format of the archive from a buffer, starting at a
+ * given position. Only the absolute get methods of the buffer are used, so any number of
+ * inputs can read from the same buffer concurrently.
+ */
+@NotThreadSafe
+final class RecordInput {
+    private final ByteBuffer buffer;
+    private int position;
+
+    public RecordInput(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public boolean hasRemaining() {
+        return position < buffer.limit();
+    }
+
+    public int readByte() {
+        return buffer.get(position++) & 0xff;
+    }
+
+    public int readInt() {
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = buffer.get(position++);
+            value |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        byte[] utf8 = new byte[length];
+        for (int n = 0; n < length; ++n) {
+            utf8[n] = buffer.get(position + n);
+        }
+        position += length;
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
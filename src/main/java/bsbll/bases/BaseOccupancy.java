@@ -0,0 +1,176 @@
+package bsbll.bases;
+
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkInRange;
+
+/**
+ * Utility methods for representing the occupied bases as an int bit mask, and for
+ * applying {@link Advances} to such a mask. This is used by the game engines that
+ * keep their state in primitive fields, to avoid allocating a new {@link BaseSituation}
+ * after every play.
+ * <p>
+ * Bit 0 represents first base, bit 1 second base, and bit 2 third base.
+ * <p>
+ * The result of {@link #advance(int, Advances) advancing} the runners is encoded in a
+ * single int as well, and should be decoded using {@link #bases(int)}, {@link #runs(int)},
+ * {@link #outs(int)}, and {@link #isBatterIncluded(int)}.
+ */
+public final class BaseOccupancy {
+    public static final int EMPTY = 0;
+    public static final int LOADED = 7;
+
+    private static final OccupiedBases[] OCCUPIED_BASES = {
+            OccupiedBases.NONE,
+            OccupiedBases.FIRST,
+            OccupiedBases.SECOND,
+            OccupiedBases.FIRST_AND_SECOND,
+            OccupiedBases.THIRD,
+            OccupiedBases.FIRST_AND_THIRD,
+            OccupiedBases.SECOND_AND_THIRD,
+            OccupiedBases.LOADED
+    };
+
+    private static final int RUNS_SHIFT = 3;
+    private static final int OUTS_SHIFT = 6;
+    private static final int BATTER_INCLUDED = 1 << 9;
+
+    private BaseOccupancy() {/**/}
+
+    /**
+     * Returns the bit mask corresponding to the given OccupiedBases.
+     */
+    public static int of(OccupiedBases occupiedBases) {
+        requireNonNull(occupiedBases);
+        int mask = EMPTY;
+        for (Base b : occupiedBases) {
+            mask |= bit(b);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the OccupiedBases corresponding to the given bit mask.
+     */
+    public static OccupiedBases toOccupiedBases(int mask) {
+        return OCCUPIED_BASES[checkInRange(mask, EMPTY, LOADED)];
+    }
+
+    public static boolean isOccupied(int mask, Base base) {
+        return base.isOccupiable() && (mask & bit(base)) != 0;
+    }
+
+    public static int getNumberOfRunners(int mask) {
+        return Integer.bitCount(mask);
+    }
+
+    private static int bit(Base base) {
+        assert base.isOccupiable();
+        return 1 << base.ordinal();
+    }
+
+    /**
+     * Applies the given Advances to the runners on the given bases, following the same
+     * rules as {@link BaseSituation#advanceRunners(BaseRunner, Advances)}.
+     *
+     * @return the encoded result of the advance.
+     * @throws InvalidBaseSitutationException
+     *             if the advances cannot be applied to the given bases
+     */
+    public static int advance(int mask, Advances advances) {
+        checkInRange(mask, EMPTY, LOADED);
+        int newMask = mask;
+        int runs = 0;
+        int outs = 0;
+        // The advances are iterated over in descending order of the originating base,
+        // which guarantees that the lead runner has moved on before anyone else moves
+        // into his base.
+        for (Advance a : advances) {
+            if (a.from().isOccupiable()) {
+                if ((newMask & bit(a.from())) == 0) {
+                    throw new InvalidBaseSitutationException("No runner on base " + a.from());
+                }
+                newMask &= ~bit(a.from());
+            }
+            if (a.isOut()) {
+                ++outs;
+                continue;
+            }
+            if (a.isRun()) {
+                ++runs;
+                continue;
+            }
+            if ((newMask & bit(a.to())) != 0) {
+                throw new InvalidBaseSitutationException("Two runners on base " + a.to());
+            }
+            newMask |= bit(a.to());
+        }
+        int result = newMask | (runs << RUNS_SHIFT) | (outs << OUTS_SHIFT);
+        if (advances.isBatterIncluded()) {
+            result |= BATTER_INCLUDED;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the new bases of an encoded advance result.
+     */
+    public static int bases(int result) {
+        return result & LOADED;
+    }
+
+    /**
+     * Returns the number of runs of an encoded advance result.
+     */
+    public static int runs(int result) {
+        return (result >> RUNS_SHIFT) & 7;
+    }
+
+    /**
+     * Returns the number of runners that were thrown out in an encoded advance result. Note
+     * that this does not include an implicit batter out, as in a plain ground out where the
+     * batter is not included in the advances.
+     */
+    public static int outs(int result) {
+        return (result >> OUTS_SHIFT) & 7;
+    }
+
+    /**
+     * Checks if the batter was included in the Advances of an encoded advance result.
+     */
+    public static boolean isBatterIncluded(int result) {
+        return (result & BATTER_INCLUDED) != 0;
+    }
+
+    /**
+     * Returns the encoded result of the batter being awarded first base, with forced runners
+     * advancing one base.
+     */
+    public static int batterAwardedFirstBase(int mask) {
+        int result;
+        if ((mask & 1) == 0) {
+            result = mask | 1;
+        } else if ((mask & 2) == 0) {
+            result = mask | 3;
+        } else if ((mask & 4) == 0) {
+            result = LOADED;
+        } else {
+            result = LOADED | (1 << RUNS_SHIFT);
+        }
+        return result | BATTER_INCLUDED;
+    }
+
+    /**
+     * Returns the encoded result of all runners, but not the batter, advancing one base.
+     */
+    public static int runnersAdvanceOneBase(int mask) {
+        int runs = (mask >> 2) & 1;
+        return ((mask << 1) & LOADED) | (runs << RUNS_SHIFT);
+    }
+
+    /**
+     * Returns the encoded result of a homerun.
+     */
+    public static int homerun(int mask) {
+        return ((getNumberOfRunners(mask) + 1) << RUNS_SHIFT) | BATTER_INCLUDED;
+    }
+}
@@ -5,6 +5,8 @@ import static java.util.Objects.requireNonNull;
 import static tzeth.preconds.MorePreconditions.checkNotNegative;
 import static tzeth.preconds.MorePreconditions.checkPositive;
 
+import java.util.function.Function;
+
 import javax.annotation.concurrent.Immutable;
 
 import bsbll.stats.BattingStat;
@@ -21,6 +23,15 @@ public final class PlayerCard {
     private final Probability strikeouts;
     private final Probability walks;
     private final Probability hitByPitches;
+    // The derived categories are consulted several times per plate appearance,
+    // so we compute them once and for all up front.
+    private final Probability singles;
+    private final Probability extraBaseHits;
+    private final Probability noContact;
+    private final Probability contact;
+    private final Probability battedOuts;
+    private final Probability[] probabilities;
+    private final int[] unscaledValues;
     
     public PlayerCard(Probability hits,
                       Probability doubles,
@@ -36,7 +47,21 @@ public final class PlayerCard {
         this.strikeouts = requireNonNull(strikeouts);
         this.walks = requireNonNull(walks);
         this.hitByPitches = requireNonNull(hitByPitches);
-        // TODO: Preconditions, or make the ctor private. For example
+        // Computing the derived categories rejects a card whose extra-base hits exceed its
+        // hits, or whose hits exceed its contact, but the error does not say what is wrong.
+        // TODO: Preconditions with proper messages, or make the ctor private.
+        this.singles = hits.subtract(doubles).subtract(triples).subtract(homeruns);
+        this.extraBaseHits = doubles.add(triples).add(homeruns);
+        this.noContact = strikeouts.add(walks).add(hitByPitches);
+        this.contact = Probability.complementOf(noContact);
+        this.battedOuts = contact.subtract(hits);
+        this.probabilities = new Probability[Category.values().length];
+        this.unscaledValues = new int[probabilities.length];
+        for (Category c : Category.values()) {
+            Probability p = c.getFrom(this);
+            this.probabilities[c.ordinal()] = p;
+            this.unscaledValues[c.ordinal()] = p.unscaledValue();
+        }
     }
 
     // TODO: What is a good naming strategy for the getters? I would
@@ -48,7 +73,7 @@ public final class PlayerCard {
     }
     
     public Probability singles() {
-        return hits.subtract(doubles).subtract(triples).subtract(homeruns);
+        return singles;
     }
     
     public Probability doubles() {
@@ -64,7 +89,7 @@ public final class PlayerCard {
     }
     
     public Probability extraBaseHits() {
-        return doubles.add(triples).add(homeruns);
+        return extraBaseHits;
     }
     
     public Probability strikeouts() {
@@ -83,18 +108,34 @@ public final class PlayerCard {
      * The combined probability of hit and batted out.
      */
     public Probability contact() {
-        return Probability.complementOf(noContact());
+        return contact;
     }
     
     /**
      * The combined probability of strikeout, walk, and hit by pitch.
      */
     public Probability noContact() {
-        return strikeouts.add(walks).add(hitByPitches);
+        return noContact;
     }
     
     public Probability battedOuts() {
-        return contact().subtract(hits);
+        return battedOuts;
+    }
+    
+    /**
+     * Returns the probability of the given category.
+     */
+    public Probability probability(Category category) {
+        return probabilities[category.ordinal()];
+    }
+    
+    /**
+     * Returns the {@link Probability#unscaledValue() unscaled value} of the probability of the
+     * given category. This is a primitive, allocation free view of the card, meant for
+     * hot-path callers such as the matchup runners.
+     */
+    public int unscaledValue(Category category) {
+        return unscaledValues[category.ordinal()];
     }
     
     public static Builder builder(int plateAppearances) {
@@ -213,4 +254,33 @@ public final class PlayerCard {
         }
     }
     
+    
+    /**
+     * The categories of a PlayerCard, including the derived ones.
+     */
+    public static enum Category {
+        HITS(PlayerCard::hits),
+        SINGLES(PlayerCard::singles),
+        DOUBLES(PlayerCard::doubles),
+        TRIPLES(PlayerCard::triples),
+        HOMERUNS(PlayerCard::homeruns),
+        EXTRA_BASE_HITS(PlayerCard::extraBaseHits),
+        STRIKEOUTS(PlayerCard::strikeouts),
+        WALKS(PlayerCard::walks),
+        HIT_BY_PITCHES(PlayerCard::hitByPitches),
+        CONTACT(PlayerCard::contact),
+        NO_CONTACT(PlayerCard::noContact),
+        BATTED_OUTS(PlayerCard::battedOuts);
+        
+        private final Function<PlayerCard, Probability> getter;
+        
+        private Category(Function<PlayerCard, Probability> getter) {
+            this.getter = getter;
+        }
+        
+        private Probability getFrom(PlayerCard card) {
+            return getter.apply(card);
+        }
+    }
+    
 }
@@ -61,9 +61,17 @@ public final class Probability implements Comparable<Probability> {
     }
 
     public boolean test(DieFactory dieFactory) {
+        return test(this.value, dieFactory);
+    }
+    
+    /**
+     * Primitive version of {@link #test(DieFactory)}, for hot-path callers that work with
+     * {@link #unscaledValue() unscaled values}.
+     */
+    public static boolean test(int unscaledValue, DieFactory dieFactory) {
         Die die = dieFactory.getDie(DENOMINATOR);
         int roll = die.roll();
-        return roll <= this.value;
+        return roll <= unscaledValue;
     }
     
     public int apply(int sampleSize) {
@@ -131,28 +139,71 @@ public final class Probability implements Comparable<Probability> {
                 .collect(ImCollectors.toList());
     }
     
+    /**
+     * Primitive version of {@link #normalize(Probability, Probability, Probability...)} for
+     * the common case of two probabilities. Returns the unscaled value of the normalized
+     * first probability; the normalized second probability is its complement.
+     */
+    public static int normalize(int unscaledFirst, int unscaledSecond) {
+        checkArgument(unscaledFirst >= 0 && unscaledSecond >= 0);
+        int total = unscaledFirst + unscaledSecond;
+        checkArgument(total > 0);
+        return (int) Math.round((((1.0 * unscaledFirst) / total) * DENOMINATOR));
+    }
+    
     
     public static Probability log5(Probability batter,
                                    Probability pitcher,
                                    Probability league) {
+        return new Probability(log5(batter.value, pitcher.value, league.value));
+    }
+    
+    /**
+     * Primitive version of {@link #log5(Probability, Probability, Probability)}, operating on
+     * and returning unscaled values.
+     */
+    public static int log5(int batter, int pitcher, int league) {
         // See https://sabr.org/research/matchup-probabilities-major-league-baseball#footnote2_8f5byka
         // The formula breaks down (division by zero) if the league probability is either 0 or 1.
         // TODO: How would we go about unit testing this?
-        checkArgument(!league.isZero() && !league.isCertain(),
-                "p_league must represent a value in the range ]0, 1[, but was " + league.asDouble());
-        double x = batter.asDouble();
-        double y = pitcher.asDouble();
-        double z = league.asDouble();
+        if (league <= 0 || league >= DENOMINATOR) {
+            throw new IllegalArgumentException(
+                    "p_league must represent a value in the range ]0, 1[, but was " + (1.0 * league / DENOMINATOR));
+        }
+        double x = 1.0 * batter / DENOMINATOR;
+        double y = 1.0 * pitcher / DENOMINATOR;
+        double z = 1.0 * league / DENOMINATOR;
         double numerator = x * y / z;
         double denominator1 = numerator;
         double denominator2 = (1 - x) * (1 - y) / (1 - z);
         double result = numerator / (denominator1 + denominator2);
-        return new Probability(result);
+        if (!(result >= 0 && result <= 1)) {
+            throw new IllegalArgumentException("value must be in the range [0, 1], but was " + result);
+        }
+        return (int) (result * DENOMINATOR);
     }
     
     public double asDouble() {
         return 1.0 * value / DENOMINATOR;
     }
+    
+    /**
+     * Returns the value of this probability as an int, expressed in units of
+     * 1/{@link #unscaledComplete()}.
+     * <p>
+     * This is meant for hot-path callers, such as the matchup runners, that want to avoid
+     * allocating intermediate Probability objects. Most code should stick to the object API.
+     */
+    public int unscaledValue() {
+        return value;
+    }
+    
+    /**
+     * Returns the {@link #unscaledValue() unscaled value} of a probability of 1.
+     */
+    public static int unscaledComplete() {
+        return DENOMINATOR;
+    }
 
     @Override
     public int compareTo(Probability o) {
@@ -0,0 +1,49 @@
+package bsbll.die;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Provides a separate {@link DieFactory} for each of a number of keys, such as the different
+ * decision points of a game.
+ * <p>
+ * Giving every decision point its own random stream makes it possible to run <em>paired</em>
+ * simulations using common random numbers: when two variants of a game are played with
+ * factories created from the same seed, the n:th decision of a given kind uses the same
+ * roll in both games, even if the variants make a different number of decisions of other
+ * kinds. The differences between the variants then stand out from the noise with far fewer
+ * games than when the variants are played with independent random streams.
+ */
+@FunctionalInterface
+public interface KeyedDieFactory<K> {
+
+    /**
+     * Returns the DieFactory for the given key. The same instance is returned every time
+     * this method is called with the same key.
+     */
+    DieFactory forKey(K key);
+
+    /**
+     * Returns a KeyedDieFactory that uses the given DieFactory for all keys.
+     */
+    public static <K> KeyedDieFactory<K> shared(DieFactory dieFactory) {
+        requireNonNull(dieFactory);
+        return key -> dieFactory;
+    }
+
+    /**
+     * Returns a KeyedDieFactory with an independent random stream for each key. Two
+     * factories created with the same seed produce the same streams.
+     */
+    public static <K extends Enum<K>> KeyedDieFactory<K> random(Class<K> keyType, long seed) {
+        return new RandomKeyedDieFactory<>(keyType, seed, false);
+    }
+
+    /**
+     * Returns the antithetic counterpart of {@link #random(Class, long) random(keyType, seed)}:
+     * every roll of a die with {@code N} sides is {@code N + 1} minus the corresponding roll of
+     * the other factory.
+     */
+    public static <K extends Enum<K>> KeyedDieFactory<K> antithetic(Class<K> keyType, long seed) {
+        return new RandomKeyedDieFactory<>(keyType, seed, true);
+    }
+}
@@ -11,14 +11,28 @@ import javax.annotation.concurrent.Immutable;
 final class RandomDie implements Die {
     private final int sides;
     private final Random random;
+    /**
+     * If true, every roll is mirrored, i.e. a roll of {@code r} becomes
+     * {@code sides + 1 - r}. Two dice created from the same seed, one of them antithetic,
+     * produce perfectly negatively correlated rolls.
+     */
+    private final boolean antithetic;
     
     public RandomDie(int sides, Random random) {
+        this(sides, random, false);
+    }
+    
+    public RandomDie(int sides, Random random, boolean antithetic) {
         this.sides = checkPositive(sides);
         this.random = requireNonNull(random);
+        this.antithetic = antithetic;
     }
 
     @Override
     public int roll() {
-        return random.nextInt(sides) + 1;
+        int roll = random.nextInt(sides);
+        return antithetic
+                ? sides - roll
+                : roll + 1;
     }
 }
\ No newline at end of file
@@ -1,34 +1,94 @@
 package bsbll.die;
 
+import java.util.Arrays;
 import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
 final class RandomDieFactory implements DieFactory {
     @Nullable
     private final Long seed;
-    private final ConcurrentHashMap<Integer, Die> dice = new ConcurrentHashMap<>();
-    
+    private final boolean antithetic;
+    /**
+     * The dice created so far, sorted by number of sides. The table is replaced as a whole
+     * whenever a new die is added, so that the (very frequent) lookups can be done without
+     * locking, and without boxing the number of sides into a map key.
+     */
+    private volatile DiceTable dice = new DiceTable(new int[0], new Die[0]);
+
     public RandomDieFactory() {
         this.seed = null;
+        this.antithetic = false;
     }
-    
+
     public RandomDieFactory(long seed) {
+        this(seed, false);
+    }
+
+    /**
+     * Creates a RandomDieFactory whose dice roll the mirror images of the rolls of the
+     * dice of a {@code RandomDieFactory(seed)}, if {@code antithetic} is true.
+     */
+    public RandomDieFactory(long seed, boolean antithetic) {
         this.seed = Long.valueOf(seed);
+        this.antithetic = antithetic;
     }
 
     @Override
     public Die getDie(int sides) {
-        return this.dice.computeIfAbsent(Integer.valueOf(sides), this::newDie);
+        Die die = this.dice.get(sides);
+        return (die != null)
+                ? die
+                : addDie(sides);
+    }
+
+    private synchronized Die addDie(int sides) {
+        DiceTable table = this.dice;
+        Die die = table.get(sides);
+        if (die == null) {
+            die = newDie(sides);
+            this.dice = table.with(sides, die);
+        }
+        return die;
     }
-    
+
     private Die newDie(int sides) {
         // TODO: Consider using ThreadLocalRandom.
         Random rnd = (seed != null)
                 ? new Random(seed.longValue())
                 : new Random();
-        return new RandomDie(sides, rnd);
+        return new RandomDie(sides, rnd, antithetic);
     }
 
+
+    private static final class DiceTable {
+        private final int[] sides;
+        private final Die[] dice;
+
+        public DiceTable(int[] sides, Die[] dice) {
+            this.sides = sides;
+            this.dice = dice;
+        }
+
+        @Nullable
+        public Die get(int sides) {
+            int index = Arrays.binarySearch(this.sides, sides);
+            return (index >= 0)
+                    ? this.dice[index]
+                    : null;
+        }
+
+        public DiceTable with(int sides, Die die) {
+            int index = -(Arrays.binarySearch(this.sides, sides) + 1);
+            int[] newSides = new int[this.sides.length + 1];
+            Die[] newDice = new Die[this.dice.length + 1];
+            System.arraycopy(this.sides, 0, newSides, 0, index);
+            System.arraycopy(this.dice, 0, newDice, 0, index);
+            newSides[index] = sides;
+            newDice[index] = die;
+            System.arraycopy(this.sides, index, newSides, index + 1, this.sides.length - index);
+            System.arraycopy(this.dice, index, newDice, index + 1, this.dice.length - index);
+            return new DiceTable(newSides, newDice);
+        }
+    }
 }
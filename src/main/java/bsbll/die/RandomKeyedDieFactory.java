@@ -0,0 +1,26 @@
+package bsbll.die;
+
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+
+import javax.annotation.concurrent.Immutable;
+
+@Immutable
+final class RandomKeyedDieFactory<K extends Enum<K>> implements KeyedDieFactory<K> {
+    private final EnumMap<K, DieFactory> factories;
+
+    public RandomKeyedDieFactory(Class<K> keyType, long seed, boolean antithetic) {
+        this.factories = new EnumMap<>(keyType);
+        // The keys are seeded in declaration order, which keeps the stream of a key the
+        // same from one run to the next.
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (K key : keyType.getEnumConstants()) {
+            factories.put(key, new RandomDieFactory(seeds.nextLong(), antithetic));
+        }
+    }
+
+    @Override
+    public DieFactory forKey(K key) {
+        return factories.get(key);
+    }
+}
@@ -0,0 +1,33 @@
+package bsbll.die;
+
+/**
+ * Derives the seeds of the independent parts of a simulation, such as its replicas or
+ * games, from the seed of the simulation.
+ */
+public final class Seeds {
+    /**
+     * The increment that SplittableRandom itself uses between the seeds it generates.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Returns the seed of the n:th part of a simulation with the given seed.
+     * <p>
+     * The seeds of the parts are spaced out by the same increment as SplittableRandom uses,
+     * and are then passed through the SplitMix64 finalizer. Without the finalizer, the
+     * seeds that a SplittableRandom created from the seed of part n generates would be the
+     * seeds of part n + 1 shifted by one, so the random streams of neighboring parts would
+     * overlap.
+     */
+    public static long spread(long seed, long n) {
+        return mix64(seed + n * GOLDEN_GAMMA);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private Seeds() {/**/}
+}
@@ -0,0 +1,218 @@
+package bsbll.expectancy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RecursiveTask;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+
+import bsbll.expectancy.RunExpectancyCalculator.TransitionTable;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.matchup.MatchupRunner.Outcome;
+import bsbll.player.Player;
+import bsbll.team.BattingOrder;
+
+/**
+ * Finds the batting order that is expected to score the most runs in a nine-inning game
+ * against a given pitcher.
+ * <p>
+ * Every candidate order is evaluated analytically, with the same Markov model as the
+ * {@link RunExpectancyCalculator}, so no games are simulated. An evaluation only involves
+ * the expected runs of every base-out state, for every inning, which takes in the order of
+ * a hundred microseconds. The search goes through all the orders, with the following
+ * shortcuts:
+ * <ul>
+ * <li>Batters that have the same outcome probabilities against the pitcher are
+ * interchangeable, so only one of the orders that differ by swapping such batters is
+ * evaluated. The typical case is the same league-average card used for several
+ * players.</li>
+ * <li>The orders are split by the batters in the first two slots, and the parts are
+ * searched in parallel, in the common fork/join pool.</li>
+ * </ul>
+ * The result does not depend on how the parts of the search are scheduled: if several
+ * batting orders are expected to score the same number of runs, the one that comes first
+ * in the search order is returned.
+ */
+@ThreadSafe
+public final class BattingOrderOptimizer {
+    private static final int NUMBER_OF_BATTERS = 9;
+    private static final int INNINGS = 9;
+    /**
+     * The partial orders with fewer filled slots than this are split into parts that are
+     * searched in parallel.
+     */
+    private static final int PARALLEL_DEPTH = 2;
+
+    private final Log5BasedMatchupRunner matchupRunner;
+    private final RunExpectancyCalculator calculator;
+
+    public BattingOrderOptimizer(GamePlayParams params, Log5BasedMatchupRunner matchupRunner) {
+        this.matchupRunner = requireNonNull(matchupRunner);
+        this.calculator = new RunExpectancyCalculator(params, matchupRunner);
+    }
+
+    /**
+     * Finds the best order of the batters in the given batting order, against the given
+     * pitcher.
+     */
+    public OptimalBattingOrder optimize(BattingOrder battingOrder, Player pitcher) {
+        return optimize(battingOrder.getBatters(), pitcher);
+    }
+
+    /**
+     * Finds the best order of the given batters, against the given pitcher.
+     */
+    public OptimalBattingOrder optimize(List<Player> batters, Player pitcher) {
+        checkArgument(batters.size() == NUMBER_OF_BATTERS, "Must provide %s batters", NUMBER_OF_BATTERS);
+        requireNonNull(pitcher);
+        // Batters with the same outcome probabilities are given the same type.
+        List<ImmutableMap<Outcome, Double>> profiles = new ArrayList<>();
+        List<Queue<Player>> battersOfType = new ArrayList<>();
+        for (Player batter : batters) {
+            ImmutableMap<Outcome, Double> profile = matchupRunner.getOutcomeProbabilities(batter, pitcher);
+            int type = profiles.indexOf(profile);
+            if (type == -1) {
+                type = profiles.size();
+                profiles.add(profile);
+                battersOfType.add(new ArrayDeque<>());
+            }
+            battersOfType.get(type).add(batter);
+        }
+        TransitionTable[] transitions = battersOfType.stream()
+                .map(q -> calculator.getTransitionTable(q.peek(), pitcher))
+                .toArray(TransitionTable[]::new);
+        int[] remaining = battersOfType.stream()
+                .mapToInt(Queue::size)
+                .toArray();
+        Candidate best = new SearchTask(transitions, new int[NUMBER_OF_BATTERS], 0, remaining).invoke();
+        List<Player> order = new ArrayList<>();
+        for (int type : best.order) {
+            order.add(battersOfType.get(type).remove());
+        }
+        return new OptimalBattingOrder(order, best.value, best.numberOfEvaluatedOrders);
+    }
+
+
+    /**
+     * Searches the completions of a partial order, given by the type of batter in each
+     * filled slot and the number of batters of each type that remain to be placed. A
+     * subtask is forked for every type of batter that can fill the next slot, until
+     * {@link #PARALLEL_DEPTH} is reached.
+     */
+    private static final class SearchTask extends RecursiveTask<Candidate> {
+        private static final long serialVersionUID = 1L;
+
+        private final TransitionTable[] transitions;
+        private final int[] order;
+        private final int depth;
+        private final int[] remaining;
+
+        public SearchTask(TransitionTable[] transitions, int[] order, int depth, int[] remaining) {
+            this.transitions = transitions;
+            this.order = order;
+            this.depth = depth;
+            this.remaining = remaining;
+        }
+
+        @Override
+        protected Candidate compute() {
+            if (depth >= PARALLEL_DEPTH) {
+                return search(new TransitionTable[NUMBER_OF_BATTERS], depth);
+            }
+            List<SearchTask> subtasks = new ArrayList<>();
+            for (int type = 0; type < remaining.length; ++type) {
+                if (remaining[type] > 0) {
+                    int[] nextOrder = order.clone();
+                    nextOrder[depth] = type;
+                    int[] nextRemaining = remaining.clone();
+                    --nextRemaining[type];
+                    subtasks.add(new SearchTask(transitions, nextOrder, depth + 1, nextRemaining));
+                }
+            }
+            invokeAll(subtasks);
+            Candidate best = null;
+            for (SearchTask subtask : subtasks) {
+                best = Candidate.better(best, subtask.join());
+            }
+            return best;
+        }
+
+        /**
+         * Searches the completions of the partial order in the current thread, filling in
+         * the order and the remaining counts as it goes, and restoring them afterwards.
+         */
+        private Candidate search(TransitionTable[] battingOrder, int depth) {
+            if (depth == NUMBER_OF_BATTERS) {
+                for (int slot = 0; slot < NUMBER_OF_BATTERS; ++slot) {
+                    battingOrder[slot] = transitions[order[slot]];
+                }
+                return new Candidate(order.clone(),
+                        RunExpectancyCalculator.solveExpectedRunsForGame(battingOrder, INNINGS), 1);
+            }
+            Candidate best = null;
+            for (int type = 0; type < remaining.length; ++type) {
+                if (remaining[type] > 0) {
+                    order[depth] = type;
+                    --remaining[type];
+                    best = Candidate.better(best, search(battingOrder, depth + 1));
+                    ++remaining[type];
+                }
+            }
+            return best;
+        }
+    }
+
+
+    /**
+     * A complete batting order, given by the type of batter in each slot, its value, and
+     * the number of orders that were evaluated in order to find it.
+     */
+    @Immutable
+    private static final class Candidate {
+        private static final Comparator<int[]> ORDER_COMPARATOR = Ints.lexicographicalComparator();
+
+        private final int[] order;
+        private final double value;
+        private final long numberOfEvaluatedOrders;
+
+        public Candidate(int[] order, double value, long numberOfEvaluatedOrders) {
+            this.order = order;
+            this.value = value;
+            this.numberOfEvaluatedOrders = numberOfEvaluatedOrders;
+        }
+
+        /**
+         * Returns the candidate with the higher value, or the one that comes first in the
+         * search order if the values are the same. The number of evaluated orders of the
+         * returned candidate includes the ones of the other candidate.
+         */
+        @Nullable
+        public static Candidate better(@Nullable Candidate a, @Nullable Candidate b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            int c = Double.compare(a.value, b.value);
+            if (c == 0) {
+                c = ORDER_COMPARATOR.compare(b.order, a.order);
+            }
+            Candidate better = (c >= 0) ? a : b;
+            return new Candidate(better.order, better.value,
+                    a.numberOfEvaluatedOrders + b.numberOfEvaluatedOrders);
+        }
+    }
+}
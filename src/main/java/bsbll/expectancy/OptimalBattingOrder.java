@@ -0,0 +1,60 @@
+package bsbll.expectancy;
+
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.player.Player;
+import bsbll.team.BattingOrder;
+
+/**
+ * The batting order found by the {@link BattingOrderOptimizer}.
+ */
+@Immutable
+public final class OptimalBattingOrder {
+    private final ImmutableList<Player> batters;
+    private final double expectedRuns;
+    private final long numberOfEvaluatedOrders;
+
+    OptimalBattingOrder(List<Player> batters, double expectedRuns, long numberOfEvaluatedOrders) {
+        this.batters = ImmutableList.copyOf(batters);
+        this.expectedRuns = expectedRuns;
+        this.numberOfEvaluatedOrders = numberOfEvaluatedOrders;
+    }
+
+    /**
+     * Returns the batters, in batting order.
+     */
+    public ImmutableList<Player> getBatters() {
+        return batters;
+    }
+
+    /**
+     * Creates a new BattingOrder with the batters in this order.
+     */
+    public BattingOrder createBattingOrder() {
+        return BattingOrder.of(batters);
+    }
+
+    /**
+     * Returns the number of runs the batting order is expected to score in nine innings.
+     */
+    public double getExpectedRuns() {
+        return expectedRuns;
+    }
+
+    /**
+     * Returns the number of complete batting orders that were evaluated in order to find
+     * this one. Orders that were ruled out by the search are not included.
+     */
+    public long getNumberOfEvaluatedOrders() {
+        return numberOfEvaluatedOrders;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%.3f runs)", batters, expectedRuns);
+    }
+}
@@ -0,0 +1,141 @@
+package bsbll.expectancy;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static tzeth.preconds.MorePreconditions.checkInRange;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
+
+import java.util.Arrays;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.OccupiedBases;
+import tzeth.collections.ImCollectors;
+
+/**
+ * The run expectancy of a batting order against a pitcher, as calculated by the
+ * {@link RunExpectancyCalculator}.
+ * <p>
+ * The batters are identified by their (zero-based) position in the batting order.
+ */
+@Immutable
+public final class RunExpectancy {
+    /**
+     * The number of runs at which the run distribution is capped. The last entry of the
+     * distribution is the probability of scoring this many runs <em>or more</em>.
+     */
+    public static final int MAX_RUNS = 30;
+
+    /**
+     * expectedRuns[batter][state] is the number of runs expected to score in the remainder
+     * of the half inning, when the given batter is up in the given base-out state.
+     */
+    private final double[][] expectedRuns;
+    /**
+     * runDistributions[batter][state][n] is the probability that n runs score in the
+     * remainder of the half inning, when the given batter is up in the given base-out state.
+     */
+    private final double[][][] runDistributions;
+    /**
+     * nextLeadoffs[leadoff][batter] is the probability that the given batter leads off the
+     * next half inning, given the batter that leads off this one.
+     */
+    private final double[][] nextLeadoffs;
+
+    RunExpectancy(double[][] expectedRuns, double[][][] runDistributions, double[][] nextLeadoffs) {
+        this.expectedRuns = expectedRuns;
+        this.runDistributions = runDistributions;
+        this.nextLeadoffs = nextLeadoffs;
+    }
+
+    public int getNumberOfBatters() {
+        return expectedRuns.length;
+    }
+
+    /**
+     * Returns the number of runs expected to score in a half inning led off by the given
+     * batter.
+     */
+    public double getExpectedRuns(int leadoff) {
+        return getExpectedRuns(leadoff, 0, OccupiedBases.NONE);
+    }
+
+    /**
+     * Returns the number of runs expected to score in the remainder of the half inning,
+     * when the given batter is up with the given number of outs and occupied bases.
+     */
+    public double getExpectedRuns(int batter, int outs, OccupiedBases bases) {
+        checkElementIndex(batter, getNumberOfBatters());
+        checkInRange(outs, 0, 2);
+        int state = RunExpectancyCalculator.state(outs, BaseOccupancy.of(bases));
+        return expectedRuns[batter][state];
+    }
+
+    /**
+     * Returns the distribution of the number of runs scored in a half inning led off by
+     * the given batter. Element {@code n} of the returned list is the probability of
+     * scoring exactly {@code n} runs, except for the last element, which is the
+     * probability of scoring {@link #MAX_RUNS} runs or more.
+     */
+    public ImmutableList<Double> getRunDistribution(int leadoff) {
+        return getRunDistribution(leadoff, 0, OccupiedBases.NONE);
+    }
+
+    /**
+     * Returns the distribution of the number of runs scored in the remainder of the half
+     * inning, when the given batter is up with the given number of outs and occupied
+     * bases. The distribution has the same form as {@link #getRunDistribution(int)}.
+     */
+    public ImmutableList<Double> getRunDistribution(int batter, int outs, OccupiedBases bases) {
+        checkElementIndex(batter, getNumberOfBatters());
+        checkInRange(outs, 0, 2);
+        return toList(runDistribution(batter, RunExpectancyCalculator.state(outs, BaseOccupancy.of(bases))));
+    }
+
+    /**
+     * Returns the run distribution of the given batter and base-out state, without copying it.
+     */
+    double[] runDistribution(int batter, int state) {
+        return runDistributions[batter][state];
+    }
+
+    /**
+     * Returns the probability of each batter leading off the next half inning, given the
+     * batter leading off this one.
+     */
+    public ImmutableList<Double> getNextLeadoffDistribution(int leadoff) {
+        checkElementIndex(leadoff, getNumberOfBatters());
+        return toList(nextLeadoffs[leadoff]);
+    }
+
+    /**
+     * Returns the number of runs expected to score in the given number of innings, with
+     * the first batter in the order leading off the first inning.
+     */
+    public double getExpectedRunsForInnings(int innings) {
+        checkNotNegative(innings);
+        int numberOfBatters = getNumberOfBatters();
+        double[] leadoff = new double[numberOfBatters];
+        leadoff[0] = 1.0;
+        double runs = 0.0;
+        for (int inning = 0; inning < innings; ++inning) {
+            double[] next = new double[numberOfBatters];
+            for (int b = 0; b < numberOfBatters; ++b) {
+                runs += leadoff[b] * getExpectedRuns(b);
+                for (int n = 0; n < numberOfBatters; ++n) {
+                    next[n] += leadoff[b] * nextLeadoffs[b][n];
+                }
+            }
+            leadoff = next;
+        }
+        return runs;
+    }
+
+    private static ImmutableList<Double> toList(double[] values) {
+        return Arrays.stream(values)
+                .boxed()
+                .collect(ImCollectors.toList());
+    }
+}
@@ -0,0 +1,535 @@
+package bsbll.expectancy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.bases.BaseHit;
+import bsbll.bases.BaseOccupancy;
+import bsbll.game.params.AdvanceChoices;
+import bsbll.game.params.CompiledGamePlayParams;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.params.OutLocation;
+import bsbll.game.play.EventType;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.matchup.MatchupRunner.Outcome;
+import bsbll.player.Player;
+import bsbll.team.BattingOrder;
+
+/**
+ * Calculates the run expectancy of a batting order against a pitcher analytically, by
+ * treating the half inning as a Markov chain over the 24 base-out states.
+ * <p>
+ * The transition probabilities are the exact probabilities used by the game engine: the
+ * outcome probabilities of each batter-pitcher matchup are given by the
+ * {@link Log5BasedMatchupRunner}, and the wild pitches, passed balls, balks, errors,
+ * fielder's choices and base advances are given by the {@link GamePlayParams}. Since the
+ * batters come up in order, the state of the chain also includes the position in the
+ * batting order of the batter due up.
+ * <p>
+ * Walk-off situations are not taken into account, i.e. the half inning is always played
+ * until the third out.
+ */
+public final class RunExpectancyCalculator {
+    /**
+     * The number of base-out states: three out counts, times eight combinations of
+     * occupied bases.
+     */
+    static final int NUMBER_OF_STATES = 3 * (BaseOccupancy.LOADED + 1);
+    /**
+     * The target of a transition that ends the half inning. It follows right after the
+     * base-out states, so that the value of the end of the inning can be stored at the end
+     * of an array of state values.
+     */
+    private static final int END_OF_INNING = NUMBER_OF_STATES;
+    /**
+     * The iterative solutions are considered converged once no value changes by more than
+     * this between two iterations.
+     */
+    private static final double EPSILON = 1e-12;
+    private static final int MAX_ITERATIONS = 10_000;
+
+    private final CompiledGamePlayParams params;
+    private final Log5BasedMatchupRunner matchupRunner;
+
+    public RunExpectancyCalculator(GamePlayParams params, Log5BasedMatchupRunner matchupRunner) {
+        this.params = params.compile();
+        this.matchupRunner = requireNonNull(matchupRunner);
+    }
+
+    /**
+     * Calculates the run expectancy of the given batting order against the given pitcher.
+     * The current position of the batting order is ignored, i.e. the order is taken from
+     * {@link BattingOrder#getBatters()}.
+     */
+    public RunExpectancy calculate(BattingOrder battingOrder, Player pitcher) {
+        return calculate(battingOrder.getBatters(), pitcher);
+    }
+
+    /**
+     * Calculates the run expectancy of the given batters, batting in the given order,
+     * against the given pitcher.
+     */
+    public RunExpectancy calculate(List<Player> batters, Player pitcher) {
+        checkArgument(!batters.isEmpty(), "Must provide at least one batter");
+        requireNonNull(pitcher);
+        Transitions[][] transitions = batters.stream()
+                .map(b -> getTransitions(b, pitcher))
+                .toArray(Transitions[][]::new);
+        return new RunExpectancy(
+                solveExpectedRuns(transitions),
+                solveRunDistributions(transitions),
+                solveNextLeadoffs(transitions));
+    }
+
+    /**
+     * Returns the transitions out of each base-out state when the given batter faces the
+     * given pitcher.
+     */
+    private Transitions[] getTransitions(Player batter, Player pitcher) {
+        double[] outcomes = getOutcomeProbabilities(batter, pitcher);
+        Transitions[] transitions = new Transitions[NUMBER_OF_STATES];
+        for (int state = 0; state < NUMBER_OF_STATES; ++state) {
+            Transitions t = new Transitions();
+            addPlateAppearance(t, outs(state), bases(state), outcomes);
+            t.compact();
+            transitions[state] = t;
+        }
+        return transitions;
+    }
+
+    /**
+     * Returns the transitions of the given batter facing the given pitcher, in the form
+     * used by {@link #solveExpectedRunsForGame(TransitionTable[], int)}.
+     */
+    TransitionTable getTransitionTable(Player batter, Player pitcher) {
+        return new TransitionTable(getTransitions(batter, pitcher));
+    }
+
+    private double[] getOutcomeProbabilities(Player batter, Player pitcher) {
+        ImmutableMap<Outcome, Double> probabilities = matchupRunner.getOutcomeProbabilities(batter, pitcher);
+        double[] outcomes = new double[Outcome.values().length];
+        probabilities.forEach((o, p) -> outcomes[o.ordinal()] = p);
+        return outcomes;
+    }
+
+    static int state(int outs, int bases) {
+        return outs * (BaseOccupancy.LOADED + 1) + bases;
+    }
+
+    static int outs(int state) {
+        return state / (BaseOccupancy.LOADED + 1);
+    }
+
+    static int bases(int state) {
+        return state % (BaseOccupancy.LOADED + 1);
+    }
+
+    /**
+     * Adds the transitions of a plate appearance, including the wild pitch, passed ball or
+     * balk that can happen before the matchup itself when there are runners on base.
+     */
+    private void addPlateAppearance(Transitions t, int outs, int bases, double[] outcomes) {
+        if (bases == BaseOccupancy.EMPTY) {
+            addMatchup(t, 1.0, 0, outs, bases, outcomes);
+            return;
+        }
+        // Mirrors the order in which the game engine tests for these events.
+        double wildPitch = params.getWildPitchProbability();
+        double passedBall = params.getPassedBallProbability();
+        double balk = params.getBalkProbability();
+        double runnersAdvance = wildPitch + 
+                (1.0 - wildPitch) * passedBall + 
+                (1.0 - wildPitch) * (1.0 - passedBall) * balk;
+        if (runnersAdvance > 0.0) {
+            int result = BaseOccupancy.runnersAdvanceOneBase(bases);
+            addMatchup(t, runnersAdvance, BaseOccupancy.runs(result), outs, BaseOccupancy.bases(result), outcomes);
+        }
+        addMatchup(t, 1.0 - runnersAdvance, 0, outs, bases, outcomes);
+    }
+
+    private void addMatchup(Transitions t, double probability, int runs, int outs, int bases, double[] outcomes) {
+        for (Outcome o : Outcome.values()) {
+            double p = probability * outcomes[o.ordinal()];
+            if (p == 0.0) {
+                continue;
+            }
+            switch (o) {
+            case SINGLE:
+                addBaseHit(t, p, runs, outs, bases, BaseHit.SINGLE);
+                break;
+            case DOUBLE:
+                addBaseHit(t, p, runs, outs, bases, BaseHit.DOUBLE);
+                break;
+            case TRIPLE:
+                addBaseHit(t, p, runs, outs, bases, BaseHit.TRIPLE);
+                break;
+            case HOMERUN:
+                addResult(t, p, runs, outs, EventType.HOMERUN, BaseOccupancy.homerun(bases));
+                break;
+            case STRIKEOUT:
+                addResult(t, p, runs, outs, EventType.STRIKEOUT, bases);
+                break;
+            case WALK:
+                addResult(t, p, runs, outs, EventType.WALK, BaseOccupancy.batterAwardedFirstBase(bases));
+                break;
+            case HIT_BY_PITCH:
+                addResult(t, p, runs, outs, EventType.HIT_BY_PITCH, BaseOccupancy.batterAwardedFirstBase(bases));
+                break;
+            case OUT:
+                addOut(t, p, runs, outs, bases);
+                break;
+            default:
+                throw new AssertionError("Unexpected outcome: " + o);
+            }
+        }
+    }
+
+    private void addBaseHit(Transitions t, double probability, int runs, int outs, int bases, BaseHit baseHit) {
+        EventType type = baseHit.toEventType();
+        for (int errors = 0; errors <= params.getMaxNumberOfErrors(type); ++errors) {
+            double p = probability * params.getErrorProbability(type, errors, bases);
+            if (p > 0.0) {
+                AdvanceChoices choices = (errors == 0)
+                        ? params.getAdvancesOnBaseHit(baseHit, outs, bases)
+                        : params.getAdvancesOnError(type, errors, outs, bases);
+                addChoices(t, p, runs, outs, type, choices);
+            }
+        }
+    }
+
+    private void addOut(Transitions t, double probability, int runs, int outs, int bases) {
+        for (OutLocation location : OutLocation.values()) {
+            double infield = params.getInfieldOutProbability();
+            double pl = probability * ((location == OutLocation.INFIELD) ? infield : 1.0 - infield);
+            for (int errors = 0; errors <= params.getMaxNumberOfErrors(EventType.OUT); ++errors) {
+                double p = pl * params.getErrorProbability(EventType.OUT, errors, bases);
+                if (p == 0.0) {
+                    continue;
+                }
+                if (errors > 0) {
+                    // The result of the advances tells if the batter reached on the error.
+                    addChoices(t, p, runs, outs, EventType.OUT,
+                            params.getAdvancesOnError(EventType.OUT, errors, outs, bases));
+                    continue;
+                }
+                double fieldersChoice = (location == OutLocation.INFIELD)
+                        ? params.getFieldersChoiceProbability(bases)
+                        : 0.0;
+                if (fieldersChoice > 0.0) {
+                    addChoices(t, p * fieldersChoice, runs, outs, EventType.FIELDERS_CHOICE,
+                            params.getAdvancesOnOut(EventType.FIELDERS_CHOICE, location, outs, bases));
+                }
+                addChoices(t, p * (1.0 - fieldersChoice), runs, outs, EventType.OUT,
+                        params.getAdvancesOnOut(EventType.OUT, location, outs, bases));
+            }
+        }
+    }
+
+    private static void addChoices(Transitions t, double probability, int runs, int outs, EventType type,
+            AdvanceChoices choices) {
+        // Advances that are not valid for the base situation would make the game engine
+        // fail. We leave them out, and distribute their share among the valid ones.
+        double valid = 0.0;
+        for (int n = 0; n < choices.size(); ++n) {
+            if (choices.isValid(n)) {
+                valid += choices.getProbability(n);
+            }
+        }
+        if (valid == 0.0) {
+            return;
+        }
+        for (int n = 0; n < choices.size(); ++n) {
+            if (choices.isValid(n)) {
+                double p = probability * choices.getProbability(n) / valid;
+                addResult(t, p, runs, outs, type, choices.getResult(n));
+            }
+        }
+    }
+
+    private static void addResult(Transitions t, double probability, int runs, int outs, EventType type,
+            int result) {
+        // Same bookkeeping as in FastHalfInning.
+        int newOuts = outs + BaseOccupancy.outs(result);
+        if (type.isBatterOut() && !BaseOccupancy.isBatterIncluded(result)) {
+            ++newOuts;
+        }
+        int newRuns = runs + BaseOccupancy.runs(result);
+        int target = (newOuts >= 3)
+                ? END_OF_INNING
+                : state(newOuts, BaseOccupancy.bases(result));
+        t.add(probability, newRuns, target);
+    }
+
+    /**
+     * Solves for the expected number of runs scored in the remainder of the half inning,
+     * for each batter due up and base-out state.
+     */
+    private static double[][] solveExpectedRuns(Transitions[][] transitions) {
+        int numberOfBatters = transitions.length;
+        double[][] expectedRuns = new double[numberOfBatters][NUMBER_OF_STATES];
+        // Gauss-Seidel iteration. Every plate appearance carries a positive probability of
+        // an out, so this converges quickly.
+        for (int iteration = 0; iteration < MAX_ITERATIONS; ++iteration) {
+            double delta = 0.0;
+            for (int b = numberOfBatters - 1; b >= 0; --b) {
+                double[] next = expectedRuns[(b + 1) % numberOfBatters];
+                for (int state = NUMBER_OF_STATES - 1; state >= 0; --state) {
+                    Transitions t = transitions[b][state];
+                    double value = 0.0;
+                    for (int n = 0; n < t.size; ++n) {
+                        double future = (t.targets[n] == END_OF_INNING)
+                                ? 0.0
+                                : next[t.targets[n]];
+                        value += t.probabilities[n] * (t.runs[n] + future);
+                    }
+                    delta = Math.max(delta, Math.abs(value - expectedRuns[b][state]));
+                    expectedRuns[b][state] = value;
+                }
+            }
+            if (delta < EPSILON) {
+                break;
+            }
+        }
+        return expectedRuns;
+    }
+
+
+    /**
+     * Solves for the number of runs expected to score in the given number of innings, with
+     * the first batter of the given batting order leading off the first inning.
+     */
+    static double solveExpectedRunsForGame(TransitionTable[] battingOrder, int innings) {
+        int numberOfBatters = battingOrder.length;
+        int start = state(0, BaseOccupancy.EMPTY);
+        // The values of the batters in the base-out states, followed by the expected runs
+        // in the following innings when the batter leads off the next inning.
+        double[][] values = new double[numberOfBatters][NUMBER_OF_STATES + 1];
+        for (int inning = innings; inning >= 1; --inning) {
+            for (int b = 0; b < numberOfBatters; ++b) {
+                values[b][END_OF_INNING] = values[b][start];
+            }
+            // The outs never decrease during an inning, so the states can be solved one
+            // number of outs at a time, starting with two outs. The values of the following
+            // inning are a good starting point for the iteration, since they are lower than
+            // the values of this inning by roughly the runs scored in one inning.
+            for (int outs = 2; outs >= 0; --outs) {
+                int firstState = state(outs, BaseOccupancy.EMPTY);
+                int lastState = state(outs, BaseOccupancy.LOADED);
+                for (int iteration = 0; iteration < MAX_ITERATIONS; ++iteration) {
+                    double delta = 0.0;
+                    for (int b = numberOfBatters - 1; b >= 0; --b) {
+                        TransitionTable t = battingOrder[b];
+                        double[] current = values[b];
+                        double[] next = values[(b + 1) % numberOfBatters];
+                        for (int state = lastState; state >= firstState; --state) {
+                            double value = t.expectedRuns[state];
+                            for (int n = t.offsets[state]; n < t.offsets[state + 1]; ++n) {
+                                value += t.probabilities[n] * next[t.targets[n]];
+                            }
+                            delta = Math.max(delta, Math.abs(value - current[state]));
+                            current[state] = value;
+                        }
+                    }
+                    if (delta < EPSILON) {
+                        break;
+                    }
+                }
+            }
+        }
+        return values[0][start];
+    }
+
+    /**
+     * Solves for the distribution of the number of runs scored in the remainder of the half
+     * inning, for each batter due up and base-out state.
+     */
+    private static double[][][] solveRunDistributions(Transitions[][] transitions) {
+        int numberOfBatters = transitions.length;
+        double[][][] distributions = new double[numberOfBatters][NUMBER_OF_STATES][RunExpectancy.MAX_RUNS + 1];
+        double[] value = new double[RunExpectancy.MAX_RUNS + 1];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; ++iteration) {
+            double delta = 0.0;
+            for (int b = numberOfBatters - 1; b >= 0; --b) {
+                double[][] next = distributions[(b + 1) % numberOfBatters];
+                for (int state = NUMBER_OF_STATES - 1; state >= 0; --state) {
+                    Transitions t = transitions[b][state];
+                    Arrays.fill(value, 0.0);
+                    for (int n = 0; n < t.size; ++n) {
+                        double p = t.probabilities[n];
+                        int runs = t.runs[n];
+                        if (t.targets[n] == END_OF_INNING) {
+                            value[Math.min(RunExpectancy.MAX_RUNS, runs)] += p;
+                        } else {
+                            double[] future = next[t.targets[n]];
+                            for (int r = 0; r <= RunExpectancy.MAX_RUNS; ++r) {
+                                if (future[r] != 0.0) {
+                                    value[Math.min(RunExpectancy.MAX_RUNS, r + runs)] += p * future[r];
+                                }
+                            }
+                        }
+                    }
+                    delta = Math.max(delta, update(distributions[b][state], value));
+                }
+            }
+            if (delta < EPSILON) {
+                break;
+            }
+        }
+        return distributions;
+    }
+
+    /**
+     * Solves for the distribution of the batter leading off the next half inning, for each
+     * batter leading off this one.
+     */
+    private static double[][] solveNextLeadoffs(Transitions[][] transitions) {
+        int numberOfBatters = transitions.length;
+        double[][][] distributions = new double[numberOfBatters][NUMBER_OF_STATES][numberOfBatters];
+        double[] value = new double[numberOfBatters];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; ++iteration) {
+            double delta = 0.0;
+            for (int b = numberOfBatters - 1; b >= 0; --b) {
+                int nextBatter = (b + 1) % numberOfBatters;
+                double[][] next = distributions[nextBatter];
+                for (int state = NUMBER_OF_STATES - 1; state >= 0; --state) {
+                    Transitions t = transitions[b][state];
+                    Arrays.fill(value, 0.0);
+                    for (int n = 0; n < t.size; ++n) {
+                        double p = t.probabilities[n];
+                        if (t.targets[n] == END_OF_INNING) {
+                            value[nextBatter] += p;
+                        } else {
+                            double[] future = next[t.targets[n]];
+                            for (int l = 0; l < numberOfBatters; ++l) {
+                                value[l] += p * future[l];
+                            }
+                        }
+                    }
+                    delta = Math.max(delta, update(distributions[b][state], value));
+                }
+            }
+            if (delta < EPSILON) {
+                break;
+            }
+        }
+        int start = state(0, BaseOccupancy.EMPTY);
+        double[][] nextLeadoffs = new double[numberOfBatters][];
+        for (int b = 0; b < numberOfBatters; ++b) {
+            nextLeadoffs[b] = distributions[b][start];
+        }
+        return nextLeadoffs;
+    }
+
+    /**
+     * Copies the new values into the current ones, and returns the largest change.
+     */
+    private static double update(double[] current, double[] newValues) {
+        double delta = 0.0;
+        for (int n = 0; n < current.length; ++n) {
+            delta = Math.max(delta, Math.abs(newValues[n] - current[n]));
+            current[n] = newValues[n];
+        }
+        return delta;
+    }
+
+
+    /**
+     * The possible transitions out of a base-out state, for a given batter.
+     */
+    @NotThreadSafe
+    private static final class Transitions {
+        private int size;
+        private double[] probabilities = new double[16];
+        private int[] runs = new int[16];
+        private int[] targets = new int[16];
+
+        public void add(double probability, int runs, int target) {
+            if (size == probabilities.length) {
+                probabilities = Arrays.copyOf(probabilities, 2 * size);
+                this.runs = Arrays.copyOf(this.runs, 2 * size);
+                targets = Arrays.copyOf(targets, 2 * size);
+            }
+            probabilities[size] = probability;
+            this.runs[size] = runs;
+            targets[size] = target;
+            ++size;
+        }
+
+        /**
+         * Merges the transitions that have the same target and number of runs.
+         */
+        public void compact() {
+            int compacted = 0;
+            for (int n = 0; n < size; ++n) {
+                int m = 0;
+                while (m < compacted && (targets[m] != targets[n] || this.runs[m] != this.runs[n])) {
+                    ++m;
+                }
+                if (m < compacted) {
+                    probabilities[m] += probabilities[n];
+                } else {
+                    probabilities[compacted] = probabilities[n];
+                    this.runs[compacted] = this.runs[n];
+                    targets[compacted] = targets[n];
+                    ++compacted;
+                }
+            }
+            size = compacted;
+        }
+    }
+
+
+    /**
+     * The transitions out of every base-out state for a given batter, with the transitions
+     * to the same state merged and the runs they score replaced by their expected value.
+     * This is all that is needed for calculating expected runs, and is laid out in flat
+     * arrays since a batting order optimization evaluates a large number of orders.
+     */
+    @Immutable
+    static final class TransitionTable {
+        /**
+         * The expected number of runs scored by the plate appearance, in each state.
+         */
+        final double[] expectedRuns = new double[NUMBER_OF_STATES];
+        /**
+         * The transitions out of state {@code s} are at the indices from
+         * {@code offsets[s]} (inclusive) to {@code offsets[s + 1]} (exclusive).
+         */
+        final int[] offsets = new int[NUMBER_OF_STATES + 1];
+        final double[] probabilities;
+        final int[] targets;
+
+        TransitionTable(Transitions[] transitions) {
+            double[] probabilities = new double[NUMBER_OF_STATES * (NUMBER_OF_STATES + 1)];
+            int[] targets = new int[probabilities.length];
+            int size = 0;
+            for (int state = 0; state < NUMBER_OF_STATES; ++state) {
+                Transitions t = transitions[state];
+                offsets[state] = size;
+                for (int n = 0; n < t.size; ++n) {
+                    expectedRuns[state] += t.probabilities[n] * t.runs[n];
+                    int m = offsets[state];
+                    while (m < size && targets[m] != t.targets[n]) {
+                        ++m;
+                    }
+                    if (m == size) {
+                        targets[m] = t.targets[n];
+                        ++size;
+                    }
+                    probabilities[m] += t.probabilities[n];
+                }
+            }
+            offsets[NUMBER_OF_STATES] = size;
+            this.probabilities = Arrays.copyOf(probabilities, size);
+            this.targets = Arrays.copyOf(targets, size);
+        }
+    }
+}
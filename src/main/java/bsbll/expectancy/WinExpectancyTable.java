@@ -0,0 +1,242 @@
+package bsbll.expectancy;
+
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkInRange;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.OccupiedBases;
+import bsbll.card.PlayerCard;
+import bsbll.card.PlayerCardLookup;
+import bsbll.card.Probability;
+import bsbll.die.DieFactory;
+import bsbll.game.Inning;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.player.Player;
+
+/**
+ * The probability of the home team winning the game, for every game state: inning, number
+ * of outs, occupied bases, and score difference.
+ * <p>
+ * The table is calculated by backward induction from the end of the game, using the run
+ * distributions of the half innings as given by the {@link RunExpectancyCalculator}. Both
+ * teams are assumed to consist of league-average players. Once calculated, every lookup is
+ * a simple array access, which makes the table suitable for use in e.g.
+ * {@code GameEventDetector} implementations and reports that evaluate the importance of
+ * the individual plays of a game.
+ * <p>
+ * All innings after the ninth have the same win probabilities as the ninth. Leads larger
+ * than {@link #MAX_LEAD} are treated as {@code MAX_LEAD}.
+ * <p>
+ * Tables for historical seasons are available via {@link WinExpectancyTables}.
+ */
+@Immutable
+public final class WinExpectancyTable {
+    public static final int MAX_LEAD = 20;
+
+    private static final int NUMBER_OF_INNINGS = 9;
+    private static final int NUMBER_OF_HALVES = Inning.Half.values().length;
+    private static final int NUMBER_OF_STATES = RunExpectancyCalculator.NUMBER_OF_STATES;
+    private static final int NUMBER_OF_LEADS = 2 * MAX_LEAD + 1;
+    private static final int START_OF_INNING = RunExpectancyCalculator.state(0, BaseOccupancy.EMPTY);
+    private static final Player LEAGUE_AVERAGE_PLAYER = new Player("league-average", "League Average");
+
+    /**
+     * The home team's win probabilities, as {@link Probability#unscaledValue() unscaled
+     * probability values}, which fit in a short.
+     */
+    private final short[] values;
+
+    private WinExpectancyTable(short[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Calculates the win expectancy table for the given game play parameters, with
+     * league-average players as given by the {@link PlayerCardLookup#getLeagueCard()
+     * league card} of the given PlayerCardLookup.
+     */
+    public static WinExpectancyTable calculate(GamePlayParams params, PlayerCardLookup cardLookup) {
+        LeagueAverageCardLookup leagueAverage = new LeagueAverageCardLookup(cardLookup.getLeagueCard());
+        // The matchup runner is only asked for probabilities, so it never rolls any dice.
+        RunExpectancyCalculator calculator = new RunExpectancyCalculator(params,
+                new Log5BasedMatchupRunner(leagueAverage, DieFactory.random()));
+        RunExpectancy re = calculator.calculate(ImmutableList.of(LEAGUE_AVERAGE_PLAYER), LEAGUE_AVERAGE_PLAYER);
+        return new Induction(re).run();
+    }
+
+    /**
+     * Returns the probability of the home team winning the game, at the start of the given
+     * half inning.
+     *
+     * @param inning
+     *            the half inning
+     * @param homeLead
+     *            the home team's score minus the visiting team's score
+     */
+    public Probability getHomeWinProbability(Inning inning, int homeLead) {
+        return getHomeWinProbability(inning, 0, OccupiedBases.NONE, homeLead);
+    }
+
+    /**
+     * Returns the probability of the home team winning the game, in the given game state.
+     *
+     * @param inning
+     *            the half inning
+     * @param outs
+     *            the number of outs
+     * @param bases
+     *            the occupied bases
+     * @param homeLead
+     *            the home team's score minus the visiting team's score
+     */
+    public Probability getHomeWinProbability(Inning inning, int outs, OccupiedBases bases, int homeLead) {
+        checkInRange(outs, 0, 2);
+        int state = RunExpectancyCalculator.state(outs, BaseOccupancy.of(bases));
+        int value = values[index(Math.min(inning.getNumber(), NUMBER_OF_INNINGS), inning.getHalf(), state, homeLead)];
+        return Probability.of(value, Probability.unscaledComplete());
+    }
+
+    private static int index(int inning, Inning.Half half, int state, int homeLead) {
+        int lead = Math.max(-MAX_LEAD, Math.min(MAX_LEAD, homeLead));
+        return (((inning - 1) * NUMBER_OF_HALVES + half.ordinal()) * NUMBER_OF_STATES + state) * NUMBER_OF_LEADS
+                + lead + MAX_LEAD;
+    }
+
+
+    /**
+     * Calculates the win probabilities, working backwards from the bottom of the ninth.
+     */
+    private static final class Induction {
+        /**
+         * runs[state][n] is the probability of n runs scoring in the remainder of a half
+         * inning in the given base-out state.
+         */
+        private final double[][] runs = new double[NUMBER_OF_STATES][];
+        private final double[] probabilities = new double[NUMBER_OF_INNINGS * NUMBER_OF_HALVES
+                                                          * NUMBER_OF_STATES * NUMBER_OF_LEADS];
+        /**
+         * The home team's win probability in a tie game at the start of an extra inning.
+         */
+        private final double extraInnings;
+
+        public Induction(RunExpectancy re) {
+            for (int state = 0; state < NUMBER_OF_STATES; ++state) {
+                runs[state] = re.runDistribution(0, state);
+            }
+            this.extraInnings = solveExtraInnings(runs[START_OF_INNING]);
+        }
+
+        /**
+         * In a tie game at the start of an extra inning, the home team wins if it outscores
+         * the visiting team in the inning, and the game continues in the same state if both
+         * teams score the same number of runs. This gives an equation in the win
+         * probability {@code x} of the form {@code x = a + b * x}.
+         */
+        private static double solveExtraInnings(double[] r) {
+            double a = 0.0;
+            double b = 0.0;
+            for (int visitingRuns = 0; visitingRuns < r.length; ++visitingRuns) {
+                double moreRuns = 0.0;
+                for (int homeRuns = visitingRuns + 1; homeRuns < r.length; ++homeRuns) {
+                    moreRuns += r[homeRuns];
+                }
+                a += r[visitingRuns] * moreRuns;
+                b += r[visitingRuns] * r[visitingRuns];
+            }
+            return a / (1.0 - b);
+        }
+
+        public WinExpectancyTable run() {
+            for (int inning = NUMBER_OF_INNINGS; inning >= 1; --inning) {
+                for (int state = 0; state < NUMBER_OF_STATES; ++state) {
+                    for (int lead = -MAX_LEAD; lead <= MAX_LEAD; ++lead) {
+                        set(inning, Inning.Half.BOTTOM, state, lead, bottom(inning, state, lead));
+                    }
+                }
+                for (int state = 0; state < NUMBER_OF_STATES; ++state) {
+                    for (int lead = -MAX_LEAD; lead <= MAX_LEAD; ++lead) {
+                        set(inning, Inning.Half.TOP, state, lead, top(inning, state, lead));
+                    }
+                }
+            }
+            short[] values = new short[probabilities.length];
+            for (int n = 0; n < values.length; ++n) {
+                double p = Math.max(0.0, Math.min(1.0, probabilities[n]));
+                values[n] = (short) Math.round(p * Probability.unscaledComplete());
+            }
+            return new WinExpectancyTable(values);
+        }
+
+        private double top(int inning, int state, int lead) {
+            double p = 0.0;
+            double[] r = runs[state];
+            for (int n = 0; n < r.length; ++n) {
+                p += r[n] * get(inning, Inning.Half.BOTTOM, START_OF_INNING, lead - n);
+            }
+            return p;
+        }
+
+        private double bottom(int inning, int state, int lead) {
+            double p = 0.0;
+            double[] r = runs[state];
+            if (inning < NUMBER_OF_INNINGS) {
+                for (int n = 0; n < r.length; ++n) {
+                    p += r[n] * get(inning + 1, Inning.Half.TOP, START_OF_INNING, lead + n);
+                }
+                return p;
+            }
+            if (lead > 0) {
+                // The game is already over.
+                return 1.0;
+            }
+            // The bottom of the ninth, or later. The game ends unless the score is tied
+            // at the end of the half inning.
+            for (int n = 0; n < r.length; ++n) {
+                int finalLead = lead + n;
+                if (finalLead > 0) {
+                    p += r[n];
+                } else if (finalLead == 0) {
+                    p += r[n] * extraInnings;
+                }
+            }
+            return p;
+        }
+
+        private double get(int inning, Inning.Half half, int state, int lead) {
+            return probabilities[index(inning, half, state, lead)];
+        }
+
+        private void set(int inning, Inning.Half half, int state, int lead, double value) {
+            probabilities[index(inning, half, state, lead)] = value;
+        }
+    }
+
+
+    private static final class LeagueAverageCardLookup implements PlayerCardLookup {
+        private final PlayerCard leagueCard;
+
+        public LeagueAverageCardLookup(PlayerCard leagueCard) {
+            this.leagueCard = requireNonNull(leagueCard);
+        }
+
+        @Override
+        public PlayerCard getBattingCard(Player player) {
+            return leagueCard;
+        }
+
+        @Override
+        public PlayerCard getPitchingCard(Player player) {
+            return leagueCard;
+        }
+
+        @Override
+        public PlayerCard getLeagueCard() {
+            return leagueCard;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package bsbll.expectancy;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumMap;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import bsbll.Year;
+import bsbll.card.LahmanPlayerCardLookup;
+import bsbll.game.params.GamePlayParamsFactory;
+import bsbll.league.LeagueId;
+
+/**
+ * Provides the {@link WinExpectancyTable} of historical seasons. A table is calculated the
+ * first time it is requested, from the game play parameters and the league stats of the
+ * season, and is then kept for the lifetime of the application.
+ */
+public final class WinExpectancyTables {
+    private static final EnumMap<LeagueId, LoadingCache<Year, WinExpectancyTable>> TABLES = createTables();
+
+    private static EnumMap<LeagueId, LoadingCache<Year, WinExpectancyTable>> createTables() {
+        EnumMap<LeagueId, LoadingCache<Year, WinExpectancyTable>> tables = new EnumMap<>(LeagueId.class);
+        for (LeagueId league : LeagueId.values()) {
+            tables.put(league, CacheBuilder.newBuilder()
+                    .build(CacheLoader.from(year -> calculate(league, year))));
+        }
+        return tables;
+    }
+
+    private static WinExpectancyTable calculate(LeagueId league, Year year) {
+        return WinExpectancyTable.calculate(
+                GamePlayParamsFactory.configBased(year).createParams(),
+                new LahmanPlayerCardLookup(league, year));
+    }
+
+    /**
+     * Returns the win expectancy table of the given league and season.
+     */
+    public static WinExpectancyTable forYear(LeagueId league, Year year) {
+        requireNonNull(league);
+        requireNonNull(year);
+        return TABLES.get(league).getUnchecked(year);
+    }
+
+    private WinExpectancyTables() {/**/}
+}
@@ -122,6 +122,20 @@ public final class BoxScore {
         return lineScore.toGameResult();
     }
     
+    /**
+     * Returns the winning pitcher, or an empty Optional if the game was tied.
+     */
+    public Optional<PitcherOfRecord> getWinningPitcher() {
+        return Optional.ofNullable(winningPitcher);
+    }
+    
+    /**
+     * Returns the losing pitcher, or an empty Optional if the game was tied.
+     */
+    public Optional<PitcherOfRecord> getLosingPitcher() {
+        return Optional.ofNullable(losingPitcher);
+    }
+    
     public Optional<PitcherOfRecord> checkPitcherOfRecord(Player pitcher) {
         requireNonNull(pitcher);
         if (winningPitcher != null && winningPitcher.getPitcher() == pitcher) {
@@ -0,0 +1,41 @@
+package bsbll.game;
+
+import bsbll.die.KeyedDieFactory;
+
+/**
+ * The points in a game where a die is rolled to decide what happens. Each decision point
+ * can be given its own random stream, via a {@link KeyedDieFactory}.
+ */
+public enum DecisionPoint {
+    /**
+     * The outcome of the batter-pitcher matchup.
+     */
+    MATCHUP,
+    /**
+     * Wild pitches, passed balls, and balks.
+     */
+    PITCHING_EVENTS,
+    /**
+     * The number of errors committed on a play.
+     */
+    ERRORS,
+    /**
+     * The advances of the batter and the runners.
+     */
+    ADVANCES,
+    /**
+     * Whether an infield out is turned into a fielder's choice.
+     */
+    FIELDERS_CHOICE,
+    /**
+     * Whether an out is made in the infield or in the outfield.
+     */
+    OUT_LOCATION,
+    /**
+     * Whether an out is made in the infield or in the outfield, in the inning that is
+     * reconstructed without the errors and passed balls to decide which runs are earned.
+     * Scoring the game must not change how it is played, so this is not the same stream
+     * as {@link #OUT_LOCATION}.
+     */
+    EARNED_RUNS
+}
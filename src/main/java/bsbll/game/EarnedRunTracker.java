@@ -6,12 +6,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
 import com.google.common.collect.ImmutableList;
 
 import bsbll.bases.Advances;
 import bsbll.bases.BaseHit;
 import bsbll.bases.BaseSituation;
 import bsbll.bases.BaseSituation.ResultOfAdvance;
+import bsbll.die.DieFactory;
 import bsbll.game.RunsScored.Run;
 import bsbll.game.params.GamePlayParams;
 import bsbll.game.params.OutAdvanceKey;
@@ -22,94 +26,139 @@ import bsbll.game.play.PlayOutcome;
 import bsbll.player.Player;
 
 /**
- * The official scorer's reconstruction of an inning that contains potentially unearned runs.
+ * The official scorer's running account of which runs are earned in a half inning.
+ * <p>
+ * The plays of the half inning are fed to the tracker as they happen. As long as there
+ * have been no errors or passed balls the ideal version of the inning is identical to the
+ * actual one, and every run that scores is earned. Once an error or passed ball happens,
+ * the tracker starts reconstructing the inning, maintaining the base situation and number
+ * of outs that would have been in the absence of errors and passed balls, alongside the
+ * actual ones. Runs that score in the reconstructed inning before the third (ideal) out are
+ * earned.
+ * <p>
+ * A tracker is used for a single half inning.
  */
-final class ReconstructedInning {
-    // TODO: The current implementation uses getMostCommonXXX to get the reconstructed 
+@NotThreadSafe
+final class EarnedRunTracker {
+    // TODO: The current implementation uses getMostCommonXXX to get the reconstructed
     // base advances. Should we be using pickOne instead?
-    
+
     private final Inning inning;
-    private final ImmutableList<Play> actualPlays;
-    // XXX: GamePlayParams offers more functionality than what is needed here. Refactor to 
+    // XXX: GamePlayParams offers more functionality than what is needed here. Refactor to
     // pass in a trimmed down service.
     private final GamePlayParams gamePlayParams;
-    private BaseSituation reconstructedBaseSituation = BaseSituation.empty();
-    private BaseSituation actualBaseSituation = BaseSituation.empty();
+    /**
+     * The dice that decide the location of the outs of the reconstructed inning. These are
+     * the {@link DecisionPoint#EARNED_RUNS earned run} dice of the game, so that the earned
+     * runs are as reproducible as the rest of the game, without the scoring using up the
+     * rolls of the game's own out locations.
+     */
+    private final DieFactory outLocationDice;
+    private final List<Run> earnedRuns = new ArrayList<>();
     private int outs;
+    /**
+     * Set once the first error or passed ball happens.
+     */
+    private boolean reconstructing;
+    /**
+     * The number of runs that scored before we started reconstructing the inning.
+     */
+    private int runsBeforeReconstruction;
+    /**
+     * If no actual runs score after the first error or passed ball, all runs are earned,
+     * regardless of what happens in the reconstructed inning.
+     */
+    private boolean runScoredWhileReconstructing;
+    @Nullable
+    private BaseSituation reconstructedBaseSituation;
+    @Nullable
+    private Player previousBatter;
     private boolean batterShouldBeOut;
-    
-    // For error reporting
-    private final List<Play> reconstructedPlays = new ArrayList<>();
-    private Play currentPlay;
-    
-    public ReconstructedInning(Inning inning, List<Play> actualPlays, GamePlayParams gamePlayParams) {
+
+    public EarnedRunTracker(Inning inning, GamePlayParams gamePlayParams, DieFactory outLocationDice) {
         this.inning = requireNonNull(inning);
-        this.actualPlays = ImmutableList.copyOf(actualPlays);
         this.gamePlayParams = requireNonNull(gamePlayParams);
+        this.outLocationDice = requireNonNull(outLocationDice);
     }
 
-    public static ReconstructedInning of(HalfInning.Summary summary, GamePlayParams gamePlayParams) {
-        return new ReconstructedInning(summary.getInning(), summary.getPlays(), gamePlayParams);
+    /**
+     * Processes the next play of the half inning.
+     *
+     * @param actualPlay
+     *            the play, as it actually happened
+     * @param actualBaseSituation
+     *            the actual base situation before the play
+     */
+    public void process(Play actualPlay, BaseSituation actualBaseSituation) {
+        requireNonNull(actualPlay);
+        requireNonNull(actualBaseSituation);
+        if (!reconstructing) {
+            if (!actualPlay.isErrorOrPassedBall()) {
+                // The ideal play is the actual play.
+                if (actualPlay.getNumberOfRuns() > 0) {
+                    addEarnedRuns(actualPlay.advanceRunners(actualBaseSituation));
+                }
+                outs += actualPlay.getNumberOfOuts();
+                previousBatter = actualPlay.getBatter();
+                return;
+            }
+            reconstructing = true;
+            runsBeforeReconstruction = earnedRuns.size();
+            reconstructedBaseSituation = actualBaseSituation;
+        }
+        if (actualPlay.getNumberOfRuns() > 0) {
+            runScoredWhileReconstructing = true;
+        }
+        if (actualPlay.getBatter() != previousBatter) {
+            previousBatter = actualPlay.getBatter();
+            batterShouldBeOut = false;
+        } else if (batterShouldBeOut) {
+            return;
+        }
+        Play idealPlay = getIdealPlay(actualPlay, actualBaseSituation);
+        handleIdealPlay(idealPlay);
     }
-    
+
+    /**
+     * Returns the earned runs of the plays processed so far.
+     */
     public ImmutableList<Run> getEarnedRuns() {
         // TODO: This situation needs to change once we implement pitcher substitutions, when the
         // pitcher responsible for a batter can change due to a fielder's choice.
-        // TODO: Also, when we have pitcher substitutions we must distinguish between team unearned 
+        // TODO: Also, when we have pitcher substitutions we must distinguish between team unearned
         // runs and pitcher unearned runs. Add class EarnedRun, with a flag that tells us if the run
         // is earned for both the team and the pitcher, or just the pitcher.
-        ImmutableList.Builder<Run> earnedRuns = ImmutableList.builder();
-        Player previousBatter = null;
-        
-        for (Play actualPlay : actualPlays) {
-            currentPlay = actualPlay;
-            if (actualPlay.getBatter() != previousBatter) {
-                previousBatter = actualPlay.getBatter();
-                batterShouldBeOut = false;
-            } else if (batterShouldBeOut) {
-                continue;
-            }
-            Play idealPlay = processPlay(actualPlay, earnedRuns);
-            actualBaseSituation = actualPlay.advanceRunners(actualBaseSituation).getNewSituation();
-            previousBatter = idealPlay.getBatter();
-        }
-        return earnedRuns.build();
+        return (reconstructing && !runScoredWhileReconstructing)
+                ? ImmutableList.copyOf(earnedRuns.subList(0, runsBeforeReconstruction))
+                : ImmutableList.copyOf(earnedRuns);
     }
 
-    private Play processPlay(Play actualPlay, ImmutableList.Builder<Run> earnedRuns) {
-        try {
-            Play idealPlay = getIdealPlay(actualPlay);
-            reconstructedPlays.add(idealPlay);
-            handleIdealPlay(idealPlay, earnedRuns);
-            return idealPlay;
-        } catch (RuntimeException e) {
-            reportError(e);
-            throw e;
+    private void addEarnedRuns(ResultOfAdvance roa) {
+        for (BaseRunner r : roa.getRunnersThatScored()) {
+            earnedRuns.add(new Run(inning, r));
         }
     }
 
-    private void handleIdealPlay(Play idealPlay, ImmutableList.Builder<Run> earnedRuns) {
+    private void handleIdealPlay(Play idealPlay) {
         if (idealPlay.isNoPlay()) {
             return;
         }
         ResultOfAdvance roa = idealPlay.advanceRunners(reconstructedBaseSituation);
         if (outs < 3) {
-            // TODO: Once we implement pitcher substitutions this will have to be treated 
+            // TODO: Once we implement pitcher substitutions this will have to be treated
             // differently. The run will be unearned for the team, but could still be earned
             // for the pitcher.
-            roa.getRunnersThatScored().stream()
-                .map(br -> new Run(inning, br))
-                .forEach(earnedRuns::add);
+            addEarnedRuns(roa);
         }
         reconstructedBaseSituation = roa.getNewSituation();
         outs += idealPlay.getNumberOfOuts();
     }
-    
-    private Play getIdealPlay(Play actualPlay) {
+
+    private Play getIdealPlay(Play actualPlay, BaseSituation actualBaseSituation) {
         if (actualPlay.isErrorOrPassedBall()) {
             return createIdealVersionOfNonIdealPlay(actualPlay);
         } else {
-            return tweakAdvancesOfIdealPlayIfNecessary(actualPlay);
+            return tweakAdvancesOfIdealPlayIfNecessary(actualPlay, actualBaseSituation);
         }
     }
 
@@ -141,7 +190,7 @@ final class ReconstructedInning {
         // TODO: The OutLocation should be the same that was used when the original OUT
         // was turned into a REACHED_ON_ERROR by the GamePlayParams. How do we accomplish
         // that? Store the OutLocation as an optional parameter in PlayOutcome?
-        OutLocation location = gamePlayParams.getOutLocation();
+        OutLocation location = gamePlayParams.getOutLocation(outLocationDice);
         // XXX: outs keeps track of how many outs *should* have been recorded. This can
         // be >= 3. The advance distributions rightfully expect the number of outs to be
         // < 3, so if we end up in that situation we use 2.
@@ -159,7 +208,7 @@ final class ReconstructedInning {
         Advances advances = gamePlayParams.getMostCommonAdvancesOnBaseHit(hit, reconstructedBaseSituation, Math.min(2, outs));
         return new Play(actualPlay.getBatter(), actualPlay.getPitcher(), new PlayOutcome(type, advances));
     }
-    
+
     /**
      * Returns a new version of an actual play that did not have any errors or passed balls,
      * with the advances updated, if necessary, to match the reconstructed base situation.
@@ -180,9 +229,9 @@ final class ReconstructedInning {
      * reconstructed base situation, because the runner is still on first, not on second.
      * <p>
      * The best way of handling this situation is still up for discussion. For now, we simply pick
-     * the most common advance, given the type of play and situation. 
+     * the most common advance, given the type of play and situation.
      */
-    private Play tweakAdvancesOfIdealPlayIfNecessary(Play play) {
+    private Play tweakAdvancesOfIdealPlayIfNecessary(Play play, BaseSituation actualBaseSituation) {
         assert !play.isErrorOrPassedBall();
         if (reconstructedBaseSituation.equals(actualBaseSituation)) {
             return play;
@@ -192,7 +241,7 @@ final class ReconstructedInning {
         PlayOutcome reconstructedOutcome = new PlayOutcome(actualOutcome.getType(), advances);
         return new Play(play.getBatter(), play.getPitcher(), reconstructedOutcome);
     }
-    
+
     private Advances advancesThatMatchReconstructedSituation(PlayOutcome o) {
         int outsToUse = Math.min(2, outs);
         switch (o.getType()) {
@@ -202,8 +251,8 @@ final class ReconstructedInning {
         case DOUBLE: /*fall-through*/
         case TRIPLE:
             return gamePlayParams.getMostCommonAdvancesOnBaseHit(
-                    BaseHit.fromEventType(o.getType()), 
-                    reconstructedBaseSituation, 
+                    BaseHit.fromEventType(o.getType()),
+                    reconstructedBaseSituation,
                     outsToUse);
         case OUT: /*fall-through*/
         case FIELDERS_CHOICE:
@@ -213,15 +262,15 @@ final class ReconstructedInning {
                     OutAdvanceKey.of(
                             EventType.OUT,
                             // TODO: Same situation as in idealPlayOnOut() - we should use the same OutLocation as the original play
-                            gamePlayParams.getOutLocation(), 
-                            outsToUse), 
-                    reconstructedBaseSituation, 
+                            gamePlayParams.getOutLocation(outLocationDice),
+                            outsToUse),
+                    reconstructedBaseSituation,
                     predicate);
         case WALK: /*fall-through*/
         case HIT_BY_PITCH:
             return Advances.batterAwardedFirstBase(reconstructedBaseSituation.getOccupiedBases());
         case STRIKEOUT:
-            // TODO: Once we've implemented the possibility of advances on strikeouts, this 
+            // TODO: Once we've implemented the possibility of advances on strikeouts, this
             // must change accordingly (?)
             return Advances.empty();
         case WILD_PITCH:
@@ -233,23 +282,4 @@ final class ReconstructedInning {
             throw new RuntimeException("TODO: Implement me for " + o.getType());
         }
     }
-    
-    private void reportError(RuntimeException e) {
-        System.out.println(e.getMessage());
-        System.out.println();
-        System.out.println("Actual plays:");
-        actualPlays.forEach(System.out::println);
-        System.out.println("Actual base situation:");
-        System.out.println(actualBaseSituation);
-        System.out.println("Current play:");
-        System.out.println(currentPlay);
-        System.out.println();
-        System.out.println("Reconstructed plays:");
-        reconstructedPlays.forEach(System.out::println);
-        System.out.println("Reconstructed base situation:");
-        System.out.println(reconstructedBaseSituation);
-        System.out.println();
-        System.out.println("Stacktrace:");
-        e.printStackTrace(System.out);
-    }
 }
@@ -0,0 +1,288 @@
+package bsbll.game;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import bsbll.bases.BaseHit;
+import bsbll.bases.BaseOccupancy;
+import bsbll.die.DieFactory;
+import bsbll.die.KeyedDieFactory;
+import bsbll.game.params.AdvanceChoices;
+import bsbll.game.params.CompiledGamePlayParams;
+import bsbll.game.params.OutLocation;
+import bsbll.game.play.EventType;
+import bsbll.matchup.MatchupRunner;
+import bsbll.matchup.MatchupRunner.Outcome;
+import bsbll.player.Player;
+import bsbll.team.BattingOrderCursor;
+
+/**
+ * A game engine that plays half innings without recording any player stats, plays objects,
+ * or game events, as used when a game is played at {@link Fidelity#SCORE} or
+ * {@link Fidelity#LINE_SCORE} fidelity.
+ * <p>
+ * All state is kept in primitive fields and pre-sized buffers that are reused from one half
+ * inning to the next, so that once the buffers have grown to fit the longest half inning
+ * played, no garbage is produced per plate appearance (provided the MatchupRunner and
+ * DieFactory do not produce any). The base situation is represented as a
+ * {@link BaseOccupancy} bit mask, and the base running is driven by the
+ * {@link CompiledGamePlayParams compiled form} of the game play parameters.
+ * <p>
+ * The plays of the most recently played half inning are kept in a compact form, which the
+ * unit tests inspect via the package-private {@link #getNumberOfPlays()} and related getters.
+ * <p>
+ * A single instance can be used to play any number of half innings, but not concurrently.
+ */
+@NotThreadSafe
+public final class FastHalfInning {
+    private static final int INITIAL_PLAY_CAPACITY = 32;
+
+    private final MatchupRunner matchupRunner;
+    private final CompiledGamePlayParams params;
+    private final DieFactory pitchingEventDice;
+    private final DieFactory errorDice;
+    private final DieFactory advanceDice;
+    private final DieFactory fieldersChoiceDice;
+    private final DieFactory outLocationDice;
+
+    private Player pitcher;
+    private int runsNeededToWin;
+    private int outs;
+    private int runs;
+    private int hits;
+    private int errors;
+    private int bases;
+
+    private int numberOfPlays;
+    private Player[] playBatters = new Player[INITIAL_PLAY_CAPACITY];
+    private EventType[] playTypes = new EventType[INITIAL_PLAY_CAPACITY];
+    private int[] playResults = new int[INITIAL_PLAY_CAPACITY];
+    private int[] playErrors = new int[INITIAL_PLAY_CAPACITY];
+
+    public FastHalfInning(GamePlayDriver driver) {
+        this.matchupRunner = driver.getMatchupRunner();
+        this.params = driver.getParams().compile();
+        KeyedDieFactory<DecisionPoint> dice = driver.getDice();
+        this.pitchingEventDice = dice.forKey(DecisionPoint.PITCHING_EVENTS);
+        this.errorDice = dice.forKey(DecisionPoint.ERRORS);
+        this.advanceDice = dice.forKey(DecisionPoint.ADVANCES);
+        this.fieldersChoiceDice = dice.forKey(DecisionPoint.FIELDERS_CHOICE);
+        this.outLocationDice = dice.forKey(DecisionPoint.OUT_LOCATION);
+    }
+
+    /**
+     * Plays a half inning. The outcome is available via the getters of this class, until the
+     * next half inning is played.
+     *
+     * @param battingOrder
+     *            the cursor of the batting order, which is advanced as the batters come up
+     * @param pitcher
+     *            the pitcher
+     * @param runsNeededToWin
+     *            if the bottom of ninth inning or later, the number of runs
+     *            needed by the batting team to win the game. The half inning
+     *            will come to a stop once this many runs score (or three outs
+     *            are made). {@code RunsNeededToWin.notApplicable()} if not applicable.
+     */
+    public void run(BattingOrderCursor battingOrder, Player pitcher, RunsNeededToWin runsNeededToWin) {
+        requireNonNull(battingOrder);
+        this.pitcher = requireNonNull(pitcher);
+        this.runsNeededToWin = runsNeededToWin.intValue();
+        this.outs = 0;
+        this.runs = 0;
+        this.hits = 0;
+        this.errors = 0;
+        this.bases = BaseOccupancy.EMPTY;
+        this.numberOfPlays = 0;
+        do {
+            Player batter = battingOrder.nextBatter();
+            boolean completed = runPlateAppearance(batter);
+            if (!completed) {
+                battingOrder.returnBatter(batter);
+            }
+        } while (!isDone());
+        this.pitcher = null;
+    }
+
+    private boolean isDone() {
+        if (outs > 3) {
+            throw new IllegalStateException("Invalid number of outs: " + outs);
+        }
+        return (outs == 3) || (runsNeededToWin > 0 && runs >= runsNeededToWin);
+    }
+
+    /**
+     * Runs the plate appearance of the given batter, including any plays that take place
+     * before the batter-pitcher matchup completes.
+     *
+     * @return {@code true} if the batter completed his turn at bat, {@code false} if
+     *         the half inning ended before that.
+     */
+    private boolean runPlateAppearance(Player batter) {
+        if (bases != BaseOccupancy.EMPTY) {
+            // Mirrors the pre-matchup plays of GamePlayDriver.
+            if (params.testWildPitch(pitchingEventDice)) {
+                addPlay(batter, EventType.WILD_PITCH, BaseOccupancy.runnersAdvanceOneBase(bases), 0);
+            } else if (params.testPassedBall(pitchingEventDice)) {
+                addPlay(batter, EventType.PASSED_BALL, BaseOccupancy.runnersAdvanceOneBase(bases), 0);
+            } else if (params.testBalk(pitchingEventDice)) {
+                addPlay(batter, EventType.BALK, BaseOccupancy.runnersAdvanceOneBase(bases), 0);
+            }
+            if (isDone()) {
+                return false;
+            }
+        }
+        Outcome outcome = matchupRunner.run(batter, pitcher);
+        switch (outcome) {
+        case SINGLE:
+            baseHit(batter, BaseHit.SINGLE);
+            break;
+        case DOUBLE:
+            baseHit(batter, BaseHit.DOUBLE);
+            break;
+        case TRIPLE:
+            baseHit(batter, BaseHit.TRIPLE);
+            break;
+        case HOMERUN:
+            ++hits;
+            addPlay(batter, EventType.HOMERUN, BaseOccupancy.homerun(bases), 0);
+            break;
+        case STRIKEOUT:
+            addPlay(batter, EventType.STRIKEOUT, bases, 0);
+            break;
+        case WALK:
+            addPlay(batter, EventType.WALK, BaseOccupancy.batterAwardedFirstBase(bases), 0);
+            break;
+        case HIT_BY_PITCH:
+            addPlay(batter, EventType.HIT_BY_PITCH, BaseOccupancy.batterAwardedFirstBase(bases), 0);
+            break;
+        case OUT:
+            out(batter);
+            break;
+        default:
+            throw new AssertionError("Unexpected outcome: " + outcome);
+        }
+        return true;
+    }
+
+    private void baseHit(Player batter, BaseHit baseHit) {
+        EventType type = baseHit.toEventType();
+        int numberOfErrors = params.getNumberOfErrors(type, bases, errorDice);
+        AdvanceChoices choices = (numberOfErrors == 0)
+                ? params.getAdvancesOnBaseHit(baseHit, outs, bases)
+                : params.getAdvancesOnError(type, numberOfErrors, outs, bases);
+        ++hits;
+        addPlay(batter, type, pick(choices), numberOfErrors);
+    }
+
+    private void out(Player batter) {
+        OutLocation location = params.getOutLocation(outLocationDice);
+        int numberOfErrors = params.getNumberOfErrors(EventType.OUT, bases, errorDice);
+        if (numberOfErrors == 0) {
+            boolean convertToFieldersChoice = (location == OutLocation.INFIELD) &&
+                    params.testFieldersChoice(bases, fieldersChoiceDice);
+            EventType type = convertToFieldersChoice
+                    ? EventType.FIELDERS_CHOICE
+                    : EventType.OUT;
+            int result = pick(params.getAdvancesOnOut(type, location, outs, bases));
+            addPlay(batter, type, result, 0);
+        } else {
+            AdvanceChoices choices = params.getAdvancesOnError(EventType.OUT, numberOfErrors, outs, bases);
+            int index = choices.pickIndex(advanceDice);
+            // Same criterion as GamePlayDriver.
+            EventType type = choices.get(index).didBatterReachBase()
+                    ? EventType.REACHED_ON_ERROR
+                    : EventType.OUT;
+            addPlay(batter, type, choices.getResult(index), numberOfErrors);
+        }
+    }
+
+    private int pick(AdvanceChoices choices) {
+        return choices.getResult(choices.pickIndex(advanceDice));
+    }
+
+    private void addPlay(Player batter, EventType type, int result, int numberOfErrors) {
+        if (numberOfPlays == playTypes.length) {
+            growPlayBuffers();
+        }
+        playBatters[numberOfPlays] = batter;
+        playTypes[numberOfPlays] = type;
+        playResults[numberOfPlays] = result;
+        playErrors[numberOfPlays] = numberOfErrors;
+        ++numberOfPlays;
+
+        outs += BaseOccupancy.outs(result);
+        if (type.isBatterOut() && !BaseOccupancy.isBatterIncluded(result)) {
+            ++outs;
+        }
+        runs += BaseOccupancy.runs(result);
+        errors += numberOfErrors;
+        bases = BaseOccupancy.bases(result);
+    }
+
+    private void growPlayBuffers() {
+        int capacity = 2 * playTypes.length;
+        playBatters = Arrays.copyOf(playBatters, capacity);
+        playTypes = Arrays.copyOf(playTypes, capacity);
+        playResults = Arrays.copyOf(playResults, capacity);
+        playErrors = Arrays.copyOf(playErrors, capacity);
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    public int getOuts() {
+        return outs;
+    }
+
+    public int getLeftOnBase() {
+        return BaseOccupancy.getNumberOfRunners(bases);
+    }
+
+    /**
+     * Returns the stats of the most recently played half inning.
+     */
+    public HalfInning.Stats getStats() {
+        return new HalfInning.Stats(runs, hits, errors, outs, getLeftOnBase());
+    }
+
+    int getNumberOfPlays() {
+        return numberOfPlays;
+    }
+
+    Player getBatter(int play) {
+        checkElementIndex(play, numberOfPlays);
+        return playBatters[play];
+    }
+
+    EventType getType(int play) {
+        checkElementIndex(play, numberOfPlays);
+        return playTypes[play];
+    }
+
+    /**
+     * Returns the {@link BaseOccupancy encoded} base running result of the given play.
+     */
+    int getResult(int play) {
+        checkElementIndex(play, numberOfPlays);
+        return playResults[play];
+    }
+
+    int getNumberOfErrors(int play) {
+        checkElementIndex(play, numberOfPlays);
+        return playErrors[play];
+    }
+}
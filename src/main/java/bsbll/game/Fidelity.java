@@ -0,0 +1,35 @@
+package bsbll.game;
+
+/**
+ * The level of detail that is recorded when a {@link Game} or a {@link HalfInning} is played.
+ * <p>
+ * Each level includes everything recorded by the levels before it. The lower the level,
+ * the less bookkeeping is done, which matters when simulating a large number of games
+ * where only the final scores are of interest.
+ */
+public enum Fidelity {
+    /**
+     * Only the number of runs scored by each team is recorded.
+     */
+    SCORE,
+    /**
+     * The runs, hits, errors and men left on base of each half inning is recorded.
+     */
+    LINE_SCORE,
+    /**
+     * In addition to the line score, individual player stats, including runs and earned
+     * runs allowed and the pitchers of record, are recorded.
+     */
+    STATS,
+    /**
+     * Everything is recorded, including all plays and game events.
+     */
+    BOX_SCORE;
+
+    /**
+     * Checks if this level records everything recorded by the given level.
+     */
+    public boolean includes(Fidelity other) {
+        return this.compareTo(other) >= 0;
+    }
+}
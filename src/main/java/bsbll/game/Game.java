@@ -14,17 +14,23 @@ import bsbll.game.event.GameEvent;
 import bsbll.game.event.GameEventDetector;
 import bsbll.game.event.GameEvents;
 import bsbll.game.play.Play;
+import bsbll.game.split.SplitRecorder;
+import bsbll.player.Player;
 import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.team.BattingOrderCursor;
 import bsbll.team.Lineup;
+import bsbll.team.RotationCursor;
 import bsbll.team.Team;
 import tzeth.collections.LoopingIterator;
 
 public final class Game {
     private final Team homeTeam;
     private final Lineup homeLineup;
+    private final BattingOrderCursor homeBatters;
     
     private final Team visitingTeam;
     private final Lineup visitingLineup;
+    private final BattingOrderCursor visitingBatters;
     
     private final GamePlayDriver driver;
     
@@ -32,69 +38,172 @@ public final class Game {
 
     private final Innings innings = new Innings();
     private final PlayerGameStats playerStats = new PlayerGameStats();
+    private final List<Play> plays = new ArrayList<>();
+    private final List<Run> runs = new ArrayList<>();
+    private final List<GameEvent> events = new ArrayList<>();
     // The event detector is not integral to playing a game, so it is optional.
     private GameEventDetector eventDetector = GameEventDetector.NO_EVENTS;
+    // Likewise the split recorder.
+    private SplitRecorder splitRecorder = SplitRecorder.NO_SPLITS;
 
-    public Game(Team homeTeam, Team visitingTeam, GamePlayDriver driver, OfficialScorer officialScorer) {
+    /**
+     * Creates a game between the given teams, with the given starting pitchers.
+     * <p>
+     * The game does not modify the teams in any way: the starting pitchers are decided by
+     * the caller, for example by keeping a {@link RotationCursor} for each team, and the
+     * game keeps track of the batters due up in its own {@link BattingOrderCursor}s. Games
+     * between the same teams can therefore be created up front, and played in any order
+     * or concurrently.
+     */
+    public Game(Team homeTeam, 
+                Player homeStartingPitcher, 
+                Team visitingTeam, 
+                Player visitingStartingPitcher, 
+                GamePlayDriver driver, 
+                OfficialScorer officialScorer) {
         requireNonNull(homeTeam);
         requireNonNull(visitingTeam);
         checkArgument(homeTeam != visitingTeam, "A team cannot play a game against itself (%s)", homeTeam);
         this.driver = requireNonNull(driver);
         this.officialScorer = requireNonNull(officialScorer);
         this.homeTeam = homeTeam;
-        this.homeLineup = homeTeam.getRoster().getLineup();
+        this.homeLineup = homeTeam.getRoster().getLineup(homeStartingPitcher);
+        this.homeBatters = homeLineup.getBattingOrder().newCursor();
         this.visitingTeam = visitingTeam;
-        this.visitingLineup = visitingTeam.getRoster().getLineup();
+        this.visitingLineup = visitingTeam.getRoster().getLineup(visitingStartingPitcher);
+        this.visitingBatters = visitingLineup.getBattingOrder().newCursor();
+    }
+    
+    /**
+     * Creates a game between the given teams, with the starting pitchers the given
+     * rotation cursors point at.
+     */
+    public Game(Team homeTeam, 
+                RotationCursor homeRotation, 
+                Team visitingTeam, 
+                RotationCursor visitingRotation, 
+                GamePlayDriver driver, 
+                OfficialScorer officialScorer) {
+        this(homeTeam, homeRotation.getStartingPitcher(), visitingTeam, visitingRotation.getStartingPitcher(), 
+                driver, officialScorer);
     }
     
     public void setGameEventDetector(GameEventDetector eventDetector) {
         this.eventDetector = requireNonNull(eventDetector);
     }
     
+    /**
+     * Sets the recorder that the stats of the players are fed to as they accrue, inning by
+     * inning. Only games that are played at {@link Fidelity#STATS} or higher keep track of
+     * the player stats.
+     */
+    public void setSplitRecorder(SplitRecorder splitRecorder) {
+        this.splitRecorder = requireNonNull(splitRecorder);
+        this.playerStats.setSplitRecorder(splitRecorder);
+    }
+    
+    /**
+     * Plays the game, and returns the full box score.
+     */
     public BoxScore run() {
+        return run(Fidelity.BOX_SCORE);
+    }
+    
+    /**
+     * Plays the game at the given level of fidelity, which must be {@link Fidelity#STATS} or 
+     * higher. At {@code STATS} fidelity the plays and game events of the returned BoxScore 
+     * are left empty.
+     */
+    public BoxScore run(Fidelity fidelity) {
+        checkArgument(fidelity.includes(Fidelity.STATS), "A box score requires at least %s fidelity, was %s",
+                Fidelity.STATS, fidelity);
+        play(fidelity);
+        splitRecorder.endOfPlay();
+        LineScore lineScore = createLineScore();
+        RunsScored runsScored = RunsScored.of(runs);
+        // TODO: This will bomb out when we allow ties
+        PitcherOfRecord wp = officialScorer.getWinningPitcher(homeTeam.getId(), homeLineup, 
+                visitingTeam.getId(), visitingLineup, runsScored);
+        PitcherOfRecord lp = officialScorer.getLosingPitcher(runsScored);
+        playerStats.updatePitchersOfRecord(wp, lp);
+        return new BoxScore(lineScore, homeLineup, visitingLineup, wp, lp, runsScored, 
+                playerStats, plays, GameEvents.of(events));
+    }
+    
+    /**
+     * Plays the game, without keeping track of anything but the line score.
+     */
+    public LineScore runForLineScore() {
+        play(Fidelity.LINE_SCORE);
+        return createLineScore();
+    }
+    
+    /**
+     * Plays the game, without keeping track of anything but the final score.
+     */
+    public GameResult runForResult() {
+        play(Fidelity.SCORE);
+        return new GameResult(homeTeam.getId(), innings.getHomeScore(), 
+                visitingTeam.getId(), innings.getRoadScore());
+    }
+    
+    private void play(Fidelity fidelity) {
         checkState(innings.isEmpty(), "Game already in progress");
         LoopingIterator<Lineup> battingLineup = LoopingIterator.of(visitingLineup, homeLineup);
         LoopingIterator<Lineup> fieldingLineup = LoopingIterator.of(homeLineup, visitingLineup);
-        List<Play> plays = new ArrayList<>();
-        List<Run> runs = new ArrayList<>();
-        List<GameEvent> events = new ArrayList<>();
+        // Below STATS fidelity there are no plays or player stats to keep track of, in which
+        // case we use the leaner FastHalfInning engine.
+        FastHalfInning fastHalfInning = fidelity.includes(Fidelity.STATS)
+                ? null
+                : new FastHalfInning(driver);
         do {
             Lineup batting = battingLineup.next();
             Lineup fielding = fieldingLineup.next();
             assert batting != fielding;
-            HalfInning halfInning = new HalfInning(
-                    innings.current(),
-                    batting.getBattingOrder(),
-                    fielding.getPitcher(),
-                    driver,
-                    playerStats,
-                    eventDetector,
-                    innings.runsNeededToWalkOf());
-            HalfInning.Summary summary = halfInning.run();
-            innings.onHalfInningCompleted(summary.getStats());
-            processPitcherRuns(summary);
+            BattingOrderCursor batters = (batting == homeLineup)
+                    ? homeBatters
+                    : visitingBatters;
+            if (fastHalfInning != null) {
+                fastHalfInning.run(batters, fielding.getPitcher(), innings.runsNeededToWalkOf());
+                innings.onHalfInningCompleted(fastHalfInning.getStats());
+            } else {
+                playHalfInning(batters, fielding, fidelity);
+            }
+        } while (!innings.isGameOver());
+    }
+    
+    private void playHalfInning(BattingOrderCursor batters, Lineup fielding, Fidelity fidelity) {
+        splitRecorder.startHalfInning(innings.current());
+        HalfInning halfInning = new HalfInning(
+                innings.current(),
+                batters,
+                fielding.getPitcher(),
+                driver,
+                playerStats,
+                eventDetector,
+                innings.runsNeededToWalkOf(),
+                fidelity);
+        HalfInning.Summary summary = halfInning.run();
+        innings.onHalfInningCompleted(summary.getStats());
+        processPitcherRuns(summary);
+        runs.addAll(summary.getRuns());
+        if (fidelity.includes(Fidelity.BOX_SCORE)) {
             plays.addAll(summary.getPlays());
-            runs.addAll(summary.getRuns());
             events.addAll(summary.getEvents());
-        } while (!innings.isGameOver());
-        LineScore lineScore = new LineScore(
+        }
+    }
+    
+    private LineScore createLineScore() {
+        return new LineScore(
                 new LineScore.Line(homeTeam, innings.bottom),
                 new LineScore.Line(visitingTeam, innings.top)
         );
-        RunsScored runsScored = RunsScored.of(runs);
-        // TODO: This will bomb out when we allow ties
-        PitcherOfRecord wp = officialScorer.getWinningPitcher(homeTeam.getId(), homeLineup, 
-                visitingTeam.getId(), visitingLineup, runsScored);
-        PitcherOfRecord lp = officialScorer.getLosingPitcher(runsScored);
-        playerStats.updatePitchersOfRecord(wp, lp);
-        return new BoxScore(lineScore, homeLineup, visitingLineup, wp, lp, runsScored, 
-                playerStats, plays, GameEvents.of(events));
     }
     
     private void processPitcherRuns(HalfInning.Summary summary) {
         ImmutableList<Run> allRuns = summary.getRuns();
         allRuns.forEach(r -> playerStats.add(r.getResponsiblePitcher(), PrimitivePitchingStat.RUNS, 1));
-        ImmutableList<Run> earnedRuns = officialScorer.getEarnedRuns(summary);
+        ImmutableList<Run> earnedRuns = summary.getEarnedRuns();
         earnedRuns.forEach(r -> playerStats.add(r.getResponsiblePitcher(), PrimitivePitchingStat.EARNED_RUNS, 1));
     }
     
@@ -108,6 +217,8 @@ public final class Game {
         private final List<HalfInning.Stats> top = new ArrayList<>();
         private final List<HalfInning.Stats> bottom = new ArrayList<>();
         private Inning current = Inning.startOfGame();
+        private int homeScore;
+        private int roadScore;
         
         public Inning current() {
             return current;
@@ -116,24 +227,20 @@ public final class Game {
         public void onHalfInningCompleted(HalfInning.Stats stats) {
             if (current.isTop()) {
                 top.add(stats);
+                roadScore += stats.getRuns();
             } else {
                 bottom.add(stats);
+                homeScore += stats.getRuns();
             }
             current = current.next();
         }
         
         public int getHomeScore() {
-            return countRuns(bottom);
+            return homeScore;
         }
         
         public int getRoadScore() {
-            return countRuns(top);
-        }
-        
-        private static int countRuns(List<HalfInning.Stats> list) {
-            return list.stream()
-                    .mapToInt(HalfInning.Stats::getRuns)
-                    .sum();
+            return roadScore;
         }
         
         public boolean isGameOver() {
@@ -11,6 +11,7 @@ import bsbll.bases.BaseHit;
 import bsbll.bases.BaseSituation;
 import bsbll.bases.BaseSituation.ResultOfAdvance;
 import bsbll.die.DieFactory;
+import bsbll.die.KeyedDieFactory;
 import bsbll.game.params.ErrorAdvanceKey;
 import bsbll.game.params.GamePlayParams;
 import bsbll.game.params.OutAdvanceKey;
@@ -39,14 +40,51 @@ import bsbll.stats.PitchingStat.PrimitivePitchingStat;
 public final class GamePlayDriver {
     private final MatchupRunner matchupRunner;
     private final GamePlayParams params;
-    private final DieFactory dieFactory;
+    private final KeyedDieFactory<DecisionPoint> dice;
+    private final DieFactory pitchingEventDice;
+    private final DieFactory errorDice;
+    private final DieFactory advanceDice;
+    private final DieFactory fieldersChoiceDice;
+    private final DieFactory outLocationDice;
     
+    /**
+     * Creates a GamePlayDriver that rolls the dice of all the decision points of the game,
+     * including the {@link DecisionPoint#EARNED_RUNS earned runs}, from the given DieFactory.
+     */
     public GamePlayDriver(MatchupRunner matchupRunner,
                           GamePlayParams params,
                           DieFactory dieFactory) {
+        this(matchupRunner, params, KeyedDieFactory.shared(dieFactory));
+    }
+    
+    /**
+     * Creates a GamePlayDriver that rolls the dice of each decision point of the game from
+     * the corresponding DieFactory of the given KeyedDieFactory. The matchup runner makes
+     * the {@link DecisionPoint#MATCHUP matchup} decisions with a DieFactory of its own.
+     */
+    public GamePlayDriver(MatchupRunner matchupRunner,
+                          GamePlayParams params,
+                          KeyedDieFactory<DecisionPoint> dice) {
         this.matchupRunner = requireNonNull(matchupRunner);
         this.params = requireNonNull(params);
-        this.dieFactory = requireNonNull(dieFactory);
+        this.dice = requireNonNull(dice);
+        this.pitchingEventDice = dice.forKey(DecisionPoint.PITCHING_EVENTS);
+        this.errorDice = dice.forKey(DecisionPoint.ERRORS);
+        this.advanceDice = dice.forKey(DecisionPoint.ADVANCES);
+        this.fieldersChoiceDice = dice.forKey(DecisionPoint.FIELDERS_CHOICE);
+        this.outLocationDice = dice.forKey(DecisionPoint.OUT_LOCATION);
+    }
+    
+    MatchupRunner getMatchupRunner() {
+        return matchupRunner;
+    }
+    
+    GamePlayParams getParams() {
+        return params;
+    }
+    
+    KeyedDieFactory<DecisionPoint> getDice() {
+        return dice;
     }
     
     // TODO: Use our own DieFactory in all calls to AdvanceDistribution etc.
@@ -93,12 +131,26 @@ public final class GamePlayDriver {
                            BaseSituation baseSituation,
                            int outs,
                            RunsNeededToWin runsNeededToWin) {
+        return run(batter, pitcher, baseSituation, outs, runsNeededToWin, Fidelity.BOX_SCORE);
+    }
+    
+    /**
+     * Runs the at bat, at the given level of fidelity. Below {@link Fidelity#STATS} the
+     * returned AtBatResult does not carry any player stats.
+     */
+    public AtBatResult run(Player batter,
+                           Player pitcher,
+                           BaseSituation baseSituation,
+                           int outs,
+                           RunsNeededToWin runsNeededToWin,
+                           Fidelity fidelity) {
         AtBatDriver abDriver = new AtBatDriver(
                 requireNonNull(batter),
                 requireNonNull(pitcher),
                 requireNonNull(baseSituation),
                 checkInRange(outs, 0, 2),
-                requireNonNull(runsNeededToWin));
+                requireNonNull(runsNeededToWin),
+                fidelity.includes(Fidelity.STATS));
         return abDriver.run();
     }
     
@@ -112,13 +164,16 @@ public final class GamePlayDriver {
         
         private final AtBatResult.Builder builder;
         
-        public AtBatDriver(Player batter, Player pitcher, BaseSituation baseSituation, int outs, RunsNeededToWin runsNeededToWin) {
+        public AtBatDriver(Player batter, Player pitcher, BaseSituation baseSituation, int outs, 
+                RunsNeededToWin runsNeededToWin, boolean includeStats) {
             this.batter = batter;
             this.pitcher = pitcher;
             this.baseSituation = baseSituation;
             this.outs = outs;
             this.runsNeededToWin = runsNeededToWin;
-            this.builder = AtBatResult.builder(batter, pitcher);
+            this.builder = includeStats
+                    ? AtBatResult.builder(batter, pitcher)
+                    : AtBatResult.builderWithoutStats(batter, pitcher);
         }
         
         public AtBatResult run() {
@@ -159,11 +214,11 @@ public final class GamePlayDriver {
             }
             // TODO: There could of course be more than one WP/PB/BK per at bat. The odds
             // for that are miniscule, however, so let's ignore that, at least for now.
-            if (params.testWildPitch(dieFactory)) {
+            if (params.testWildPitch(pitchingEventDice)) {
                 wildPitch();
-            } else if (params.testPassedBall(dieFactory)) {
+            } else if (params.testPassedBall(pitchingEventDice)) {
                 passedBall();
-            } else if (params.testBalk(dieFactory)) {
+            } else if (params.testBalk(pitchingEventDice)) {
                 balk();
             }
         }
@@ -238,10 +293,10 @@ public final class GamePlayDriver {
                 homerun();
             } else {
                 EventType eventType = baseHit.toEventType();
-                int numberOfErrors = params.getNumberOfErrors(eventType, baseSituation, dieFactory);
+                int numberOfErrors = params.getNumberOfErrors(eventType, baseSituation, errorDice);
                 if (numberOfErrors == 0) {
                     Advances advances = params.getAdvancesOnBaseHit(
-                            baseHit, baseSituation, outs, dieFactory);
+                            baseHit, baseSituation, outs, advanceDice);
                     PlayOutcome p = new PlayOutcome(eventType, advances, numberOfErrors);
                     registerBaseHitStats(baseHit, p.getNumberOfRuns());
                     addOutcome(p);
@@ -251,9 +306,13 @@ public final class GamePlayDriver {
                     // in the calculation of the "ideal" advances below.
                     int numberOfOutsBeforeHit = outs;
                     Advances advances = params.getAdvancesOnError(
-                            ErrorAdvanceKey.of(eventType, numberOfErrors, outs), baseSituation, dieFactory);
+                            ErrorAdvanceKey.of(eventType, numberOfErrors, outs), baseSituation, advanceDice);
                     PlayOutcome p = new PlayOutcome(eventType, advances, numberOfErrors);
                     addOutcome(p);
+                    if (!builder.isIncludingStats()) {
+                        // The ideal advances below are only needed for the RBIs.
+                        return;
+                    }
                     // TODO: Not sure this is the best way to "decide" which runs should be awarded as RBIs
                     // for the batter.
                     // TODO: pickMostCommon, or new method that picks one from the distribution, with the
@@ -305,8 +364,8 @@ public final class GamePlayDriver {
         //private int fieldersChoices;
         // privat int sacrificeFlies;
         private void out() {
-            OutLocation location = params.getOutLocation();
-            int numberOfErrors = params.getNumberOfErrors(EventType.OUT, baseSituation, dieFactory);
+            OutLocation location = params.getOutLocation(outLocationDice);
+            int numberOfErrors = params.getNumberOfErrors(EventType.OUT, baseSituation, errorDice);
             if (numberOfErrors == 0) {
                 outWithoutError(location);
             } else {
@@ -316,13 +375,13 @@ public final class GamePlayDriver {
 
         private void outWithoutError(OutLocation location) {
             boolean convertToFieldersChoice = (location == OutLocation.INFIELD) && 
-                    params.testFieldersChoice(baseSituation, dieFactory);
+                    params.testFieldersChoice(baseSituation, fieldersChoiceDice);
             EventType resultingType = convertToFieldersChoice
                     ? EventType.FIELDERS_CHOICE
                     : EventType.OUT;
 
             OutAdvanceKey key = OutAdvanceKey.of(resultingType, location, outs);
-            Advances advances = params.getAdvancesOnOut(key, baseSituation, dieFactory);
+            Advances advances = params.getAdvancesOnOut(key, baseSituation, advanceDice);
 //                if (convertToFieldersChoice) {
 //                    ++fieldersChoices;
 //                    System.out.println("Fielder's Choice " + fieldersChoices);
@@ -343,7 +402,7 @@ public final class GamePlayDriver {
 
         private void errorOnOut(OutLocation location, int numberOfErrors) {
             ErrorAdvanceKey key = ErrorAdvanceKey.of(EventType.OUT, numberOfErrors, outs);
-            Advances advances = params.getAdvancesOnError(key, baseSituation, dieFactory);
+            Advances advances = params.getAdvancesOnError(key, baseSituation, advanceDice);
             // TODO: This will give the incorrect type in the case where the batter is thrown
             // out at some other base than first.
             EventType actualType = advances.didBatterReachBase()
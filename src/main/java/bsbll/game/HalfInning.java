@@ -22,23 +22,24 @@ import bsbll.game.play.AtBatResult;
 import bsbll.game.play.Play;
 import bsbll.game.play.PlayOutcome;
 import bsbll.player.Player;
-import bsbll.team.BattingOrder;
+import bsbll.team.BattingOrderCursor;
 
 public final class HalfInning {
     private final Inning inning;
-    private final BattingOrder battingOrder;
+    private final BattingOrderCursor battingOrder;
     private final Player pitcher;
     private final GamePlayDriver driver;
     private final PlayerGameStats playerStats; // TODO: do this via an observer instead?
     private final GameEventDetector eventDetector;
     private RunsNeededToWin runsNeededToWin;
+    private final Fidelity fidelity;
 
     /**
      * 
      * @param inning
      *            what inning we're in
      * @param battingOrder
-     *            the batting order
+     *            the cursor of the batting order, which is advanced as the batters come up
      * @param pitcher
      *            the pitcher
      * @param driver
@@ -57,12 +58,30 @@ public final class HalfInning {
      *            are made). {@code RunsNeededToWin.notApplicable()} if not applicable.
      */
     public HalfInning(Inning inning,
-                      BattingOrder battingOrder, 
+                      BattingOrderCursor battingOrder, 
                       Player pitcher, 
                       GamePlayDriver driver,
                       PlayerGameStats playerStats,
                       GameEventDetector eventDetector,
                       RunsNeededToWin runsNeededToWin) {
+        this(inning, battingOrder, pitcher, driver, playerStats, eventDetector, runsNeededToWin, 
+                Fidelity.BOX_SCORE);
+    }
+
+    /**
+     * Creates a HalfInning that is played at the given level of fidelity. Below
+     * {@link Fidelity#STATS} the playerStats are not updated, and the Summary does not
+     * contain any plays or runs. Below {@link Fidelity#BOX_SCORE} the eventDetector is not
+     * consulted.
+     */
+    public HalfInning(Inning inning,
+                      BattingOrderCursor battingOrder, 
+                      Player pitcher, 
+                      GamePlayDriver driver,
+                      PlayerGameStats playerStats,
+                      GameEventDetector eventDetector,
+                      RunsNeededToWin runsNeededToWin,
+                      Fidelity fidelity) {
         this.inning = requireNonNull(inning);
         this.battingOrder = requireNonNull(battingOrder);
         this.pitcher = requireNonNull(pitcher);
@@ -70,6 +89,7 @@ public final class HalfInning {
         this.playerStats = requireNonNull(playerStats);
         this.eventDetector = requireNonNull(eventDetector);
         this.runsNeededToWin = runsNeededToWin;
+        this.fidelity = requireNonNull(fidelity);
     }
 
     public Summary run() {
@@ -90,29 +110,41 @@ public final class HalfInning {
         private final List<Run> runs = new ArrayList<>();
         private final List<GameEvent> events = new ArrayList<>();
 
+        private final boolean includeStats = fidelity.includes(Fidelity.STATS);
+        private final boolean includeEvents = fidelity.includes(Fidelity.BOX_SCORE);
+        @Nullable
+        private final EarnedRunTracker earnedRunTracker = includeStats
+                ? new EarnedRunTracker(inning, driver.getParams(), driver.getDice().forKey(DecisionPoint.EARNED_RUNS))
+                : null;
+
         public Summary run() {
             do {
                 Player batter = battingOrder.nextBatter();
-                AtBatResult result = driver.run(batter, pitcher, baseSituation, stats.outs, runsNeededToWin);
-                for (PlayOutcome outcome : result.getPlays()) {
-                    checkState(!isDone(stats));
-                    processPlay(batter, outcome);
+                AtBatResult result = driver.run(batter, pitcher, baseSituation, stats.outs, runsNeededToWin, 
+                        fidelity);
+                if (includeStats) {
+                    processPlays(batter, result.getPlays());
+                    result.getRuns().stream()
+                        .map(r -> new Run(inning, r))
+                        .forEach(this.runs::add);
                 }
-                result.getRuns().stream()
-                    .map(r -> new Run(inning, r))
-                    .forEach(this.runs::add);
                 
                 runsNeededToWin = runsNeededToWin.updateWithRunsScored(result.getNumberOfRuns());
                 
                 stats = stats.plus(result);
                 baseSituation = result.getNewBaseSituation();
-                result.gatherPlayerStats(playerStats);
+                if (includeStats) {
+                    result.gatherPlayerStats(playerStats);
+                }
                 if (!result.didBatterCompleteHisTurn()) {
                     battingOrder.returnBatter(batter);
                 }
             } while (!isDone(stats));
             int lob = baseSituation.getNumberOfRunners();
-            return new Summary(inning, stats.withLeftOnBase(lob), plays, runs, events);
+            Stats finalStats = stats.withLeftOnBase(lob);
+            return includeStats
+                    ? new Summary(inning, finalStats, plays, runs, earnedRunTracker.getEarnedRuns(), events)
+                    : Summary.withoutDetails(inning, finalStats);
         }
         
         private boolean isDone(Stats stats) {
@@ -128,13 +160,30 @@ public final class HalfInning {
             return false;
         }
         
-        private void processPlay(Player batter, PlayOutcome outcome) {
+        private void processPlays(Player batter, ImmutableList<PlayOutcome> outcomes) {
+            // The base situation before each individual play, for the earned run tracking.
+            BaseSituation situationBeforePlay = baseSituation;
+            for (int n = 0; n < outcomes.size(); ++n) {
+                checkState(!isDone(stats));
+                Play play = processPlay(batter, outcomes.get(n));
+                earnedRunTracker.process(play, situationBeforePlay);
+                if (n < outcomes.size() - 1) {
+                    situationBeforePlay = play.advanceRunners(situationBeforePlay).getNewSituation();
+                }
+            }
+        }
+        
+        private Play processPlay(Player batter, PlayOutcome outcome) {
             // TODO: Once we implement pitcher substitutions, if FIELDERS_CHOICE we need to
             // update who's responsible for the batter on base. (The pitcher who was responsible 
             // for the runner that was out will now become responsible for the batter, even if
             // that pitcher has been taken out of the game by now.)
-            plays.add(new Play(batter, pitcher, outcome));
-            eventDetector.examine(outcome, inning, batter, pitcher, stats.outs, baseSituation).ifPresent(events::add);
+            Play play = new Play(batter, pitcher, outcome);
+            plays.add(play);
+            if (includeEvents) {
+                eventDetector.examine(outcome, inning, batter, pitcher, stats.outs, baseSituation).ifPresent(events::add);
+            }
+            return play;
         }
     }
     
@@ -230,15 +279,40 @@ public final class HalfInning {
         private final Stats stats;
         private final ImmutableList<Play> plays;
         private final ImmutableList<Run> runs;
+        private final ImmutableList<Run> earnedRuns;
         private final ImmutableList<GameEvent> events;
         
-        public Summary(Inning inning, Stats stats, List<Play> plays, List<Run> runs, List<GameEvent> events) {
+        public Summary(Inning inning, 
+                       Stats stats, 
+                       List<Play> plays, 
+                       List<Run> runs, 
+                       List<Run> earnedRuns, 
+                       List<GameEvent> events) {
             this.inning = requireNonNull(inning);
             this.stats = requireNonNull(stats);
             this.plays = ImmutableList.copyOf(plays);
             this.runs = ImmutableList.copyOf(runs);
+            this.earnedRuns = ImmutableList.copyOf(earnedRuns);
             this.events = ImmutableList.copyOf(events);
             checkArgument(runs.size() == stats.runs);
+            checkArgument(earnedRuns.size() <= runs.size());
+        }
+        
+        private Summary(Inning inning, Stats stats) {
+            this.inning = requireNonNull(inning);
+            this.stats = requireNonNull(stats);
+            this.plays = ImmutableList.of();
+            this.runs = ImmutableList.of();
+            this.earnedRuns = ImmutableList.of();
+            this.events = ImmutableList.of();
+        }
+        
+        /**
+         * Creates a Summary that only holds the Stats of the half inning, as produced
+         * when the half inning is played below {@link Fidelity#STATS} fidelity.
+         */
+        public static Summary withoutDetails(Inning inning, Stats stats) {
+            return new Summary(inning, stats);
         }
         
         public Inning getInning() {
@@ -262,24 +336,10 @@ public final class HalfInning {
         }
         
         /**
-         * Checks if the earned run designation requires an ideal version of this inning to
-         * be reconstructed, due to runs being scored after errors or passed balls.
+         * Returns the runs that were earned, as decided by the official scorer.
          */
-        boolean isEarnedRunReconstructionNeeded() {
-            if (runs.isEmpty()) {
-                return false;
-            }
-            // Reconstruction is necessary if at least one run scored *after* an error or passed ball
-            boolean errorOrPassedBallHasHappened = false;
-            for (Play p : plays) {
-                if (p.isErrorOrPassedBall()) {
-                    errorOrPassedBallHasHappened = true;
-                }
-                if (p.getNumberOfRuns() > 0 && errorOrPassedBallHasHappened) {
-                    return true;
-                }
-            }
-            return false;
+        public ImmutableList<Run> getEarnedRuns() {
+            return earnedRuns;
         }
     }
 }
@@ -3,10 +3,6 @@ package bsbll.game;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
-import com.google.common.collect.ImmutableList;
-
-import bsbll.game.RunsScored.Run;
-import bsbll.game.params.GamePlayParams;
 import bsbll.player.Player;
 import bsbll.stats.PitchingStat;
 import bsbll.stats.PlayerStatLookup;
@@ -15,16 +11,15 @@ import bsbll.team.Lineup;
 import bsbll.team.TeamId;
 
 public final class OfficialScorer { // TODO: Is this a good abstraction?
+    // The earned runs are decided as the half innings are played, by the EarnedRunTracker.
     private final PlayerStatLookup statLookup;
-    private final GamePlayParams gamePlayParams;
     
     public OfficialScorer() {
-        this(PlayerStatLookup.EMPTY, GamePlayParams.defaultParams());
+        this(PlayerStatLookup.EMPTY);
     }
     
-    public OfficialScorer(PlayerStatLookup statLookup, GamePlayParams gamePlayParams) {
+    public OfficialScorer(PlayerStatLookup statLookup) {
         this.statLookup = requireNonNull(statLookup);
-        this.gamePlayParams = requireNonNull(gamePlayParams);
     }
     
     /**
@@ -59,16 +54,4 @@ public final class OfficialScorer { // TODO: Is this a good abstraction?
         int losses = statLookup.getPitchingStat(pitcher, PitchingStat.LOSSES) + 1;
         return new PitcherOfRecord(pitcher, Decision.LOSS, new WinLossRecord(wins, losses));
     }
-
-    public ImmutableList<Run> getEarnedRuns(HalfInning.Summary inningSummary) {
-        ImmutableList<Run> allRuns = inningSummary.getRuns();
-        if (allRuns.isEmpty()) {
-            return ImmutableList.of();
-        }
-        if (inningSummary.isEarnedRunReconstructionNeeded()) {
-            return ReconstructedInning.of(inningSummary, gamePlayParams).getEarnedRuns();
-        } else {
-            return allRuns;
-        }
-    }    
 }
@@ -1,13 +1,15 @@
 package bsbll.game;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
 import bsbll.game.play.PlayOutcome;
+import bsbll.game.split.SplitRecorder;
 import bsbll.player.Player;
 import bsbll.player.PlayerId;
 import bsbll.stats.BattingStat;
@@ -17,18 +19,41 @@ import bsbll.stats.PitchingStat;
 import bsbll.stats.PitchingStat.PrimitivePitchingStat;
 import bsbll.stats.PitchingStatLine;
 
+/**
+ * The stats of the players of a game.
+ * <p>
+ * The players are given dense ordinals, in the order they first appear in the game, and
+ * their stat lines are kept in arrays indexed by the ordinals. A game has few enough
+ * players that the ordinal of a player is found faster by scanning the IDs, by identity
+ * first, than by hashing the ID.
+ */
 public final class PlayerGameStats {
-    private final Map<PlayerId, BattingStatLine.Builder> battingStats = new HashMap<>();
-    private final Map<PlayerId, PitchingStatLine.Builder> pitchingStats = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 32;
+    
+    private PlayerId[] ids = new PlayerId[INITIAL_CAPACITY];
+    private BattingStatLine.Builder[] battingStats = new BattingStatLine.Builder[INITIAL_CAPACITY];
+    private PitchingStatLine.Builder[] pitchingStats = new PitchingStatLine.Builder[INITIAL_CAPACITY];
+    private int numberOfPlayers;
+    // The split recorder is not integral to keeping the stats of a game, so it is optional.
+    private SplitRecorder splitRecorder = SplitRecorder.NO_SPLITS;
+    
+    /**
+     * Hands every stat that is added to this PlayerGameStats to the given recorder as well.
+     */
+    public void setSplitRecorder(SplitRecorder splitRecorder) {
+        this.splitRecorder = requireNonNull(splitRecorder);
+    }
     
     public void updateBattingStats(PlayerId playerId, Map<PrimitiveBattingStat, Integer> stats) {
         BattingStatLine.Builder line = battingStats(playerId);
         stats.entrySet().forEach(e -> line.add(e.getKey(), e.getValue()));
+        splitRecorder.onBattingStats(playerId, stats);
     }
     
     public void updatePitchingStats(PlayerId playerId, Map<PrimitivePitchingStat, Integer> stats) {
         PitchingStatLine.Builder line = pitchingStats(playerId);
         stats.entrySet().forEach(e -> line.add(e.getKey(), e.getValue()));
+        splitRecorder.onPitchingStats(playerId, stats);
     }
     
     public void add(Player player, PrimitiveBattingStat stat, int value) {
@@ -37,6 +62,7 @@ public final class PlayerGameStats {
     
     public void add(PlayerId playerId, PrimitiveBattingStat stat, int value) {
         battingStats(playerId).add(stat, value);
+        splitRecorder.onBattingStat(playerId, stat, value);
     }
     
     public void add(Player player, PrimitivePitchingStat stat, int value) {
@@ -45,12 +71,14 @@ public final class PlayerGameStats {
     
     public void add(PlayerId playerId, PrimitivePitchingStat stat, int value) {
         pitchingStats(playerId).add(stat, value);
+        splitRecorder.onPitchingStat(playerId, stat, value);
     }
     
     public void update(Player batter, Player pitcher, PlayOutcome outcome, List<BaseRunner> runs) {
         updateBatterStats(batter, outcome, runs.size());
         updateStatsForRunnersThatScored(batter, runs);
         updatePitchingStats(pitcher, outcome, runs.size());
+        splitRecorder.onPlay(batter.getId(), pitcher.getId(), outcome, runs.size());
     }
     
     private void updateBatterStats(Player batter, PlayOutcome outcome, int rbis) {
@@ -61,10 +89,7 @@ public final class PlayerGameStats {
     private void updateStatsForRunnersThatScored(Player batter, List<BaseRunner> runs) {
         runs.stream()
             .map(BaseRunner::getRunner)
-            .filter(p -> p != batter).forEach(p -> {
-                BattingStatLine.Builder line = battingStats(p);
-                line.add(BattingStat.RUNS, 1);
-            });
+            .filter(p -> p != batter).forEach(p -> add(p, BattingStat.RUNS, 1));
     }
     
     private BattingStatLine.Builder battingStats(Player player) {
@@ -72,7 +97,14 @@ public final class PlayerGameStats {
     }
 
     private BattingStatLine.Builder battingStats(PlayerId id) {
-        return battingStats.computeIfAbsent(id, i -> BattingStatLine.forNewGame());
+        int ordinal = ordinal(id);
+        BattingStatLine.Builder line = battingStats[ordinal];
+        if (line == null) {
+            splitRecorder.onBattingStat(id, BattingStat.GAMES, 1);
+            line = BattingStatLine.forNewGame();
+            battingStats[ordinal] = line;
+        }
+        return line;
     }
     
     private void updatePitchingStats(Player pitcher, PlayOutcome outcome, int numberOfRuns) {
@@ -85,37 +117,106 @@ public final class PlayerGameStats {
     }
 
     private PitchingStatLine.Builder pitchingStats(PlayerId id) {
-        return pitchingStats.computeIfAbsent(id, i -> PitchingStatLine.forNewGame());
+        int ordinal = ordinal(id);
+        PitchingStatLine.Builder line = pitchingStats[ordinal];
+        if (line == null) {
+            splitRecorder.onPitchingStat(id, PitchingStat.GAMES, 1);
+            line = PitchingStatLine.forNewGame();
+            pitchingStats[ordinal] = line;
+        }
+        return line;
+    }
+    
+    /**
+     * Returns the ordinal of the given player, giving the player the next ordinal if this
+     * is the first time the player appears in the game.
+     */
+    private int ordinal(PlayerId id) {
+        int ordinal = indexOf(id);
+        if (ordinal >= 0) {
+            return ordinal;
+        }
+        if (numberOfPlayers == ids.length) {
+            int capacity = 2 * ids.length;
+            ids = Arrays.copyOf(ids, capacity);
+            battingStats = Arrays.copyOf(battingStats, capacity);
+            pitchingStats = Arrays.copyOf(pitchingStats, capacity);
+        }
+        ids[numberOfPlayers] = requireNonNull(id);
+        return numberOfPlayers++;
+    }
+    
+    /**
+     * Returns the ordinal of the given player, or -1 if the player has not appeared in the
+     * game.
+     */
+    private int indexOf(PlayerId id) {
+        for (int n = 0; n < numberOfPlayers; ++n) {
+            if (ids[n] == id) {
+                return n;
+            }
+        }
+        for (int n = 0; n < numberOfPlayers; ++n) {
+            if (ids[n].equals(id)) {
+                return n;
+            }
+        }
+        return -1;
     }
     
     public BattingStatLine getBattingLine(Player player) {
-        BattingStatLine.Builder builder = battingStats.get(player.getId());
+        int ordinal = indexOf(player.getId());
+        BattingStatLine.Builder builder = (ordinal >= 0)
+                ? battingStats[ordinal]
+                : null;
         checkArgument(builder != null, "No such player: %s", player);
         return builder.build();
     }
 
     public PitchingStatLine getPitchingLine(Player player) {
-        PitchingStatLine.Builder builder = pitchingStats.get(player.getId());
+        int ordinal = indexOf(player.getId());
+        PitchingStatLine.Builder builder = (ordinal >= 0)
+                ? pitchingStats[ordinal]
+                : null;
         checkArgument(builder != null, "No such player: %s", player);
         return builder.build();
     }
 
     public void updatePitchersOfRecord(PitcherOfRecord wp, PitcherOfRecord lp) {
-        pitchingStats(wp.getPitcher()).set(PitchingStat.WINS, 1);
-        pitchingStats(lp.getPitcher()).set(PitchingStat.LOSSES, 1);
+        setPitchingStat(wp.getPitcher(), PitchingStat.WINS);
+        setPitchingStat(lp.getPitcher(), PitchingStat.LOSSES);
         // TODO: This will change once we implement pitcher substitutions
-        pitchingStats(wp.getPitcher()).set(PitchingStat.COMPLETE_GAMES, 1);
+        setPitchingStat(wp.getPitcher(), PitchingStat.COMPLETE_GAMES);
         if (pitchingStats(wp.getPitcher()).get(PitchingStat.RUNS) == 0) {
-            pitchingStats(wp.getPitcher()).set(PitchingStat.SHUTOUTS, 1);
+            setPitchingStat(wp.getPitcher(), PitchingStat.SHUTOUTS);
         }
-        pitchingStats(lp.getPitcher()).set(PitchingStat.COMPLETE_GAMES, 1);
+        setPitchingStat(lp.getPitcher(), PitchingStat.COMPLETE_GAMES);
+    }
+    
+    /**
+     * Sets the given stat of the given pitcher to 1, as in a decision that is made at the
+     * end of the game.
+     */
+    private void setPitchingStat(Player pitcher, PrimitivePitchingStat stat) {
+        PitchingStatLine.Builder line = pitchingStats(pitcher);
+        int previous = line.get(stat);
+        line.set(stat, 1);
+        splitRecorder.onPitchingStat(pitcher.getId(), stat, 1 - previous);
     }
     
     public void gatherBattingStats(BiConsumer<PlayerId, BattingStatLine> c) {
-        battingStats.forEach((id, builder) -> c.accept(id, builder.build()));
+        for (int n = 0; n < numberOfPlayers; ++n) {
+            if (battingStats[n] != null) {
+                c.accept(ids[n], battingStats[n].build());
+            }
+        }
     }
     
     public void gatherPitchingStats(BiConsumer<PlayerId, PitchingStatLine> c) {
-        pitchingStats.forEach((id, builder) -> c.accept(id, builder.build()));
+        for (int n = 0; n < numberOfPlayers; ++n) {
+            if (pitchingStats[n] != null) {
+                c.accept(ids[n], pitchingStats[n].build());
+            }
+        }
     }
 }
\ No newline at end of file
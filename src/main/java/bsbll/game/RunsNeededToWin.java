@@ -46,6 +46,15 @@ public final class RunsNeededToWin { // TODO: Rename --> WinsNeededToWalkOff?
         return NOT_APPLICABLE;
     }
 
+    /**
+     * Returns the number of runs needed to win as a primitive value, for use by game engines
+     * that keep their state in primitive fields. Returns {@code -1} if not applicable, and
+     * {@code 0} (zero) if the game has been won.
+     */
+    int intValue() {
+        return this.runsNeeded;
+    }
+    
     /**
      * Checks if the game has been won in a walk-off.
      */
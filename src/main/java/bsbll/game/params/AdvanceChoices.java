@@ -0,0 +1,164 @@
+package bsbll.game.params;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+
+import bsbll.bases.Advances;
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.InvalidBaseSitutationException;
+import bsbll.bases.OccupiedBases;
+import bsbll.die.DieFactory;
+
+/**
+ * The possible advances for a given distribution key and set of occupied bases, laid
+ * out in arrays so that a pick can be made without any allocations. The result of
+ * applying each of the advances to the occupied bases is precomputed, and is encoded
+ * as described in {@link BaseOccupancy}.
+ */
+@Immutable
+public final class AdvanceChoices {
+    private static final int INVALID = -1;
+
+    private final int bases;
+    private final Advances[] advances;
+    private final int[] cumulativeCounts;
+    private final int[] results;
+    private final int mostCommon;
+
+    private AdvanceChoices(OccupiedBases occupiedBases, Advances[] advances, int[] counts) {
+        this.bases = BaseOccupancy.of(occupiedBases);
+        this.advances = advances;
+        this.cumulativeCounts = new int[counts.length];
+        this.results = new int[advances.length];
+        int sum = 0;
+        int mostCommon = 0;
+        for (int n = 0; n < advances.length; ++n) {
+            sum += counts[n];
+            this.cumulativeCounts[n] = sum;
+            if (counts[n] > counts[mostCommon]) {
+                mostCommon = n;
+            }
+            this.results[n] = applyToBases(advances[n]);
+        }
+        this.mostCommon = mostCommon;
+    }
+
+    private int applyToBases(Advances a) {
+        try {
+            return BaseOccupancy.advance(this.bases, a);
+        } catch (InvalidBaseSitutationException e) {
+            // Let the error surface if and when the advance is actually picked, which
+            // is how the AdvanceDistribution behaves.
+            return INVALID;
+        }
+    }
+
+    static AdvanceChoices of(ImmutableMultiset<Advances> possibilities, OccupiedBases occupiedBases) {
+        int size = possibilities.elementSet().size();
+        Advances[] advances = new Advances[size];
+        int[] counts = new int[size];
+        int n = 0;
+        for (Multiset.Entry<Advances> e : possibilities.entrySet()) {
+            advances[n] = e.getElement();
+            counts[n] = e.getCount();
+            ++n;
+        }
+        return new AdvanceChoices(occupiedBases, advances, counts);
+    }
+
+    /**
+     * Returns an AdvanceChoices with a single, default, advance. Picking from it does not
+     * roll any dice.
+     */
+    static AdvanceChoices of(Advances defaultAdvance, OccupiedBases occupiedBases) {
+        requireNonNull(defaultAdvance);
+        return new AdvanceChoices(occupiedBases, new Advances[] { defaultAdvance }, new int[] { 0 });
+    }
+
+    public int size() {
+        return advances.length;
+    }
+
+    public Advances get(int index) {
+        checkElementIndex(index, advances.length);
+        return advances[index];
+    }
+
+    /**
+     * Returns the probability of the advance at the given index being picked.
+     */
+    public double getProbability(int index) {
+        checkElementIndex(index, advances.length);
+        int total = getTotalCount();
+        if (total == 0) {
+            return 1.0;
+        }
+        int count = cumulativeCounts[index] - (index == 0 ? 0 : cumulativeCounts[index - 1]);
+        return (1.0 * count) / total;
+    }
+
+    private int getTotalCount() {
+        return cumulativeCounts[cumulativeCounts.length - 1];
+    }
+
+    /**
+     * Checks if the advance at the given index is valid for the occupied bases of this
+     * AdvanceChoices.
+     */
+    public boolean isValid(int index) {
+        checkElementIndex(index, advances.length);
+        return results[index] != INVALID;
+    }
+
+    /**
+     * Returns the encoded result of applying the advance at the given index to the occupied
+     * bases of this AdvanceChoices.
+     *
+     * @throws InvalidBaseSitutationException
+     *             if the advance is not valid for the occupied bases
+     */
+    public int getResult(int index) {
+        int result = results[index];
+        if (result == INVALID) {
+            // Repeat the operation, this time letting the exception propagate.
+            BaseOccupancy.advance(bases, advances[index]);
+        }
+        return result;
+    }
+
+    /**
+     * Rolls a die from the given DieFactory to pick one of the advances, and returns its
+     * index.
+     */
+    public int pickIndex(DieFactory dieFactory) {
+        int total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        int roll = dieFactory.getDie(total).roll();
+        for (int n = 0; n < cumulativeCounts.length; ++n) {
+            if (roll <= cumulativeCounts[n]) {
+                return n;
+            }
+        }
+        // We should never get here. But in case we do, we pick the most common one.
+        return mostCommon;
+    }
+
+    public Advances pickOne(DieFactory dieFactory) {
+        return advances[pickIndex(dieFactory)];
+    }
+
+    public int getMostCommonIndex() {
+        return mostCommon;
+    }
+
+    public Advances getMostCommon() {
+        return advances[mostCommon];
+    }
+}
@@ -59,7 +59,7 @@ public abstract class AdvanceDistribution<E extends AdvanceDistributionKey> {
         requireNonNull(dieFactory);
         Multiset<Advances> possibilities = getPossibilities(key, baseSituation, ALL);
         return possibilities.isEmpty()
-                ? defaultAdvance(key, baseSituation)
+                ? defaultAdvance(key, baseSituation.getOccupiedBases())
                 : pickOneFromSet(dieFactory, possibilities);
     }
     
@@ -70,7 +70,7 @@ public abstract class AdvanceDistribution<E extends AdvanceDistributionKey> {
      * corner cases that were not covered by the data (e.g. play-by-play files)
      * from which a distribution is built.
      */
-    protected abstract Advances defaultAdvance(E key, BaseSituation baseSituation);
+    protected abstract Advances defaultAdvance(E key, OccupiedBases occupiedBases);
     
     /**
      * Returns the candidates for the given key and base situtation. Candidates that would result in 
@@ -120,10 +120,23 @@ public abstract class AdvanceDistribution<E extends AdvanceDistributionKey> {
         requireNonNull(predicate);
         Multiset<Advances> possibilities = getPossibilities(key, baseSituation, predicate);
         return possibilities.isEmpty()
-                ? defaultAdvance(key, baseSituation)
+                ? defaultAdvance(key, baseSituation.getOccupiedBases())
                 : mostCommon(possibilities);
     }
     
+    /**
+     * Returns the possible advances for the given key and occupied bases, in the
+     * form used by {@link CompiledGamePlayParams}.
+     */
+    final AdvanceChoices getChoices(E key, OccupiedBases occupiedBases) {
+        requireNonNull(key);
+        requireNonNull(occupiedBases);
+        ImmutableMultiset<Advances> all = this.data.get(key, occupiedBases);
+        return (all == null || all.isEmpty())
+                ? AdvanceChoices.of(defaultAdvance(key, occupiedBases), occupiedBases)
+                : AdvanceChoices.of(all, occupiedBases);
+    }
+    
     public final ImmutableSet<E> keySet() {
         return this.data.rowKeySet();
     }
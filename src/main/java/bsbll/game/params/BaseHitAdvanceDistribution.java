@@ -12,7 +12,6 @@ import com.google.common.collect.ImmutableTable;
 import bsbll.bases.Advance;
 import bsbll.bases.Advances;
 import bsbll.bases.Base;
-import bsbll.bases.BaseSituation;
 import bsbll.bases.OccupiedBases;
 import p3.Persister;
 
@@ -46,13 +45,13 @@ public final class BaseHitAdvanceDistribution extends AdvanceDistribution<BaseHi
     }
 
     @Override
-    protected Advances defaultAdvance(BaseHitAdvanceKey key, BaseSituation baseSituation) {
+    protected Advances defaultAdvance(BaseHitAdvanceKey key, OccupiedBases occupiedBases) {
         // Note that the default advance will never have any runners out, so
         // the current number of outs does not matter.
         List<Advance> advances = new ArrayList<>();
         advances.add(Base.HOME.defaultAdvance(key.getType())); // the batter
         Arrays.stream(Base.occupiable())
-            .filter(baseSituation::isOccupied)
+            .filter(occupiedBases::contains)
             .map(b -> b.defaultAdvance(key.getType()))
             .forEach(advances::add);
         return new Advances(advances);
@@ -0,0 +1,116 @@
+package bsbll.game.params;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import bsbll.bases.BaseHit;
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.OccupiedBases;
+import bsbll.game.play.EventType;
+
+/**
+ * The compiled form of a base hit advance distribution and an out advance distribution,
+ * which is the expensive part of compiling {@link GamePlayParams}. The advances are
+ * compiled the first time they are asked for.
+ * <p>
+ * GamePlayParams that are derived from other GamePlayParams with the same advance
+ * distributions share the same instance of this class, so that the advances are compiled
+ * once for all of them, without the derived parameters holding on to the parameters they
+ * were derived from.
+ */
+@ThreadSafe
+final class CompiledAdvances {
+    static final int NUMBER_OF_BASES = BaseOccupancy.LOADED + 1;
+    static final int NUMBER_OF_OUTS = 3;
+
+    private final BaseHitAdvanceDistribution baseHitAdvanceDistribution;
+    private final OutAdvanceDistribution outAdvanceDistribution;
+    // Created lazily. The tables are immutable, so a race between two threads can at
+    // worst result in them being compiled twice.
+    @Nullable
+    private volatile Tables tables;
+
+    public CompiledAdvances(BaseHitAdvanceDistribution baseHitAdvanceDistribution,
+                            OutAdvanceDistribution outAdvanceDistribution) {
+        this.baseHitAdvanceDistribution = requireNonNull(baseHitAdvanceDistribution);
+        this.outAdvanceDistribution = requireNonNull(outAdvanceDistribution);
+    }
+
+    /**
+     * Checks if these are the compiled advances of the given distributions.
+     */
+    public boolean isCompiledFrom(BaseHitAdvanceDistribution baseHitAdvanceDistribution,
+                                  OutAdvanceDistribution outAdvanceDistribution) {
+        return this.baseHitAdvanceDistribution == baseHitAdvanceDistribution &&
+                this.outAdvanceDistribution == outAdvanceDistribution;
+    }
+
+    /**
+     * Returns the advances on base hits, indexed by the base hit, the number of outs, and
+     * the occupied bases.
+     */
+    public AdvanceChoices[][][] getBaseHitAdvances() {
+        return getTables().baseHitAdvances;
+    }
+
+    /**
+     * Returns the advances on outs, indexed by the out location, the number of outs, and
+     * the occupied bases.
+     */
+    public AdvanceChoices[][][] getOutAdvances() {
+        return getTables().outAdvances;
+    }
+
+    /**
+     * Returns the advances on fielder's choices, indexed by the out location, the number of
+     * outs, and the occupied bases.
+     */
+    public AdvanceChoices[][][] getFieldersChoiceAdvances() {
+        return getTables().fieldersChoiceAdvances;
+    }
+
+    private Tables getTables() {
+        Tables t = this.tables;
+        if (t == null) {
+            t = new Tables(baseHitAdvanceDistribution, outAdvanceDistribution);
+            this.tables = t;
+        }
+        return t;
+    }
+
+
+    /**
+     * The compiled advances. The arrays are never modified once compiled.
+     */
+    @Immutable
+    private static final class Tables {
+        private final AdvanceChoices[][][] baseHitAdvances =
+                new AdvanceChoices[BaseHit.values().length][NUMBER_OF_OUTS][NUMBER_OF_BASES];
+        private final AdvanceChoices[][][] outAdvances =
+                new AdvanceChoices[OutLocation.values().length][NUMBER_OF_OUTS][NUMBER_OF_BASES];
+        private final AdvanceChoices[][][] fieldersChoiceAdvances =
+                new AdvanceChoices[OutLocation.values().length][NUMBER_OF_OUTS][NUMBER_OF_BASES];
+
+        public Tables(BaseHitAdvanceDistribution baseHitAdvanceDistribution,
+                      OutAdvanceDistribution outAdvanceDistribution) {
+            for (int bases = 0; bases < NUMBER_OF_BASES; ++bases) {
+                OccupiedBases ob = BaseOccupancy.toOccupiedBases(bases);
+                for (int outs = 0; outs < NUMBER_OF_OUTS; ++outs) {
+                    for (BaseHit hit : BaseHit.values()) {
+                        baseHitAdvances[hit.ordinal()][outs][bases] = baseHitAdvanceDistribution.getChoices(
+                                new BaseHitAdvanceKey(hit, outs), ob);
+                    }
+                    for (OutLocation location : OutLocation.values()) {
+                        outAdvances[location.ordinal()][outs][bases] = outAdvanceDistribution.getChoices(
+                                OutAdvanceKey.of(EventType.OUT, location, outs), ob);
+                        fieldersChoiceAdvances[location.ordinal()][outs][bases] = outAdvanceDistribution.getChoices(
+                                OutAdvanceKey.of(EventType.FIELDERS_CHOICE, location, outs), ob);
+                    }
+                }
+            }
+        }
+    }
+}
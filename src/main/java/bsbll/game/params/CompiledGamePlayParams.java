@@ -0,0 +1,196 @@
+package bsbll.game.params;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.concurrent.Immutable;
+
+import bsbll.bases.BaseHit;
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.OccupiedBases;
+import bsbll.card.Probability;
+import bsbll.die.DieFactory;
+import bsbll.game.play.EventType;
+
+/**
+ * A version of {@link GamePlayParams} where all distributions have been expanded into
+ * arrays, indexed by the type of play, the number of outs, and the occupied bases in
+ * the form of a {@link BaseOccupancy} bit mask. Lookups do not create any key objects,
+ * and picking a value does not allocate anything, which makes this suitable for game
+ * engines that simulate a large number of games.
+ * <p>
+ * Obtain an instance by calling {@link GamePlayParams#compile()}.
+ */
+@Immutable
+public final class CompiledGamePlayParams {
+    private static final int NUMBER_OF_BASES = CompiledAdvances.NUMBER_OF_BASES;
+    private static final int NUMBER_OF_OUTS = CompiledAdvances.NUMBER_OF_OUTS;
+
+    private final AdvanceChoices[][][] baseHitAdvances;
+    private final AdvanceChoices[][][] outAdvances;
+    private final AdvanceChoices[][][] fieldersChoiceAdvances;
+    private final AdvanceChoices[][][][] errorAdvances;
+    private final ErrorCountChoices[][] errorCounts;
+    private final ErrorAdvanceDistribution errorAdvanceDistribution;
+    private final int[] fieldersChoiceProbabilities;
+    private final int wildPitchProbability;
+    private final int passedBallProbability;
+    private final int balkProbability;
+
+    /**
+     * Compiles the given distributions, with the given compiled base hit and out advances,
+     * which may be shared with other compiled parameters.
+     */
+    CompiledGamePlayParams(CompiledAdvances sharedAdvances,
+                           FieldersChoiceProbabilities fieldersChoiceProbabilities,
+                           ErrorCountDistribution errorCountDistribution,
+                           ErrorAdvanceDistribution errorAdvanceDistribution,
+                           PitchingEventProbabilities pitchingEventProbabilities) {
+        // The arrays are never modified once compiled, so they can be shared.
+        this.baseHitAdvances = sharedAdvances.getBaseHitAdvances();
+        this.outAdvances = sharedAdvances.getOutAdvances();
+        this.fieldersChoiceAdvances = sharedAdvances.getFieldersChoiceAdvances();
+        this.errorAdvances = new AdvanceChoices[EventType.values().length][][][];
+        this.errorCounts = new ErrorCountChoices[EventType.values().length][];
+        this.errorAdvanceDistribution = requireNonNull(errorAdvanceDistribution);
+        this.fieldersChoiceProbabilities = new int[NUMBER_OF_BASES];
+        for (int bases = 0; bases < NUMBER_OF_BASES; ++bases) {
+            OccupiedBases ob = BaseOccupancy.toOccupiedBases(bases);
+            this.fieldersChoiceProbabilities[bases] = fieldersChoiceProbabilities.getProbability(ob).unscaledValue();
+        }
+        for (EventType type : ErrorSupport.SUPPORTED_TYPES) {
+            ErrorCountChoices[] counts = new ErrorCountChoices[NUMBER_OF_BASES];
+            int maxErrors = 0;
+            for (int bases = 0; bases < NUMBER_OF_BASES; ++bases) {
+                counts[bases] = errorCountDistribution.getChoices(type, BaseOccupancy.toOccupiedBases(bases));
+                maxErrors = Math.max(maxErrors, counts[bases].getMaxNumberOfErrors());
+            }
+            errorCounts[type.ordinal()] = counts;
+            AdvanceChoices[][][] advances = new AdvanceChoices[maxErrors][NUMBER_OF_OUTS][NUMBER_OF_BASES];
+            for (int errors = 1; errors <= maxErrors; ++errors) {
+                for (int outs = 0; outs < NUMBER_OF_OUTS; ++outs) {
+                    for (int bases = 0; bases < NUMBER_OF_BASES; ++bases) {
+                        advances[errors - 1][outs][bases] = errorAdvanceDistribution.getChoices(
+                                ErrorAdvanceKey.of(type, errors, outs), BaseOccupancy.toOccupiedBases(bases));
+                    }
+                }
+            }
+            errorAdvances[type.ordinal()] = advances;
+        }
+        this.wildPitchProbability = pitchingEventProbabilities.getWildPitchProbability().unscaledValue();
+        this.passedBallProbability = pitchingEventProbabilities.getPassedBallProbability().unscaledValue();
+        this.balkProbability = pitchingEventProbabilities.getBalkProbability().unscaledValue();
+    }
+
+    public AdvanceChoices getAdvancesOnBaseHit(BaseHit baseHit, int outs, int bases) {
+        return baseHitAdvances[baseHit.ordinal()][outs][bases];
+    }
+
+    /**
+     * Returns the possible advances on an out of the given type, which must be
+     * {@code EventType.OUT} or {@code EventType.FIELDERS_CHOICE}.
+     */
+    public AdvanceChoices getAdvancesOnOut(EventType type, OutLocation location, int outs, int bases) {
+        switch (type) {
+        case OUT:
+            return outAdvances[location.ordinal()][outs][bases];
+        case FIELDERS_CHOICE:
+            return fieldersChoiceAdvances[location.ordinal()][outs][bases];
+        default:
+            throw new IllegalArgumentException("Not an out type: " + type);
+        }
+    }
+
+    public AdvanceChoices getAdvancesOnError(EventType type, int numberOfErrors, int outs, int bases) {
+        AdvanceChoices[][][] advances = errorAdvances[ErrorSupport.requireSupported(type).ordinal()];
+        if (numberOfErrors > advances.length) {
+            // Never happens when the number of errors come from getNumberOfErrors.
+            return errorAdvanceDistribution.getChoices(ErrorAdvanceKey.of(type, numberOfErrors, outs),
+                    BaseOccupancy.toOccupiedBases(bases));
+        }
+        return advances[numberOfErrors - 1][outs][bases];
+    }
+
+    /**
+     * Returns the number of errors committed on a play of the given type. Always returns 0
+     * (zero) for types that are not subject to errors.
+     */
+    public int getNumberOfErrors(EventType type, int bases, DieFactory dieFactory) {
+        ErrorCountChoices[] counts = errorCounts[type.ordinal()];
+        return (counts == null)
+                ? 0
+                : counts[bases].pickOne(dieFactory);
+    }
+
+    /**
+     * Returns the largest number of errors that can be committed on a play of the given
+     * type. Returns 0 (zero) for types that are not subject to errors.
+     */
+    public int getMaxNumberOfErrors(EventType type) {
+        AdvanceChoices[][][] advances = errorAdvances[type.ordinal()];
+        return (advances == null)
+                ? 0
+                : advances.length;
+    }
+
+    /**
+     * Returns the probability that exactly the given number of errors are committed on a
+     * play of the given type. This is the exact distribution of
+     * {@link #getNumberOfErrors(EventType, int, DieFactory)}.
+     */
+    public double getErrorProbability(EventType type, int numberOfErrors, int bases) {
+        ErrorCountChoices[] counts = errorCounts[type.ordinal()];
+        return (counts == null)
+                ? (numberOfErrors == 0 ? 1.0 : 0.0)
+                : counts[bases].getProbability(numberOfErrors);
+    }
+
+    public double getFieldersChoiceProbability(int bases) {
+        return (bases == BaseOccupancy.EMPTY)
+                ? 0.0
+                : asDouble(fieldersChoiceProbabilities[bases]);
+    }
+
+    public boolean testFieldersChoice(int bases, DieFactory dieFactory) {
+        return (bases != BaseOccupancy.EMPTY) &&
+                Probability.test(fieldersChoiceProbabilities[bases], dieFactory);
+    }
+
+    /**
+     * Decides the location of an out, using the given DieFactory.
+     */
+    public OutLocation getOutLocation(DieFactory dieFactory) {
+        return OutLocation.pick(dieFactory);
+    }
+
+    public double getInfieldOutProbability() {
+        return OutLocation.INFIELD_OUT_PROBABILITY.asDouble();
+    }
+
+    public double getWildPitchProbability() {
+        return asDouble(wildPitchProbability);
+    }
+
+    public double getPassedBallProbability() {
+        return asDouble(passedBallProbability);
+    }
+
+    public double getBalkProbability() {
+        return asDouble(balkProbability);
+    }
+
+    private static double asDouble(int unscaledProbability) {
+        return (1.0 * unscaledProbability) / Probability.unscaledComplete();
+    }
+
+    public boolean testWildPitch(DieFactory dieFactory) {
+        return Probability.test(wildPitchProbability, dieFactory);
+    }
+
+    public boolean testPassedBall(DieFactory dieFactory) {
+        return Probability.test(passedBallProbability, dieFactory);
+    }
+
+    public boolean testBalk(DieFactory dieFactory) {
+        return Probability.test(balkProbability, dieFactory);
+    }
+}
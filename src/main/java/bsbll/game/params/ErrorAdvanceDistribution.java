@@ -4,7 +4,6 @@ import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableTable;
 
 import bsbll.bases.Advances;
-import bsbll.bases.BaseSituation;
 import bsbll.bases.OccupiedBases;
 import p3.Persister;
 
@@ -25,9 +24,9 @@ public final class ErrorAdvanceDistribution extends AdvanceDistribution<ErrorAdv
     }
 
     @Override
-    protected Advances defaultAdvance(ErrorAdvanceKey key, BaseSituation baseSituation) {
+    protected Advances defaultAdvance(ErrorAdvanceKey key, OccupiedBases occupiedBases) {
         // Advance each runner one base per error.
-        return Advances.advanceAllRunners(baseSituation.getOccupiedBases(), key.getNumberOfErrors());
+        return Advances.advanceAllRunners(occupiedBases, key.getNumberOfErrors());
     }
     
     public static ErrorAdvanceDistribution restoreFrom(Persister p) {
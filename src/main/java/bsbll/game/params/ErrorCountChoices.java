@@ -0,0 +1,87 @@
+package bsbll.game.params;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.Multiset;
+
+import bsbll.die.DieFactory;
+
+/**
+ * The possible number of errors on a play of a given type, with a given base situation,
+ * laid out in arrays so that a pick can be made without any allocations.
+ */
+@Immutable
+final class ErrorCountChoices {
+    private static final ErrorCountChoices NO_ERRORS = new ErrorCountChoices(new int[0], new int[0]);
+
+    private final int[] errorCounts;
+    private final int[] cumulativeCounts;
+
+    private ErrorCountChoices(int[] errorCounts, int[] cumulativeCounts) {
+        this.errorCounts = errorCounts;
+        this.cumulativeCounts = cumulativeCounts;
+    }
+
+    static ErrorCountChoices noErrors() {
+        return NO_ERRORS;
+    }
+
+    static ErrorCountChoices of(ImmutableMultiset<Integer> values) {
+        if (values.isEmpty()) {
+            return NO_ERRORS;
+        }
+        int size = values.elementSet().size();
+        int[] errorCounts = new int[size];
+        int[] cumulativeCounts = new int[size];
+        int n = 0;
+        int sum = 0;
+        for (Multiset.Entry<Integer> e : values.entrySet()) {
+            errorCounts[n] = e.getElement();
+            sum += e.getCount();
+            cumulativeCounts[n] = sum;
+            ++n;
+        }
+        return new ErrorCountChoices(errorCounts, cumulativeCounts);
+    }
+
+    int getMaxNumberOfErrors() {
+        int max = 0;
+        for (int e : errorCounts) {
+            max = Math.max(max, e);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the probability that exactly the given number of errors are committed.
+     */
+    double getProbability(int numberOfErrors) {
+        if (errorCounts.length == 0) {
+            return (numberOfErrors == 0) ? 1.0 : 0.0;
+        }
+        int total = cumulativeCounts[cumulativeCounts.length - 1];
+        for (int n = 0; n < errorCounts.length; ++n) {
+            if (errorCounts[n] == numberOfErrors) {
+                int count = cumulativeCounts[n] - (n == 0 ? 0 : cumulativeCounts[n - 1]);
+                return (1.0 * count) / total;
+            }
+        }
+        return 0.0;
+    }
+
+    int pickOne(DieFactory dieFactory) {
+        if (errorCounts.length == 0) {
+            return 0;
+        }
+        int total = cumulativeCounts[cumulativeCounts.length - 1];
+        int roll = dieFactory.getDie(total).roll();
+        for (int n = 0; n < cumulativeCounts.length; ++n) {
+            if (roll <= cumulativeCounts[n]) {
+                return errorCounts[n];
+            }
+        }
+        // We should never get here. But in case we do...
+        return 0;
+    }
+}
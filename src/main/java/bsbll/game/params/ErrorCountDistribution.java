@@ -1,5 +1,6 @@
 package bsbll.game.params;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Map;
@@ -27,6 +28,10 @@ import p3.Persister;
 @Immutable
 public final class ErrorCountDistribution {
     private static final ErrorCountDistribution NO_ERRORS = new ErrorCountDistribution(ImmutableTable.of());
+    /**
+     * The factor by which the counts are multiplied when the distribution is scaled.
+     */
+    private static final int SCALING_RESOLUTION = 100;
     
     // TODO: The error count distribution should depend on the team, to simulate some teams
     // being better than fielding than others. As it stands, we expect all teams to end up
@@ -64,6 +69,53 @@ public final class ErrorCountDistribution {
         return 0;
     }
     
+    /**
+     * Returns a distribution where the probability of an error, or errors, on each type of
+     * play and base situation is scaled by the given factor, at the expense of the
+     * probability of no errors. The relative frequencies of one, two, and more errors are
+     * kept. The probabilities are represented with a finer resolution than the counts of
+     * this distribution, so the probabilities of the returned distribution are as given,
+     * but its counts are not observed frequencies.
+     * 
+     * @throws IllegalArgumentException
+     *             if the factor is negative, or if the scaled probability of an error
+     *             exceeds 1 in any situation
+     */
+    public ErrorCountDistribution scaledBy(double factor) {
+        checkArgument(factor >= 0.0, "The factor must not be negative: %s", factor);
+        ImmutableTable.Builder<EventType, OccupiedBases, ImmutableMultiset<Integer>> tableBuilder =
+                ImmutableTable.builder();
+        for (Cell<EventType, OccupiedBases, ImmutableMultiset<Integer>> c : data.cellSet()) {
+            tableBuilder.put(c.getRowKey(), c.getColumnKey(), scale(c.getValue(), factor));
+        }
+        return new ErrorCountDistribution(tableBuilder.build());
+    }
+
+    private static ImmutableMultiset<Integer> scale(ImmutableMultiset<Integer> values, double factor) {
+        long total = SCALING_RESOLUTION * values.size();
+        ImmutableMultiset.Builder<Integer> builder = ImmutableMultiset.builder();
+        long errors = 0;
+        for (Multiset.Entry<Integer> e : values.entrySet()) {
+            if (e.getElement() > 0) {
+                int count = Math.toIntExact(Math.round(((double) SCALING_RESOLUTION) * e.getCount() * factor));
+                builder.addCopies(e.getElement(), count);
+                errors += count;
+            }
+        }
+        checkArgument(errors <= total, "The factor %s gives an error probability greater than 1", factor);
+        builder.addCopies(0, Math.toIntExact(total - errors));
+        return builder.build();
+    }
+    
+    ErrorCountChoices getChoices(EventType type, OccupiedBases bases) {
+        requireNonNull(type);
+        requireNonNull(bases);
+        ImmutableMultiset<Integer> values = data.get(type, bases);
+        return (values == null)
+                ? ErrorCountChoices.noErrors()
+                : ErrorCountChoices.of(values);
+    }
+    
     public void store(Persister p) {
         Storage.store(this, p);
     }
@@ -1,5 +1,6 @@
 package bsbll.game.params;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Map;
@@ -72,6 +73,39 @@ public final class FieldersChoiceProbabilities {
         return p.test(dieFactory);
     }
     
+    /**
+     * Returns the probability that an out with the given occupied bases is converted to
+     * a fielder's choice. Always returns {@code Probability.ZERO} if the bases are empty.
+     */
+    Probability getProbability(OccupiedBases bases) {
+        return bases.isEmpty()
+                ? Probability.ZERO
+                : probabilities.getOrDefault(bases, DEFAULT_PROBABILITY);
+    }
+    
+    /**
+     * Returns probabilities where the probability of a fielder's choice in every base
+     * situation, including the ones that use the default probability, is scaled by the
+     * given factor.
+     * 
+     * @throws IllegalArgumentException
+     *             if the factor is negative, or if the scaled probability of a fielder's
+     *             choice exceeds 1 in any situation
+     */
+    public FieldersChoiceProbabilities scaledBy(double factor) {
+        checkArgument(factor >= 0.0, "The factor must not be negative: %s", factor);
+        ImmutableMap.Builder<OccupiedBases, Probability> builder = ImmutableMap.builder();
+        for (OccupiedBases bases : OccupiedBases.values()) {
+            if (!bases.isEmpty()) {
+                double scaled = getProbability(bases).asDouble() * factor;
+                checkArgument(scaled <= 1.0, "The factor %s gives a fielder's choice probability greater than 1",
+                        factor);
+                builder.put(bases, Probability.of(scaled));
+            }
+        }
+        return new FieldersChoiceProbabilities(builder.build());
+    }
+    
     @Override
     public String toString() {
         return probabilities.toString();
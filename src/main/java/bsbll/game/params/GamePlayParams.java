@@ -4,6 +4,8 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.function.Predicate;
 
+import javax.annotation.Nullable;
+
 import bsbll.bases.Advances;
 import bsbll.bases.BaseHit;
 import bsbll.bases.BaseSituation;
@@ -26,6 +28,14 @@ public final class GamePlayParams {
     private final ErrorCountDistribution errorCountDistribution;
     private final ErrorAdvanceDistribution errorAdvanceDistribution;
     private final PitchingEventProbabilities pitchingEventProbabilities;
+    // The compiled base hit and out advances, which are the expensive part to compile.
+    // Shared with the parameters derived from these by the with-methods that keep the
+    // advance distributions.
+    private final CompiledAdvances advances;
+    // Created lazily. The compiled form is immutable, so a race between two threads
+    // can at worst result in it being created twice.
+    @Nullable
+    private volatile CompiledGamePlayParams compiled;
     // TODO: Pass in the DieFactory in the constructor instead? Slight downside is that we have to 
     // pass in the same DieFactory to the GamePlayDriver constructor as well.
     
@@ -35,18 +45,111 @@ public final class GamePlayParams {
                           ErrorCountDistribution errorCountDistribution,
                           ErrorAdvanceDistribution errorAdvanceDistribution,
                           PitchingEventProbabilities pitchingEventProbabilities) {
+        this(baseHitAdvanceDistribution, outAdvanceDistribution, fieldersChoiceProbabilities, 
+                errorCountDistribution, errorAdvanceDistribution, pitchingEventProbabilities, 
+                new CompiledAdvances(baseHitAdvanceDistribution, outAdvanceDistribution));
+    }
+
+    private GamePlayParams(BaseHitAdvanceDistribution baseHitAdvanceDistribution,
+                           OutAdvanceDistribution outAdvanceDistribution,
+                           FieldersChoiceProbabilities fieldersChoiceProbabilities,
+                           ErrorCountDistribution errorCountDistribution,
+                           ErrorAdvanceDistribution errorAdvanceDistribution,
+                           PitchingEventProbabilities pitchingEventProbabilities,
+                           CompiledAdvances advances) {
         this.baseHitAdvanceDistribution = requireNonNull(baseHitAdvanceDistribution);
         this.outAdvanceDistribution = requireNonNull(outAdvanceDistribution);
         this.fieldersChoiceProbabilities = requireNonNull(fieldersChoiceProbabilities);
         this.errorCountDistribution = requireNonNull(errorCountDistribution);
         this.errorAdvanceDistribution = requireNonNull(errorAdvanceDistribution);
         this.pitchingEventProbabilities = requireNonNull(pitchingEventProbabilities);
+        this.advances = advances.isCompiledFrom(baseHitAdvanceDistribution, outAdvanceDistribution)
+                ? advances
+                : new CompiledAdvances(baseHitAdvanceDistribution, outAdvanceDistribution);
     }
 
     public static GamePlayParams defaultParams() {
         return DEFAULT_PARAMS;
     }
 
+    public BaseHitAdvanceDistribution getBaseHitAdvanceDistribution() {
+        return baseHitAdvanceDistribution;
+    }
+
+    public OutAdvanceDistribution getOutAdvanceDistribution() {
+        return outAdvanceDistribution;
+    }
+
+    public FieldersChoiceProbabilities getFieldersChoiceProbabilities() {
+        return fieldersChoiceProbabilities;
+    }
+
+    public ErrorCountDistribution getErrorCountDistribution() {
+        return errorCountDistribution;
+    }
+
+    public ErrorAdvanceDistribution getErrorAdvanceDistribution() {
+        return errorAdvanceDistribution;
+    }
+
+    public PitchingEventProbabilities getPitchingEventProbabilities() {
+        return pitchingEventProbabilities;
+    }
+
+    // The with-methods return new parameters that share all but the replaced
+    // distribution with these ones.
+
+    public GamePlayParams withBaseHitAdvanceDistribution(BaseHitAdvanceDistribution d) {
+        return new GamePlayParams(d, outAdvanceDistribution, fieldersChoiceProbabilities, 
+                errorCountDistribution, errorAdvanceDistribution, pitchingEventProbabilities, advances);
+    }
+
+    public GamePlayParams withOutAdvanceDistribution(OutAdvanceDistribution d) {
+        return new GamePlayParams(baseHitAdvanceDistribution, d, fieldersChoiceProbabilities, 
+                errorCountDistribution, errorAdvanceDistribution, pitchingEventProbabilities, advances);
+    }
+
+    public GamePlayParams withFieldersChoiceProbabilities(FieldersChoiceProbabilities p) {
+        return new GamePlayParams(baseHitAdvanceDistribution, outAdvanceDistribution, p, 
+                errorCountDistribution, errorAdvanceDistribution, pitchingEventProbabilities, advances);
+    }
+
+    public GamePlayParams withErrorCountDistribution(ErrorCountDistribution d) {
+        return new GamePlayParams(baseHitAdvanceDistribution, outAdvanceDistribution, fieldersChoiceProbabilities, 
+                d, errorAdvanceDistribution, pitchingEventProbabilities, advances);
+    }
+
+    public GamePlayParams withErrorAdvanceDistribution(ErrorAdvanceDistribution d) {
+        return new GamePlayParams(baseHitAdvanceDistribution, outAdvanceDistribution, fieldersChoiceProbabilities, 
+                errorCountDistribution, d, pitchingEventProbabilities, advances);
+    }
+
+    public GamePlayParams withPitchingEventProbabilities(PitchingEventProbabilities p) {
+        return new GamePlayParams(baseHitAdvanceDistribution, outAdvanceDistribution, fieldersChoiceProbabilities, 
+                errorCountDistribution, errorAdvanceDistribution, p, advances);
+    }
+
+    /**
+     * Returns these parameters in a compiled form, suitable for game engines that should
+     * not produce any garbage while playing.
+     * <p>
+     * If these parameters were derived from other parameters with the same base hit and
+     * out advance distributions, the compiled advances are shared with those.
+     */
+    public CompiledGamePlayParams compile() {
+        CompiledGamePlayParams c = this.compiled;
+        if (c == null) {
+            c = new CompiledGamePlayParams(
+                    advances, 
+                    fieldersChoiceProbabilities, 
+                    errorCountDistribution, 
+                    errorAdvanceDistribution, 
+                    pitchingEventProbabilities);
+            this.compiled = c;
+        }
+        return c;
+    }
+
     public Advances getAdvancesOnBaseHit(BaseHit baseHit, BaseSituation baseSituation, int numberOfOuts, DieFactory dieFactory) {
         return baseHitAdvanceDistribution.pickOne(
                 new BaseHitAdvanceKey(baseHit, numberOfOuts), baseSituation, dieFactory);
@@ -83,12 +186,11 @@ public final class GamePlayParams {
         return outAdvanceDistribution.pickMostCommon(key, baseSituation, predicate);
     }
     
-    public OutLocation getOutLocation() {
-        // TODO: Get from play-by-play data. For now we use a 65-35 split.
-        return Math.random() < 0.65
-                ? OutLocation.INFIELD
-                : OutLocation.OUTFIELD;
-        
+    /**
+     * Decides the location of an out, using the given DieFactory.
+     */
+    public OutLocation getOutLocation(DieFactory dieFactory) {
+        return OutLocation.pick(dieFactory);
     }
 
     public boolean testWildPitch(DieFactory dieFactory) {
@@ -6,7 +6,6 @@ import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableTable;
 
 import bsbll.bases.Advances;
-import bsbll.bases.BaseSituation;
 import bsbll.bases.OccupiedBases;
 import p3.Persister;
 
@@ -34,12 +33,12 @@ public final class OutAdvanceDistribution extends AdvanceDistribution<OutAdvance
     }
 
     @Override
-    protected Advances defaultAdvance(OutAdvanceKey key, BaseSituation baseSituation) {
+    protected Advances defaultAdvance(OutAdvanceKey key, OccupiedBases occupiedBases) {
         switch (key.getLocation()) {
         case INFIELD:
             // TODO: This should be an option
             // Move everyone up one base
-            //return Advances.runnersAdvancesOneBase(baseSituation.getOccupiedBases());
+            //return Advances.runnersAdvancesOneBase(occupiedBases);
             return Advances.empty();
         case OUTFIELD:
             // Let everyone stay put
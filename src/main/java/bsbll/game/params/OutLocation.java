@@ -1,7 +1,23 @@
 package bsbll.game.params;
 
+import bsbll.card.Probability;
+import bsbll.die.DieFactory;
+
 public enum OutLocation {
     // TODO: We could make this more finegrained, per fielder position.
     INFIELD,
-    OUTFIELD
+    OUTFIELD;
+    
+    // TODO: Get from play-by-play data. For now we use a 65-35 split.
+    static final Probability INFIELD_OUT_PROBABILITY = Probability.of(0.65);
+    
+    /**
+     * Decides the location of an out, using the given DieFactory. This is the one
+     * definition shared by {@link GamePlayParams} and {@link CompiledGamePlayParams}.
+     */
+    static OutLocation pick(DieFactory dieFactory) {
+        return INFIELD_OUT_PROBABILITY.test(dieFactory)
+                ? INFIELD
+                : OUTFIELD;
+    }
 }
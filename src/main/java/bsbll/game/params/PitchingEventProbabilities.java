@@ -1,5 +1,6 @@
 package bsbll.game.params;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import bsbll.card.Probability;
@@ -46,6 +47,40 @@ public final class PitchingEventProbabilities {
     public boolean testBalk(DieFactory dieFactory) {
         return balkProbability.test(dieFactory);
     }
+    
+    /**
+     * Returns probabilities where the probabilities of all three events are scaled by the
+     * given factor.
+     * 
+     * @throws IllegalArgumentException
+     *             if the factor is negative, or if the scaled probability of any of the
+     *             events exceeds 1
+     */
+    public PitchingEventProbabilities scaledBy(double factor) {
+        checkArgument(factor >= 0.0, "The factor must not be negative: %s", factor);
+        return new PitchingEventProbabilities(
+                scale(wildPitchProbability, factor),
+                scale(passedBallProbability, factor),
+                scale(balkProbability, factor));
+    }
+    
+    private static Probability scale(Probability p, double factor) {
+        double scaled = p.asDouble() * factor;
+        checkArgument(scaled <= 1.0, "The factor %s gives a probability greater than 1", factor);
+        return Probability.of(scaled);
+    }
+    
+    Probability getWildPitchProbability() {
+        return wildPitchProbability;
+    }
+    
+    Probability getPassedBallProbability() {
+        return passedBallProbability;
+    }
+    
+    Probability getBalkProbability() {
+        return balkProbability;
+    }
 
     @Override
     public String toString() {
@@ -6,6 +6,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 
 import com.google.common.collect.ImmutableList;
@@ -92,7 +93,16 @@ public final class AtBatResult { // TODO: Come up with a better name
     }
     
     public static Builder builder(Player batter, Player pitcher) {
-        return new Builder(batter, pitcher);
+        return new Builder(batter, pitcher, true);
+    }
+    
+    /**
+     * Returns a builder that ignores all player stats. This is for cases where only the 
+     * score is of interest. Calling {@link AtBatResult#gatherPlayerStats(PlayerGameStats)} 
+     * on the resulting AtBatResult is a no-op.
+     */
+    public static Builder builderWithoutStats(Player batter, Player pitcher) {
+        return new Builder(batter, pitcher, false);
     }
 
     
@@ -103,11 +113,19 @@ public final class AtBatResult { // TODO: Come up with a better name
         private final List<BaseRunner> runs = new ArrayList<>();
         private BaseSituation newBaseSituation;
         private boolean batterCompletedHisTurn;
-        private final AtBatStats.Builder statsBuilder = AtBatStats.builder();
+        @Nullable
+        private final AtBatStats.Builder statsBuilder;
         
         public Builder(Player batter, Player pitcher) {
+            this(batter, pitcher, true);
+        }
+        
+        private Builder(Player batter, Player pitcher, boolean includeStats) {
             this.batter = requireNonNull(batter);
             this.pitcher = requireNonNull(pitcher);
+            this.statsBuilder = includeStats
+                    ? AtBatStats.builder()
+                    : null;
         }
         
         public Builder addOutcome(PlayOutcome outcome) {
@@ -133,7 +151,9 @@ public final class AtBatResult { // TODO: Come up with a better name
         }
         
         public Builder addBattingStat(PrimitiveBattingStat stat, int value) {
-            statsBuilder.add(stat, value);
+            if (statsBuilder != null) {
+                statsBuilder.add(stat, value);
+            }
             return this;
         }
         
@@ -142,27 +162,42 @@ public final class AtBatResult { // TODO: Come up with a better name
         }
         
         public Builder addPitchingStat(PrimitivePitchingStat stat, int value) {
-            statsBuilder.add(stat, value);
+            if (statsBuilder != null) {
+                statsBuilder.add(stat, value);
+            }
             return this;
         }
         
         public Builder runsScored(List<BaseRunner> runs) {
             this.runs.addAll(runs);
-            runs.stream()
-                .map(BaseRunner::getRunner)
-                .forEach(statsBuilder::scored);
+            if (statsBuilder != null) {
+                runs.stream()
+                    .map(BaseRunner::getRunner)
+                    .forEach(statsBuilder::scored);
+            }
             return this;
         }
         
         public Builder stoleBase(Player player) {
-            statsBuilder.stoleBase(player);
+            if (statsBuilder != null) {
+                statsBuilder.stoleBase(player);
+            }
             return this;
         }
         
         public Builder caughtStealing(Player player) {
-            statsBuilder.caughtStealing(player);
+            if (statsBuilder != null) {
+                statsBuilder.caughtStealing(player);
+            }
             return this;
         }
+        
+        /**
+         * Checks if this builder keeps track of player stats.
+         */
+        public boolean isIncludingStats() {
+            return statsBuilder != null;
+        }
 
         public Builder batterCompletedHisTurn() {
             addBattingStat(PrimitiveBattingStat.PLATE_APPEARANCES, 1);
@@ -174,8 +209,11 @@ public final class AtBatResult { // TODO: Come up with a better name
         public AtBatResult build() {
             checkState(actualPlays.size() > 0, "Must provide at least one PlayOutcome");
             checkState(newBaseSituation != null, "Must provide the new BaseSituation");
+            AtBatStats stats = (statsBuilder != null)
+                    ? statsBuilder.build()
+                    : AtBatStats.NO_STATS;
             return new AtBatResult(batter, pitcher, actualPlays, runs, 
-                    newBaseSituation, batterCompletedHisTurn, statsBuilder.build());
+                    newBaseSituation, batterCompletedHisTurn, stats);
         }
     }
 }
@@ -25,6 +25,12 @@ import bsbll.stats.PitchingStat.PrimitivePitchingStat;
 
 @Immutable
 final class AtBatStats {
+    /**
+     * Represents the absence of stats, for at bats where the stats are of no interest.
+     */
+    public static final AtBatStats NO_STATS = new AtBatStats(ImmutableMap.of(), ImmutableMap.of(), 
+            ImmutableSet.of(), ImmutableMultiset.of(), ImmutableSet.of());
+    
     /**
      * The stats of the batter, exluding runs.
      */
@@ -60,6 +66,9 @@ final class AtBatStats {
     }
     
     public void applyTo(Player batter, Player pitcher, PlayerGameStats gameStats) {
+        if (this == NO_STATS) {
+            return;
+        }
         gameStats.updateBattingStats(batter.getId(), batterStats);
         gameStats.updatePitchingStats(pitcher.getId(), pitcherStats);
         runsScored.forEach(id -> gameStats.add(id, BattingStat.RUNS, 1));
@@ -0,0 +1,117 @@
+package bsbll.game.split;
+
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.Objects;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import bsbll.team.TeamId;
+
+/**
+ * A single split of a {@link SplitDimension}, such as home games, the games against a
+ * given team, or the 7th inning.
+ */
+@Immutable
+public final class Split {
+    /**
+     * The index of the inning split that holds all the extra innings.
+     */
+    static final int EXTRA_INNINGS = 9;
+
+    private static final Split HOME = new Split(SplitDimension.HOME_AWAY, 0, null);
+    private static final Split AWAY = new Split(SplitDimension.HOME_AWAY, 1, null);
+
+    private final SplitDimension dimension;
+    private final int index;
+    @Nullable
+    private final TeamId opponent;
+
+    private Split(SplitDimension dimension, int index, @Nullable TeamId opponent) {
+        this.dimension = dimension;
+        this.index = index;
+        this.opponent = opponent;
+    }
+
+    public static Split home() {
+        return HOME;
+    }
+
+    public static Split away() {
+        return AWAY;
+    }
+
+    public static Split vs(TeamId opponent) {
+        return new Split(SplitDimension.OPPONENT, -1, requireNonNull(opponent));
+    }
+
+    /**
+     * Returns the split of the given period of the season, where period 0 is the first.
+     */
+    public static Split period(int period) {
+        return new Split(SplitDimension.PERIOD, checkNotNegative(period), null);
+    }
+
+    /**
+     * Returns the split of the given inning. All extra innings belong to the same split,
+     * so {@code inning(10)} and {@code inning(14)} are the same.
+     */
+    public static Split inning(int inning) {
+        checkPositive(inning);
+        return new Split(SplitDimension.INNING, Math.min(inning - 1, EXTRA_INNINGS), null);
+    }
+
+    public SplitDimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the index of this split within its dimension, or -1 for the
+     * {@link SplitDimension#OPPONENT} splits, whose index is given by the opponent.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    @Nullable
+    TeamId getOpponent() {
+        return opponent;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof Split) {
+            Split o = (Split) obj;
+            return (this.dimension == o.dimension) && (this.index == o.index)
+                    && Objects.equals(this.opponent, o.opponent);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dimension, index, opponent);
+    }
+
+    @Override
+    public String toString() {
+        switch (dimension) {
+        case HOME_AWAY:
+            return (index == 0) ? "Home" : "Away";
+        case OPPONENT:
+            return "vs " + opponent;
+        case PERIOD:
+            return "Period " + (index + 1);
+        case INNING:
+            return (index == EXTRA_INNINGS) ? "Extra innings" : "Inning " + (index + 1);
+        default:
+            throw new AssertionError("Unknown dimension: " + dimension);
+        }
+    }
+}
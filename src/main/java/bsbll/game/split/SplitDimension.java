@@ -0,0 +1,24 @@
+package bsbll.game.split;
+
+/**
+ * The dimensions along which the stats can be split.
+ */
+public enum SplitDimension {
+    /**
+     * Home games and road games.
+     */
+    HOME_AWAY,
+    /**
+     * The games against each of the opponents.
+     */
+    OPPONENT,
+    /**
+     * Periods of the season, of a fixed number of days each, such as months.
+     */
+    PERIOD,
+    /**
+     * Innings 1 through 9, and extra innings. The games and the decisions of the pitchers
+     * are not counted in these splits.
+     */
+    INNING
+}
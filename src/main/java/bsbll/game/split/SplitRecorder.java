@@ -0,0 +1,68 @@
+package bsbll.game.split;
+
+import java.util.Map;
+
+import bsbll.game.Inning;
+import bsbll.game.play.PlayOutcome;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+
+/**
+ * Receives the stats of the players of a game as they accrue during play, so that they
+ * can be added to the splits the stats belong to.
+ * <p>
+ * The game tells the recorder when each half inning starts, and when the last half
+ * inning is over. Stats that are recorded after that, such as the decisions of the
+ * pitchers, do not belong to any inning.
+ * <p>
+ * The stats of a plate appearance are handed over in a single call per player, so that
+ * the recorder can look up the player once and add all the stats in one pass.
+ */
+public interface SplitRecorder {
+    void startHalfInning(Inning inning);
+
+    void endOfPlay();
+
+    /**
+     * Receives the stats of the batter and the pitcher of a play, as given by the outcome
+     * of the play and the number of runs that scored on it. The runs scored by the runners
+     * other than the batter are received separately.
+     */
+    void onPlay(PlayerId batterId, PlayerId pitcherId, PlayOutcome outcome, int runs);
+
+    void onBattingStats(PlayerId playerId, Map<PrimitiveBattingStat, Integer> stats);
+
+    void onPitchingStats(PlayerId playerId, Map<PrimitivePitchingStat, Integer> stats);
+
+    void onBattingStat(PlayerId playerId, PrimitiveBattingStat stat, int value);
+
+    void onPitchingStat(PlayerId playerId, PrimitivePitchingStat stat, int value);
+
+    /**
+     * SplitRecorder that does not record anything.
+     */
+    public static final SplitRecorder NO_SPLITS = new SplitRecorder() {
+
+        @Override
+        public void startHalfInning(Inning inning) {/**/}
+
+        @Override
+        public void endOfPlay() {/**/}
+
+        @Override
+        public void onPlay(PlayerId batterId, PlayerId pitcherId, PlayOutcome outcome, int runs) {/**/}
+
+        @Override
+        public void onBattingStats(PlayerId playerId, Map<PrimitiveBattingStat, Integer> stats) {/**/}
+
+        @Override
+        public void onPitchingStats(PlayerId playerId, Map<PrimitivePitchingStat, Integer> stats) {/**/}
+
+        @Override
+        public void onBattingStat(PlayerId playerId, PrimitiveBattingStat stat, int value) {/**/}
+
+        @Override
+        public void onPitchingStat(PlayerId playerId, PrimitivePitchingStat stat, int value) {/**/}
+    };
+}
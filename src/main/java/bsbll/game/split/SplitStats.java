@@ -0,0 +1,481 @@
+package bsbll.game.split;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+import bsbll.game.Inning;
+import bsbll.game.play.PlayOutcome;
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.IdRegistry;
+import bsbll.team.Roster;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * The batting and pitching stats of the players and the teams of a league, split along
+ * the dimensions that are declared when the SplitStats is built.
+ * <p>
+ * The stats are fed to the splits as they accrue during play, through a
+ * {@link SplitRecorder} per game (see {@link bsbll.game.Game#setSplitRecorder(SplitRecorder)}),
+ * so no box scores or plays need to be kept around. Every stat of a player is added to
+ * the counters of all the splits it belongs to, for the player and for the team of the
+ * player, in one pass. The counters are plain int arrays indexed by the
+ * {@link IdRegistry} ordinals of the players and the teams, and by the position of the
+ * split among the declared splits, so looking up a split is a matter of reading its
+ * counters.
+ * <p>
+ * The stats of a team in a split are the sums of the stats of its players in the split,
+ * except for the games, which are the games the team played in the split.
+ * <p>
+ * Games that are played at the same time can record their stats concurrently.
+ */
+@ThreadSafe
+public final class SplitStats {
+    private static final PrimitiveBattingStat[] BATTING_STATS = PrimitiveBattingStat.values();
+    private static final PrimitivePitchingStat[] PITCHING_STATS = PrimitivePitchingStat.values();
+    private static final int NUMBER_OF_INNING_SPLITS = Split.EXTRA_INNINGS + 1;
+
+    private final IdRegistry ids;
+    private final int daysPerPeriod;
+    private final int numberOfPeriods;
+    /**
+     * The position of the first split of each declared dimension among all the splits.
+     */
+    private final EnumMap<SplitDimension, Integer> offsets;
+    private final int numberOfSplits;
+    /**
+     * The ordinal of the team of each player, by the ordinal of the player.
+     */
+    private final int[] teamOfPlayer;
+    /**
+     * The counters of the players, followed by the counters of the teams. Row r holds
+     * the counters of every split, one block of counters per split.
+     */
+    private final AtomicIntegerArray batting;
+    private final AtomicIntegerArray pitching;
+
+    private SplitStats(IdRegistry ids, EnumSet<SplitDimension> dimensions, int daysPerPeriod, int numberOfPeriods) {
+        this.ids = ids;
+        this.daysPerPeriod = daysPerPeriod;
+        this.numberOfPeriods = numberOfPeriods;
+        this.offsets = new EnumMap<>(SplitDimension.class);
+        int splits = 0;
+        for (SplitDimension d : dimensions) {
+            offsets.put(d, splits);
+            splits += size(d);
+        }
+        this.numberOfSplits = splits;
+        this.teamOfPlayer = new int[ids.getNumberOfPlayers()];
+        Arrays.fill(teamOfPlayer, -1);
+        for (int t = 0; t < ids.getNumberOfTeams(); ++t) {
+            Team team = ids.getTeam(t);
+            for (Player p : team.getRoster().getBatters()) {
+                assignTeam(p, t);
+            }
+            for (Player p : team.getRoster().getStartingPitchers()) {
+                assignTeam(p, t);
+            }
+        }
+        int rows = ids.getNumberOfPlayers() + ids.getNumberOfTeams();
+        this.batting = new AtomicIntegerArray(rows * numberOfSplits * BATTING_STATS.length);
+        this.pitching = new AtomicIntegerArray(rows * numberOfSplits * PITCHING_STATS.length);
+    }
+
+    private void assignTeam(Player player, int team) {
+        int ordinal = ids.ordinal(player);
+        if (teamOfPlayer[ordinal] < 0) {
+            teamOfPlayer[ordinal] = team;
+        }
+    }
+
+    private int size(SplitDimension dimension) {
+        switch (dimension) {
+        case HOME_AWAY:
+            return 2;
+        case OPPONENT:
+            return ids.getNumberOfTeams();
+        case PERIOD:
+            return numberOfPeriods;
+        case INNING:
+            return NUMBER_OF_INNING_SPLITS;
+        default:
+            throw new AssertionError("Unknown dimension: " + dimension);
+        }
+    }
+
+    public static Builder builder(IdRegistry ids) {
+        return new Builder(ids);
+    }
+
+    public boolean includes(SplitDimension dimension) {
+        return offsets.containsKey(requireNonNull(dimension));
+    }
+
+    /**
+     * Returns a recorder for a game between the given teams, which is not part of any
+     * period of the season.
+     */
+    public SplitRecorder newGame(TeamId homeTeam, TeamId visitingTeam) {
+        return newGame(homeTeam, visitingTeam, 0);
+    }
+
+    /**
+     * Returns a recorder for a game between the given teams, on the given day of the
+     * season, where day 0 is the first day. Days past the last period belong to the last
+     * period.
+     */
+    public SplitRecorder newGame(TeamId homeTeam, TeamId visitingTeam, int day) {
+        checkNotNegative(day);
+        return new GameRecorder(ids.ordinal(homeTeam), ids.ordinal(visitingTeam), day);
+    }
+
+    public BattingStatLine getBattingSplit(Player player, Split split) {
+        return getBattingSplit(player.getId(), split);
+    }
+
+    /**
+     * Returns the batting stats of the given player in the given split, which is empty
+     * if the player is not in the registry of these stats.
+     *
+     * @throws IllegalArgumentException
+     *             if the dimension of the split has not been declared
+     */
+    public BattingStatLine getBattingSplit(PlayerId playerId, Split split) {
+        int column = column(split);
+        int ordinal = ids.ordinalOrMinusOne(playerId);
+        return (ordinal >= 0)
+                ? toBattingStatLine(ordinal, column)
+                : BattingStatLine.empty();
+    }
+
+    public PitchingStatLine getPitchingSplit(Player player, Split split) {
+        return getPitchingSplit(player.getId(), split);
+    }
+
+    /**
+     * Returns the pitching stats of the given player in the given split, which is empty
+     * if the player is not in the registry of these stats.
+     *
+     * @throws IllegalArgumentException
+     *             if the dimension of the split has not been declared
+     */
+    public PitchingStatLine getPitchingSplit(PlayerId playerId, Split split) {
+        int column = column(split);
+        int ordinal = ids.ordinalOrMinusOne(playerId);
+        return (ordinal >= 0)
+                ? toPitchingStatLine(ordinal, column)
+                : PitchingStatLine.empty();
+    }
+
+    /**
+     * Returns the batting stats of the given team in the given split.
+     *
+     * @throws IllegalArgumentException
+     *             if the team is not in the registry of these stats, or if the dimension
+     *             of the split has not been declared
+     */
+    public BattingStatLine getTeamBattingSplit(TeamId teamId, Split split) {
+        return toBattingStatLine(teamRow(ids.ordinal(teamId)), column(split));
+    }
+
+    /**
+     * Returns the pitching stats of the given team in the given split.
+     *
+     * @throws IllegalArgumentException
+     *             if the team is not in the registry of these stats, or if the dimension
+     *             of the split has not been declared
+     */
+    public PitchingStatLine getTeamPitchingSplit(TeamId teamId, Split split) {
+        return toPitchingStatLine(teamRow(ids.ordinal(teamId)), column(split));
+    }
+
+    private int column(Split split) {
+        Integer offset = offsets.get(split.getDimension());
+        checkArgument(offset != null, "The %s splits have not been declared", split.getDimension());
+        if (split.getDimension() == SplitDimension.OPPONENT) {
+            return offset + ids.ordinal(split.getOpponent());
+        }
+        checkArgument(split.getIndex() < size(split.getDimension()), "No such split: %s", split);
+        return offset + split.getIndex();
+    }
+
+    private int teamRow(int team) {
+        return ids.getNumberOfPlayers() + team;
+    }
+
+    private BattingStatLine toBattingStatLine(int row, int column) {
+        int block = (row * numberOfSplits + column) * BATTING_STATS.length;
+        Map<PrimitiveBattingStat, Integer> values = new EnumMap<>(PrimitiveBattingStat.class);
+        for (PrimitiveBattingStat stat : BATTING_STATS) {
+            int value = batting.get(block + stat.ordinal());
+            if (value != 0) {
+                values.put(stat, value);
+            }
+        }
+        return new BattingStatLine(values);
+    }
+
+    private PitchingStatLine toPitchingStatLine(int row, int column) {
+        int block = (row * numberOfSplits + column) * PITCHING_STATS.length;
+        Map<PrimitivePitchingStat, Integer> values = new EnumMap<>(PrimitivePitchingStat.class);
+        for (PrimitivePitchingStat stat : PITCHING_STATS) {
+            int value = pitching.get(block + stat.ordinal());
+            if (value != 0) {
+                values.put(stat, value);
+            }
+        }
+        return new PitchingStatLine(values);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Splits %s of %s", offsets.keySet(), ids);
+    }
+
+
+    /**
+     * Adds the stats of a single game to the counters of the splits. The splits of the game
+     * as a whole are resolved once, when the game starts, and the inning split when each
+     * half inning starts. The ordinals of the players of the two teams are cached as well,
+     * so that each stat event resolves its player with a short identity scan rather than a
+     * lookup in the registry, and then adds all its stats directly to the counters.
+     */
+    @NotThreadSafe
+    private final class GameRecorder implements SplitRecorder {
+        private final int homeTeam;
+        private final int visitingTeam;
+        /**
+         * The game-wide splits of the players of the home team and the visiting team,
+         * respectively.
+         */
+        private final int[] homeColumns;
+        private final int[] visitingColumns;
+        /**
+         * The IDs of the players on the rosters of the two teams, and their ordinals.
+         */
+        private final PlayerId[] cachedIds;
+        private final int[] cachedOrdinals;
+        /**
+         * The inning split of the half inning in progress, or -1.
+         */
+        private int inningColumn = -1;
+
+        public GameRecorder(int homeTeam, int visitingTeam, int day) {
+            checkArgument(homeTeam != visitingTeam, "A team cannot play a game against itself");
+            this.homeTeam = homeTeam;
+            this.visitingTeam = visitingTeam;
+            this.homeColumns = gameColumns(0, visitingTeam, day);
+            this.visitingColumns = gameColumns(1, homeTeam, day);
+            List<Player> players = new ArrayList<>();
+            for (int team : new int[] { homeTeam, visitingTeam }) {
+                Roster roster = ids.getTeam(team).getRoster();
+                players.addAll(roster.getBatters());
+                players.addAll(roster.getStartingPitchers());
+            }
+            this.cachedIds = new PlayerId[players.size()];
+            this.cachedOrdinals = new int[players.size()];
+            for (int n = 0; n < players.size(); ++n) {
+                cachedIds[n] = players.get(n).getId();
+                cachedOrdinals[n] = ids.ordinal(players.get(n));
+            }
+            // The games of the teams are counted here, rather than as the sum of the
+            // games of their players.
+            addTeamGame(batting, BATTING_STATS.length, PrimitiveBattingStat.GAMES.ordinal());
+            addTeamGame(pitching, PITCHING_STATS.length, PrimitivePitchingStat.GAMES.ordinal());
+        }
+
+        private int[] gameColumns(int homeAway, int opponent, int day) {
+            int[] columns = new int[3];
+            int count = 0;
+            if (offsets.containsKey(SplitDimension.HOME_AWAY)) {
+                columns[count++] = offsets.get(SplitDimension.HOME_AWAY) + homeAway;
+            }
+            if (offsets.containsKey(SplitDimension.OPPONENT)) {
+                columns[count++] = offsets.get(SplitDimension.OPPONENT) + opponent;
+            }
+            if (offsets.containsKey(SplitDimension.PERIOD)) {
+                columns[count++] = offsets.get(SplitDimension.PERIOD) + Math.min(day / daysPerPeriod,
+                        numberOfPeriods - 1);
+            }
+            return Arrays.copyOf(columns, count);
+        }
+
+        private void addTeamGame(AtomicIntegerArray counters, int stride, int stat) {
+            add(counters, stride, teamRow(homeTeam), homeColumns, stat, 1);
+            add(counters, stride, teamRow(visitingTeam), visitingColumns, stat, 1);
+        }
+
+        @Override
+        public void startHalfInning(Inning inning) {
+            inningColumn = offsets.containsKey(SplitDimension.INNING)
+                    ? offsets.get(SplitDimension.INNING) + Math.min(inning.getNumber() - 1, Split.EXTRA_INNINGS)
+                    : -1;
+        }
+
+        @Override
+        public void endOfPlay() {
+            inningColumn = -1;
+        }
+
+        @Override
+        public void onPlay(PlayerId batterId, PlayerId pitcherId, PlayOutcome outcome, int runs) {
+            int batter = resolve(batterId);
+            if (batter >= 0) {
+                BattingStatLine.forEachStatOfPlay(outcome, runs, (stat, delta) -> addBatting(batter, stat, delta));
+            }
+            int pitcher = resolve(pitcherId);
+            if (pitcher >= 0) {
+                PitchingStatLine.forEachStatOfPlay(outcome, runs, (stat, delta) -> addPitching(pitcher, stat, delta));
+            }
+        }
+
+        @Override
+        public void onBattingStats(PlayerId playerId, Map<PrimitiveBattingStat, Integer> stats) {
+            int player = resolve(playerId);
+            if (player >= 0) {
+                for (Map.Entry<PrimitiveBattingStat, Integer> e : stats.entrySet()) {
+                    addBatting(player, e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void onPitchingStats(PlayerId playerId, Map<PrimitivePitchingStat, Integer> stats) {
+            int player = resolve(playerId);
+            if (player >= 0) {
+                for (Map.Entry<PrimitivePitchingStat, Integer> e : stats.entrySet()) {
+                    addPitching(player, e.getKey(), e.getValue());
+                }
+            }
+        }
+
+        @Override
+        public void onBattingStat(PlayerId playerId, PrimitiveBattingStat stat, int value) {
+            int player = resolve(playerId);
+            if (player >= 0) {
+                addBatting(player, stat, value);
+            }
+        }
+
+        @Override
+        public void onPitchingStat(PlayerId playerId, PrimitivePitchingStat stat, int value) {
+            int player = resolve(playerId);
+            if (player >= 0) {
+                addPitching(player, stat, value);
+            }
+        }
+
+        /**
+         * Returns the ordinal of the given player, or -1 if the player is not in the
+         * registry of these stats.
+         */
+        private int resolve(PlayerId playerId) {
+            // The players of a game hand out the same PlayerId instances as the rosters.
+            for (int n = 0; n < cachedIds.length; ++n) {
+                if (cachedIds[n] == playerId) {
+                    return cachedOrdinals[n];
+                }
+            }
+            return ids.ordinalOrMinusOne(playerId);
+        }
+
+        private void addBatting(int player, PrimitiveBattingStat stat, int value) {
+            record(batting, BATTING_STATS.length, player, stat.ordinal(), stat == PrimitiveBattingStat.GAMES,
+                    value);
+        }
+
+        private void addPitching(int player, PrimitivePitchingStat stat, int value) {
+            record(pitching, PITCHING_STATS.length, player, stat.ordinal(), stat == PrimitivePitchingStat.GAMES,
+                    value);
+        }
+
+        private void record(AtomicIntegerArray counters, int stride, int player, int stat, boolean isGames,
+                int value) {
+            if (value == 0) {
+                return;
+            }
+            int team = teamOfPlayer[player];
+            checkState(team == homeTeam || team == visitingTeam, "%s does not play in this game",
+                    ids.getPlayer(player));
+            int[] columns = (team == homeTeam)
+                    ? homeColumns
+                    : visitingColumns;
+            add(counters, stride, player, columns, stat, value);
+            if (!isGames) {
+                add(counters, stride, teamRow(team), columns, stat, value);
+                if (inningColumn >= 0) {
+                    counters.getAndAdd((player * numberOfSplits + inningColumn) * stride + stat, value);
+                    counters.getAndAdd((teamRow(team) * numberOfSplits + inningColumn) * stride + stat, value);
+                }
+            }
+        }
+
+        private void add(AtomicIntegerArray counters, int stride, int row, int[] columns, int stat, int value) {
+            for (int column : columns) {
+                counters.getAndAdd((row * numberOfSplits + column) * stride + stat, value);
+            }
+        }
+    }
+
+
+    public static final class Builder {
+        private final IdRegistry ids;
+        private final EnumSet<SplitDimension> dimensions = EnumSet.noneOf(SplitDimension.class);
+        private int daysPerPeriod = 1;
+        private int numberOfPeriods = 1;
+
+        private Builder(IdRegistry ids) {
+            this.ids = requireNonNull(ids);
+        }
+
+        public Builder homeAway() {
+            dimensions.add(SplitDimension.HOME_AWAY);
+            return this;
+        }
+
+        public Builder opponent() {
+            dimensions.add(SplitDimension.OPPONENT);
+            return this;
+        }
+
+        /**
+         * Splits the season into the given number of periods of the given number of days
+         * each, such as 6 periods of 30 days for the months of a season.
+         */
+        public Builder period(int daysPerPeriod, int numberOfPeriods) {
+            this.daysPerPeriod = checkPositive(daysPerPeriod);
+            this.numberOfPeriods = checkPositive(numberOfPeriods);
+            dimensions.add(SplitDimension.PERIOD);
+            return this;
+        }
+
+        public Builder inning() {
+            dimensions.add(SplitDimension.INNING);
+            return this;
+        }
+
+        public SplitStats build() {
+            checkState(!dimensions.isEmpty(), "At least one split dimension must be declared");
+            return new SplitStats(ids, dimensions, daysPerPeriod, numberOfPeriods);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package bsbll.league;
+
+import java.nio.file.Path;
+import java.util.Collection;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.game.BoxScore;
+import bsbll.game.LineScore;
+import bsbll.team.Team;
+
+/**
+ * Receives the box scores of the games played in a {@link League}, after the league has
+ * updated the team records and the player stats from them.
+ * <p>
+ * A box score holds all the plays, player stats, and game events of a game, which adds up
+ * when many seasons are played. The sink decides what, if anything, is kept of it.
+ */
+public interface BoxScoreSink {
+    /**
+     * Receives the box score of a game.
+     */
+    void add(BoxScore boxScore);
+
+    /**
+     * Returns the line scores of the games received by this sink, in the order they were
+     * received. A sink that does not keep the line scores returns an empty list.
+     */
+    ImmutableList<LineScore> getGameLog();
+
+    /**
+     * Returns a sink that does not keep anything, for when the team records and the
+     * player stats are all that is needed.
+     */
+    public static BoxScoreSink discard() {
+        return DiscardingBoxScoreSink.INSTANCE;
+    }
+
+    /**
+     * Returns a sink that keeps the line score of every game, and discards the rest of the
+     * box score.
+     */
+    public static BoxScoreSink lineScoresOnly() {
+        return new LineScoreSink();
+    }
+
+    /**
+     * Returns a sink that appends the line score of every game to the given file, and
+     * keeps nothing in memory. The game log is read back from the file, which means it
+     * can only contain games between the given teams. Any existing content of the file is
+     * replaced.
+     */
+    public static BoxScoreSink appendOnlyLog(Path file, Collection<Team> teams) {
+        return new LineScoreLogSink(file, teams);
+    }
+
+    /**
+     * Returns a sink that keeps every box score in full.
+     */
+    public static RetainingBoxScoreSink retainAll() {
+        return new RetainingBoxScoreSink();
+    }
+}
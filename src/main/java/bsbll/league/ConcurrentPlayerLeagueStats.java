@@ -0,0 +1,273 @@
+package bsbll.league;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.game.BoxScore;
+import bsbll.game.PlayerGameStats;
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.stats.PlayerStatLookup;
+import bsbll.team.IdRegistry;
+
+/**
+ * A variant of {@link PlayerLeagueStats} that can be updated by many threads at once, for
+ * instance by games that are played in parallel.
+ * <p>
+ * The players are given by an {@link IdRegistry}, and every player has a block of
+ * counters, one per primitive stat, in an array indexed by the ordinal of the player.
+ * The block ends with a flag that tells if the player has any stats at all. The games
+ * add their stat lines to these counters, so games that involve different players never
+ * touch the same counters, and no stat lines are created while the games are added.
+ * (The blocks are not aligned with cache lines, however, so the blocks of neighboring
+ * ordinals can share a cache line.)
+ * <p>
+ * The stats of a single player can be looked up at any time, and are consistent as long
+ * as the player only appears in one game at a time, which is the case when every player
+ * belongs to a single team. A {@link #snapshot() snapshot} of all the players waits for
+ * the games that are being added to finish, and then includes every game that has been
+ * added in full.
+ */
+@ThreadSafe
+public final class ConcurrentPlayerLeagueStats {
+    private static final PrimitiveBattingStat[] BATTING_STATS = PrimitiveBattingStat.values();
+    private static final PrimitivePitchingStat[] PITCHING_STATS = PrimitivePitchingStat.values();
+
+    /**
+     * The number of ints in a block of counters: one per stat, followed by the flag that
+     * is 1 for the players who have batted, or pitched, and 0 for the others.
+     */
+    private static final int BATTING_STRIDE = BATTING_STATS.length + 1;
+    private static final int PITCHING_STRIDE = PITCHING_STATS.length + 1;
+    private static final int BATTED = BATTING_STATS.length;
+    private static final int PITCHED = PITCHING_STATS.length;
+
+    private final IdRegistry players;
+    private final AtomicIntegerArray battingCounters;
+    private final AtomicIntegerArray pitchingCounters;
+    /**
+     * Games are added under the shared lock, and snapshots are taken under the exclusive
+     * lock, so that a snapshot never sees part of a game.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ConcurrentPlayerLeagueStats(IdRegistry players) {
+        this.players = requireNonNull(players);
+        this.battingCounters = new AtomicIntegerArray(players.getNumberOfPlayers() * BATTING_STRIDE);
+        this.pitchingCounters = new AtomicIntegerArray(players.getNumberOfPlayers() * PITCHING_STRIDE);
+    }
+
+    /**
+     * Adds the stats of a game.
+     *
+     * @throws IllegalArgumentException
+     *             if a player in the game is not in the registry of these stats
+     */
+    public void update(BoxScore boxScore) {
+        update(boxScore.getPlayerStats());
+    }
+
+    public void update(PlayerGameStats gameStats) {
+        Lock shared = lock.readLock();
+        shared.lock();
+        try {
+            gameStats.gatherBattingStats((p, line) -> {
+                int block = players.ordinal(p) * BATTING_STRIDE;
+                for (PrimitiveBattingStat stat : BATTING_STATS) {
+                    add(battingCounters, block + stat.ordinal(), line.get(stat));
+                }
+                battingCounters.lazySet(block + BATTED, 1);
+            });
+            gameStats.gatherPitchingStats((p, line) -> {
+                int block = players.ordinal(p) * PITCHING_STRIDE;
+                for (PrimitivePitchingStat stat : PITCHING_STATS) {
+                    add(pitchingCounters, block + stat.ordinal(), line.get(stat));
+                }
+                pitchingCounters.lazySet(block + PITCHED, 1);
+            });
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    private static void add(AtomicIntegerArray counters, int index, int value) {
+        if (value != 0) {
+            counters.getAndAdd(index, value);
+        }
+    }
+
+    public BattingStatLine getBattingStats(Player player) {
+        return getBattingStats(player.getId());
+    }
+
+    public BattingStatLine getBattingStats(PlayerId playerId) {
+        int ordinal = players.ordinalOrMinusOne(playerId);
+        return (ordinal >= 0)
+                ? toBattingStatLine(ordinal)
+                : BattingStatLine.empty();
+    }
+
+    public PitchingStatLine getPitchingStats(Player player) {
+        return getPitchingStats(player.getId());
+    }
+
+    public PitchingStatLine getPitchingStats(PlayerId playerId) {
+        int ordinal = players.ordinalOrMinusOne(playerId);
+        return (ordinal >= 0)
+                ? toPitchingStatLine(ordinal)
+                : PitchingStatLine.empty();
+    }
+
+    private BattingStatLine toBattingStatLine(int ordinal) {
+        if (!hasBattingStats(ordinal)) {
+            return BattingStatLine.empty();
+        }
+        int block = ordinal * BATTING_STRIDE;
+        Map<PrimitiveBattingStat, Integer> values = new EnumMap<>(PrimitiveBattingStat.class);
+        for (PrimitiveBattingStat stat : BATTING_STATS) {
+            int value = battingCounters.get(block + stat.ordinal());
+            if (value != 0) {
+                values.put(stat, value);
+            }
+        }
+        return new BattingStatLine(values);
+    }
+
+    private PitchingStatLine toPitchingStatLine(int ordinal) {
+        if (!hasPitchingStats(ordinal)) {
+            return PitchingStatLine.empty();
+        }
+        int block = ordinal * PITCHING_STRIDE;
+        Map<PrimitivePitchingStat, Integer> values = new EnumMap<>(PrimitivePitchingStat.class);
+        for (PrimitivePitchingStat stat : PITCHING_STATS) {
+            int value = pitchingCounters.get(block + stat.ordinal());
+            if (value != 0) {
+                values.put(stat, value);
+            }
+        }
+        return new PitchingStatLine(values);
+    }
+
+    private boolean hasBattingStats(int ordinal) {
+        return battingCounters.get(ordinal * BATTING_STRIDE + BATTED) != 0;
+    }
+
+    private boolean hasPitchingStats(int ordinal) {
+        return pitchingCounters.get(ordinal * PITCHING_STRIDE + PITCHED) != 0;
+    }
+
+    /**
+     * Returns the stats of all the players, including every game that has been added
+     * in full. Games that are added while the snapshot is taken wait for it to complete.
+     */
+    public Snapshot snapshot() {
+        ImmutableMap.Builder<PlayerId, BattingStatLine> batting = ImmutableMap.builder();
+        ImmutableMap.Builder<PlayerId, PitchingStatLine> pitching = ImmutableMap.builder();
+        Lock exclusive = lock.writeLock();
+        exclusive.lock();
+        try {
+            for (int ordinal = 0; ordinal < players.getNumberOfPlayers(); ++ordinal) {
+                if (hasBattingStats(ordinal)) {
+                    batting.put(players.getPlayer(ordinal).getId(), toBattingStatLine(ordinal));
+                }
+                if (hasPitchingStats(ordinal)) {
+                    pitching.put(players.getPlayer(ordinal).getId(), toPitchingStatLine(ordinal));
+                }
+            }
+        } finally {
+            exclusive.unlock();
+        }
+        return new Snapshot(batting.build(), pitching.build());
+    }
+
+    /**
+     * Returns a lookup of the current stats of the players. See the class documentation
+     * for when these are consistent.
+     */
+    public PlayerStatLookup asLookup() {
+        return new PlayerStatLookup() {
+            @Override
+            public <T> T getBattingStat(Player player, BattingStat<T> stat) {
+                requireNonNull(stat);
+                return getBattingStats(player).get(stat);
+            }
+
+            @Override
+            public <T> T getPitchingStat(Player player, PitchingStat<T> stat) {
+                requireNonNull(stat);
+                return getPitchingStats(player).get(stat);
+            }
+        };
+    }
+
+
+    /**
+     * The stats of all the players at the time of a {@link ConcurrentPlayerLeagueStats#snapshot()}.
+     */
+    @Immutable
+    public static final class Snapshot {
+        private final ImmutableMap<PlayerId, BattingStatLine> battingStats;
+        private final ImmutableMap<PlayerId, PitchingStatLine> pitchingStats;
+
+        private Snapshot(ImmutableMap<PlayerId, BattingStatLine> battingStats,
+                ImmutableMap<PlayerId, PitchingStatLine> pitchingStats) {
+            this.battingStats = battingStats;
+            this.pitchingStats = pitchingStats;
+        }
+
+        /**
+         * Returns the batting stats of all the players who have batted.
+         */
+        public ImmutableMap<PlayerId, BattingStatLine> getBattingStats() {
+            return battingStats;
+        }
+
+        /**
+         * Returns the pitching stats of all the players who have pitched.
+         */
+        public ImmutableMap<PlayerId, PitchingStatLine> getPitchingStats() {
+            return pitchingStats;
+        }
+
+        public BattingStatLine getBattingStats(PlayerId playerId) {
+            return battingStats.getOrDefault(requireNonNull(playerId), BattingStatLine.empty());
+        }
+
+        public PitchingStatLine getPitchingStats(PlayerId playerId) {
+            return pitchingStats.getOrDefault(requireNonNull(playerId), PitchingStatLine.empty());
+        }
+
+        public PlayerStatLookup asLookup() {
+            return new PlayerStatLookup() {
+                @Override
+                public <T> T getBattingStat(Player player, BattingStat<T> stat) {
+                    requireNonNull(stat);
+                    return getBattingStats(player.getId()).get(stat);
+                }
+
+                @Override
+                public <T> T getPitchingStat(Player player, PitchingStat<T> stat) {
+                    requireNonNull(stat);
+                    return getPitchingStats(player.getId()).get(stat);
+                }
+            };
+        }
+    }
+}
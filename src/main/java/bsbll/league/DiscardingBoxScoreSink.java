@@ -0,0 +1,27 @@
+package bsbll.league;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.game.BoxScore;
+import bsbll.game.LineScore;
+
+@Immutable
+final class DiscardingBoxScoreSink implements BoxScoreSink {
+    public static final DiscardingBoxScoreSink INSTANCE = new DiscardingBoxScoreSink();
+
+    private DiscardingBoxScoreSink() {/**/}
+
+    @Override
+    public void add(BoxScore boxScore) {
+        requireNonNull(boxScore);
+    }
+
+    @Override
+    public ImmutableList<LineScore> getGameLog() {
+        return ImmutableList.of();
+    }
+}
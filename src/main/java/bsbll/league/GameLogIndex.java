@@ -0,0 +1,117 @@
+package bsbll.league;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import bsbll.game.BoxScore;
+import bsbll.league.PlayerGameLog.LineType;
+import bsbll.league.PlayerGameLog.Sides;
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.stats.Stat.PrimitiveStat;
+import bsbll.stats.StatLine;
+import bsbll.team.IdRegistry;
+
+/**
+ * An index from the players of a league to the rows of their game logs, which is updated
+ * as the games are added to the league. The index keeps its own copy of the lines of the
+ * players, so the game logs are available also when the box scores are not retained.
+ */
+@NotThreadSafe
+final class GameLogIndex {
+    private final IdRegistry teams;
+    private final Map<PlayerId, Rows<PrimitiveBattingStat, BattingStatLine>> battingRows = new HashMap<>();
+    private final Map<PlayerId, Rows<PrimitivePitchingStat, PitchingStatLine>> pitchingRows = new HashMap<>();
+
+    public GameLogIndex(IdRegistry teams) {
+        this.teams = requireNonNull(teams);
+    }
+
+    /**
+     * Adds the lines of the players of the given box score, as the given game of the
+     * league.
+     */
+    public void addGame(int game, BoxScore boxScore) {
+        int home = teams.ordinal(boxScore.getHomeTeam().getId());
+        int visiting = teams.ordinal(boxScore.getVisitingTeam().getId());
+        int homeSides = Sides.of(home, visiting, true);
+        int visitingSides = Sides.of(visiting, home, false);
+        boxScore.getPlayerStats().gatherBattingStats((p, line) -> battingRows
+                .computeIfAbsent(p, k -> new Rows<>(LineType.BATTING))
+                .add(game, isHomePlayer(boxScore, p) ? homeSides : visitingSides, line));
+        boxScore.getPlayerStats().gatherPitchingStats((p, line) -> pitchingRows
+                .computeIfAbsent(p, k -> new Rows<>(LineType.PITCHING))
+                .add(game, isHomePlayer(boxScore, p) ? homeSides : visitingSides, line));
+    }
+
+    /**
+     * Every player who appears in a game, batters and pitchers alike, is in the batting
+     * order of their team.
+     */
+    private static boolean isHomePlayer(BoxScore boxScore, PlayerId playerId) {
+        for (Player p : boxScore.getHomeLineup().getBattingOrder().getBatters()) {
+            if (p.getId().equals(playerId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public PlayerGameLog<PrimitiveBattingStat, BattingStatLine> getBattingLog(PlayerId playerId) {
+        return toLog(battingRows.get(requireNonNull(playerId)), LineType.BATTING);
+    }
+
+    public PlayerGameLog<PrimitivePitchingStat, PitchingStatLine> getPitchingLog(PlayerId playerId) {
+        return toLog(pitchingRows.get(requireNonNull(playerId)), LineType.PITCHING);
+    }
+
+    private <S extends Enum<S> & PrimitiveStat, L extends StatLine<S, L>> PlayerGameLog<S, L> toLog(
+            Rows<S, L> rows, LineType<S, L> type) {
+        return (rows != null)
+                ? rows.toLog(teams)
+                : new PlayerGameLog<>(type, teams, new int[0], new int[0], new int[0]);
+    }
+
+
+    /**
+     * The rows of the game log of a single player, in growable arrays.
+     */
+    private static final class Rows<S extends Enum<S> & PrimitiveStat, L extends StatLine<S, L>> {
+        private final LineType<S, L> type;
+        private int[] games = new int[16];
+        private int[] sides = new int[16];
+        private int[] values;
+        private int size;
+
+        public Rows(LineType<S, L> type) {
+            this.type = type;
+            this.values = new int[16 * type.stride()];
+        }
+
+        public void add(int game, int sides, L line) {
+            if (size == games.length) {
+                this.games = Arrays.copyOf(this.games, 2 * size);
+                this.sides = Arrays.copyOf(this.sides, 2 * size);
+                this.values = Arrays.copyOf(this.values, 2 * size * type.stride());
+            }
+            this.games[size] = game;
+            this.sides[size] = sides;
+            type.write(line, this.values, size * type.stride());
+            ++size;
+        }
+
+        public PlayerGameLog<S, L> toLog(IdRegistry teams) {
+            return new PlayerGameLog<>(type, teams, Arrays.copyOf(games, size), Arrays.copyOf(sides, size),
+                    Arrays.copyOf(values, size * type.stride()));
+        }
+    }
+}
@@ -1,21 +1,22 @@
 package bsbll.league;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 
 import bsbll.Year;
 import bsbll.game.BoxScore;
@@ -24,12 +25,15 @@ import bsbll.game.LineScore;
 import bsbll.player.Player;
 import bsbll.player.PlayerId;
 import bsbll.stats.BattingStat;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
 import bsbll.stats.BattingStatLine;
 import bsbll.stats.InningsPitched;
 import bsbll.stats.PitchingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
 import bsbll.stats.PitchingStatLine;
 import bsbll.stats.PlayerStatLookup;
 import bsbll.stats.StatLeaders;
+import bsbll.team.IdRegistry;
 import bsbll.team.Record;
 import bsbll.team.RunDifferential;
 import bsbll.team.Team;
@@ -41,23 +45,65 @@ public final class League {
     private final LeagueId id;
     private final Year year;
     private final ImmutableMap<TeamId, Team> teams;
-    private final Map<TeamId, Record> teamRecords;
-    private final PlayerLeagueStats playerStats = new PlayerLeagueStats();
-    private final List<BoxScore> boxScores = new ArrayList<>();
-    private final List<GameResult> gameResults = new ArrayList<>();
+    /**
+     * The teams in alphabetical order.
+     */
+    private final ImmutableList<Team> sortedTeams;
+    private final StandingsTracker standings;
+    private final PlayerLeagueStats playerStats;
+    /**
+     * Null unless the league was asked to keep its {@link Tracking#HISTORY history}.
+     */
+    @Nullable
+    private final LeagueHistory history;
+    /**
+     * Null unless the league was asked to keep the {@link Tracking#GAME_LOGS game logs}.
+     */
+    @Nullable
+    private final GameLogIndex gameLogs;
+    /**
+     * The number of games that have been added to the league.
+     */
+    private int numberOfGames;
+    private final BoxScoreSink boxScores;
     
     public League(LeagueId id, Year year, Team... teams) {
         this(id, year, Arrays.asList(teams));
     }
     
+    /**
+     * Creates a league that keeps the line scores of the games that are played, but not
+     * the full box scores.
+     */
     public League(LeagueId id, Year year, Collection<Team> teams) {
+        this(id, year, teams, BoxScoreSink.lineScoresOnly());
+    }
+    
+    /**
+     * Creates a league that hands the box scores of the games that are played to the given
+     * sink, after updating the team records and the player stats. The league also keeps the
+     * given optional records of the games, if any.
+     */
+    public League(LeagueId id, Year year, Collection<Team> teams, BoxScoreSink boxScores, Tracking... tracking) {
         this.id = requireNonNull(id);
         this.year = requireNonNull(year);
         this.teams = teams.stream()
                 .collect(ImCollectors.toMap(Team::getId, t -> t));
         checkArgument(teams.size() >= 2, "Must provide at least two teams");
-        this.teamRecords = teams.stream()
-                .collect(Collectors.toMap(Team::getId, t -> new Record()));
+        this.sortedTeams = this.teams.values().stream()
+                .sorted(Comparator.comparing(t -> t.getName().getMainName()))
+                .collect(ImCollectors.toList());
+        this.standings = new StandingsTracker(this.teams.values());
+        IdRegistry ids = IdRegistry.of(this.sortedTeams);
+        this.playerStats = new PlayerLeagueStats(ids);
+        this.boxScores = requireNonNull(boxScores);
+        ImmutableSet<Tracking> trackingSet = ImmutableSet.copyOf(tracking);
+        this.history = trackingSet.contains(Tracking.HISTORY)
+                ? new LeagueHistory()
+                : null;
+        this.gameLogs = trackingSet.contains(Tracking.GAME_LOGS)
+                ? new GameLogIndex(ids)
+                : null;
     }
 
     public LeagueId getId() {
@@ -68,12 +114,11 @@ public final class League {
         return year;
     }
 
+    /**
+     * Returns the teams of the league, in alphabetical order.
+     */
     public ImmutableList<Team> getTeams() {
-        // TODO: Store the teams in alphabetic order, so that we don't have to
-        // sort them every time this method is called.
-        return teams.values().stream()
-                .sorted(Comparator.comparing(t -> t.getName().getMainName()))
-                .collect(ImCollectors.toList());
+        return sortedTeams;
     }
     
     public int getNumberOfTeams() {
@@ -87,15 +132,79 @@ public final class League {
     }
     
     public Record getRecord(Team team) {
-        Record r = teamRecords.get(team.getId());
+        Record r = standings.getRecord(team.getId());
         checkArgument(r != null, "No such team in this league: " + team);
         return r;
     }
 
+    /**
+     * Returns the record of the given team as of the given game.
+     * 
+     * @throws IllegalStateException
+     *             if this league does not keep its {@link Tracking#HISTORY history}
+     * @see #getStandings(int)
+     */
+    public Record getRecord(Team team, int asOfGame) {
+        getTeam(team.getId());
+        checkAsOfGame(asOfGame);
+        Record r = getHistory().getRecord(team.getId(), asOfGame);
+        return (r != null)
+                ? r
+                : new Record();
+    }
+
+    /**
+     * Returns the current standings. The standings are kept in order as the games are
+     * added, so this is cheap, and returns the same instance until the next game is added.
+     */
     public Standings getStandings() {
-        Map<Team, Record> tmp = teamRecords.entrySet().stream()
-                .collect(Collectors.toMap(e -> getTeam(e.getKey()), Map.Entry::getValue));
-        return Standings.of(tmp);
+        return standings.getStandings();
+    }
+    
+    /**
+     * Returns the standings as they were after the given number of games had been added
+     * to this league. This takes time in proportion to the number of teams, times the
+     * logarithm of the number of games.
+     * 
+     * @param asOfGame
+     *            the number of games, between 0 (the start of the season) and
+     *            {@link #getNumberOfGames()}
+     * @throws IllegalStateException
+     *             if this league does not keep its {@link Tracking#HISTORY history}, and
+     *             {@code asOfGame} is not the current number of games
+     */
+    public Standings getStandings(int asOfGame) {
+        checkAsOfGame(asOfGame);
+        if (asOfGame == numberOfGames) {
+            return getStandings();
+        }
+        Map<Team, Record> records = new HashMap<>();
+        for (Team team : sortedTeams) {
+            records.put(team, getRecord(team, asOfGame));
+        }
+        return Standings.of(records);
+    }
+    
+    /**
+     * Returns the number of games that have been added to this league.
+     */
+    public int getNumberOfGames() {
+        return numberOfGames;
+    }
+    
+    private void checkAsOfGame(int asOfGame) {
+        checkArgument(asOfGame >= 0 && asOfGame <= numberOfGames, 
+                "The league has played %s games, so there are no standings as of game %s", numberOfGames, asOfGame);
+    }
+    
+    private LeagueHistory getHistory() {
+        checkState(history != null, "This league does not keep its history");
+        return history;
+    }
+    
+    private GameLogIndex getGameLogs() {
+        checkState(gameLogs != null, "This league does not keep the game logs");
+        return gameLogs;
     }
     
     public BattingStatLine getBattingStatLine(Player player) {
@@ -114,6 +223,76 @@ public final class League {
         return this.playerStats.getPitchingStats(playerId);
     }
     
+    /**
+     * Returns the batting stats of the given player as they were after the given number
+     * of games had been added to this league, in logarithmic time.
+     * 
+     * @throws IllegalStateException
+     *             if this league does not keep its {@link Tracking#HISTORY history}
+     */
+    public BattingStatLine getBattingStatLine(Player player, int asOfGame) {
+        checkAsOfGame(asOfGame);
+        BattingStatLine line = getHistory().getBattingStats(player.getId(), asOfGame);
+        return (line != null)
+                ? line
+                : BattingStatLine.empty();
+    }
+    
+    /**
+     * Returns the pitching stats of the given player as they were after the given number
+     * of games had been added to this league, in logarithmic time.
+     * 
+     * @throws IllegalStateException
+     *             if this league does not keep its {@link Tracking#HISTORY history}
+     */
+    public PitchingStatLine getPitchingStatLine(Player player, int asOfGame) {
+        checkAsOfGame(asOfGame);
+        PitchingStatLine line = getHistory().getPitchingStats(player.getId(), asOfGame);
+        return (line != null)
+                ? line
+                : PitchingStatLine.empty();
+    }
+    
+    /**
+     * Returns the game-by-game batting lines of the given player, in the order the box
+     * scores were added to this league. This takes time in proportion to the number of
+     * games of the player, and does not depend on the box score sink of the league.
+     * 
+     * @throws IllegalStateException
+     *             if this league does not keep the {@link Tracking#GAME_LOGS game logs}
+     */
+    public PlayerGameLog<PrimitiveBattingStat, BattingStatLine> getBattingGameLog(Player player) {
+        return getGameLogs().getBattingLog(player.getId());
+    }
+    
+    /**
+     * Returns the game-by-game pitching lines of the given player, in the order the box
+     * scores were added to this league. This takes time in proportion to the number of
+     * games of the player, and does not depend on the box score sink of the league.
+     * 
+     * @throws IllegalStateException
+     *             if this league does not keep the {@link Tracking#GAME_LOGS game logs}
+     */
+    public PlayerGameLog<PrimitivePitchingStat, PitchingStatLine> getPitchingGameLog(Player player) {
+        return getGameLogs().getPitchingLog(player.getId());
+    }
+    
+    /**
+     * Keeps the leaders of the given batting stat up to date as the games are added. See
+     * {@link PlayerLeagueStats#registerBattingLeaders(BattingStat, int)}.
+     */
+    public void registerBattingLeaders(BattingStat<?> stat, int minAtBats) {
+        playerStats.registerBattingLeaders(stat, minAtBats);
+    }
+    
+    /**
+     * Keeps the leaders of the given pitching stat up to date as the games are added. See
+     * {@link PlayerLeagueStats#registerPitchingLeaders(PitchingStat, InningsPitched)}.
+     */
+    public void registerPitchingLeaders(PitchingStat<?> stat, InningsPitched minIPs) {
+        playerStats.registerPitchingLeaders(stat, minIPs);
+    }
+    
     public <T, S extends BattingStat<T>> StatLeaders<T, S> getBattingLeaders(S stat, int top) {
         return playerStats.getBattingLeaders(stat, top);
     }
@@ -143,9 +322,20 @@ public final class League {
     }
     
     public void addBoxScores(Collection<BoxScore> boxScores) {
-        addGameResults(boxScores.stream().map(BoxScore::toGameResult));
-        boxScores.forEach(this.playerStats::update);
-        this.boxScores.addAll(boxScores);
+        for (BoxScore boxScore : boxScores) {
+            updateTeamRecords(boxScore.toGameResult());
+            playerStats.update(boxScore);
+            if (gameLogs != null) {
+                gameLogs.addGame(numberOfGames, boxScore);
+            }
+            if (history != null) {
+                boxScore.getPlayerStats().gatherBattingStats((p, line) -> 
+                    history.addBattingStats(p, numberOfGames, playerStats.getBattingStats(p)));
+                boxScore.getPlayerStats().gatherPitchingStats((p, line) -> 
+                    history.addPitchingStats(p, numberOfGames, playerStats.getPitchingStats(p)));
+            }
+            this.boxScores.add(boxScore);
+        }
     }
     
     public void addGameResults(GameResult... results) {
@@ -157,29 +347,26 @@ public final class League {
     }
     
     public void addGameResults(Stream<GameResult> results) {
-        results.forEach(this::addGameResultImpl);
-    }
-    
-    private void addGameResultImpl(GameResult gr) {
-        updateTeamRecords(gr);
-        gameResults.add(gr);
+        results.forEach(this::updateTeamRecords);
     }
 
     public void updateTeamRecords(GameResult gr) {
         Team homeTeam = getTeam(gr.getHomeTeamId());
         Team visitingTeam = getTeam(gr.getVisitingTeamId());
-        
-        Record homeRecord = getRecord(homeTeam);
-        Record visitingRecord = getRecord(visitingTeam);
-
         RunDifferential homeTeamRunDiff = new RunDifferential(gr.getHomeScore(), gr.getVisitingScore());
-        teamRecords.put(homeTeam.getId(), homeRecord.plus(homeTeamRunDiff));
-        teamRecords.put(visitingTeam.getId(), visitingRecord.plus(homeTeamRunDiff.reverse()));
+        standings.addGame(homeTeam.getId(), visitingTeam.getId(), homeTeamRunDiff);
+        ++numberOfGames;
+        if (history != null) {
+            history.addRecord(homeTeam.getId(), numberOfGames, getRecord(homeTeam));
+            history.addRecord(visitingTeam.getId(), numberOfGames, getRecord(visitingTeam));
+        }
     }
     
+    /**
+     * Returns the line scores of the games whose box scores have been added to this league,
+     * as far as the box score sink of the league keeps them.
+     */
     public ImmutableList<LineScore> getGameLog() {
-        return this.boxScores.stream()
-                .map(BoxScore::getLineScore)
-                .collect(ImCollectors.toList());
+        return boxScores.getGameLog();
     }
 }
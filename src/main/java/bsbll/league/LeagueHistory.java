@@ -0,0 +1,122 @@
+package bsbll.league;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.Record;
+import bsbll.team.TeamId;
+
+/**
+ * Remembers the records of the teams and the stat lines of the players of a league after
+ * every game, so that they can be looked up as of any game of the season.
+ * <p>
+ * The games are numbered in the order they are added to the league, starting at 1, and
+ * the state as of game N is the state after the first N games. The history of a team or
+ * a player is a timeline with an entry for every game the team or player took part in,
+ * which refers to the same immutable record or stat line that the league held after that
+ * game. The memory needed is therefore proportional to the number of appearances, and
+ * nothing is copied. A lookup is a binary search in the timeline, which takes
+ * logarithmic time.
+ */
+@NotThreadSafe
+final class LeagueHistory {
+    private final Map<TeamId, Timeline<Record>> records = new HashMap<>();
+    private final Map<PlayerId, Timeline<BattingStatLine>> battingStats = new HashMap<>();
+    private final Map<PlayerId, Timeline<PitchingStatLine>> pitchingStats = new HashMap<>();
+
+    public void addRecord(TeamId team, int game, Record record) {
+        records.computeIfAbsent(team, t -> new Timeline<>()).add(game, record);
+    }
+
+    public void addBattingStats(PlayerId player, int game, BattingStatLine line) {
+        battingStats.computeIfAbsent(player, p -> new Timeline<>()).add(game, line);
+    }
+
+    public void addPitchingStats(PlayerId player, int game, PitchingStatLine line) {
+        pitchingStats.computeIfAbsent(player, p -> new Timeline<>()).add(game, line);
+    }
+
+    /**
+     * Returns the record of the team as of the given game, or null if the team had not
+     * played by then.
+     */
+    @Nullable
+    public Record getRecord(TeamId team, int asOfGame) {
+        return get(records, team, asOfGame);
+    }
+
+    /**
+     * Returns the batting stats of the player as of the given game, or null if the player
+     * had not batted by then.
+     */
+    @Nullable
+    public BattingStatLine getBattingStats(PlayerId player, int asOfGame) {
+        return get(battingStats, player, asOfGame);
+    }
+
+    /**
+     * Returns the pitching stats of the player as of the given game, or null if the
+     * player had not pitched by then.
+     */
+    @Nullable
+    public PitchingStatLine getPitchingStats(PlayerId player, int asOfGame) {
+        return get(pitchingStats, player, asOfGame);
+    }
+
+    @Nullable
+    private static <K, V> V get(Map<K, Timeline<V>> timelines, K key, int asOfGame) {
+        Timeline<V> timeline = timelines.get(key);
+        return (timeline != null)
+                ? timeline.get(asOfGame)
+                : null;
+    }
+
+
+    /**
+     * The values of something after each of the games in which it changed, in the order
+     * of the games.
+     */
+    private static final class Timeline<V> {
+        private int[] games = new int[8];
+        private Object[] values = new Object[8];
+        private int size;
+
+        public void add(int game, V value) {
+            checkArgument(size == 0 || game >= games[size - 1], "The games must be added in order");
+            if (size > 0 && game == games[size - 1]) {
+                // A second change in the same game replaces the first one.
+                values[size - 1] = value;
+                return;
+            }
+            if (size == games.length) {
+                games = Arrays.copyOf(games, 2 * size);
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            games[size] = game;
+            values[size] = value;
+            ++size;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public V get(int asOfGame) {
+            int index = Arrays.binarySearch(games, 0, size, asOfGame);
+            if (index < 0) {
+                // The last entry before the insertion point, if any.
+                index = -index - 2;
+            }
+            return (index >= 0)
+                    ? (V) values[index]
+                    : null;
+        }
+    }
+}
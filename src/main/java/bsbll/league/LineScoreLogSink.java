@@ -0,0 +1,128 @@
+package bsbll.league;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.game.BoxScore;
+import bsbll.game.HalfInning;
+import bsbll.game.LineScore;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import tzeth.collections.ImCollectors;
+
+/**
+ * A {@link BoxScoreSink} that appends the line score of every game to a text file, one
+ * game per line:
+ *
+ * <pre>
+ * HOME	VIS	0/1/0/3/1 2/3/0/3/2 ...	1/2/1/3/0 0/0/0/3/0 ...
+ * </pre>
+ *
+ * The fields are separated by tabs: the IDs of the home and visiting team, followed by
+ * the home and visiting line. Each half-inning is given by its runs, hits, errors, outs,
+ * and runners left on base.
+ */
+@NotThreadSafe
+final class LineScoreLogSink implements BoxScoreSink {
+    private final Path file;
+    private final ImmutableMap<TeamId, Team> teams;
+
+    public LineScoreLogSink(Path file, Collection<Team> teams) {
+        this.file = requireNonNull(file);
+        this.teams = teams.stream()
+                .distinct()
+                .collect(ImCollectors.toMap(Team::getId, t -> t));
+        try {
+            Files.write(file, new byte[0]);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void add(BoxScore boxScore) {
+        LineScore lineScore = boxScore.getLineScore();
+        String entry = String.join("\t",
+                lineScore.getHomeTeam().getId().toString(),
+                lineScore.getVisitingTeam().getId().toString(),
+                format(lineScore.getHomeLine()),
+                format(lineScore.getVisitingLine())) + System.lineSeparator();
+        try {
+            Files.write(file, entry.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String format(LineScore.Line line) {
+        StringBuilder sb = new StringBuilder();
+        for (HalfInning.Stats stats : line.getInnings()) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(stats.getRuns()).append('/')
+                .append(stats.getHits()).append('/')
+                .append(stats.getErrors()).append('/')
+                .append(stats.getOuts()).append('/')
+                .append(stats.getLeftOnBase());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public ImmutableList<LineScore> getGameLog() {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.map(this::parse)
+                    .collect(ImCollectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private LineScore parse(String entry) {
+        String[] fields = entry.split("\t", -1);
+        checkArgument(fields.length == 4, "Invalid game log entry: %s", entry);
+        return new LineScore(
+                new LineScore.Line(getTeam(fields[0]), parseInnings(fields[2])),
+                new LineScore.Line(getTeam(fields[1]), parseInnings(fields[3])));
+    }
+
+    private Team getTeam(String id) {
+        Team team = teams.get(TeamId.of(id));
+        checkArgument(team != null, "The game log includes an unknown team: %s", id);
+        return team;
+    }
+
+    private static List<HalfInning.Stats> parseInnings(String line) {
+        List<HalfInning.Stats> innings = new ArrayList<>();
+        if (line.isEmpty()) {
+            return innings;
+        }
+        for (String inning : line.split(" ")) {
+            String[] values = inning.split("/");
+            checkArgument(values.length == 5, "Invalid half-inning: %s", inning);
+            innings.add(new HalfInning.Stats(
+                    Integer.parseInt(values[0]),
+                    Integer.parseInt(values[1]),
+                    Integer.parseInt(values[2]),
+                    Integer.parseInt(values[3]),
+                    Integer.parseInt(values[4])));
+        }
+        return innings;
+    }
+}
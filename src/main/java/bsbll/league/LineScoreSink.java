@@ -0,0 +1,26 @@
+package bsbll.league;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.game.BoxScore;
+import bsbll.game.LineScore;
+
+@NotThreadSafe
+final class LineScoreSink implements BoxScoreSink {
+    private final List<LineScore> lineScores = new ArrayList<>();
+
+    @Override
+    public void add(BoxScore boxScore) {
+        lineScores.add(boxScore.getLineScore());
+    }
+
+    @Override
+    public ImmutableList<LineScore> getGameLog() {
+        return ImmutableList.copyOf(lineScores);
+    }
+}
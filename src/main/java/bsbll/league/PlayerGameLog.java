@@ -0,0 +1,244 @@
+package bsbll.league;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+import javax.annotation.concurrent.Immutable;
+
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.stats.Stat.PrimitiveStat;
+import bsbll.stats.StatLine;
+import bsbll.team.IdRegistry;
+import bsbll.team.Team;
+
+/**
+ * The game-by-game batting or pitching lines of a player, in the order the games were
+ * added to the league.
+ * <p>
+ * Every game is a row that holds the number of the game in the league (see
+ * {@link League#getNumberOfGames()}), the team of the player, the opponent, and the value
+ * of every primitive stat. The rows are stored in flat int arrays rather than as stat
+ * lines, so that streaks and totals over a range of games are computed without creating
+ * a stat line per game. All the queries take time in proportion to the number of games
+ * of the player at most.
+ *
+ * @param <S>
+ *            the primitive stats of the lines
+ * @param <L>
+ *            the stat lines
+ */
+@Immutable
+public final class PlayerGameLog<S extends Enum<S> & PrimitiveStat, L extends StatLine<S, L>> {
+    private final LineType<S, L> type;
+    private final IdRegistry teams;
+    private final int[] games;
+    private final int[] sides;
+    private final int[] values;
+
+    PlayerGameLog(LineType<S, L> type, IdRegistry teams, int[] games, int[] sides, int[] values) {
+        this.type = type;
+        this.teams = teams;
+        this.games = games;
+        this.sides = sides;
+        this.values = values;
+    }
+
+    /**
+     * Returns the number of games in this log.
+     */
+    public int size() {
+        return games.length;
+    }
+
+    public boolean isEmpty() {
+        return games.length == 0;
+    }
+
+    /**
+     * Returns the number in the league of the game at the given index of this log.
+     */
+    public int getGame(int index) {
+        return games[index];
+    }
+
+    public Team getTeam(int index) {
+        return teams.getTeam(Sides.team(sides[index]));
+    }
+
+    public Team getOpponent(int index) {
+        return teams.getTeam(Sides.opponent(sides[index]));
+    }
+
+    public boolean isHomeGame(int index) {
+        return Sides.isHome(sides[index]);
+    }
+
+    /**
+     * Returns the value of the given stat in the game at the given index of this log.
+     */
+    public int get(int index, S stat) {
+        checkIndex(index);
+        return values[index * type.stats.length + stat.ordinal()];
+    }
+
+    /**
+     * Returns the stat line of the game at the given index of this log.
+     */
+    public L getLine(int index) {
+        return getTotal(index, index + 1);
+    }
+
+    /**
+     * Returns the sum of the stat lines of the games from {@code fromIndex}, inclusive,
+     * to {@code toIndex}, exclusive.
+     */
+    public L getTotal(int fromIndex, int toIndex) {
+        checkArgument(fromIndex >= 0 && fromIndex <= toIndex && toIndex <= games.length,
+                "Invalid range [%s, %s) of a log of %s games", fromIndex, toIndex, games.length);
+        int stride = type.stats.length;
+        Map<S, Integer> totals = new EnumMap<>(type.statClass);
+        for (S stat : type.stats) {
+            int total = 0;
+            for (int i = fromIndex; i < toIndex; ++i) {
+                total += values[i * stride + stat.ordinal()];
+            }
+            if (total != 0) {
+                totals.put(stat, total);
+            }
+        }
+        return type.lineFactory.apply(totals);
+    }
+
+    /**
+     * Returns the sum of the stat lines of the last {@code n} games of this log, or of all
+     * the games if there are fewer than {@code n}.
+     */
+    public L getLastGames(int n) {
+        checkNotNegative(n);
+        return getTotal(Math.max(0, games.length - n), games.length);
+    }
+
+    /**
+     * Returns the number of consecutive games, up to and including the last game of this
+     * log, in which the player had at least one of the given stat, such as the current
+     * hitting streak for {@link PrimitiveBattingStat#HITS}.
+     */
+    public int getCurrentStreak(S stat) {
+        requireNonNull(stat);
+        int stride = type.stats.length;
+        int streak = 0;
+        for (int i = games.length - 1; i >= 0 && values[i * stride + stat.ordinal()] > 0; --i) {
+            ++streak;
+        }
+        return streak;
+    }
+
+    /**
+     * Returns the longest run of consecutive games in this log in which the player had at
+     * least one of the given stat.
+     */
+    public int getLongestStreak(S stat) {
+        requireNonNull(stat);
+        int stride = type.stats.length;
+        int longest = 0;
+        int streak = 0;
+        for (int i = 0; i < games.length; ++i) {
+            if (values[i * stride + stat.ordinal()] > 0) {
+                ++streak;
+                longest = Math.max(longest, streak);
+            } else {
+                streak = 0;
+            }
+        }
+        return longest;
+    }
+
+    private void checkIndex(int index) {
+        checkArgument(index >= 0 && index < games.length, "Invalid index %s of a log of %s games",
+                index, games.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Game log of %d games", games.length);
+    }
+
+
+    /**
+     * The primitive stats and the stat lines of a game log, batting or pitching.
+     */
+    @Immutable
+    static final class LineType<S extends Enum<S> & PrimitiveStat, L extends StatLine<S, L>> {
+        static final LineType<PrimitiveBattingStat, BattingStatLine> BATTING = new LineType<>(
+                PrimitiveBattingStat.class, BattingStatLine::new, BattingStatLine::get);
+        static final LineType<PrimitivePitchingStat, PitchingStatLine> PITCHING = new LineType<>(
+                PrimitivePitchingStat.class, PitchingStatLine::new, PitchingStatLine::get);
+
+        private final Class<S> statClass;
+        private final S[] stats;
+        private final Function<Map<S, Integer>, L> lineFactory;
+        private final ToIntBiFunction<L, S> getter;
+
+        private LineType(Class<S> statClass, Function<Map<S, Integer>, L> lineFactory,
+                ToIntBiFunction<L, S> getter) {
+            this.statClass = statClass;
+            this.stats = statClass.getEnumConstants();
+            this.lineFactory = lineFactory;
+            this.getter = getter;
+        }
+
+        /**
+         * Returns the number of ints in a row of values.
+         */
+        int stride() {
+            return stats.length;
+        }
+
+        /**
+         * Writes the values of the given line to the given array, starting at the given
+         * offset.
+         */
+        void write(L line, int[] values, int offset) {
+            for (S stat : stats) {
+                values[offset + stat.ordinal()] = getter.applyAsInt(line, stat);
+            }
+        }
+    }
+
+
+    /**
+     * Packs the team and the opponent of a game, and whether the team was at home, into
+     * a single int.
+     */
+    static final class Sides {
+        private static final int MAX_TEAMS = 1 << 15;
+
+        static int of(int team, int opponent, boolean home) {
+            checkArgument(team < MAX_TEAMS && opponent < MAX_TEAMS, "Too many teams");
+            return (team << 16) | (opponent << 1) | (home ? 1 : 0);
+        }
+
+        static int team(int sides) {
+            return sides >>> 16;
+        }
+
+        static int opponent(int sides) {
+            return (sides >>> 1) & (MAX_TEAMS - 1);
+        }
+
+        static boolean isHome(int sides) {
+            return (sides & 1) != 0;
+        }
+
+        private Sides() {/**/}
+    }
+}
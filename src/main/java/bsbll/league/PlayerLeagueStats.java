@@ -1,12 +1,18 @@
 package bsbll.league;
 
 import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nullable;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import com.google.common.collect.ImmutableList;
+
 import bsbll.game.BoxScore;
 import bsbll.game.PlayerGameStats;
 import bsbll.player.Player;
@@ -14,23 +20,92 @@ import bsbll.player.PlayerId;
 import bsbll.stats.BattingStat;
 import bsbll.stats.BattingStatLine;
 import bsbll.stats.InningsPitched;
+import bsbll.stats.Leaderboard;
 import bsbll.stats.PitchingStat;
 import bsbll.stats.PitchingStatLine;
 import bsbll.stats.PlayerStatLookup;
+import bsbll.stats.Stat;
 import bsbll.stats.StatLeaders;
+import bsbll.team.IdRegistry;
 
+/**
+ * The season stats of the players of a league.
+ * <p>
+ * The stat lines of the players of an {@link IdRegistry} are kept in arrays indexed by
+ * the ordinals of the players. Players who are not in the registry are kept in maps.
+ * <p>
+ * Leaders can be looked up for any stat, by ranking all the players. Stats whose leaders
+ * are looked up often, for instance after every day of a season, should be registered
+ * with {@link #registerBattingLeaders(BattingStat, int)} or
+ * {@link #registerPitchingLeaders(PitchingStat, InningsPitched)}. The leaderboards of
+ * registered stats are kept up to date as the games are added, and looking up the top K
+ * leaders then takes O(K) time.
+ */
 @NotThreadSafe
 public final class PlayerLeagueStats {
-    private final Map<PlayerId, BattingStatLine> battingStats = new HashMap<>();
-    private final Map<PlayerId, PitchingStatLine> pitchingStats = new HashMap<>();
+    private static final InningsPitched NO_MINIMUM_IPS = InningsPitched.fromOuts(0);
+    
+    private final IdRegistry players;
+    private final BattingStatLine[] battingStats;
+    private final PitchingStatLine[] pitchingStats;
+    private final Map<PlayerId, BattingStatLine> otherBattingStats = new HashMap<>();
+    private final Map<PlayerId, PitchingStatLine> otherPitchingStats = new HashMap<>();
+    private final Map<LeaderboardKey, Leaderboard<?, ?, BattingStatLine>> battingLeaderboards = new HashMap<>();
+    private final Map<LeaderboardKey, Leaderboard<?, ?, PitchingStatLine>> pitchingLeaderboards = new HashMap<>();
+
+    /**
+     * Creates a PlayerLeagueStats that keeps all the players in maps.
+     */
+    public PlayerLeagueStats() {
+        this(IdRegistry.of(ImmutableList.of()));
+    }
+    
+    /**
+     * Creates a PlayerLeagueStats that keeps the players of the given registry in arrays.
+     */
+    public PlayerLeagueStats(IdRegistry players) {
+        this.players = requireNonNull(players);
+        this.battingStats = new BattingStatLine[players.getNumberOfPlayers()];
+        this.pitchingStats = new PitchingStatLine[players.getNumberOfPlayers()];
+    }
 
     public void update(BoxScore boxScore) {
         update(boxScore.getPlayerStats());
     }
     
     public void update(PlayerGameStats gameStats) {
-        gameStats.gatherBattingStats((p, line) -> battingStats.merge(p, line, BattingStatLine::plus));
-        gameStats.gatherPitchingStats((p, line) -> pitchingStats.merge(p, line, PitchingStatLine::plus));
+        gameStats.gatherBattingStats((p, line) -> {
+            BattingStatLine seasonLine = addBattingLine(p, line);
+            battingLeaderboards.values().forEach(b -> b.update(p, seasonLine));
+        });
+        gameStats.gatherPitchingStats((p, line) -> {
+            PitchingStatLine seasonLine = addPitchingLine(p, line);
+            pitchingLeaderboards.values().forEach(b -> b.update(p, seasonLine));
+        });
+    }
+    
+    private BattingStatLine addBattingLine(PlayerId playerId, BattingStatLine line) {
+        int ordinal = players.ordinalOrMinusOne(playerId);
+        if (ordinal < 0) {
+            return otherBattingStats.merge(playerId, line, BattingStatLine::plus);
+        }
+        BattingStatLine seasonLine = (battingStats[ordinal] == null)
+                ? line
+                : battingStats[ordinal].plus(line);
+        battingStats[ordinal] = seasonLine;
+        return seasonLine;
+    }
+    
+    private PitchingStatLine addPitchingLine(PlayerId playerId, PitchingStatLine line) {
+        int ordinal = players.ordinalOrMinusOne(playerId);
+        if (ordinal < 0) {
+            return otherPitchingStats.merge(playerId, line, PitchingStatLine::plus);
+        }
+        PitchingStatLine seasonLine = (pitchingStats[ordinal] == null)
+                ? line
+                : pitchingStats[ordinal].plus(line);
+        pitchingStats[ordinal] = seasonLine;
+        return seasonLine;
     }
 
     public BattingStatLine getBattingStats(Player player) {
@@ -38,8 +113,10 @@ public final class PlayerLeagueStats {
     }
     
     public BattingStatLine getBattingStats(PlayerId playerId) { 
-        requireNonNull(playerId);
-        BattingStatLine line = battingStats.get(playerId);
+        int ordinal = players.ordinalOrMinusOne(playerId);
+        BattingStatLine line = (ordinal >= 0)
+                ? battingStats[ordinal]
+                : otherBattingStats.get(playerId);
         if (line == null) {
             // This can happen e.g. when looking up the current stats for a player
             // that's playing his very first game.
@@ -53,8 +130,10 @@ public final class PlayerLeagueStats {
     }
     
     public PitchingStatLine getPitchingStats(PlayerId playerId) {
-        requireNonNull(playerId);
-        PitchingStatLine line = pitchingStats.get(playerId);
+        int ordinal = players.ordinalOrMinusOne(playerId);
+        PitchingStatLine line = (ordinal >= 0)
+                ? pitchingStats[ordinal]
+                : otherPitchingStats.get(playerId);
         if (line == null) {
             // This can happen e.g. when looking up the current stats for a player
             // that's playing his very first game.
@@ -63,20 +142,96 @@ public final class PlayerLeagueStats {
         return line;
     }
     
+    /**
+     * Registers a batting stat whose leaders, among the players with at least the given
+     * number of at bats, are kept up to date as the games are added. Use 0 for the
+     * leaders among all players. Registering the same stat and threshold again has no
+     * effect.
+     */
+    public void registerBattingLeaders(BattingStat<?> stat, int minAtBats) {
+        checkNotNegative(minAtBats);
+        battingLeaderboards.computeIfAbsent(new LeaderboardKey(stat, minAtBats), k -> {
+            Leaderboard<?, ?, BattingStatLine> leaderboard = Leaderboard.batting(stat, minAtBats);
+            leaderboard.updateAll(battingStatsByPlayer());
+            return leaderboard;
+        });
+    }
+    
+    /**
+     * Registers a pitching stat whose leaders, among the players with at least the given
+     * number of innings pitched, are kept up to date as the games are added. Registering
+     * the same stat and threshold again has no effect.
+     */
+    public void registerPitchingLeaders(PitchingStat<?> stat, InningsPitched minIPs) {
+        requireNonNull(minIPs);
+        pitchingLeaderboards.computeIfAbsent(new LeaderboardKey(stat, minIPs), k -> {
+            Leaderboard<?, ?, PitchingStatLine> leaderboard = Leaderboard.pitching(stat, minIPs);
+            leaderboard.updateAll(pitchingStatsByPlayer());
+            return leaderboard;
+        });
+    }
+    
     public <T, S extends BattingStat<T>> StatLeaders<T, S> getBattingLeaders(S stat, int top) {
-        return StatLeaders.batting(this.battingStats, stat, top);
+        Leaderboard<T, S, BattingStatLine> leaderboard = getLeaderboard(battingLeaderboards, stat, 0);
+        return (leaderboard != null)
+                ? leaderboard.getLeaders(top)
+                : StatLeaders.batting(battingStatsByPlayer(), stat, top);
     }
     
     public <T, S extends BattingStat<T>> StatLeaders<T, S> getBattingLeaders(S stat, int top, int minAtBats) {
-        return StatLeaders.batting(this.battingStats, stat, top, minAtBats);
+        Leaderboard<T, S, BattingStatLine> leaderboard = getLeaderboard(battingLeaderboards, stat, minAtBats);
+        return (leaderboard != null)
+                ? leaderboard.getLeaders(top)
+                : StatLeaders.batting(battingStatsByPlayer(), stat, top, minAtBats);
     }
     
     public <T, S extends PitchingStat<T>> StatLeaders<T, S> getPitchingLeaders(S stat, int top) {
-        return StatLeaders.pitching(this.pitchingStats, stat, top);
+        Leaderboard<T, S, PitchingStatLine> leaderboard = getLeaderboard(pitchingLeaderboards, stat, NO_MINIMUM_IPS);
+        return (leaderboard != null)
+                ? leaderboard.getLeaders(top)
+                : StatLeaders.pitching(pitchingStatsByPlayer(), stat, top);
     }
     
     public <T, S extends PitchingStat<T>> StatLeaders<T, S> getPitchingLeaders(S stat, int top, InningsPitched minIPs) {
-        return StatLeaders.pitching(this.pitchingStats, stat, top, minIPs);
+        Leaderboard<T, S, PitchingStatLine> leaderboard = getLeaderboard(pitchingLeaderboards, stat, minIPs);
+        return (leaderboard != null)
+                ? leaderboard.getLeaders(top)
+                : StatLeaders.pitching(pitchingStatsByPlayer(), stat, top, minIPs);
+    }
+    
+    /**
+     * Returns the stat lines of all the players who have batted, by player. This is for
+     * the lookups that rank all the players, which are not on the per-game path.
+     */
+    private Map<PlayerId, BattingStatLine> battingStatsByPlayer() {
+        Map<PlayerId, BattingStatLine> lines = new HashMap<>(otherBattingStats);
+        for (int ordinal = 0; ordinal < battingStats.length; ++ordinal) {
+            if (battingStats[ordinal] != null) {
+                lines.put(players.getPlayer(ordinal).getId(), battingStats[ordinal]);
+            }
+        }
+        return lines;
+    }
+    
+    /**
+     * Returns the stat lines of all the players who have pitched, by player.
+     */
+    private Map<PlayerId, PitchingStatLine> pitchingStatsByPlayer() {
+        Map<PlayerId, PitchingStatLine> lines = new HashMap<>(otherPitchingStats);
+        for (int ordinal = 0; ordinal < pitchingStats.length; ++ordinal) {
+            if (pitchingStats[ordinal] != null) {
+                lines.put(players.getPlayer(ordinal).getId(), pitchingStats[ordinal]);
+            }
+        }
+        return lines;
+    }
+    
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static <T, S extends Stat<T>, L> Leaderboard<T, S, L> getLeaderboard(Map<LeaderboardKey, Leaderboard<?, ?, L>> leaderboards,
+            S stat, Object threshold) {
+        // The key includes the stat, which pins down the type of the leaderboard.
+        return (Leaderboard<T, S, L>) leaderboards.get(new LeaderboardKey(stat, threshold));
     }
 
     public PlayerStatLookup asLookup() {
@@ -98,4 +253,32 @@ public final class PlayerLeagueStats {
             }
         };
     }
+    
+    
+    private static final class LeaderboardKey {
+        private final Object stat;
+        private final Object threshold;
+        
+        public LeaderboardKey(Object stat, Object threshold) {
+            this.stat = requireNonNull(stat);
+            this.threshold = requireNonNull(threshold);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(stat, threshold);
+        }
+        
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj instanceof LeaderboardKey) {
+                LeaderboardKey o = (LeaderboardKey) obj;
+                return stat.equals(o.stat) && threshold.equals(o.threshold);
+            }
+            return false;
+        }
+    }
 }
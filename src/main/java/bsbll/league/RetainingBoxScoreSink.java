@@ -0,0 +1,41 @@
+package bsbll.league;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.game.BoxScore;
+import bsbll.game.LineScore;
+import tzeth.collections.ImCollectors;
+
+/**
+ * A {@link BoxScoreSink} that keeps every box score in full.
+ */
+@NotThreadSafe
+public final class RetainingBoxScoreSink implements BoxScoreSink {
+    private final List<BoxScore> boxScores = new ArrayList<>();
+
+    RetainingBoxScoreSink() {/**/}
+
+    @Override
+    public void add(BoxScore boxScore) {
+        boxScores.add(boxScore);
+    }
+
+    /**
+     * Returns the box scores received by this sink, in the order they were received.
+     */
+    public ImmutableList<BoxScore> getBoxScores() {
+        return ImmutableList.copyOf(boxScores);
+    }
+
+    @Override
+    public ImmutableList<LineScore> getGameLog() {
+        return boxScores.stream()
+                .map(BoxScore::getLineScore)
+                .collect(ImCollectors.toList());
+    }
+}
@@ -0,0 +1,299 @@
+package bsbll.league;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotEmpty;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import tzeth.collections.ImCollectors;
+
+/**
+ * The games to be played by the teams of a league, in the order they are to be played.
+ * <p>
+ * The games are grouped into {@link Round rounds} of consecutive games in which no team
+ * plays more than once. The games of a round do not depend on each other, and can be
+ * played concurrently.
+ */
+@Immutable
+public final class Schedule {
+    private final ImmutableList<ScheduledGame> games;
+    private final ImmutableList<Round> rounds;
+    /**
+     * The index of the first game of each round.
+     */
+    private final int[] firstGames;
+    /**
+     * The number of games the home and visiting team, respectively, have played before
+     * each game.
+     */
+    private final int[] homeTeamGamesBefore;
+    private final int[] visitingTeamGamesBefore;
+    /**
+     * The day of each game.
+     */
+    private final int[] days;
+
+    /**
+     * Creates a schedule of the given games. The games are grouped into rounds by starting
+     * a new round whenever a game involves a team that already plays in the current
+     * round, and the rounds are played on consecutive days.
+     */
+    public Schedule(List<ScheduledGame> games) {
+        this(compileRounds(games));
+    }
+
+    private Schedule(ImmutableList<Round> rounds) {
+        this.rounds = rounds;
+        this.games = rounds.stream()
+                .flatMap(r -> r.getGames().stream())
+                .collect(ImCollectors.toList());
+        this.firstGames = new int[rounds.size()];
+        for (int r = 1; r < rounds.size(); ++r) {
+            firstGames[r] = firstGames[r - 1] + rounds.get(r - 1).getNumberOfGames();
+        }
+        this.days = new int[games.size()];
+        for (int r = 0; r < rounds.size(); ++r) {
+            Arrays.fill(days, firstGames[r], firstGames[r] + rounds.get(r).getNumberOfGames(), rounds.get(r).getDay());
+        }
+        this.homeTeamGamesBefore = new int[games.size()];
+        this.visitingTeamGamesBefore = new int[games.size()];
+        Map<TeamId, Integer> gamesPlayed = new HashMap<>();
+        for (int g = 0; g < games.size(); ++g) {
+            ScheduledGame game = this.games.get(g);
+            homeTeamGamesBefore[g] = gamesPlayed.merge(game.getHomeTeam(), 1, Integer::sum) - 1;
+            visitingTeamGamesBefore[g] = gamesPlayed.merge(game.getVisitingTeam(), 1, Integer::sum) - 1;
+        }
+    }
+
+    /**
+     * Creates a schedule of the given rounds, which must be played on increasing days.
+     */
+    public static Schedule ofRounds(List<Round> rounds) {
+        ImmutableList<Round> copy = ImmutableList.copyOf(rounds);
+        for (int r = 1; r < copy.size(); ++r) {
+            checkArgument(copy.get(r).getDay() > copy.get(r - 1).getDay(),
+                    "The rounds must be played on increasing days: %s, %s", copy.get(r - 1), copy.get(r));
+        }
+        return new Schedule(copy);
+    }
+
+    private static ImmutableList<Round> compileRounds(List<ScheduledGame> games) {
+        List<Round> rounds = new ArrayList<>();
+        List<ScheduledGame> round = new ArrayList<>();
+        Set<TeamId> teamsInRound = new HashSet<>();
+        for (ScheduledGame game : games) {
+            if (teamsInRound.contains(game.getHomeTeam()) || teamsInRound.contains(game.getVisitingTeam())) {
+                rounds.add(new Round(rounds.size() + 1, round));
+                round.clear();
+                teamsInRound.clear();
+            }
+            round.add(game);
+            teamsInRound.add(game.getHomeTeam());
+            teamsInRound.add(game.getVisitingTeam());
+        }
+        if (!round.isEmpty()) {
+            rounds.add(new Round(rounds.size() + 1, round));
+        }
+        return ImmutableList.copyOf(rounds);
+    }
+
+    /**
+     * Creates a schedule where each team plays a series of the given number of games at
+     * home against each of the other teams.
+     * <p>
+     * With eight teams and eleven games per series, each team plays 154 games, as in the
+     * American League of 1923. See {@link ScheduleGenerator} for schedules where the
+     * series against the different opponents are interleaved.
+     */
+    public static Schedule homeAndAwaySeries(Collection<Team> teams, int gamesPerSeries) {
+        checkPositive(gamesPerSeries);
+        ImmutableList<TeamId> ids = teams.stream()
+                .map(Team::getId)
+                .distinct()
+                .collect(ImCollectors.toList());
+        checkArgument(ids.size() >= 2, "Must provide at least two teams");
+        ImmutableList.Builder<ScheduledGame> games = ImmutableList.builder();
+        for (int a = 0; a < ids.size(); ++a) {
+            for (int b = a + 1; b < ids.size(); ++b) {
+                addSeries(games, ids.get(a), ids.get(b), gamesPerSeries);
+                addSeries(games, ids.get(b), ids.get(a), gamesPerSeries);
+            }
+        }
+        return new Schedule(games.build());
+    }
+
+    /**
+     * Creates a schedule with a single series of the given number of games.
+     */
+    public static Schedule series(Team home, Team visiting, int numberOfGames) {
+        checkPositive(numberOfGames);
+        ImmutableList.Builder<ScheduledGame> games = ImmutableList.builder();
+        addSeries(games, home.getId(), visiting.getId(), numberOfGames);
+        return new Schedule(games.build());
+    }
+
+    private static void addSeries(ImmutableList.Builder<ScheduledGame> games, TeamId home,
+            TeamId visiting, int numberOfGames) {
+        ScheduledGame game = new ScheduledGame(home, visiting);
+        for (int n = 0; n < numberOfGames; ++n) {
+            games.add(game);
+        }
+    }
+
+    public ImmutableList<ScheduledGame> getGames() {
+        return games;
+    }
+
+    public int getNumberOfGames() {
+        return games.size();
+    }
+
+    public ImmutableList<Round> getRounds() {
+        return rounds;
+    }
+
+    public int getNumberOfRounds() {
+        return rounds.size();
+    }
+
+    /**
+     * Returns the index in the schedule of the first game of the given round.
+     */
+    public int getFirstGame(int round) {
+        return firstGames[checkElementIndex(round, rounds.size())];
+    }
+
+    /**
+     * Returns the number of games the home team of the given game has played before it.
+     * This is the turn in the rotation of the home team's starting pitcher, as in
+     * {@link bsbll.team.Rotation#getStartingPitcher(int)}, which means the starters of
+     * all games are known up front, and the games can be played out of order.
+     * 
+     * @param game
+     *            the index of the game in the schedule
+     */
+    public int getHomeTeamTurn(int game) {
+        return homeTeamGamesBefore[checkElementIndex(game, games.size())];
+    }
+
+    /**
+     * Returns the day of the given game, which is the day of its round.
+     * 
+     * @param game
+     *            the index of the game in the schedule
+     */
+    public int getDay(int game) {
+        return days[checkElementIndex(game, games.size())];
+    }
+
+    /**
+     * Returns the number of games the visiting team of the given game has played before
+     * it, in the same way as {@link #getHomeTeamTurn(int)}.
+     * 
+     * @param game
+     *            the index of the game in the schedule
+     */
+    public int getVisitingTeamTurn(int game) {
+        return visitingTeamGamesBefore[checkElementIndex(game, games.size())];
+    }
+
+    /**
+     * Returns the number of games played by the given team.
+     */
+    public int getNumberOfGames(TeamId team) {
+        requireNonNull(team);
+        return (int) games.stream()
+                .filter(g -> g.involves(team))
+                .count();
+    }
+
+
+    /**
+     * The games played on a given day, where no team plays more than once.
+     */
+    @Immutable
+    public static final class Round {
+        private final int day;
+        private final ImmutableList<ScheduledGame> games;
+
+        /**
+         * @param day
+         *            the day of the season, starting at 1. Days without games, such as
+         *            off days, have no rounds.
+         * @param games
+         *            the games of the round
+         */
+        public Round(int day, List<ScheduledGame> games) {
+            this.day = checkPositive(day);
+            this.games = ImmutableList.copyOf(checkNotEmpty(games));
+            Set<TeamId> teams = new HashSet<>();
+            for (ScheduledGame game : this.games) {
+                checkArgument(teams.add(game.getHomeTeam()) && teams.add(game.getVisitingTeam()), 
+                        "A team cannot play more than once in a round (%s)", game);
+            }
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public ImmutableList<ScheduledGame> getGames() {
+            return games;
+        }
+
+        public int getNumberOfGames() {
+            return games.size();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Day %d: %s", day, games);
+        }
+    }
+
+
+    @Immutable
+    public static final class ScheduledGame {
+        private final TeamId homeTeam;
+        private final TeamId visitingTeam;
+
+        public ScheduledGame(TeamId homeTeam, TeamId visitingTeam) {
+            this.homeTeam = requireNonNull(homeTeam);
+            this.visitingTeam = requireNonNull(visitingTeam);
+            checkArgument(!homeTeam.equals(visitingTeam), "A team cannot play a game against itself (%s)", homeTeam);
+        }
+
+        public TeamId getHomeTeam() {
+            return homeTeam;
+        }
+
+        public TeamId getVisitingTeam() {
+            return visitingTeam;
+        }
+
+        public boolean involves(TeamId team) {
+            return homeTeam.equals(team) || visitingTeam.equals(team);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s - %s", homeTeam, visitingTeam);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package bsbll.league;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.DieFactory;
+import bsbll.die.Seeds;
+import bsbll.game.BoxScore;
+import bsbll.game.Game;
+import bsbll.game.GamePlayDriver;
+import bsbll.game.OfficialScorer;
+import bsbll.game.event.DefaultGameEventDetector;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.split.SplitDimension;
+import bsbll.game.split.SplitStats;
+import bsbll.league.Schedule.ScheduledGame;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.player.Player;
+import bsbll.stats.BattingStat;
+import bsbll.stats.PitchingStat;
+import bsbll.stats.PlayerStatLookup;
+import bsbll.team.IdRegistry;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * Plays the games of a schedule, in parallel where the schedule allows it, and adds the
+ * box scores to a league.
+ * <p>
+ * The games of a team must be played in schedule order: the starting pitchers follow from
+ * the number of games the team has played, and the season totals looked up by the
+ * {@link OfficialScorer} and the {@link DefaultGameEventDetector} must include all the
+ * earlier games of the team. Games between disjoint pairs of teams are independent,
+ * however. Each game therefore depends on the previous game of its home team and the
+ * previous game of its visiting team, and on nothing else. The executor builds this
+ * dependency graph, and plays every game in the given fork/join pool as soon as the games
+ * it depends on have been played.
+ * <p>
+ * The outcome does not depend on how the games are distributed over the threads: every
+ * game rolls its dice from a random number stream of its own, derived from the seed and
+ * the position of the game in the schedule, and the box scores are added to the league in
+ * schedule order once all the games have been played. Running a schedule with
+ * {@link #run(Schedule, long)} therefore gives the same box scores as running it with
+ * {@link #runSequentially(Schedule, long)}, and the same seed.
+ */
+@NotThreadSafe
+public final class ScheduleExecutor {
+    private final League league;
+    private final GamePlayParams params;
+    private final PlayerCardLookup cardLookup;
+    private final ForkJoinPool pool;
+    private final IdRegistry players;
+    @Nullable
+    private SplitStats splits;
+
+    public ScheduleExecutor(League league, GamePlayParams params, PlayerCardLookup cardLookup) {
+        this(league, params, cardLookup, ForkJoinPool.commonPool());
+    }
+
+    public ScheduleExecutor(League league, GamePlayParams params, PlayerCardLookup cardLookup,
+            ForkJoinPool pool) {
+        this.league = requireNonNull(league);
+        this.params = requireNonNull(params);
+        this.cardLookup = requireNonNull(cardLookup);
+        this.pool = requireNonNull(pool);
+        this.players = IdRegistry.of(league.getTeams());
+    }
+
+    /**
+     * Sets the splits that the stats of the games are recorded in, or null to not
+     * record any splits. The days of the games in the schedules that are run are the days
+     * of the {@link SplitDimension#PERIOD} splits.
+     */
+    public void setSplitStats(@Nullable SplitStats splits) {
+        this.splits = splits;
+    }
+
+    /**
+     * Plays the games of the given schedule, with as many games in progress at the same
+     * time as the schedule and the pool allow, and adds the box scores to the league.
+     * <p>
+     * The starting pitchers continue from the games the teams have already played in the
+     * league, so a season can be played as a sequence of shorter schedules.
+     *
+     * @param schedule
+     *            the games to play
+     * @param seed
+     *            the seed from which the random number streams of the individual games
+     *            are derived
+     * @return the box scores, in schedule order
+     */
+    public ImmutableList<BoxScore> run(Schedule schedule, long seed) {
+        Run run = new Run(schedule, seed);
+        pool.invoke(run.new StartTask());
+        return run.complete();
+    }
+
+    /**
+     * Plays the games of the given schedule one at a time, in schedule order, and adds the
+     * box scores to the league. This gives the same result as {@link #run(Schedule, long)}.
+     */
+    public ImmutableList<BoxScore> runSequentially(Schedule schedule, long seed) {
+        Run run = new Run(schedule, seed);
+        for (int g = 0; g < schedule.getNumberOfGames(); ++g) {
+            run.play(g);
+        }
+        return run.complete();
+    }
+
+
+    /**
+     * The games of a schedule, with the dependencies between them, and the stats of the
+     * games that have been played so far.
+     */
+    private final class Run {
+        private final Schedule schedule;
+        private final long seed;
+        /**
+         * The number of games each team has played in the league before this run.
+         */
+        private final Map<TeamId, Integer> gamesPlayedBefore = new HashMap<>();
+        /**
+         * The games that cannot be played before each game has been played.
+         */
+        private final int[][] successors;
+        private final AtomicIntegerArray unplayedPredecessors;
+        private final BoxScore[] boxScores;
+        /**
+         * The stats of the games that have been played in this run, which are not added to
+         * the league until the run completes. The stats of a player are only updated by the
+         * games of a single team, which are played one at a time.
+         */
+        private final ConcurrentPlayerLeagueStats runStats = new ConcurrentPlayerLeagueStats(players);
+        private final PlayerStatLookup seasonTotals = new SeasonTotals();
+
+        public Run(Schedule schedule, long seed) {
+            this.schedule = requireNonNull(schedule);
+            this.seed = seed;
+            ImmutableList<ScheduledGame> games = schedule.getGames();
+            List<List<Integer>> successors = new ArrayList<>();
+            this.unplayedPredecessors = new AtomicIntegerArray(games.size());
+            Map<TeamId, Integer> previousGames = new HashMap<>();
+            for (int g = 0; g < games.size(); ++g) {
+                successors.add(new ArrayList<>());
+                TeamId home = games.get(g).getHomeTeam();
+                TeamId visiting = games.get(g).getVisitingTeam();
+                gamesPlayedBefore.put(home, league.getRecord(league.getTeam(home)).getGamesPlayed());
+                gamesPlayedBefore.put(visiting, league.getRecord(league.getTeam(visiting)).getGamesPlayed());
+                Integer previousHomeGame = previousGames.put(home, g);
+                Integer previousVisitingGame = previousGames.put(visiting, g);
+                if (previousHomeGame != null) {
+                    successors.get(previousHomeGame).add(g);
+                    unplayedPredecessors.incrementAndGet(g);
+                }
+                if (previousVisitingGame != null && !previousVisitingGame.equals(previousHomeGame)) {
+                    successors.get(previousVisitingGame).add(g);
+                    unplayedPredecessors.incrementAndGet(g);
+                }
+            }
+            this.successors = successors.stream()
+                    .map(Ints::toArray)
+                    .toArray(int[][]::new);
+            this.boxScores = new BoxScore[games.size()];
+        }
+
+        public void play(int g) {
+            ScheduledGame scheduledGame = schedule.getGames().get(g);
+            Team homeTeam = league.getTeam(scheduledGame.getHomeTeam());
+            Team visitingTeam = league.getTeam(scheduledGame.getVisitingTeam());
+            Player homeStartingPitcher = homeTeam.getRoster().getRotation().getStartingPitcher(
+                    gamesPlayedBefore.get(homeTeam.getId()) + schedule.getHomeTeamTurn(g));
+            Player visitingStartingPitcher = visitingTeam.getRoster().getRotation().getStartingPitcher(
+                    gamesPlayedBefore.get(visitingTeam.getId()) + schedule.getVisitingTeamTurn(g));
+            DieFactory dieFactory = DieFactory.random(Seeds.spread(seed, g));
+            GamePlayDriver driver = new GamePlayDriver(new Log5BasedMatchupRunner(cardLookup, dieFactory),
+                    params, dieFactory);
+            Game game = new Game(homeTeam, homeStartingPitcher, visitingTeam, visitingStartingPitcher,
+                    driver, new OfficialScorer(seasonTotals));
+            game.setGameEventDetector(new DefaultGameEventDetector(seasonTotals));
+            if (splits != null) {
+                game.setSplitRecorder(splits.newGame(homeTeam.getId(), visitingTeam.getId(), schedule.getDay(g)));
+            }
+            BoxScore boxScore = game.run();
+            runStats.update(boxScore);
+            boxScores[g] = boxScore;
+        }
+
+        public ImmutableList<BoxScore> complete() {
+            league.addBoxScores(Arrays.asList(boxScores));
+            return ImmutableList.copyOf(boxScores);
+        }
+
+
+        /**
+         * Starts the games that do not depend on any other game, and completes when all
+         * the games have been played.
+         */
+        private final class StartTask extends CountedCompleter<Void> {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void compute() {
+                for (int g = 0; g < successors.length; ++g) {
+                    if (unplayedPredecessors.get(g) == 0) {
+                        addToPendingCount(1);
+                        new GameTask(this, g).fork();
+                    }
+                }
+                tryComplete();
+            }
+        }
+
+
+        /**
+         * Plays a game, and then starts the games that were only waiting for this one.
+         */
+        private final class GameTask extends CountedCompleter<Void> {
+            private static final long serialVersionUID = 1L;
+
+            private final int game;
+
+            public GameTask(CountedCompleter<?> completer, int game) {
+                super(completer);
+                this.game = game;
+            }
+
+            @Override
+            public void compute() {
+                play(game);
+                for (int successor : successors[game]) {
+                    if (unplayedPredecessors.decrementAndGet(successor) == 0) {
+                        addToPendingCount(1);
+                        new GameTask(this, successor).fork();
+                    }
+                }
+                tryComplete();
+            }
+        }
+
+
+        /**
+         * Looks up the season totals of the players, which are the totals in the league plus
+         * the games played so far in this run.
+         */
+        private final class SeasonTotals implements PlayerStatLookup {
+
+            @Override
+            public <T> T getBattingStat(Player player, BattingStat<T> stat) {
+                requireNonNull(stat);
+                return league.getBattingStatLine(player).plus(runStats.getBattingStats(player)).get(stat);
+            }
+
+            @Override
+            public <T> T getPitchingStat(Player player, PitchingStat<T> stat) {
+                requireNonNull(stat);
+                return league.getPitchingStatLine(player).plus(runStats.getPitchingStats(player)).get(stat);
+            }
+        }
+    }
+}
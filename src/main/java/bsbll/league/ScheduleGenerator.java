@@ -0,0 +1,186 @@
+package bsbll.league;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.league.Schedule.Round;
+import bsbll.league.Schedule.ScheduledGame;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import tzeth.collections.ImCollectors;
+
+/**
+ * Generates balanced round-robin schedules, for any number of teams and games.
+ * <p>
+ * The schedule is made up of cycles, in which every team plays a series against each of
+ * the other teams. The pairings of a cycle are given by the circle method: one team
+ * stays in place while the others rotate around it, which gives every team a new
+ * opponent in every slate of series. With an odd number of teams, one team is idle in
+ * each slate. A series is played over consecutive days, with the given number of off
+ * days between the slates, and every day of a series is a {@link Round} of the
+ * schedule, in which no team plays more than once.
+ * <p>
+ * The home team alternates from one slate to the next, as far as the circle method
+ * allows, and every other cycle is the mirror image of the one before it. With an even
+ * number of series per matchup of the same length, every team therefore plays exactly
+ * half its games against each opponent at home.
+ * <p>
+ * Generating a schedule takes time in proportion to the number of games.
+ */
+@Immutable
+public final class ScheduleGenerator {
+    private final ImmutableList<TeamId> teams;
+    private final int gamesPerMatchup;
+    private final int seriesLength;
+    private final int offDaysBetweenSeries;
+
+    private ScheduleGenerator(Builder builder) {
+        this.teams = builder.teams;
+        this.gamesPerMatchup = (builder.gamesPerMatchup > 0)
+                ? builder.gamesPerMatchup
+                : 2 * builder.seriesLength;
+        this.seriesLength = builder.seriesLength;
+        this.offDaysBetweenSeries = builder.offDaysBetweenSeries;
+    }
+
+    public static Builder builder(League league) {
+        return builder(league.getTeams());
+    }
+
+    public static Builder builder(Collection<Team> teams) {
+        return new Builder(teams);
+    }
+
+    /**
+     * Returns the number of games each team plays against each of the other teams.
+     */
+    public int getGamesPerMatchup() {
+        return gamesPerMatchup;
+    }
+
+    /**
+     * Returns the number of games each team plays in a schedule from this generator.
+     */
+    public int getGamesPerTeam() {
+        return gamesPerMatchup * (teams.size() - 1);
+    }
+
+    /**
+     * Generates the schedule.
+     */
+    public Schedule generate() {
+        // The circle method needs an even number of slots. A team that is paired with the
+        // empty slot is idle for the duration of the slate.
+        List<TeamId> slots = new ArrayList<>(teams);
+        if (slots.size() % 2 == 1) {
+            slots.add(null);
+        }
+        int numberOfSeries = (gamesPerMatchup + seriesLength - 1) / seriesLength;
+        List<Round> rounds = new ArrayList<>();
+        int day = 1;
+        for (int cycle = 0; cycle < numberOfSeries; ++cycle) {
+            // Spread the games over the series, with the longer series first, so that
+            // consecutive (mirrored) cycles are of the same length whenever possible.
+            int length = gamesPerMatchup / numberOfSeries + ((cycle < gamesPerMatchup % numberOfSeries) ? 1 : 0);
+            boolean mirrored = (cycle % 2 == 1);
+            List<TeamId> circle = new ArrayList<>(slots);
+            for (int slate = 0; slate < slots.size() - 1; ++slate) {
+                List<ScheduledGame> games = pair(circle, slate, mirrored);
+                for (int n = 0; n < length; ++n) {
+                    rounds.add(new Round(day++, games));
+                }
+                day += offDaysBetweenSeries;
+                // Keep the first slot in place, and rotate the others one step.
+                Collections.rotate(circle.subList(1, circle.size()), 1);
+            }
+        }
+        return Schedule.ofRounds(rounds);
+    }
+
+    /**
+     * Pairs the team in the first slot with the team in the last slot, the team in the
+     * second slot with the team in the second to last slot, and so on. The team in the
+     * first slot is at home in every other slate. The other teams are at home when they
+     * are in an odd slot, which means they are mostly at home and away in turn as they
+     * move around the circle.
+     */
+    private static List<ScheduledGame> pair(List<TeamId> circle, int slate, boolean mirrored) {
+        List<ScheduledGame> games = new ArrayList<>();
+        for (int n = 0; n < circle.size() / 2; ++n) {
+            TeamId a = circle.get(n);
+            TeamId b = circle.get(circle.size() - 1 - n);
+            if (a == null || b == null) {
+                continue;
+            }
+            boolean aAtHome = (n == 0)
+                    ? (slate % 2 == 0)
+                    : (n % 2 == 1);
+            if (aAtHome != mirrored) {
+                games.add(new ScheduledGame(a, b));
+            } else {
+                games.add(new ScheduledGame(b, a));
+            }
+        }
+        return games;
+    }
+
+
+    public static final class Builder {
+        private final ImmutableList<TeamId> teams;
+        /**
+         * The games per matchup, or 0 for two series.
+         */
+        private int gamesPerMatchup;
+        private int seriesLength = 3;
+        private int offDaysBetweenSeries;
+
+        private Builder(Collection<Team> teams) {
+            this.teams = teams.stream()
+                    .map(Team::getId)
+                    .distinct()
+                    .collect(ImCollectors.toList());
+            checkArgument(this.teams.size() >= 2, "Must provide at least two teams");
+        }
+
+        /**
+         * The number of games each team plays against each of the other teams. The
+         * default is two series, one at home and one away.
+         */
+        public Builder gamesPerMatchup(int games) {
+            this.gamesPerMatchup = checkPositive(games);
+            return this;
+        }
+
+        /**
+         * The number of games of a series. Series are shortened when the games per
+         * matchup cannot be evenly divided into series of this length. The default is 3.
+         */
+        public Builder seriesLength(int games) {
+            this.seriesLength = checkPositive(games);
+            return this;
+        }
+
+        /**
+         * The number of days without games between two consecutive series. The default is
+         * 0.
+         */
+        public Builder offDaysBetweenSeries(int days) {
+            this.offDaysBetweenSeries = checkNotNegative(days);
+            return this;
+        }
+
+        public ScheduleGenerator build() {
+            return new ScheduleGenerator(this);
+        }
+    }
+}
@@ -4,8 +4,10 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+
+import javax.annotation.concurrent.Immutable;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -14,39 +16,69 @@ import bsbll.stats.Average;
 import bsbll.team.GamesBehind;
 import bsbll.team.Record;
 import bsbll.team.Team;
-import bsbll.team.WLT;
 import tzeth.collections.ImCollectors;
 
+/**
+ * The records of the teams of a league at some point in time, together with the number of
+ * games each team is behind the leader.
+ */
+@Immutable
 public final class Standings {
+    /**
+     * The order of the standings: by winning percentage, then by the difference between
+     * wins and losses, and finally by the name of the team.
+     */
+    static final Comparator<Entry> ORDER = Comparator.comparing(Entry::getWinPct).reversed()
+            .thenComparing(Comparator.comparingInt((Entry e) -> margin(e.getRecord())).reversed())
+            .thenComparing(e -> e.getTeam().getName().getMainName());
+    
+    private final ImmutableList<Entry> list;
     private final ImmutableMap<Team, Entry> entries;
+    private final ImmutableList<Team> teams;
     
     public static Standings of(Map<Team, Record> teamRecords) {
-        WLT gbLeader = teamRecords.values().stream()
-                .max(Comparator.comparingInt(r -> r.getWins() - r.getLosses()))
-                .map(Record::getWlt)
+        int leaderMargin = teamRecords.values().stream()
+                .mapToInt(Standings::margin)
+                .max()
                 .orElseThrow(AssertionError::new);
-        
-        Function<Map.Entry<Team, Record>, Standings.Entry> entryFactory = e -> {
-            GamesBehind gb = e.getValue().getWlt().gamesBehind(gbLeader);
-            return new Standings.Entry(e.getKey(), e.getValue(), gb);
-        };
-        ImmutableMap<Team, Entry> entries = teamRecords.entrySet().stream()
-                .map(entryFactory)
-                .collect(ImCollectors.toMap(Entry::getTeam, e -> e));
-        return new Standings(entries);
+        ImmutableList<Entry> list = teamRecords.entrySet().stream()
+                .map(e -> new Entry(e.getKey(), e.getValue(), gamesBehind(e.getValue(), leaderMargin)))
+                .sorted(ORDER)
+                .collect(ImCollectors.toList());
+        return new Standings(list);
     }
 
-    private Standings(ImmutableMap<Team, Entry> teams) {
-        this.entries = requireNonNull(teams);
+    /**
+     * Creates Standings from entries that are already in {@link #ORDER}.
+     */
+    Standings(List<Entry> orderedEntries) {
+        this.list = ImmutableList.copyOf(orderedEntries);
+        this.entries = list.stream()
+                .collect(ImCollectors.toMap(Entry::getTeam, e -> e));
+        this.teams = list.stream()
+                .map(Entry::getTeam)
+                .collect(ImCollectors.toList());
+    }
+    
+    /**
+     * Returns the difference between the wins and the losses of a record, which
+     * determines the games behind: a team that is one win or one loss away from the
+     * margin of the leader is half a game behind.
+     */
+    static int margin(Record record) {
+        return record.getWins() - record.getLosses();
+    }
+    
+    static GamesBehind gamesBehind(Record record, int leaderMargin) {
+        return new GamesBehind(leaderMargin - margin(record));
     }
 
     /**
-     * Returns the standings ordered by winning percentage.
+     * Returns the standings ordered by winning percentage. Ties are broken by the
+     * difference between wins and losses, and then by the name of the team.
      */
     public ImmutableList<Entry> list() {
-        Comparator<Entry> order = Comparator.comparing(Entry::getWinPct).reversed();
-        // TODO: Implement and document tie-breakers.
-        return list(order);
+        return list;
     }
 
     /**
@@ -64,14 +96,15 @@ public final class Standings {
         return e.getRecord();
     }
     
+    /**
+     * Returns the teams in the order of {@link #list()}.
+     */
     public ImmutableList<Team> sortByWinPct() {
-        Comparator<Team> order = Comparator.comparing((Team t) -> getRecord(t).getWinPct()).reversed();
-        return entries.keySet().stream()
-                .sorted(order)
-                .collect(ImCollectors.toList());
+        return teams;
     }
     
     
+    @Immutable
     public static final class Entry {
         private final Team team;
         private final Record record;
@@ -0,0 +1,133 @@
+package bsbll.league;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import bsbll.league.Standings.Entry;
+import bsbll.team.Record;
+import bsbll.team.RunDifferential;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * Keeps the standings of a league in order as the games are played.
+ * <p>
+ * Adding a game moves the two teams that played it to their new places in the standings,
+ * in time linear in the number of teams, rather than sorting the teams again. The games
+ * behind depend on the margin of the leader only, so they are recalculated for all the
+ * teams only when that margin changes. The {@link Standings} handed out are snapshots,
+ * which are reused until the next game is added.
+ */
+@NotThreadSafe
+final class StandingsTracker {
+    private final Entry[] order;
+    private final Map<TeamId, Integer> positions = new HashMap<>();
+    /**
+     * The largest difference between wins and losses of any team.
+     */
+    private int leaderMargin;
+    @Nullable
+    private Standings snapshot;
+
+    public StandingsTracker(Collection<Team> teams) {
+        this.order = teams.stream()
+                .map(Entry::new)
+                .sorted(Standings.ORDER)
+                .toArray(Entry[]::new);
+        for (int n = 0; n < order.length; ++n) {
+            positions.put(order[n].getTeam().getId(), n);
+        }
+    }
+
+    /**
+     * Returns the record of the given team, or null if the team is not tracked.
+     */
+    @Nullable
+    public Record getRecord(TeamId team) {
+        Integer position = positions.get(team);
+        return (position != null)
+                ? order[position].getRecord()
+                : null;
+    }
+
+    /**
+     * Updates the standings with a game between the given teams.
+     *
+     * @param homeRunDiff
+     *            the score of the game from the point of view of the home team
+     */
+    public void addGame(TeamId homeTeam, TeamId visitingTeam, RunDifferential homeRunDiff) {
+        int home = position(homeTeam);
+        int visiting = position(visitingTeam);
+        Record homeRecord = order[home].getRecord().plus(homeRunDiff);
+        Record visitingRecord = order[visiting].getRecord().plus(homeRunDiff.reverse());
+        // If one of the teams was the (or a) leader, the leader may have lost ground.
+        boolean rescan = Standings.margin(order[home].getRecord()) == leaderMargin
+                || Standings.margin(order[visiting].getRecord()) == leaderMargin;
+        int newLeaderMargin = rescan
+                ? Math.max(Standings.margin(homeRecord), Standings.margin(visitingRecord))
+                : Math.max(leaderMargin, Math.max(Standings.margin(homeRecord), Standings.margin(visitingRecord)));
+        if (rescan) {
+            for (int n = 0; n < order.length; ++n) {
+                if (n != home && n != visiting) {
+                    newLeaderMargin = Math.max(newLeaderMargin, Standings.margin(order[n].getRecord()));
+                }
+            }
+        }
+        order[home] = new Entry(order[home].getTeam(), homeRecord, Standings.gamesBehind(homeRecord, newLeaderMargin));
+        order[visiting] = new Entry(order[visiting].getTeam(), visitingRecord,
+                Standings.gamesBehind(visitingRecord, newLeaderMargin));
+        if (newLeaderMargin != leaderMargin) {
+            leaderMargin = newLeaderMargin;
+            for (int n = 0; n < order.length; ++n) {
+                Entry e = order[n];
+                order[n] = new Entry(e.getTeam(), e.getRecord(), Standings.gamesBehind(e.getRecord(), leaderMargin));
+            }
+        }
+        restoreOrder();
+        snapshot = null;
+    }
+
+    private int position(TeamId team) {
+        Integer position = positions.get(team);
+        checkArgument(position != null, "No such team in this league: " + team);
+        return position;
+    }
+
+    /**
+     * Puts the entries back in order with a pass of insertion sort. Only the two teams of
+     * the last game can be out of place, so this takes linear time.
+     */
+    private void restoreOrder() {
+        for (int n = 1; n < order.length; ++n) {
+            for (int m = n; m > 0 && Standings.ORDER.compare(order[m], order[m - 1]) < 0; --m) {
+                swap(m, m - 1);
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        Entry e = order[a];
+        order[a] = order[b];
+        order[b] = e;
+        positions.put(order[a].getTeam().getId(), a);
+        positions.put(order[b].getTeam().getId(), b);
+    }
+
+    /**
+     * Returns the current standings.
+     */
+    public Standings getStandings() {
+        if (snapshot == null) {
+            snapshot = new Standings(Arrays.asList(order));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,21 @@
+package bsbll.league;
+
+/**
+ * The optional records that a {@link League} keeps of the games as they are added, on top
+ * of the current team records and player stats. Each of them grows with every game that
+ * is added, so a league keeps none of them unless asked to, which lets a league that is
+ * used for playing many replicated seasons stay the same size no matter how many games it
+ * has seen.
+ */
+public enum Tracking {
+    /**
+     * The team records and the stat lines of the players as of every game, which back the
+     * "as of game" queries, such as {@link League#getStandings(int)}.
+     */
+    HISTORY,
+    /**
+     * The game-by-game lines of the players, for {@link League#getBattingGameLog(bsbll.player.Player)}
+     * and {@link League#getPitchingGameLog(bsbll.player.Player)}.
+     */
+    GAME_LOGS
+}
@@ -1,12 +1,27 @@
 package bsbll.matchup;
 
+import static bsbll.card.PlayerCard.Category.BATTED_OUTS;
+import static bsbll.card.PlayerCard.Category.CONTACT;
+import static bsbll.card.PlayerCard.Category.DOUBLES;
+import static bsbll.card.PlayerCard.Category.EXTRA_BASE_HITS;
+import static bsbll.card.PlayerCard.Category.HITS;
+import static bsbll.card.PlayerCard.Category.HIT_BY_PITCHES;
+import static bsbll.card.PlayerCard.Category.HOMERUNS;
+import static bsbll.card.PlayerCard.Category.SINGLES;
+import static bsbll.card.PlayerCard.Category.STRIKEOUTS;
+import static bsbll.card.PlayerCard.Category.TRIPLES;
+import static bsbll.card.PlayerCard.Category.WALKS;
 import static java.util.Objects.requireNonNull;
 
-import java.util.function.Function;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 
 import bsbll.card.PlayerCard;
+import bsbll.card.PlayerCard.Category;
 import bsbll.card.PlayerCardLookup;
 import bsbll.card.Probability;
 import bsbll.die.DieFactory;
@@ -33,15 +48,50 @@ public final class Log5BasedMatchupRunner implements MatchupRunner {
     public Outcome run(Player batter, Player pitcher) {
         PlayerCard batterCard = playerCardLookup.getBattingCard(batter);
         PlayerCard pitcherCard = playerCardLookup.getPitchingCard(pitcher);
-        boolean contact = evaluate(batterCard, pitcherCard, PlayerCard::contact);
+        boolean contact = evaluate(batterCard, pitcherCard, CONTACT);
         return contact
                 ? resolveContact(batterCard, pitcherCard)
                 : resolveNonContact(batterCard, pitcherCard);
     }
     
+    /**
+     * Returns the probability of each outcome of a matchup between the given batter and pitcher.
+     * These are the exact probabilities with which {@link #run(Player, Player)} returns each 
+     * outcome, and they add up to 1.
+     */
+    public ImmutableMap<Outcome, Double> getOutcomeProbabilities(Player batter, Player pitcher) {
+        PlayerCard b = playerCardLookup.getBattingCard(batter);
+        PlayerCard p = playerCardLookup.getPitchingCard(pitcher);
+        double contact = asDouble(log5(b, p, CONTACT));
+        double hit = contact * asDouble(normalizedLog5(b, p, Choice.HIT_OR_OUT));
+        double single = hit * asDouble(normalizedLog5(b, p, Choice.SINGLE_OR_EXTRA_BASE_HIT));
+        double extraBaseHit = hit - single;
+        double homerun = extraBaseHit * asDouble(normalizedLog5(b, p, Choice.HOMERUN_OR_DOUBLE_OR_TRIPLE));
+        double doubleOrTriple = extraBaseHit - homerun;
+        double doubles = doubleOrTriple * asDouble(normalizedLog5(b, p, Choice.DOUBLE_OR_TRIPLE));
+        double nonContact = 1.0 - contact;
+        double strikeout = nonContact * asDouble(normalizedLog5(b, p, Choice.STRIKEOUT_OR_WALK_OR_HIT_BY_PITCH));
+        double walkOrHitByPitch = nonContact - strikeout;
+        double walk = walkOrHitByPitch * asDouble(normalizedLog5(b, p, Choice.WALK_OR_HIT_BY_PITCH));
+        Map<Outcome, Double> probabilities = new EnumMap<>(Outcome.class);
+        probabilities.put(Outcome.SINGLE, single);
+        probabilities.put(Outcome.DOUBLE, doubles);
+        probabilities.put(Outcome.TRIPLE, doubleOrTriple - doubles);
+        probabilities.put(Outcome.HOMERUN, homerun);
+        probabilities.put(Outcome.STRIKEOUT, strikeout);
+        probabilities.put(Outcome.WALK, walk);
+        probabilities.put(Outcome.HIT_BY_PITCH, walkOrHitByPitch - walk);
+        probabilities.put(Outcome.OUT, contact - hit);
+        return Maps.immutableEnumMap(probabilities);
+    }
+    
+    private static double asDouble(int unscaledProbability) {
+        return (1.0 * unscaledProbability) / Probability.unscaledComplete();
+    }
+    
     private Outcome resolveContact(PlayerCard batter, PlayerCard pitcher) {
         // This is either a hit or a batted out.
-        boolean hit = normalizeAndEvaluate(batter, pitcher, PlayerCard::hits, PlayerCard::battedOuts);
+        boolean hit = normalizeAndEvaluate(batter, pitcher, Choice.HIT_OR_OUT);
         return hit
                 ? resolveHit(batter, pitcher)
                 : Outcome.OUT;
@@ -49,7 +99,7 @@ public final class Log5BasedMatchupRunner implements MatchupRunner {
 
     private Outcome resolveHit(PlayerCard batter, PlayerCard pitcher) {
         // Either a single or an extrabase hit.
-        boolean single = normalizeAndEvaluate(batter, pitcher, PlayerCard::singles, PlayerCard::extraBaseHits);
+        boolean single = normalizeAndEvaluate(batter, pitcher, Choice.SINGLE_OR_EXTRA_BASE_HIT);
         if (single) {
             return Outcome.SINGLE;
         } else {
@@ -59,18 +109,14 @@ public final class Log5BasedMatchupRunner implements MatchupRunner {
     
     private Outcome resolveExtraBaseHit(PlayerCard batter, PlayerCard pitcher) {
         // Homerun or not?
-        boolean hr = normalizeAndEvaluate(
-                batter,
-                pitcher,
-                PlayerCard::homeruns, 
-                c -> c.extraBaseHits().subtract(c.homeruns()));
+        boolean hr = normalizeAndEvaluate(batter, pitcher, Choice.HOMERUN_OR_DOUBLE_OR_TRIPLE);
         return hr
                 ? Outcome.HOMERUN
                 : resolveDoubleOrTriple(batter, pitcher);
     }
     
     private Outcome resolveDoubleOrTriple(PlayerCard batter, PlayerCard pitcher) {
-        boolean isDouble = normalizeAndEvaluate(batter, pitcher, PlayerCard::doubles, PlayerCard::triples);
+        boolean isDouble = normalizeAndEvaluate(batter, pitcher, Choice.DOUBLE_OR_TRIPLE);
         return isDouble
                 ? Outcome.DOUBLE
                 : Outcome.TRIPLE;
@@ -78,42 +124,85 @@ public final class Log5BasedMatchupRunner implements MatchupRunner {
     
     private Outcome resolveNonContact(PlayerCard batter, PlayerCard pitcher) {
         // Strikeout, or walk/hbp?
-        boolean so = normalizeAndEvaluate(
-                batter,
-                pitcher,
-                PlayerCard::strikeouts, 
-                c -> c.walks().add(c.hitByPitches()));
+        boolean so = normalizeAndEvaluate(batter, pitcher, Choice.STRIKEOUT_OR_WALK_OR_HIT_BY_PITCH);
         return so
                 ? Outcome.STRIKEOUT
                 : resolveWalkOrHitByPitch(batter, pitcher);
     }
 
     private Outcome resolveWalkOrHitByPitch(PlayerCard batter, PlayerCard pitcher) {
-        boolean bb = normalizeAndEvaluate(batter, pitcher, PlayerCard::walks, PlayerCard::hitByPitches);
+        boolean bb = normalizeAndEvaluate(batter, pitcher, Choice.WALK_OR_HIT_BY_PITCH);
         return bb
                 ? Outcome.WALK
                 : Outcome.HIT_BY_PITCH;
     }
     
+    // The evaluation is done on unscaled probability values, rather than Probability objects,
+    // since this runs several times per plate appearance.
+    
     private boolean evaluate(PlayerCard batter, 
                              PlayerCard pitcher, 
-                             Function<PlayerCard, Probability> category) {
-        Probability p_batter = category.apply(batter);
-        Probability p_pitcher = category.apply(pitcher);
-        Probability p_league = category.apply(this.leagueCard);
-        Probability log5 = Probability.log5(p_batter, p_pitcher, p_league);
-        return log5.test(this.dieFactory);
+                             Category category) {
+        return Probability.test(log5(batter, pitcher, category), this.dieFactory);
     }
 
     private boolean normalizeAndEvaluate(PlayerCard batter, 
                                          PlayerCard pitcher,
-                                         Function<PlayerCard, Probability> a, 
-                                         Function<PlayerCard, Probability> b) {
-        ImmutableList<Probability> batterPs = Probability.normalize(a.apply(batter), b.apply(batter));
-        ImmutableList<Probability> pitcherPs = Probability.normalize(a.apply(pitcher), b.apply(pitcher));
-        ImmutableList<Probability> leaguePs = Probability.normalize(a.apply(this.leagueCard), b.apply(this.leagueCard));
-        Probability p_a = Probability.log5(batterPs.get(0), pitcherPs.get(0), leaguePs.get(0));
-        return p_a.test(this.dieFactory);
+                                         Choice choice) {
+        return Probability.test(normalizedLog5(batter, pitcher, choice), this.dieFactory);
+    }
+    
+    private int log5(PlayerCard batter, PlayerCard pitcher, Category category) {
+        int p_batter = batter.unscaledValue(category);
+        int p_pitcher = pitcher.unscaledValue(category);
+        int p_league = this.leagueCard.unscaledValue(category);
+        return Probability.log5(p_batter, p_pitcher, p_league);
+    }
+    
+    private int normalizedLog5(PlayerCard batter, 
+                               PlayerCard pitcher,
+                               Choice choice) {
+        int p_batter = choice.normalize(batter);
+        int p_pitcher = choice.normalize(pitcher);
+        int p_league = choice.normalize(this.leagueCard);
+        return Probability.log5(p_batter, p_pitcher, p_league);
+    }
+
+
+    /**
+     * The choices between two outcomes that a matchup is resolved by, each one given by
+     * the probabilities of the two sides on a player card. Both {@link #run(Player, Player)}
+     * and {@link #getOutcomeProbabilities(Player, Player)} use these.
+     */
+    private static enum Choice {
+        HIT_OR_OUT(c -> c.unscaledValue(HITS), 
+                c -> c.unscaledValue(BATTED_OUTS)),
+        SINGLE_OR_EXTRA_BASE_HIT(c -> c.unscaledValue(SINGLES), 
+                c -> c.unscaledValue(EXTRA_BASE_HITS)),
+        HOMERUN_OR_DOUBLE_OR_TRIPLE(c -> c.unscaledValue(HOMERUNS), 
+                c -> c.unscaledValue(DOUBLES) + c.unscaledValue(TRIPLES)),
+        DOUBLE_OR_TRIPLE(c -> c.unscaledValue(DOUBLES), 
+                c -> c.unscaledValue(TRIPLES)),
+        STRIKEOUT_OR_WALK_OR_HIT_BY_PITCH(c -> c.unscaledValue(STRIKEOUTS), 
+                c -> c.unscaledValue(WALKS) + c.unscaledValue(HIT_BY_PITCHES)),
+        WALK_OR_HIT_BY_PITCH(c -> c.unscaledValue(WALKS), 
+                c -> c.unscaledValue(HIT_BY_PITCHES));
+        
+        private final ToIntFunction<PlayerCard> first;
+        private final ToIntFunction<PlayerCard> second;
+        
+        private Choice(ToIntFunction<PlayerCard> first, ToIntFunction<PlayerCard> second) {
+            this.first = first;
+            this.second = second;
+        }
+        
+        /**
+         * Returns the unscaled probability of the first outcome, given that it is one of
+         * the two, on the given card.
+         */
+        public int normalize(PlayerCard card) {
+            return Probability.normalize(first.applyAsInt(card), second.applyAsInt(card));
+        }
     }
 
 }
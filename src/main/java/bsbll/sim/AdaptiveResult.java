@@ -0,0 +1,82 @@
+package bsbll.sim;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The result of an {@link AdaptiveSimulator} run.
+ */
+@Immutable
+public final class AdaptiveResult {
+    /**
+     * The reason the simulator stopped running replicas.
+     */
+    public static enum StopReason {
+        /**
+         * The confidence intervals of all metrics reached their targets.
+         */
+        ON_TARGET,
+        /**
+         * The time budget ran out.
+         */
+        TIME_BUDGET,
+        /**
+         * The maximum number of replicas was reached.
+         */
+        MAXIMUM_REPLICAS
+    }
+
+    private final ImmutableList<MetricEstimate> estimates;
+    private final long numberOfReplicas;
+    private final StopReason stopReason;
+    private final Duration elapsedTime;
+
+    AdaptiveResult(List<MetricEstimate> estimates, long numberOfReplicas, StopReason stopReason, Duration elapsedTime) {
+        this.estimates = ImmutableList.copyOf(estimates);
+        this.numberOfReplicas = numberOfReplicas;
+        this.stopReason = requireNonNull(stopReason);
+        this.elapsedTime = requireNonNull(elapsedTime);
+    }
+
+    public ImmutableList<MetricEstimate> getEstimates() {
+        return estimates;
+    }
+
+    /**
+     * Returns the estimate of the metric with the given name.
+     * 
+     * @throws NoSuchElementException
+     *             if there is no metric with that name
+     */
+    public MetricEstimate getEstimate(String name) {
+        return estimates.stream()
+                .filter(e -> e.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No such metric: " + name));
+    }
+
+    public long getNumberOfReplicas() {
+        return numberOfReplicas;
+    }
+
+    public StopReason getStopReason() {
+        return stopReason;
+    }
+
+    public Duration getElapsedTime() {
+        return elapsedTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d replicas (%s, %d ms): %s", numberOfReplicas, stopReason,
+                elapsedTime.toMillis(), estimates);
+    }
+}
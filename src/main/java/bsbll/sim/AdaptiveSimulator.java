@@ -0,0 +1,274 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotEmpty;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.die.KeyedDieFactory;
+import bsbll.die.Seeds;
+import bsbll.game.DecisionPoint;
+import bsbll.game.GameResult;
+import bsbll.sim.AdaptiveResult.StopReason;
+import bsbll.team.TeamId;
+
+/**
+ * Runs replicas of a simulation until the estimates of a number of metrics are precise
+ * enough, instead of running a number of replicas chosen up front.
+ * <p>
+ * A replica is a single game, a single season, or anything else that can be simulated from
+ * a seed. The replicas are run in parallel, in batches. After each batch the 95%
+ * confidence interval of the mean of every metric is compared to the target set for that
+ * metric, and the simulator stops once all of them are on target, or when the time budget
+ * or the maximum number of replicas is exhausted. A metric with little variance therefore
+ * needs few replicas, while a noisy one gets as many as it takes.
+ * <p>
+ * The replica seeds depend only on the seed of the run, and the values of every batch are
+ * added to the statistics in replica order. Unless the time budget runs out, running the
+ * simulator again with the same seed therefore gives the same result.
+ * 
+ * @param <R>
+ *            the result of a single replica
+ */
+@Immutable
+public final class AdaptiveSimulator<R> {
+    /**
+     * The z-score of a two-sided 95% confidence interval.
+     */
+    private static final double Z_95 = 1.959964;
+
+    private final LongFunction<? extends R> replica;
+    private final ImmutableList<Metric<R>> metrics;
+    private final int batchSize;
+    private final long minimumReplicas;
+    private final long maximumReplicas;
+    private final Duration timeBudget;
+
+    private AdaptiveSimulator(Builder<R> builder) {
+        this.replica = builder.replica;
+        this.metrics = ImmutableList.copyOf(builder.metrics);
+        this.batchSize = builder.batchSize;
+        this.minimumReplicas = builder.minimumReplicas;
+        this.maximumReplicas = builder.maximumReplicas;
+        this.timeBudget = builder.timeBudget;
+    }
+
+    /**
+     * Returns a builder for an AdaptiveSimulator whose replicas are produced by the given
+     * function, from the replica seed. The function must be thread safe.
+     */
+    public static <R> Builder<R> builder(LongFunction<? extends R> replica) {
+        return new Builder<>(replica);
+    }
+
+    /**
+     * Returns a builder for an AdaptiveSimulator whose replicas are games of the given
+     * variant.
+     */
+    public static Builder<GameResult> games(GameVariant variant) {
+        requireNonNull(variant);
+        return builder(seed -> variant.play(KeyedDieFactory.random(DecisionPoint.class, seed)));
+    }
+
+    /**
+     * Returns a builder for an AdaptiveSimulator whose replicas are seasons played by the
+     * given SeasonSimulator. The result of a replica is the number of wins of each team.
+     */
+    public static Builder<ImmutableMap<TeamId, Integer>> seasons(SeasonSimulator simulator) {
+        return builder(simulator::playSeason);
+    }
+
+    /**
+     * The home team's winning percentage, as a game metric.
+     */
+    public static ToDoubleFunction<GameResult> homeWinPct() {
+        return r -> (r.getHomeScore() > r.getVisitingScore()) ? 1.0 : 0.0;
+    }
+
+    /**
+     * The total number of runs scored in a game, as a game metric.
+     */
+    public static ToDoubleFunction<GameResult> runsPerGame() {
+        return r -> r.getHomeScore() + r.getVisitingScore();
+    }
+
+    /**
+     * The number of wins of the given team in a season, as a season metric.
+     */
+    public static ToDoubleFunction<ImmutableMap<TeamId, Integer>> wins(TeamId team) {
+        requireNonNull(team);
+        return wins -> {
+            Integer w = wins.get(team);
+            checkArgument(w != null, "The team did not play in the season: %s", team);
+            return w;
+        };
+    }
+
+    /**
+     * Runs replicas until all metrics are on target, or until the time budget or the
+     * maximum number of replicas is exhausted.
+     */
+    public AdaptiveResult run(long seed) {
+        long start = System.nanoTime();
+        long deadline = start + timeBudget.toNanos();
+        RunningStatistics[] statistics = new RunningStatistics[metrics.size()];
+        for (int m = 0; m < statistics.length; ++m) {
+            statistics[m] = new RunningStatistics();
+        }
+        long replicas = 0;
+        StopReason stopReason;
+        while (true) {
+            runBatch(seed, replicas, (int) Math.min(batchSize, maximumReplicas - replicas), statistics);
+            replicas = statistics[0].getCount();
+            if (replicas >= minimumReplicas && isOnTarget(statistics)) {
+                stopReason = StopReason.ON_TARGET;
+                break;
+            }
+            if (replicas >= maximumReplicas) {
+                stopReason = StopReason.MAXIMUM_REPLICAS;
+                break;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                stopReason = StopReason.TIME_BUDGET;
+                break;
+            }
+        }
+        List<MetricEstimate> estimates = new ArrayList<>();
+        for (int m = 0; m < statistics.length; ++m) {
+            Metric<R> metric = metrics.get(m);
+            estimates.add(new MetricEstimate(metric.name, statistics[m], halfWidth(statistics[m]),
+                    metric.targetHalfWidth));
+        }
+        return new AdaptiveResult(estimates, replicas, stopReason, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void runBatch(long seed, long firstReplica, int size, RunningStatistics[] statistics) {
+        double[][] values = new double[size][];
+        IntStream.range(0, size).parallel().forEach(n -> {
+            R result = replica.apply(Seeds.spread(seed, firstReplica + n));
+            double[] v = new double[metrics.size()];
+            for (int m = 0; m < v.length; ++m) {
+                v[m] = metrics.get(m).function.applyAsDouble(result);
+            }
+            values[n] = v;
+        });
+        for (double[] v : values) {
+            for (int m = 0; m < v.length; ++m) {
+                statistics[m].add(v[m]);
+            }
+        }
+    }
+
+    private boolean isOnTarget(RunningStatistics[] statistics) {
+        for (int m = 0; m < statistics.length; ++m) {
+            if (halfWidth(statistics[m]) > metrics.get(m).targetHalfWidth) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double halfWidth(RunningStatistics statistics) {
+        return Z_95 * statistics.getStandardError();
+    }
+
+
+    @Immutable
+    private static final class Metric<R> {
+        private final String name;
+        private final ToDoubleFunction<? super R> function;
+        private final double targetHalfWidth;
+
+        public Metric(String name, ToDoubleFunction<? super R> function, double targetHalfWidth) {
+            this.name = checkNotEmpty(name);
+            this.function = requireNonNull(function);
+            checkArgument(targetHalfWidth > 0.0, "The target half width must be positive");
+            this.targetHalfWidth = targetHalfWidth;
+        }
+    }
+
+
+    public static final class Builder<R> {
+        private final LongFunction<? extends R> replica;
+        private final List<Metric<R>> metrics = new ArrayList<>();
+        private int batchSize = 64;
+        private long minimumReplicas = 128;
+        private long maximumReplicas = Long.MAX_VALUE;
+        private Duration timeBudget = Duration.ofMinutes(1);
+
+        private Builder(LongFunction<? extends R> replica) {
+            this.replica = requireNonNull(replica);
+        }
+
+        /**
+         * Adds a metric.
+         * 
+         * @param name
+         *            the name of the metric
+         * @param function
+         *            extracts the value of the metric from the result of a replica
+         * @param targetHalfWidth
+         *            the half width of the 95% confidence interval of the mean, below
+         *            which the metric is on target
+         */
+        public Builder<R> metric(String name, ToDoubleFunction<? super R> function, double targetHalfWidth) {
+            checkArgument(metrics.stream().noneMatch(m -> m.name.equals(name)), "Duplicate metric: %s", name);
+            this.metrics.add(new Metric<>(name, function, targetHalfWidth));
+            return this;
+        }
+
+        /**
+         * Sets the number of replicas that are run in parallel between two checks of the
+         * confidence intervals. The default is 64.
+         */
+        public Builder<R> batchSize(int batchSize) {
+            this.batchSize = checkPositive(batchSize);
+            return this;
+        }
+
+        /**
+         * Sets the number of replicas that are always run, to make sure the variance
+         * estimates are reasonable before they are trusted. The default is 128.
+         */
+        public Builder<R> minimumReplicas(long minimumReplicas) {
+            this.minimumReplicas = checkPositive(minimumReplicas);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of replicas. There is no maximum by default.
+         */
+        public Builder<R> maximumReplicas(long maximumReplicas) {
+            this.maximumReplicas = checkPositive(maximumReplicas);
+            return this;
+        }
+
+        /**
+         * Sets the time budget. No new batches are started once it has been used up. The
+         * default is one minute.
+         */
+        public Builder<R> timeBudget(Duration timeBudget) {
+            checkArgument(!timeBudget.isNegative() && !timeBudget.isZero(), "The time budget must be positive");
+            this.timeBudget = timeBudget;
+            return this;
+        }
+
+        public AdaptiveSimulator<R> build() {
+            checkState(!metrics.isEmpty(), "At least one metric must be given");
+            return new AdaptiveSimulator<>(this);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import bsbll.team.Team;
+
+/**
+ * A playoff bracket: either a single seeded team, or a series between the winners of two
+ * smaller brackets. A team with a bye is simply placed in a bracket closer to the final.
+ * <p>
+ * In every series the team with the better seed, that is the lower seed number, has the
+ * home-field advantage.
+ */
+@Immutable
+public final class Bracket {
+    @Nullable
+    private final Team team;
+    private final int seed;
+    @Nullable
+    private final SeriesFormat format;
+    @Nullable
+    private final Bracket first;
+    @Nullable
+    private final Bracket second;
+    private final ImmutableList<Team> teams;
+    private final ImmutableSet<Integer> seeds;
+
+    private Bracket(Team team, int seed) {
+        this.team = requireNonNull(team);
+        this.seed = checkPositive(seed);
+        this.format = null;
+        this.first = null;
+        this.second = null;
+        this.teams = ImmutableList.of(team);
+        this.seeds = ImmutableSet.of(seed);
+    }
+
+    private Bracket(SeriesFormat format, Bracket first, Bracket second) {
+        checkArgument(Collections.disjoint(first.teams, second.teams),
+                "The same team cannot appear twice in a bracket");
+        checkArgument(Collections.disjoint(first.seeds, second.seeds),
+                "The same seed cannot appear twice in a bracket");
+        this.team = null;
+        this.seed = 0;
+        this.format = requireNonNull(format);
+        this.first = first;
+        this.second = second;
+        this.teams = ImmutableList.<Team>builder()
+                .addAll(first.teams)
+                .addAll(second.teams)
+                .build();
+        Set<Integer> seeds = new HashSet<>(first.seeds);
+        seeds.addAll(second.seeds);
+        this.seeds = ImmutableSet.copyOf(seeds);
+    }
+
+    /**
+     * Returns a bracket consisting of a single team with the given seed. The best seed is
+     * 1.
+     */
+    public static Bracket team(Team team, int seed) {
+        return new Bracket(team, seed);
+    }
+
+    /**
+     * Returns a bracket where the winners of the two given brackets meet in a series of
+     * the given format.
+     */
+    public static Bracket series(SeriesFormat format, Bracket first, Bracket second) {
+        return new Bracket(format, first, second);
+    }
+
+    /**
+     * Checks if this bracket is a single team, rather than a series.
+     */
+    public boolean isTeam() {
+        return team != null;
+    }
+
+    /**
+     * Returns the team of a single-team bracket.
+     */
+    public Team getTeam() {
+        checkArgument(isTeam(), "Not a single-team bracket");
+        return team;
+    }
+
+    /**
+     * Returns the seed of a single-team bracket.
+     */
+    public int getSeed() {
+        checkArgument(isTeam(), "Not a single-team bracket");
+        return seed;
+    }
+
+    /**
+     * Returns the format of the series of a series bracket.
+     */
+    public SeriesFormat getFormat() {
+        checkArgument(!isTeam(), "Not a series bracket");
+        return format;
+    }
+
+    /**
+     * Returns the first of the two brackets whose winners meet in the series of a series
+     * bracket.
+     */
+    public Bracket getFirst() {
+        checkArgument(!isTeam(), "Not a series bracket");
+        return first;
+    }
+
+    /**
+     * Returns the second of the two brackets whose winners meet in the series of a series
+     * bracket.
+     */
+    public Bracket getSecond() {
+        checkArgument(!isTeam(), "Not a series bracket");
+        return second;
+    }
+
+    /**
+     * Returns all teams in this bracket.
+     */
+    public ImmutableList<Team> getTeams() {
+        return teams;
+    }
+
+    @Override
+    public String toString() {
+        return isTeam()
+                ? String.format("(%d) %s", seed, team.getAbbreviation())
+                : String.format("[%s vs %s]", first, second);
+    }
+}
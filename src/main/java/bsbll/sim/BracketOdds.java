@@ -0,0 +1,89 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.card.Probability;
+import bsbll.team.Team;
+
+/**
+ * The outcome of simulating a playoff bracket a number of times: for each team, the
+ * probability of advancing through each of its rounds, and of winning the bracket.
+ * <p>
+ * The rounds are counted per team, starting with the first series the team plays, since
+ * teams with byes enter the bracket in a later series than the others.
+ */
+@Immutable
+public final class BracketOdds {
+    private final ImmutableList<Team> teams;
+    private final int[] rounds;
+    private final int numberOfReplicas;
+    /**
+     * seriesWon[team][n] is the number of replicas in which the team won exactly n series.
+     */
+    private final int[][] seriesWon;
+
+    BracketOdds(List<Team> teams, int[] rounds, int numberOfReplicas, int[][] seriesWon) {
+        checkArgument(numberOfReplicas > 0, "No replicas have been simulated");
+        this.teams = ImmutableList.copyOf(teams);
+        this.rounds = rounds.clone();
+        this.numberOfReplicas = numberOfReplicas;
+        this.seriesWon = new int[seriesWon.length][];
+        for (int t = 0; t < seriesWon.length; ++t) {
+            this.seriesWon[t] = seriesWon[t].clone();
+        }
+    }
+
+    public ImmutableList<Team> getTeams() {
+        return teams;
+    }
+
+    public int getNumberOfReplicas() {
+        return numberOfReplicas;
+    }
+
+    /**
+     * Returns the number of series the given team must win to win the bracket.
+     */
+    public int getNumberOfRounds(Team team) {
+        return rounds[indexOf(team)];
+    }
+
+    /**
+     * Returns the probability that the given team advances past the given round, that is
+     * wins at least that many series.
+     * 
+     * @param round
+     *            the round, where 1 is the first series of the team
+     */
+    public Probability getAdvanceProbability(Team team, int round) {
+        int t = indexOf(team);
+        checkArgument(round >= 1 && round <= rounds[t], "round must be in the range [1, %s], was %s",
+                rounds[t], round);
+        int advanced = 0;
+        for (int n = round; n <= rounds[t]; ++n) {
+            advanced += seriesWon[t][n];
+        }
+        return Probability.of(advanced, numberOfReplicas);
+    }
+
+    /**
+     * Returns the probability that the given team wins the bracket.
+     */
+    public Probability getChampionshipProbability(Team team) {
+        int t = indexOf(team);
+        return Probability.of(seriesWon[t][rounds[t]], numberOfReplicas);
+    }
+
+    private int indexOf(Team team) {
+        int index = teams.indexOf(requireNonNull(team));
+        checkArgument(index != -1, "No such team in this bracket: " + team);
+        return index;
+    }
+}
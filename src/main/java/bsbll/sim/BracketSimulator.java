@@ -0,0 +1,162 @@
+package bsbll.sim;
+
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.game.params.GamePlayParams;
+import bsbll.sim.PlayoffReplica.SeriesResult;
+import bsbll.team.Team;
+
+/**
+ * Estimates the odds of every team in a playoff {@link Bracket} by simulating it a large
+ * number of times.
+ * <p>
+ * The bracket is flattened into arrays when the simulator is created, with every series
+ * coming after the series that decide its participants, so a replica plays the series in
+ * array order. Each replica starts the teams at the top of their rotations, which then
+ * carry over from one series to the next. As with the {@link SeriesSimulator}, the
+ * replicas are simulated in parallel with their own random number streams, share a
+ * snapshot of the player cards, and play the games for the final score only.
+ * <p>
+ * The result is reproducible: running the same number of replicas with the same seed
+ * gives the same odds, regardless of how the replicas are distributed over the available
+ * threads.
+ */
+public final class BracketSimulator {
+    private final ImmutableList<Team> teams;
+    private final int[] seeds;
+    /**
+     * The number of series each team must win to win the bracket.
+     */
+    private final int[] rounds;
+    /**
+     * The nodes of the bracket, in the order they are decided. Node n is either a team,
+     * in which case teamOfNode[n] is the index of the team, or a series between the
+     * winners of the nodes firstNode[n] and secondNode[n], in which case teamOfNode[n] is
+     * -1.
+     */
+    private final int[] teamOfNode;
+    private final int[] firstNode;
+    private final int[] secondNode;
+    private final SeriesFormat[] formats;
+    private final GamePlayParams params;
+    private final PlayerCardLookup cardLookup;
+
+    public BracketSimulator(Bracket bracket, GamePlayParams params, PlayerCardLookup cardLookup) {
+        this.teams = bracket.getTeams();
+        this.seeds = new int[teams.size()];
+        this.rounds = new int[teams.size()];
+        List<Bracket> nodes = new ArrayList<>();
+        flatten(bracket, nodes);
+        this.teamOfNode = new int[nodes.size()];
+        this.firstNode = new int[nodes.size()];
+        this.secondNode = new int[nodes.size()];
+        this.formats = new SeriesFormat[nodes.size()];
+        for (int n = 0; n < nodes.size(); ++n) {
+            Bracket node = nodes.get(n);
+            if (node.isTeam()) {
+                int team = teams.indexOf(node.getTeam());
+                teamOfNode[n] = team;
+                seeds[team] = node.getSeed();
+            } else {
+                teamOfNode[n] = -1;
+                firstNode[n] = nodes.indexOf(node.getFirst());
+                secondNode[n] = nodes.indexOf(node.getSecond());
+                formats[n] = node.getFormat();
+                for (Team t : node.getTeams()) {
+                    ++rounds[teams.indexOf(t)];
+                }
+            }
+        }
+        this.params = requireNonNull(params);
+        this.cardLookup = PlayerCardSnapshot.of(teams, cardLookup);
+    }
+
+    private static void flatten(Bracket bracket, List<Bracket> nodes) {
+        if (!bracket.isTeam()) {
+            flatten(bracket.getFirst(), nodes);
+            flatten(bracket.getSecond(), nodes);
+        }
+        nodes.add(bracket);
+    }
+
+    /**
+     * Simulates the bracket the given number of times.
+     *
+     * @param numberOfReplicas
+     *            the number of times to simulate the bracket
+     * @param seed
+     *            the seed from which the random number streams of the individual
+     *            replicas are derived
+     */
+    public BracketOdds run(int numberOfReplicas, long seed) {
+        checkPositive(numberOfReplicas);
+        Tally tally = IntStream.range(0, numberOfReplicas)
+                .parallel()
+                .collect(() -> new Tally(rounds),
+                        (t, n) -> playBracket(seed, n, t),
+                        Tally::merge);
+        return new BracketOdds(teams, rounds, numberOfReplicas, tally.seriesWon);
+    }
+
+    private void playBracket(long seed, int n, Tally tally) {
+        PlayoffReplica replica = new PlayoffReplica(teams, params, cardLookup,
+                SeasonSimulator.replicaRandom(seed, n));
+        int[] winners = new int[teamOfNode.length];
+        int[] seriesWon = new int[teams.size()];
+        for (int node = 0; node < winners.length; ++node) {
+            if (teamOfNode[node] >= 0) {
+                winners[node] = teamOfNode[node];
+            } else {
+                int a = winners[firstNode[node]];
+                int b = winners[secondNode[node]];
+                SeriesResult result = (seeds[a] < seeds[b])
+                        ? replica.playSeries(a, b, formats[node])
+                        : replica.playSeries(b, a, formats[node]);
+                winners[node] = result.getWinner();
+                ++seriesWon[result.getWinner()];
+            }
+        }
+        tally.add(seriesWon);
+    }
+
+
+    @NotThreadSafe
+    private static final class Tally {
+        /**
+         * seriesWon[team][n] is the number of replicas in which the team won exactly n
+         * series.
+         */
+        private final int[][] seriesWon;
+
+        public Tally(int[] rounds) {
+            this.seriesWon = new int[rounds.length][];
+            for (int team = 0; team < rounds.length; ++team) {
+                seriesWon[team] = new int[rounds[team] + 1];
+            }
+        }
+
+        public void add(int[] replicaSeriesWon) {
+            for (int team = 0; team < replicaSeriesWon.length; ++team) {
+                ++seriesWon[team][replicaSeriesWon[team]];
+            }
+        }
+
+        public void merge(Tally other) {
+            for (int team = 0; team < seriesWon.length; ++team) {
+                for (int n = 0; n < seriesWon[team].length; ++n) {
+                    seriesWon[team][n] += other.seriesWon[team][n];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package bsbll.sim;
+
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import bsbll.die.KeyedDieFactory;
+import bsbll.die.Seeds;
+import bsbll.game.DecisionPoint;
+import bsbll.game.GameResult;
+
+/**
+ * Estimates the difference between two {@link GameVariant variants} of a game, e.g. two
+ * rosters or two sets of game play parameters, in some measure of the game result, such
+ * as the number of runs scored by the home team.
+ * <p>
+ * The games are simulated in pairs, one game of each variant. How the dice of the two
+ * games relate to each other is given by the {@link Sampling}. With common random
+ * numbers the two games of a pair roll the same dice at every decision point, which makes
+ * their results strongly correlated, so that the difference between them is much less
+ * noisy than the results themselves. The {@link Comparison} reports how much the variance
+ * of the estimated difference was reduced compared to independent sampling.
+ * <p>
+ * The pairs are simulated in parallel. The comparison is reproducible: running the same
+ * number of pairs with the same seed gives the same result.
+ */
+public final class ComparativeSimulator {
+    /**
+     * How the dice of the games of a pair relate to each other.
+     */
+    public static enum Sampling {
+        /**
+         * The two games of a pair use independent dice.
+         */
+        INDEPENDENT,
+        /**
+         * The two games of a pair use the same dice.
+         */
+        COMMON_RANDOM_NUMBERS,
+        /**
+         * Like {@link #COMMON_RANDOM_NUMBERS}, but each pair is followed by a second pair
+         * that uses the antithetic dice, i.e. the mirror images of the rolls of the first
+         * pair. The two pairs count as a single sample.
+         */
+        ANTITHETIC
+    }
+
+    private final GameVariant baseline;
+    private final GameVariant alternative;
+    private final ToDoubleFunction<GameResult> measure;
+
+    /**
+     * @param baseline
+     *            the variant to compare against
+     * @param alternative
+     *            the variant to compare
+     * @param measure
+     *            the measure of the game result to compare, e.g. the number of runs
+     *            scored by the home team
+     */
+    public ComparativeSimulator(GameVariant baseline,
+                                GameVariant alternative,
+                                ToDoubleFunction<GameResult> measure) {
+        this.baseline = requireNonNull(baseline);
+        this.alternative = requireNonNull(alternative);
+        this.measure = requireNonNull(measure);
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param numberOfSamples
+     *            the number of samples, which is the number of pairs of games, or the
+     *            number of pairs of pairs in the case of {@link Sampling#ANTITHETIC}
+     * @param seed
+     *            the seed of the dice
+     * @param sampling
+     *            how the dice of the two games of a pair relate to each other
+     */
+    public Comparison run(int numberOfSamples, long seed, Sampling sampling) {
+        checkPositive(numberOfSamples);
+        requireNonNull(sampling);
+        int gamesPerSample = (sampling == Sampling.ANTITHETIC) ? 2 : 1;
+        double[] baselineValues = new double[numberOfSamples * gamesPerSample];
+        double[] alternativeValues = new double[baselineValues.length];
+        IntStream.range(0, numberOfSamples).parallel().forEach(n -> {
+            long sampleSeed = Seeds.spread(seed, n);
+            switch (sampling) {
+            case INDEPENDENT:
+                baselineValues[n] = play(baseline, KeyedDieFactory.random(DecisionPoint.class, sampleSeed));
+                alternativeValues[n] = play(alternative,
+                        KeyedDieFactory.random(DecisionPoint.class, Seeds.spread(seed, n + numberOfSamples)));
+                break;
+            case COMMON_RANDOM_NUMBERS:
+                baselineValues[n] = play(baseline, KeyedDieFactory.random(DecisionPoint.class, sampleSeed));
+                alternativeValues[n] = play(alternative, KeyedDieFactory.random(DecisionPoint.class, sampleSeed));
+                break;
+            case ANTITHETIC:
+                baselineValues[2 * n] = play(baseline, KeyedDieFactory.random(DecisionPoint.class, sampleSeed));
+                alternativeValues[2 * n] = play(alternative, KeyedDieFactory.random(DecisionPoint.class, sampleSeed));
+                baselineValues[2 * n + 1] = play(baseline,
+                        KeyedDieFactory.antithetic(DecisionPoint.class, sampleSeed));
+                alternativeValues[2 * n + 1] = play(alternative,
+                        KeyedDieFactory.antithetic(DecisionPoint.class, sampleSeed));
+                break;
+            default:
+                throw new AssertionError("Unexpected sampling: " + sampling);
+            }
+        });
+        return new Comparison(sampling, baselineValues, alternativeValues, gamesPerSample);
+    }
+
+    private double play(GameVariant variant, KeyedDieFactory<DecisionPoint> dice) {
+        return measure.applyAsDouble(variant.play(dice));
+    }
+}
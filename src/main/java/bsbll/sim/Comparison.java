@@ -0,0 +1,122 @@
+package bsbll.sim;
+
+import javax.annotation.concurrent.Immutable;
+
+import bsbll.sim.ComparativeSimulator.Sampling;
+
+/**
+ * The result of a {@link ComparativeSimulator comparative simulation}: the mean of the
+ * measure for each variant, the estimated difference between them, and its standard error.
+ */
+@Immutable
+public final class Comparison {
+    private final Sampling sampling;
+    private final int numberOfGames;
+    private final double baselineMean;
+    private final double alternativeMean;
+    private final double meanDifference;
+    private final double standardError;
+    private final double varianceReductionFactor;
+
+    /**
+     * @param baselineValues
+     *            the measure of the games of the baseline variant
+     * @param alternativeValues
+     *            the measure of the games of the alternative variant, paired with the
+     *            baseline games by index
+     * @param gamesPerSample
+     *            the number of consecutive pairs of games that make up a sample
+     */
+    Comparison(Sampling sampling, double[] baselineValues, double[] alternativeValues, int gamesPerSample) {
+        this.sampling = sampling;
+        this.numberOfGames = baselineValues.length;
+        this.baselineMean = mean(baselineValues);
+        this.alternativeMean = mean(alternativeValues);
+        int numberOfSamples = numberOfGames / gamesPerSample;
+        double[] differences = new double[numberOfSamples];
+        for (int n = 0; n < numberOfGames; ++n) {
+            differences[n / gamesPerSample] += (alternativeValues[n] - baselineValues[n]) / gamesPerSample;
+        }
+        this.meanDifference = mean(differences);
+        double differenceVariance = variance(differences);
+        this.standardError = Math.sqrt(differenceVariance / numberOfSamples);
+        // With independent dice, the variance of a sample would be the sum of the variances
+        // of its games. The variances of the individual variants are not affected by how
+        // the games are paired, so they can be estimated from the same games.
+        double independentVariance = (variance(baselineValues) + variance(alternativeValues)) / gamesPerSample;
+        this.varianceReductionFactor = (differenceVariance == 0.0)
+                ? Double.POSITIVE_INFINITY
+                : independentVariance / differenceVariance;
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0.0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    private static double variance(double[] values) {
+        if (values.length < 2) {
+            return 0.0;
+        }
+        double mean = mean(values);
+        double sum = 0.0;
+        for (double v : values) {
+            sum += (v - mean) * (v - mean);
+        }
+        return sum / (values.length - 1);
+    }
+
+    public Sampling getSampling() {
+        return sampling;
+    }
+
+    /**
+     * Returns the number of games played by each variant.
+     */
+    public int getNumberOfGames() {
+        return numberOfGames;
+    }
+
+    public double getBaselineMean() {
+        return baselineMean;
+    }
+
+    public double getAlternativeMean() {
+        return alternativeMean;
+    }
+
+    /**
+     * Returns the estimated difference, i.e. the mean of the alternative variant minus the
+     * mean of the baseline variant.
+     */
+    public double getMeanDifference() {
+        return meanDifference;
+    }
+
+    /**
+     * Returns the standard error of the {@link #getMeanDifference() estimated difference}.
+     */
+    public double getStandardError() {
+        return standardError;
+    }
+
+    /**
+     * Returns how many times smaller the variance of the estimated difference is than it
+     * would have been with independent dice for the same number of games. This is also
+     * the factor by which the number of games would have to grow for independent sampling
+     * to give the same precision. It is close to 1 for {@link Sampling#INDEPENDENT}, and is
+     * infinite if the two variants always give the same result.
+     */
+    public double getVarianceReductionFactor() {
+        return varianceReductionFactor;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.4f +/- %.4f (%d games, variance reduction %.1fx)",
+                sampling, meanDifference, standardError, numberOfGames, varianceReductionFactor);
+    }
+}
@@ -0,0 +1,55 @@
+package bsbll.sim;
+
+import static java.util.Objects.requireNonNull;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.KeyedDieFactory;
+import bsbll.game.DecisionPoint;
+import bsbll.game.Game;
+import bsbll.game.GamePlayDriver;
+import bsbll.game.GameResult;
+import bsbll.game.OfficialScorer;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.team.Team;
+
+/**
+ * One side of a {@link ComparativeSimulator comparative simulation}: a game setup that can
+ * be played any number of times, with the dice given by the simulator.
+ * <p>
+ * Implementations must be thread safe, and must take every random decision from the given
+ * dice, so that two variants played with the same dice are paired decision by decision.
+ */
+@FunctionalInterface
+public interface GameVariant {
+
+    /**
+     * Plays a game with the given dice.
+     */
+    GameResult play(KeyedDieFactory<DecisionPoint> dice);
+
+    /**
+     * Returns a variant where the given teams play each other using the given game play
+     * parameters and player cards. The teams always start the first pitchers of their
+     * rotations.
+     */
+    public static GameVariant of(Team homeTeam,
+                                 Team visitingTeam,
+                                 GamePlayParams params,
+                                 PlayerCardLookup cardLookup) {
+        requireNonNull(homeTeam);
+        requireNonNull(visitingTeam);
+        requireNonNull(params);
+        requireNonNull(cardLookup);
+        return dice -> {
+            GamePlayDriver driver = new GamePlayDriver(
+                    new Log5BasedMatchupRunner(cardLookup, dice.forKey(DecisionPoint.MATCHUP)),
+                    params,
+                    dice);
+            Game game = new Game(homeTeam, homeTeam.getRoster().getRotation().cursor(), 
+                    visitingTeam, visitingTeam.getRoster().getRotation().cursor(),
+                    driver, new OfficialScorer());
+            return game.runForResult();
+        };
+    }
+}
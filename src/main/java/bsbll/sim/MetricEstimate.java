@@ -0,0 +1,66 @@
+package bsbll.sim;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The estimate of a metric produced by an {@link AdaptiveSimulator}.
+ */
+@Immutable
+public final class MetricEstimate {
+    private final String name;
+    private final long numberOfReplicas;
+    private final double mean;
+    private final double standardError;
+    private final double halfWidth;
+    private final double targetHalfWidth;
+
+    MetricEstimate(String name, RunningStatistics statistics, double halfWidth, double targetHalfWidth) {
+        this.name = requireNonNull(name);
+        this.numberOfReplicas = statistics.getCount();
+        this.mean = statistics.getMean();
+        this.standardError = statistics.getStandardError();
+        this.halfWidth = halfWidth;
+        this.targetHalfWidth = targetHalfWidth;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNumberOfReplicas() {
+        return numberOfReplicas;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardError() {
+        return standardError;
+    }
+
+    /**
+     * Returns the half width of the 95% confidence interval of the mean.
+     */
+    public double getHalfWidth() {
+        return halfWidth;
+    }
+
+    public double getTargetHalfWidth() {
+        return targetHalfWidth;
+    }
+
+    /**
+     * Checks if the confidence interval is at least as narrow as the target.
+     */
+    public boolean isOnTarget() {
+        return halfWidth <= targetHalfWidth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.4f +/- %.4f (target %.4f)", name, mean, halfWidth, targetHalfWidth);
+    }
+}
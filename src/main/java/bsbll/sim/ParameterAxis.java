@@ -0,0 +1,97 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotEmpty;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Doubles;
+
+import bsbll.game.params.GamePlayParams;
+
+/**
+ * One axis of the grid of a {@link SensitivitySweep}: a named transformation of the
+ * {@link GamePlayParams}, and the values it is applied with.
+ */
+@Immutable
+public final class ParameterAxis {
+    private final String name;
+    private final Transformation transformation;
+    private final ImmutableList<Double> values;
+
+    private ParameterAxis(String name, Transformation transformation, double... values) {
+        this.name = checkNotEmpty(name);
+        this.transformation = requireNonNull(transformation);
+        checkArgument(values.length > 0, "Must provide at least one value");
+        this.values = ImmutableList.copyOf(Doubles.asList(values));
+    }
+
+    /**
+     * Returns an axis that applies the given transformation with each of the given values.
+     */
+    public static ParameterAxis of(String name, Transformation transformation, double... values) {
+        return new ParameterAxis(name, transformation, values);
+    }
+
+    /**
+     * Returns an axis that scales the probability of errors by each of the given factors.
+     * 
+     * @see bsbll.game.params.ErrorCountDistribution#scaledBy(double)
+     */
+    public static ParameterAxis errorRate(double... factors) {
+        return of("Error Rate", (params, factor) -> params.withErrorCountDistribution(
+                params.getErrorCountDistribution().scaledBy(factor)), factors);
+    }
+
+    /**
+     * Returns an axis that scales the probability of fielder's choices by each of the
+     * given factors.
+     * 
+     * @see bsbll.game.params.FieldersChoiceProbabilities#scaledBy(double)
+     */
+    public static ParameterAxis fieldersChoiceRate(double... factors) {
+        return of("Fielder's Choice Rate", (params, factor) -> params.withFieldersChoiceProbabilities(
+                params.getFieldersChoiceProbabilities().scaledBy(factor)), factors);
+    }
+
+    /**
+     * Returns an axis that scales the probabilities of wild pitches, passed balls, and
+     * balks by each of the given factors.
+     * 
+     * @see bsbll.game.params.PitchingEventProbabilities#scaledBy(double)
+     */
+    public static ParameterAxis pitchingEventRate(double... factors) {
+        return of("Pitching Event Rate", (params, factor) -> params.withPitchingEventProbabilities(
+                params.getPitchingEventProbabilities().scaledBy(factor)), factors);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ImmutableList<Double> getValues() {
+        return values;
+    }
+
+    GamePlayParams apply(GamePlayParams params, double value) {
+        return requireNonNull(transformation.apply(params, value));
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + values;
+    }
+
+
+    /**
+     * Derives new parameters from existing ones, given the value of the axis. The
+     * distributions that are not affected by the value should be shared with the existing
+     * parameters, using the with-methods of GamePlayParams.
+     */
+    @FunctionalInterface
+    public static interface Transformation {
+        GamePlayParams apply(GamePlayParams params, double value);
+    }
+}
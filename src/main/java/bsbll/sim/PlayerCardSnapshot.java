@@ -0,0 +1,93 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Collection;
+
+import javax.annotation.concurrent.Immutable;
+
+import bsbll.card.PlayerCard;
+import bsbll.card.PlayerCardLookup;
+import bsbll.player.Player;
+import bsbll.team.IdRegistry;
+import bsbll.team.Team;
+
+/**
+ * An immutable PlayerCardLookup holding the cards of all players of a fixed set of teams.
+ * <p>
+ * The cards are looked up once, when the snapshot is taken, and are then shared by all
+ * replicas of a simulation. The matchups of the replicas therefore never go through a
+ * lookup that may be synchronized or may have to evict and regenerate cards, such as the
+ * cache of the {@link bsbll.card.LahmanPlayerCardLookup}. The cards are kept in arrays
+ * indexed by the {@link IdRegistry} ordinals of the players.
+ */
+@Immutable
+final class PlayerCardSnapshot implements PlayerCardLookup {
+    private final IdRegistry players;
+    private final PlayerCard[] battingCards;
+    /**
+     * The pitching cards, or null for the players who are not pitchers.
+     */
+    private final PlayerCard[] pitchingCards;
+    private final PlayerCard leagueCard;
+
+    private PlayerCardSnapshot(IdRegistry players, PlayerCard[] battingCards, PlayerCard[] pitchingCards,
+            PlayerCard leagueCard) {
+        this.players = players;
+        this.battingCards = battingCards;
+        this.pitchingCards = pitchingCards;
+        this.leagueCard = leagueCard;
+    }
+
+    /**
+     * Takes a snapshot of the cards of the players of the given teams. The pitchers are
+     * given both a batting card and a pitching card, since they bat for themselves.
+     */
+    public static PlayerCardSnapshot of(Collection<Team> teams, PlayerCardLookup lookup) {
+        IdRegistry players = IdRegistry.of(teams);
+        PlayerCard[] battingCards = new PlayerCard[players.getNumberOfPlayers()];
+        PlayerCard[] pitchingCards = new PlayerCard[players.getNumberOfPlayers()];
+        for (Team team : teams) {
+            for (Player batter : team.getRoster().getBatters()) {
+                int ordinal = players.ordinal(batter);
+                if (battingCards[ordinal] == null) {
+                    battingCards[ordinal] = lookup.getBattingCard(batter);
+                }
+            }
+            for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                int ordinal = players.ordinal(pitcher);
+                if (battingCards[ordinal] == null) {
+                    battingCards[ordinal] = lookup.getBattingCard(pitcher);
+                }
+                if (pitchingCards[ordinal] == null) {
+                    pitchingCards[ordinal] = lookup.getPitchingCard(pitcher);
+                }
+            }
+        }
+        return new PlayerCardSnapshot(players, battingCards, pitchingCards, lookup.getLeagueCard());
+    }
+
+    @Override
+    public PlayerCard getBattingCard(Player player) {
+        return getCard(battingCards, player);
+    }
+
+    @Override
+    public PlayerCard getPitchingCard(Player player) {
+        return getCard(pitchingCards, player);
+    }
+
+    private PlayerCard getCard(PlayerCard[] cards, Player player) {
+        int ordinal = players.ordinalOrMinusOne(player.getId());
+        PlayerCard card = (ordinal >= 0)
+                ? cards[ordinal]
+                : null;
+        checkArgument(card != null, "No card for %s", player);
+        return card;
+    }
+
+    @Override
+    public PlayerCard getLeagueCard() {
+        return leagueCard;
+    }
+}
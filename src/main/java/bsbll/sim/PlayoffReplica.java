@@ -0,0 +1,105 @@
+package bsbll.sim;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.DieFactory;
+import bsbll.game.Game;
+import bsbll.game.GamePlayDriver;
+import bsbll.game.GameResult;
+import bsbll.game.OfficialScorer;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.team.RotationCursor;
+import bsbll.team.Team;
+
+/**
+ * A single simulated playoff, in which any number of series can be played between the
+ * teams. Each replica keeps its own rotation cursors, so the rotations carry over from
+ * one series to the next within a replica, but not between replicas.
+ */
+@NotThreadSafe
+final class PlayoffReplica {
+    private final ImmutableList<Team> teams;
+    private final RotationCursor[] rotations;
+    private final GamePlayDriver driver;
+    private final OfficialScorer officialScorer = new OfficialScorer();
+
+    public PlayoffReplica(List<Team> teams, GamePlayParams params, PlayerCardLookup cardLookup,
+            SplittableRandom random) {
+        this.teams = ImmutableList.copyOf(teams);
+        this.rotations = teams.stream()
+                .map(t -> t.getRoster().getRotation().cursor())
+                .toArray(RotationCursor[]::new);
+        DieFactory dieFactory = DieFactory.random(random.nextLong());
+        this.driver = new GamePlayDriver(
+                new Log5BasedMatchupRunner(cardLookup, dieFactory),
+                params,
+                dieFactory);
+    }
+
+    /**
+     * Plays a series between the teams with the given indices. The games are played for
+     * the final score only.
+     */
+    public SeriesResult playSeries(int higherSeed, int lowerSeed, SeriesFormat format) {
+        int winsNeeded = format.getWinsNeeded();
+        int higherSeedWins = 0;
+        int lowerSeedWins = 0;
+        while (higherSeedWins < winsNeeded && lowerSeedWins < winsNeeded) {
+            int gameNumber = higherSeedWins + lowerSeedWins + 1;
+            boolean higherSeedAtHome = format.isHomeGameForHigherSeed(gameNumber);
+            int home = higherSeedAtHome ? higherSeed : lowerSeed;
+            int visiting = higherSeedAtHome ? lowerSeed : higherSeed;
+            Game game = new Game(teams.get(home), rotations[home], teams.get(visiting), rotations[visiting],
+                    driver, officialScorer);
+            rotations[home] = rotations[home].next();
+            rotations[visiting] = rotations[visiting].next();
+            GameResult result = game.runForResult();
+            if (result.getHomeScore() == result.getVisitingScore()) {
+                // A tied game does not count, and is replayed.
+                continue;
+            }
+            if ((result.getHomeScore() > result.getVisitingScore()) == higherSeedAtHome) {
+                ++higherSeedWins;
+            } else {
+                ++lowerSeedWins;
+            }
+        }
+        return (higherSeedWins == winsNeeded)
+                ? new SeriesResult(higherSeed, lowerSeed, higherSeedWins + lowerSeedWins)
+                : new SeriesResult(lowerSeed, higherSeed, higherSeedWins + lowerSeedWins);
+    }
+
+
+    @Immutable
+    static final class SeriesResult {
+        private final int winner;
+        private final int loser;
+        private final int numberOfGames;
+
+        public SeriesResult(int winner, int loser, int numberOfGames) {
+            this.winner = winner;
+            this.loser = loser;
+            this.numberOfGames = numberOfGames;
+        }
+
+        public int getWinner() {
+            return winner;
+        }
+
+        public int getLoser() {
+            return loser;
+        }
+
+        public int getNumberOfGames() {
+            return numberOfGames;
+        }
+    }
+}
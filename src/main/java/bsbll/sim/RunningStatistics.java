@@ -0,0 +1,75 @@
+package bsbll.sim;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Keeps track of the mean and variance of a stream of values, using Welford's algorithm.
+ * The values themselves are not stored, and the result is numerically stable even for a
+ * large number of values with a large mean.
+ */
+@NotThreadSafe
+public final class RunningStatistics {
+    private long count;
+    private double mean;
+    /**
+     * The sum of the squared differences from the current mean.
+     */
+    private double sumOfSquares;
+
+    public void add(double value) {
+        ++count;
+        double delta = value - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (value - mean);
+    }
+
+    /**
+     * Adds all values of another RunningStatistics to this one, as if they had been added
+     * one by one. The other RunningStatistics is not modified.
+     */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / n;
+        sumOfSquares += other.sumOfSquares + delta * delta * count * other.count / n;
+        count = n;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values added so far, or 0 if no values have been added.
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Returns the sample variance of the values added so far, or 0 if fewer than two
+     * values have been added.
+     */
+    public double getVariance() {
+        return (count < 2)
+                ? 0.0
+                : sumOfSquares / (count - 1);
+    }
+
+    /**
+     * Returns the standard error of the {@link #getMean() mean}.
+     */
+    public double getStandardError() {
+        return (count == 0)
+                ? 0.0
+                : Math.sqrt(getVariance() / count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.4f +/- %.4f (n = %d)", mean, getStandardError(), count);
+    }
+}
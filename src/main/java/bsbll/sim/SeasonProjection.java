@@ -0,0 +1,114 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMultiset;
+
+import bsbll.card.Probability;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * The outcome of simulating a season a number of times: for each team, the distribution
+ * of the number of wins and of the finishing position, and the probability of winning
+ * the pennant.
+ */
+@Immutable
+public final class SeasonProjection {
+    private final ImmutableList<Team> teams;
+    private final ImmutableMap<TeamId, Integer> teamIndices;
+    private final int numberOfSeasons;
+    private final ImmutableList<ImmutableSortedMultiset<Integer>> wins;
+    private final ImmutableList<ImmutableSortedMultiset<Integer>> finishes;
+
+    SeasonProjection(List<Team> teams, SeasonTally tally) {
+        checkArgument(tally.getNumberOfSeasons() > 0, "No seasons have been simulated");
+        this.teams = ImmutableList.copyOf(teams);
+        ImmutableMap.Builder<TeamId, Integer> indices = ImmutableMap.builder();
+        ImmutableList.Builder<ImmutableSortedMultiset<Integer>> wins = ImmutableList.builder();
+        ImmutableList.Builder<ImmutableSortedMultiset<Integer>> finishes = ImmutableList.builder();
+        for (int t = 0; t < teams.size(); ++t) {
+            indices.put(teams.get(t).getId(), t);
+            wins.add(toMultiset(tally.getWins(t), 0));
+            // Finishing positions are reported starting from 1.
+            finishes.add(toMultiset(tally.getFinishes(t), 1));
+        }
+        this.teamIndices = indices.build();
+        this.numberOfSeasons = tally.getNumberOfSeasons();
+        this.wins = wins.build();
+        this.finishes = finishes.build();
+    }
+
+    private static ImmutableSortedMultiset<Integer> toMultiset(int[] histogram, int offset) {
+        ImmutableSortedMultiset.Builder<Integer> builder = ImmutableSortedMultiset.naturalOrder();
+        for (int n = 0; n < histogram.length; ++n) {
+            if (histogram[n] > 0) {
+                builder.addCopies(n + offset, histogram[n]);
+            }
+        }
+        return builder.build();
+    }
+
+    public int getNumberOfSeasons() {
+        return numberOfSeasons;
+    }
+
+    public ImmutableList<Team> getTeams() {
+        return teams;
+    }
+
+    /**
+     * Returns the number of wins of the given team, with one entry per simulated season.
+     */
+    public ImmutableSortedMultiset<Integer> getWins(Team team) {
+        return wins.get(indexOf(team));
+    }
+
+    public double getAverageWins(Team team) {
+        ImmutableSortedMultiset<Integer> w = getWins(team);
+        double total = w.entrySet().stream()
+                .mapToDouble(e -> e.getElement() * e.getCount())
+                .sum();
+        return total / numberOfSeasons;
+    }
+
+    /**
+     * Returns the finishing positions of the given team, with one entry per simulated
+     * season. The first place is position 1.
+     */
+    public ImmutableSortedMultiset<Integer> getFinishingPositions(Team team) {
+        return finishes.get(indexOf(team));
+    }
+
+    /**
+     * Returns the probability that the given team finishes in the given position, where
+     * the first place is position 1.
+     */
+    public Probability getFinishingProbability(Team team, int position) {
+        checkArgument(position >= 1 && position <= teams.size(),
+                "position must be in the range [1, %s], but was %s", teams.size(), position);
+        return Probability.of(getFinishingPositions(team).count(position), numberOfSeasons);
+    }
+
+    /**
+     * Returns the probability that the given team wins the pennant. Ties for first place
+     * are decided as if by a playoff between the tied teams, with each team having the
+     * same chance of winning.
+     */
+    public Probability getPennantProbability(Team team) {
+        return getFinishingProbability(team, 1);
+    }
+
+    private int indexOf(Team team) {
+        Integer index = teamIndices.get(requireNonNull(team).getId());
+        checkArgument(index != null, "No such team in this projection: " + team);
+        return index;
+    }
+}
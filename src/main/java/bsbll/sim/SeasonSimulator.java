@@ -0,0 +1,219 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.DieFactory;
+import bsbll.die.Seeds;
+import bsbll.game.Game;
+import bsbll.game.GamePlayDriver;
+import bsbll.game.GameResult;
+import bsbll.game.OfficialScorer;
+import bsbll.game.params.GamePlayParams;
+import bsbll.league.Schedule;
+import bsbll.league.Schedule.ScheduledGame;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import tzeth.collections.ImCollectors;
+
+/**
+ * Projects the outcome of a season by simulating it a large number of times.
+ * <p>
+ * The seasons are simulated in parallel, independently of each other. The inputs (the
+ * game play parameters, the player cards, and the teams) are immutable and shared by all
+ * seasons, while each season gets its own random number stream. The starting pitcher of
+ * every game follows from the schedule, as given by {@link Schedule#getHomeTeamTurn(int)}
+ * and {@link Schedule#getVisitingTeamTurn(int)}. The games are played for the final score
+ * only, and the final standings of each season are added to per-team histograms as soon
+ * as the season completes, which means the memory used by a projection does not grow
+ * with the number of seasons.
+ * <p>
+ * The projection is reproducible: running the same number of seasons with the same seed
+ * gives the same result, regardless of how the seasons are distributed over the
+ * available threads.
+ */
+public final class SeasonSimulator {
+    private final ImmutableList<Team> teams;
+    private final int[] homeTeams;
+    private final int[] visitingTeams;
+    /**
+     * The turn in the rotation of the home and visiting starting pitcher of each game.
+     */
+    private final int[] homeTurns;
+    private final int[] visitingTurns;
+    private final int maxNumberOfGames;
+    private final GamePlayParams params;
+    private final PlayerCardLookup cardLookup;
+
+    public SeasonSimulator(Collection<Team> teams,
+                           Schedule schedule,
+                           GamePlayParams params,
+                           PlayerCardLookup cardLookup) {
+        this.teams = teams.stream()
+                .distinct()
+                .collect(ImCollectors.toList());
+        checkArgument(this.teams.size() >= 2, "Must provide at least two teams");
+        ImmutableMap<TeamId, Integer> indices = IntStream.range(0, this.teams.size())
+                .boxed()
+                .collect(ImCollectors.toMap(i -> this.teams.get(i).getId(), i -> i));
+        ImmutableList<ScheduledGame> games = schedule.getGames();
+        this.homeTeams = new int[games.size()];
+        this.visitingTeams = new int[games.size()];
+        this.homeTurns = new int[games.size()];
+        this.visitingTurns = new int[games.size()];
+        int[] gamesPerTeam = new int[this.teams.size()];
+        for (int g = 0; g < games.size(); ++g) {
+            homeTeams[g] = indexOf(indices, games.get(g).getHomeTeam());
+            visitingTeams[g] = indexOf(indices, games.get(g).getVisitingTeam());
+            homeTurns[g] = schedule.getHomeTeamTurn(g);
+            visitingTurns[g] = schedule.getVisitingTeamTurn(g);
+            ++gamesPerTeam[homeTeams[g]];
+            ++gamesPerTeam[visitingTeams[g]];
+        }
+        this.maxNumberOfGames = IntStream.of(gamesPerTeam).max().getAsInt();
+        this.params = requireNonNull(params);
+        this.cardLookup = requireNonNull(cardLookup);
+    }
+
+    private static int indexOf(ImmutableMap<TeamId, Integer> indices, TeamId team) {
+        Integer index = indices.get(team);
+        checkArgument(index != null, "The schedule includes a team that is not part of the simulation: %s", team);
+        return index;
+    }
+
+    /**
+     * Simulates the season the given number of times.
+     *
+     * @param numberOfSeasons
+     *            the number of seasons to simulate
+     * @param seed
+     *            the seed from which the random number streams of the individual
+     *            seasons are derived
+     */
+    public SeasonProjection run(int numberOfSeasons, long seed) {
+        checkPositive(numberOfSeasons);
+        SeasonTally tally = IntStream.range(0, numberOfSeasons)
+                .parallel()
+                .collect(() -> new SeasonTally(teams.size(), maxNumberOfGames),
+                        (t, n) -> new Season(replicaRandom(seed, n)).play(t),
+                        SeasonTally::merge);
+        return new SeasonProjection(teams, tally);
+    }
+
+    /**
+     * Simulates the season once, and returns the number of wins of each team. Playing the
+     * season with the same seed gives the same result.
+     */
+    public ImmutableMap<TeamId, Integer> playSeason(long seed) {
+        Season season = new Season(new SplittableRandom(seed));
+        season.playGames();
+        return season.getWins();
+    }
+
+    static SplittableRandom replicaRandom(long seed, int replica) {
+        return new SplittableRandom(Seeds.spread(seed, replica));
+    }
+
+
+    /**
+     * A single simulated season.
+     */
+    @NotThreadSafe
+    private final class Season {
+        private final SplittableRandom random;
+        private final GamePlayDriver driver;
+        private final OfficialScorer officialScorer = new OfficialScorer();
+        private final int[] wins;
+        private final int[] losses;
+
+        public Season(SplittableRandom random) {
+            this.random = random;
+            DieFactory dieFactory = DieFactory.random(random.nextLong());
+            this.driver = new GamePlayDriver(
+                    new Log5BasedMatchupRunner(cardLookup, dieFactory),
+                    params,
+                    dieFactory);
+            this.wins = new int[teams.size()];
+            this.losses = new int[teams.size()];
+        }
+
+        public void play(SeasonTally tally) {
+            playGames();
+            tally.add(wins, getFinishingOrder());
+        }
+
+        public void playGames() {
+            for (int g = 0; g < homeTeams.length; ++g) {
+                playGame(g);
+            }
+        }
+
+        public ImmutableMap<TeamId, Integer> getWins() {
+            return IntStream.range(0, teams.size())
+                    .boxed()
+                    .collect(ImCollectors.toMap(t -> teams.get(t).getId(), t -> wins[t]));
+        }
+
+        private void playGame(int g) {
+            int home = homeTeams[g];
+            int visiting = visitingTeams[g];
+            Team homeTeam = teams.get(home);
+            Team visitingTeam = teams.get(visiting);
+            Game game = new Game(
+                    homeTeam, homeTeam.getRoster().getRotation().getStartingPitcher(homeTurns[g]), 
+                    visitingTeam, visitingTeam.getRoster().getRotation().getStartingPitcher(visitingTurns[g]),
+                    driver, officialScorer);
+            GameResult result = game.runForResult();
+            if (result.getHomeScore() > result.getVisitingScore()) {
+                ++wins[home];
+                ++losses[visiting];
+            } else if (result.getHomeScore() < result.getVisitingScore()) {
+                ++wins[visiting];
+                ++losses[home];
+            }
+        }
+
+        /**
+         * Returns the team indices ordered by winning percentage. Ties are broken at random.
+         */
+        private int[] getFinishingOrder() {
+            int[] order = new int[teams.size()];
+            for (int n = 0; n < order.length; ++n) {
+                int m = random.nextInt(n + 1);
+                order[n] = order[m];
+                order[m] = n;
+            }
+            // Insertion sort is stable, which keeps the random order of tied teams.
+            for (int n = 1; n < order.length; ++n) {
+                int team = order[n];
+                double pct = winPct(team);
+                int m = n - 1;
+                while (m >= 0 && winPct(order[m]) < pct) {
+                    order[m + 1] = order[m];
+                    --m;
+                }
+                order[m + 1] = team;
+            }
+            return order;
+        }
+
+        private double winPct(int team) {
+            int decisions = wins[team] + losses[team];
+            return (decisions == 0)
+                    ? 0.0
+                    : ((double) wins[team]) / decisions;
+        }
+    }
+}
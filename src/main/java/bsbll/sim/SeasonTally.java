@@ -0,0 +1,82 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Accumulates the final standings of simulated seasons into per-team histograms of
+ * wins and finishing positions. The memory used by a tally depends only on the number
+ * of teams and the length of the schedule, not on the number of seasons added to it.
+ * <p>
+ * Teams are identified by their index in the simulation.
+ */
+@NotThreadSafe
+final class SeasonTally {
+    private final int numberOfTeams;
+    private int numberOfSeasons;
+    /**
+     * wins[team][n] is the number of seasons in which team won n games.
+     */
+    private final int[][] wins;
+    /**
+     * finishes[team][n] is the number of seasons in which team finished in position n,
+     * with the first place being position 0.
+     */
+    private final int[][] finishes;
+
+    public SeasonTally(int numberOfTeams, int maxNumberOfGames) {
+        this.numberOfTeams = numberOfTeams;
+        this.wins = new int[numberOfTeams][maxNumberOfGames + 1];
+        this.finishes = new int[numberOfTeams][numberOfTeams];
+    }
+
+    /**
+     * Adds the outcome of a season.
+     *
+     * @param seasonWins
+     *            the number of wins of each team
+     * @param finishingOrder
+     *            the team indices, ordered by finishing position
+     */
+    public void add(int[] seasonWins, int[] finishingOrder) {
+        checkArgument(seasonWins.length == numberOfTeams && finishingOrder.length == numberOfTeams);
+        for (int team = 0; team < numberOfTeams; ++team) {
+            ++wins[team][seasonWins[team]];
+        }
+        for (int position = 0; position < numberOfTeams; ++position) {
+            ++finishes[finishingOrder[position]][position];
+        }
+        ++numberOfSeasons;
+    }
+
+    /**
+     * Adds all seasons of another tally to this one.
+     */
+    public void merge(SeasonTally other) {
+        checkArgument(other.numberOfTeams == this.numberOfTeams);
+        for (int team = 0; team < numberOfTeams; ++team) {
+            addAll(other.wins[team], this.wins[team]);
+            addAll(other.finishes[team], this.finishes[team]);
+        }
+        this.numberOfSeasons += other.numberOfSeasons;
+    }
+
+    private static void addAll(int[] from, int[] to) {
+        for (int n = 0; n < from.length; ++n) {
+            to[n] += from[n];
+        }
+    }
+
+    public int getNumberOfSeasons() {
+        return numberOfSeasons;
+    }
+
+    public int[] getWins(int team) {
+        return wins[team].clone();
+    }
+
+    public int[] getFinishes(int team) {
+        return finishes[team].clone();
+    }
+}
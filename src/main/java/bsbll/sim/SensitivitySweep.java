@@ -0,0 +1,232 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotEmpty;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.KeyedDieFactory;
+import bsbll.die.Seeds;
+import bsbll.game.DecisionPoint;
+import bsbll.game.GameResult;
+import bsbll.game.params.GamePlayParams;
+import bsbll.league.Schedule;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * Measures how the outcome of games or seasons responds to changes in the
+ * {@link GamePlayParams}, by simulating them for every point of a grid of parameter
+ * transformations.
+ * <p>
+ * The grid is the cartesian product of the values of one or more {@link ParameterAxis
+ * axes}. The parameters of the grid points are derived from the baseline parameters one
+ * axis at a time, so the points that have the same values for the first axes share the
+ * distributions derived for those values, and all points share the distributions that no
+ * axis touches, including their compiled form.
+ * <p>
+ * The replicas of all grid points are run concurrently, in fixed-size blocks. The metrics
+ * of each block are accumulated into running statistics, which are merged per grid point
+ * in block order, so no individual replica results are kept and the result is
+ * reproducible. Replica n uses the same seed at every grid point, which means the
+ * differences between the points are measured with common random numbers.
+ * 
+ * @param <R>
+ *            the result of a single replica
+ */
+@Immutable
+public final class SensitivitySweep<R> {
+    private static final int BLOCK_SIZE = 64;
+
+    private final GamePlayParams baseline;
+    private final Function<? super GamePlayParams, ? extends LongFunction<? extends R>> replicas;
+    private final ImmutableList<ParameterAxis> axes;
+    private final ImmutableList<String> metricNames;
+    private final ImmutableList<ToDoubleFunction<? super R>> metrics;
+    private final int replicasPerPoint;
+
+    private SensitivitySweep(Builder<R> builder) {
+        this.baseline = builder.baseline;
+        this.replicas = builder.replicas;
+        this.axes = ImmutableList.copyOf(builder.axes);
+        this.metricNames = ImmutableList.copyOf(builder.metricNames);
+        this.metrics = ImmutableList.copyOf(builder.metrics);
+        this.replicasPerPoint = builder.replicasPerPoint;
+    }
+
+    /**
+     * Returns a builder for a sweep whose replicas are produced by the given function.
+     * The function is called once per grid point, with the parameters of that point, and
+     * returns a function that plays a replica given its seed. The latter must be thread
+     * safe.
+     */
+    public static <R> Builder<R> builder(GamePlayParams baseline,
+            Function<? super GamePlayParams, ? extends LongFunction<? extends R>> replicas) {
+        return new Builder<>(baseline, replicas);
+    }
+
+    /**
+     * Returns a builder for a sweep whose replicas are games between the given teams.
+     */
+    public static Builder<GameResult> games(GamePlayParams baseline, 
+                                            Team homeTeam, 
+                                            Team visitingTeam, 
+                                            PlayerCardLookup cardLookup) {
+        PlayerCardLookup cards = PlayerCardSnapshot.of(ImmutableList.of(homeTeam, visitingTeam), cardLookup);
+        return builder(baseline, params -> {
+            GameVariant variant = GameVariant.of(homeTeam, visitingTeam, params, cards);
+            return seed -> variant.play(KeyedDieFactory.random(DecisionPoint.class, seed));
+        });
+    }
+
+    /**
+     * Returns a builder for a sweep whose replicas are seasons between the given teams. The
+     * result of a replica is the number of wins of each team.
+     */
+    public static Builder<ImmutableMap<TeamId, Integer>> seasons(GamePlayParams baseline,
+                                                                 Collection<Team> teams,
+                                                                 Schedule schedule,
+                                                                 PlayerCardLookup cardLookup) {
+        PlayerCardLookup cards = PlayerCardSnapshot.of(teams, cardLookup);
+        return builder(baseline, params -> new SeasonSimulator(teams, schedule, params, cards)::playSeason);
+    }
+
+    /**
+     * Runs the sweep.
+     * 
+     * @param seed
+     *            the seed from which the seeds of the individual replicas are derived
+     */
+    public SweepTable run(long seed) {
+        List<double[]> axisValues = new ArrayList<>();
+        List<GamePlayParams> params = new ArrayList<>();
+        createGrid(0, baseline, new double[axes.size()], axisValues, params);
+        List<LongFunction<? extends R>> pointReplicas = new ArrayList<>();
+        for (GamePlayParams p : params) {
+            pointReplicas.add(requireNonNull(replicas.apply(p)));
+        }
+        int blocksPerPoint = (replicasPerPoint + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        RunningStatistics[][] blocks = new RunningStatistics[params.size() * blocksPerPoint][];
+        IntStream.range(0, blocks.length).parallel().forEach(b -> {
+            int point = b / blocksPerPoint;
+            int firstReplica = (b % blocksPerPoint) * BLOCK_SIZE;
+            int lastReplica = Math.min(firstReplica + BLOCK_SIZE, replicasPerPoint);
+            blocks[b] = runBlock(pointReplicas.get(point), seed, firstReplica, lastReplica);
+        });
+        List<RunningStatistics[]> statistics = new ArrayList<>();
+        for (int point = 0; point < params.size(); ++point) {
+            RunningStatistics[] s = newStatistics();
+            for (int b = point * blocksPerPoint; b < (point + 1) * blocksPerPoint; ++b) {
+                for (int m = 0; m < s.length; ++m) {
+                    s[m].merge(blocks[b][m]);
+                }
+            }
+            statistics.add(s);
+        }
+        return new SweepTable(axes.stream().map(ParameterAxis::getName).collect(ImmutableList.toImmutableList()),
+                metricNames, axisValues, statistics);
+    }
+
+    /**
+     * Derives the parameters of the grid points, depth first, so that every distribution
+     * derived for a value of an axis is shared by all points below it.
+     */
+    private void createGrid(int axis, GamePlayParams params, double[] values, List<double[]> axisValues,
+            List<GamePlayParams> gridParams) {
+        if (axis == axes.size()) {
+            axisValues.add(values.clone());
+            gridParams.add(params);
+            return;
+        }
+        ParameterAxis a = axes.get(axis);
+        for (double value : a.getValues()) {
+            values[axis] = value;
+            createGrid(axis + 1, a.apply(params, value), values, axisValues, gridParams);
+        }
+    }
+
+    private RunningStatistics[] runBlock(LongFunction<? extends R> replica, long seed, int firstReplica,
+            int lastReplica) {
+        RunningStatistics[] statistics = newStatistics();
+        for (int n = firstReplica; n < lastReplica; ++n) {
+            R result = replica.apply(Seeds.spread(seed, n));
+            for (int m = 0; m < statistics.length; ++m) {
+                statistics[m].add(metrics.get(m).applyAsDouble(result));
+            }
+        }
+        return statistics;
+    }
+
+    private RunningStatistics[] newStatistics() {
+        RunningStatistics[] statistics = new RunningStatistics[metrics.size()];
+        for (int m = 0; m < statistics.length; ++m) {
+            statistics[m] = new RunningStatistics();
+        }
+        return statistics;
+    }
+
+
+    public static final class Builder<R> {
+        private final GamePlayParams baseline;
+        private final Function<? super GamePlayParams, ? extends LongFunction<? extends R>> replicas;
+        private final List<ParameterAxis> axes = new ArrayList<>();
+        private final List<String> metricNames = new ArrayList<>();
+        private final List<ToDoubleFunction<? super R>> metrics = new ArrayList<>();
+        private int replicasPerPoint = 1000;
+
+        private Builder(GamePlayParams baseline,
+                        Function<? super GamePlayParams, ? extends LongFunction<? extends R>> replicas) {
+            this.baseline = requireNonNull(baseline);
+            this.replicas = requireNonNull(replicas);
+        }
+
+        /**
+         * Adds an axis to the grid. The transformations of the axes are applied in the
+         * order the axes are added.
+         */
+        public Builder<R> axis(ParameterAxis axis) {
+            checkArgument(axes.stream().noneMatch(a -> a.getName().equals(axis.getName())), 
+                    "Duplicate axis: %s", axis.getName());
+            this.axes.add(axis);
+            return this;
+        }
+
+        /**
+         * Adds a metric, which extracts a value from the result of a replica.
+         */
+        public Builder<R> metric(String name, ToDoubleFunction<? super R> function) {
+            checkArgument(!metricNames.contains(checkNotEmpty(name)), "Duplicate metric: %s", name);
+            this.metricNames.add(name);
+            this.metrics.add(requireNonNull(function));
+            return this;
+        }
+
+        /**
+         * Sets the number of replicas to run for each grid point. The default is 1000.
+         */
+        public Builder<R> replicasPerPoint(int replicasPerPoint) {
+            this.replicasPerPoint = checkPositive(replicasPerPoint);
+            return this;
+        }
+
+        public SensitivitySweep<R> build() {
+            checkState(!metrics.isEmpty(), "At least one metric must be given");
+            return new SensitivitySweep<>(this);
+        }
+    }
+}
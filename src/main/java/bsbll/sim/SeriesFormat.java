@@ -0,0 +1,86 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static tzeth.preconds.MorePreconditions.checkNotEmpty;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The format of a playoff series: the number of games, and where each game is played.
+ * <p>
+ * The sites are given as a pattern of {@code H} and {@code A}, one character per game,
+ * from the point of view of the team with the home-field advantage. The 2-3-2 format of a
+ * best-of-seven series is {@code "HHAAAHH"}, for example. The series ends as soon as one
+ * team has won a majority of the games.
+ */
+@Immutable
+public final class SeriesFormat {
+    public static final SeriesFormat ONE_GAME = new SeriesFormat("H");
+    public static final SeriesFormat BEST_OF_THREE = new SeriesFormat("HHH");
+    public static final SeriesFormat BEST_OF_FIVE_2_2_1 = new SeriesFormat("HHAAH");
+    public static final SeriesFormat BEST_OF_SEVEN_2_3_2 = new SeriesFormat("HHAAAHH");
+    public static final SeriesFormat BEST_OF_SEVEN_2_2_1_1_1 = new SeriesFormat("HHAAHAH");
+
+    private final String pattern;
+
+    private SeriesFormat(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Returns the series format with the given home-field pattern.
+     * 
+     * @throws IllegalArgumentException
+     *             if the pattern is empty, has an even number of games, or contains
+     *             characters other than {@code H} and {@code A}
+     */
+    public static SeriesFormat of(String pattern) {
+        checkNotEmpty(pattern);
+        checkArgument(pattern.length() % 2 == 1, "A series must have an odd number of games: %s", pattern);
+        checkArgument(pattern.chars().allMatch(c -> c == 'H' || c == 'A'), "Invalid pattern: %s", pattern);
+        return new SeriesFormat(pattern);
+    }
+
+    /**
+     * Returns the maximum number of games in the series.
+     */
+    public int getMaximumNumberOfGames() {
+        return pattern.length();
+    }
+
+    /**
+     * Returns the number of games a team must win to win the series.
+     */
+    public int getWinsNeeded() {
+        return pattern.length() / 2 + 1;
+    }
+
+    /**
+     * Checks if the team with the home-field advantage is the home team in the given game.
+     * 
+     * @param game
+     *            the game number, starting from 1
+     */
+    public boolean isHomeGameForHigherSeed(int game) {
+        checkArgument(game >= 1 && game <= pattern.length(), "game must be in the range [1, %s], was %s",
+                pattern.length(), game);
+        return pattern.charAt(game - 1) == 'H';
+    }
+
+    @Override
+    public int hashCode() {
+        return pattern.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        return (obj == this) ||
+                ((obj instanceof SeriesFormat) && this.pattern.equals(((SeriesFormat) obj).pattern));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Best of %d (%s)", pattern.length(), pattern);
+    }
+}
@@ -0,0 +1,103 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.card.Probability;
+import bsbll.team.Team;
+
+/**
+ * The outcome of simulating a playoff series a number of times: the probability of each
+ * team winning the series, and of winning it in a given number of games.
+ */
+@Immutable
+public final class SeriesOdds {
+    private final ImmutableList<Team> teams;
+    private final SeriesFormat format;
+    private final int numberOfSeries;
+    /**
+     * wins[team][n] is the number of series the team won in n games.
+     */
+    private final int[][] wins;
+
+    SeriesOdds(List<Team> teams, SeriesFormat format, int numberOfSeries, int[][] wins) {
+        checkArgument(numberOfSeries > 0, "No series have been simulated");
+        this.teams = ImmutableList.copyOf(teams);
+        this.format = requireNonNull(format);
+        this.numberOfSeries = numberOfSeries;
+        this.wins = new int[wins.length][];
+        for (int t = 0; t < wins.length; ++t) {
+            this.wins[t] = wins[t].clone();
+        }
+    }
+
+    /**
+     * Returns the teams, with the team that has the home-field advantage first.
+     */
+    public ImmutableList<Team> getTeams() {
+        return teams;
+    }
+
+    public SeriesFormat getFormat() {
+        return format;
+    }
+
+    public int getNumberOfSeries() {
+        return numberOfSeries;
+    }
+
+    /**
+     * Returns the probability that the given team wins the series.
+     */
+    public Probability getWinProbability(Team team) {
+        int[] w = wins[indexOf(team)];
+        int total = 0;
+        for (int n = 0; n < w.length; ++n) {
+            total += w[n];
+        }
+        return Probability.of(total, numberOfSeries);
+    }
+
+    /**
+     * Returns the probability that the given team wins the series in exactly the given
+     * number of games.
+     */
+    public Probability getWinProbability(Team team, int numberOfGames) {
+        checkArgument(numberOfGames >= format.getWinsNeeded() && numberOfGames <= format.getMaximumNumberOfGames(),
+                "numberOfGames must be in the range [%s, %s], was %s", format.getWinsNeeded(),
+                format.getMaximumNumberOfGames(), numberOfGames);
+        return Probability.of(wins[indexOf(team)][numberOfGames], numberOfSeries);
+    }
+
+    /**
+     * Returns the average number of games played in the series.
+     */
+    public double getAverageNumberOfGames() {
+        long total = 0;
+        for (int[] w : wins) {
+            for (int n = 0; n < w.length; ++n) {
+                total += n * w[n];
+            }
+        }
+        return ((double) total) / numberOfSeries;
+    }
+
+    private int indexOf(Team team) {
+        int index = teams.indexOf(requireNonNull(team));
+        checkArgument(index != -1, "No such team in this series: " + team);
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %.3f - %s %.3f (%s)", teams.get(0).getAbbreviation(),
+                getWinProbability(teams.get(0)).asDouble(), teams.get(1).getAbbreviation(),
+                getWinProbability(teams.get(1)).asDouble(), format);
+    }
+}
@@ -0,0 +1,115 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.stream.IntStream;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.card.PlayerCardLookup;
+import bsbll.game.params.GamePlayParams;
+import bsbll.sim.PlayoffReplica.SeriesResult;
+import bsbll.team.Team;
+
+/**
+ * Estimates the odds of a playoff series between two teams by simulating it a large number
+ * of times.
+ * <p>
+ * In each replica both teams open the series with the first pitcher of their rotation,
+ * and then go through their rotations game by game. The
+ * replicas are simulated in parallel, each with its own random number stream, and share a
+ * snapshot of the player cards taken when the simulator is created. The games are played
+ * for the final score only.
+ * <p>
+ * The result is reproducible: running the same number of replicas with the same seed
+ * gives the same odds, regardless of how the replicas are distributed over the available
+ * threads.
+ */
+public final class SeriesSimulator {
+    private static final int HIGHER_SEED = 0;
+    private static final int LOWER_SEED = 1;
+
+    private final ImmutableList<Team> teams;
+    private final SeriesFormat format;
+    private final GamePlayParams params;
+    private final PlayerCardLookup cardLookup;
+
+    /**
+     * 
+     * @param higherSeed
+     *            the team with the home-field advantage
+     * @param lowerSeed
+     *            the other team
+     * @param format
+     *            the format of the series
+     * @param params
+     *            the game play parameters
+     * @param cardLookup
+     *            the lookup of the player cards
+     */
+    public SeriesSimulator(Team higherSeed,
+                           Team lowerSeed,
+                           SeriesFormat format,
+                           GamePlayParams params,
+                           PlayerCardLookup cardLookup) {
+        checkArgument(!higherSeed.equals(lowerSeed), "A team cannot play a series against itself (%s)", higherSeed);
+        this.teams = ImmutableList.of(higherSeed, lowerSeed);
+        this.format = requireNonNull(format);
+        this.params = requireNonNull(params);
+        this.cardLookup = PlayerCardSnapshot.of(teams, cardLookup);
+    }
+
+    /**
+     * Simulates the series the given number of times.
+     *
+     * @param numberOfSeries
+     *            the number of series to simulate
+     * @param seed
+     *            the seed from which the random number streams of the individual
+     *            series are derived
+     */
+    public SeriesOdds run(int numberOfSeries, long seed) {
+        checkPositive(numberOfSeries);
+        Tally tally = IntStream.range(0, numberOfSeries)
+                .parallel()
+                .collect(() -> new Tally(format.getMaximumNumberOfGames()),
+                        (t, n) -> t.add(playSeries(seed, n)),
+                        Tally::merge);
+        return new SeriesOdds(teams, format, numberOfSeries, tally.wins);
+    }
+
+    private SeriesResult playSeries(long seed, int n) {
+        PlayoffReplica replica = new PlayoffReplica(teams, params, cardLookup,
+                SeasonSimulator.replicaRandom(seed, n));
+        return replica.playSeries(HIGHER_SEED, LOWER_SEED, format);
+    }
+
+
+    @NotThreadSafe
+    private static final class Tally {
+        /**
+         * wins[team][n] is the number of series the team won in n games.
+         */
+        private final int[][] wins;
+
+        public Tally(int maxNumberOfGames) {
+            this.wins = new int[2][maxNumberOfGames + 1];
+        }
+
+        public void add(SeriesResult result) {
+            ++wins[result.getWinner()][result.getNumberOfGames()];
+        }
+
+        public void merge(Tally other) {
+            for (int team = 0; team < wins.length; ++team) {
+                for (int n = 0; n < wins[team].length; ++n) {
+                    wins[team][n] += other.wins[team][n];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package bsbll.sim;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+import java.util.List;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The result of a {@link SensitivitySweep}: the mean and standard error of every metric,
+ * for every point of the grid. The points are ordered with the values of the last axis
+ * changing the fastest.
+ */
+@Immutable
+public final class SweepTable {
+    private final ImmutableList<String> axisNames;
+    private final ImmutableList<String> metricNames;
+    private final long replicasPerPoint;
+    /**
+     * axisValues[point][axis]
+     */
+    private final double[][] axisValues;
+    /**
+     * means[point][metric]
+     */
+    private final double[][] means;
+    /**
+     * standardErrors[point][metric]
+     */
+    private final double[][] standardErrors;
+
+    SweepTable(List<String> axisNames, List<String> metricNames, List<double[]> axisValues,
+            List<RunningStatistics[]> statistics) {
+        checkArgument(axisValues.size() == statistics.size());
+        this.axisNames = ImmutableList.copyOf(axisNames);
+        this.metricNames = ImmutableList.copyOf(metricNames);
+        this.replicasPerPoint = statistics.get(0)[0].getCount();
+        int points = axisValues.size();
+        this.axisValues = new double[points][];
+        this.means = new double[points][metricNames.size()];
+        this.standardErrors = new double[points][metricNames.size()];
+        for (int p = 0; p < points; ++p) {
+            this.axisValues[p] = axisValues.get(p).clone();
+            for (int m = 0; m < metricNames.size(); ++m) {
+                means[p][m] = statistics.get(p)[m].getMean();
+                standardErrors[p][m] = statistics.get(p)[m].getStandardError();
+            }
+        }
+    }
+
+    public ImmutableList<String> getAxisNames() {
+        return axisNames;
+    }
+
+    public ImmutableList<String> getMetricNames() {
+        return metricNames;
+    }
+
+    public int getNumberOfPoints() {
+        return axisValues.length;
+    }
+
+    public long getReplicasPerPoint() {
+        return replicasPerPoint;
+    }
+
+    /**
+     * Returns the value of the given axis at the given grid point.
+     */
+    public double getAxisValue(int point, String axis) {
+        return axisValues[checkElementIndex(point, axisValues.length)][indexOf(axisNames, axis)];
+    }
+
+    /**
+     * Returns the mean of the given metric at the given grid point.
+     */
+    public double getMean(int point, String metric) {
+        return means[checkElementIndex(point, means.length)][indexOf(metricNames, metric)];
+    }
+
+    /**
+     * Returns the standard error of the mean of the given metric at the given grid point.
+     */
+    public double getStandardError(int point, String metric) {
+        return standardErrors[checkElementIndex(point, standardErrors.length)][indexOf(metricNames, metric)];
+    }
+
+    private static int indexOf(ImmutableList<String> names, String name) {
+        int index = names.indexOf(name);
+        checkArgument(index != -1, "No such column: %s", name);
+        return index;
+    }
+
+    /**
+     * Returns the table in text form, with one line per grid point.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String a : axisNames) {
+            sb.append(String.format("%-22s", abbreviate(a)));
+        }
+        for (String m : metricNames) {
+            sb.append(String.format("%-22s", abbreviate(m)));
+        }
+        sb.append(System.lineSeparator());
+        for (int p = 0; p < axisValues.length; ++p) {
+            for (double v : axisValues[p]) {
+                sb.append(String.format("%-22.3f", v));
+            }
+            for (int m = 0; m < metricNames.size(); ++m) {
+                sb.append(String.format("%-22s", String.format("%.4f +/- %.4f", means[p][m], standardErrors[p][m])));
+            }
+            sb.append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static String abbreviate(String name) {
+        return (name.length() > 20)
+                ? name.substring(0, 20)
+                : name;
+    }
+}
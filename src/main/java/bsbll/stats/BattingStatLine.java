@@ -6,6 +6,7 @@ import static tzeth.preconds.MorePreconditions.checkNotNegative;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 import javax.annotation.concurrent.Immutable;
 
@@ -60,6 +61,26 @@ public final class BattingStatLine extends StatLine<PrimitiveBattingStat, Battin
                 .build();
     }
     
+    /**
+     * Hands what the given play adds to the stats of the batter to the given consumer, as
+     * (stat, delta) pairs. Every stat that a play can change is handed over, including the
+     * ones that this play adds 0 to. This is what {@link Builder#add(PlayOutcome, int)} adds,
+     * and is shared with the components that keep their own counters of the stats.
+     */
+    public static void forEachStatOfPlay(PlayOutcome o, int rbis, ObjIntConsumer<PrimitiveBattingStat> consumer) {
+        EventType t = o.getType();
+        consumer.accept(PLATE_APPEARANCES, 1);
+        consumer.accept(HITS, t.isHit() ? 1 : 0);
+        consumer.accept(DOUBLES, t == EventType.DOUBLE ? 1 : 0);
+        consumer.accept(TRIPLES, t == EventType.TRIPLE ? 1 : 0);
+        consumer.accept(HOMERUNS, t == EventType.HOMERUN ? 1 : 0);
+        consumer.accept(RUNS, t == EventType.HOMERUN ? 1 : 0);
+        consumer.accept(RUNS_BATTED_IN, rbis);
+        consumer.accept(WALKS, t == EventType.WALK ? 1 : 0);
+        consumer.accept(STRIKEOUTS, t == EventType.STRIKEOUT ? 1 : 0);
+        consumer.accept(HIT_BY_PITCHES, t == EventType.HIT_BY_PITCH ? 1 : 0);
+    }
+    
     public static Builder builder() {
         return new Builder();
     }
@@ -89,17 +110,8 @@ public final class BattingStatLine extends StatLine<PrimitiveBattingStat, Battin
         
         public Builder add(PlayOutcome o, int rbis) {
             checkNotNegative(rbis);
-            EventType t = o.getType();
-            return set(PLATE_APPEARANCES, get(PLATE_APPEARANCES) + 1)
-                    .set(HITS, get(HITS) + (t.isHit() ? 1 : 0))
-                    .set(DOUBLES, get(DOUBLES) + (t == EventType.DOUBLE ? 1 : 0))
-                    .set(TRIPLES, get(TRIPLES) + (t == EventType.TRIPLE ? 1 : 0))
-                    .set(HOMERUNS, get(HOMERUNS) + (t == EventType.HOMERUN ? 1 : 0))
-                    .set(RUNS, get(RUNS) + (t == EventType.HOMERUN ? 1 : 0))
-                    .set(RUNS_BATTED_IN, get(RUNS_BATTED_IN) + rbis)
-                    .set(WALKS, get(WALKS) + (t == EventType.WALK ? 1 : 0))
-                    .set(STRIKEOUTS, get(STRIKEOUTS) + (t == EventType.STRIKEOUT ? 1 : 0))
-                    .set(HIT_BY_PITCHES, get(HIT_BY_PITCHES) + (t == EventType.HIT_BY_PITCH ? 1 : 0));
+            forEachStatOfPlay(o, rbis, (stat, delta) -> set(stat, get(stat) + delta));
+            return this;
         }
 
         private int get(PrimitiveBattingStat stat) {
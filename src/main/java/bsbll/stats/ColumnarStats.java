@@ -0,0 +1,424 @@
+package bsbll.stats;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+
+/**
+ * The season stats of a fixed set of players, stored column by column: one int array
+ * per primitive stat, indexed by the ordinal of the player.
+ * <p>
+ * This is the layout of choice for analytics over the end-of-season stats of many
+ * simulated seasons. Adding the stats of another season is a pass over each column, and
+ * the derived stats, such as {@link #battingAverages() batting averages} and
+ * {@link #eras() ERAs}, are computed for all the players at once in simple loops over
+ * the columns, without creating any stat lines. The values of the derived stats follow
+ * {@link Average#asDouble()} and {@link Per9IPStat#asDouble()}, so a player without a
+ * denominator gets -1 for an average and {@code Double.MAX_VALUE} for a per-9-innings
+ * stat.
+ * <p>
+ * The {@link StatLeaders} rank the players by these loops. The stats can also be read
+ * one player and one stat at a time, as in a {@link StatLine}, which is what the
+ * {@link #asLookup() lookup} does.
+ */
+@NotThreadSafe
+public final class ColumnarStats {
+    private static final PrimitiveBattingStat[] BATTING_STATS = PrimitiveBattingStat.values();
+    private static final PrimitivePitchingStat[] PITCHING_STATS = PrimitivePitchingStat.values();
+
+    private final ImmutableList<PlayerId> players;
+    private final ImmutableMap<PlayerId, Integer> ordinals;
+    private final int[][] batting;
+    private final int[][] pitching;
+    /**
+     * Whether the player has a batting, or pitching, line, which separates a player who
+     * has not batted from a player whose stats are all zero.
+     */
+    private final boolean[] batted;
+    private final boolean[] pitched;
+
+    /**
+     * Creates an empty store for the given players, whose ordinals are their positions in
+     * the list, such as the {@link bsbll.team.IdRegistry#getPlayerIds() players of an
+     * IdRegistry}.
+     */
+    public ColumnarStats(List<PlayerId> players) {
+        this.players = ImmutableList.copyOf(players);
+        Map<PlayerId, Integer> ordinals = new HashMap<>();
+        for (PlayerId p : this.players) {
+            checkArgument(ordinals.put(p, ordinals.size()) == null, "Duplicate player: %s", p);
+        }
+        this.ordinals = ImmutableMap.copyOf(ordinals);
+        int size = this.players.size();
+        this.batting = new int[BATTING_STATS.length][size];
+        this.pitching = new int[PITCHING_STATS.length][size];
+        this.batted = new boolean[size];
+        this.pitched = new boolean[size];
+    }
+
+    public int getNumberOfPlayers() {
+        return players.size();
+    }
+
+    public PlayerId getPlayer(int ordinal) {
+        return players.get(ordinal);
+    }
+
+    /**
+     * Returns the ordinal of the given player.
+     *
+     * @throws IllegalArgumentException
+     *             if the player is not in this store
+     */
+    public int ordinal(PlayerId playerId) {
+        Integer ordinal = ordinals.get(requireNonNull(playerId));
+        checkArgument(ordinal != null, "No such player: %s", playerId);
+        return ordinal;
+    }
+
+    public void addBattingStats(PlayerId playerId, BattingStatLine line) {
+        int ordinal = ordinal(playerId);
+        line.forEach((stat, value) -> batting[stat.ordinal()][ordinal] += value);
+        batted[ordinal] = true;
+    }
+
+    public void addPitchingStats(PlayerId playerId, PitchingStatLine line) {
+        int ordinal = ordinal(playerId);
+        line.forEach((stat, value) -> pitching[stat.ordinal()][ordinal] += value);
+        pitched[ordinal] = true;
+    }
+
+    /**
+     * Adds the batting stats of the given players, for instance the stats of a season.
+     */
+    public void addBattingStats(Map<PlayerId, BattingStatLine> lines) {
+        lines.forEach(this::addBattingStats);
+    }
+
+    /**
+     * Adds the pitching stats of the given players, for instance the stats of a season.
+     */
+    public void addPitchingStats(Map<PlayerId, PitchingStatLine> lines) {
+        lines.forEach(this::addPitchingStats);
+    }
+
+    /**
+     * Adds the stats of another store with the same players, for instance the stats of
+     * another replica of a simulation.
+     */
+    public void addAll(ColumnarStats other) {
+        checkArgument(other.players.equals(this.players), "The stores must have the same players");
+        add(this.batting, other.batting);
+        add(this.pitching, other.pitching);
+        for (int p = 0; p < batted.length; ++p) {
+            batted[p] |= other.batted[p];
+            pitched[p] |= other.pitched[p];
+        }
+    }
+
+    private static void add(int[][] columns, int[][] otherColumns) {
+        for (int s = 0; s < columns.length; ++s) {
+            int[] column = columns[s];
+            int[] otherColumn = otherColumns[s];
+            for (int p = 0; p < column.length; ++p) {
+                column[p] += otherColumn[p];
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the column of the given stat.
+     */
+    public int[] getColumn(PrimitiveBattingStat stat) {
+        return batting[stat.ordinal()].clone();
+    }
+
+    /**
+     * Returns a copy of the column of the given stat.
+     */
+    public int[] getColumn(PrimitivePitchingStat stat) {
+        return pitching[stat.ordinal()].clone();
+    }
+
+    public boolean hasBattingStats(int ordinal) {
+        return batted[ordinal];
+    }
+
+    public boolean hasPitchingStats(int ordinal) {
+        return pitched[ordinal];
+    }
+
+    public BattingStatLine getBattingStats(int ordinal) {
+        if (!batted[ordinal]) {
+            return BattingStatLine.empty();
+        }
+        Map<PrimitiveBattingStat, Integer> values = new EnumMap<>(PrimitiveBattingStat.class);
+        for (PrimitiveBattingStat stat : BATTING_STATS) {
+            int value = batting[stat.ordinal()][ordinal];
+            if (value != 0) {
+                values.put(stat, value);
+            }
+        }
+        return new BattingStatLine(values);
+    }
+
+    public PitchingStatLine getPitchingStats(int ordinal) {
+        if (!pitched[ordinal]) {
+            return PitchingStatLine.empty();
+        }
+        Map<PrimitivePitchingStat, Integer> values = new EnumMap<>(PrimitivePitchingStat.class);
+        for (PrimitivePitchingStat stat : PITCHING_STATS) {
+            int value = pitching[stat.ordinal()][ordinal];
+            if (value != 0) {
+                values.put(stat, value);
+            }
+        }
+        return new PitchingStatLine(values);
+    }
+
+    /**
+     * Returns the value of the given stat for the player with the given ordinal. The
+     * primitive stats are read straight from their columns, the other stats are computed
+     * from the stat line of the player.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getBattingStat(int ordinal, BattingStat<T> stat) {
+        return (stat instanceof PrimitiveBattingStat)
+                ? (T) Integer.valueOf(batting[((PrimitiveBattingStat) stat).ordinal()][ordinal])
+                : stat.get(getBattingStats(ordinal));
+    }
+
+    /**
+     * Returns the value of the given stat for the player with the given ordinal. The
+     * primitive stats are read straight from their columns, the other stats are computed
+     * from the stat line of the player.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPitchingStat(int ordinal, PitchingStat<T> stat) {
+        return (stat instanceof PrimitivePitchingStat)
+                ? (T) Integer.valueOf(pitching[((PrimitivePitchingStat) stat).ordinal()][ordinal])
+                : stat.get(getPitchingStats(ordinal));
+    }
+
+    /**
+     * Returns a lookup of the stats in this store, for reports and the like. Players who
+     * are not in this store have empty stats.
+     */
+    public PlayerStatLookup asLookup() {
+        return new PlayerStatLookup() {
+            @Override
+            public <T> T getBattingStat(Player player, BattingStat<T> stat) {
+                requireNonNull(stat);
+                Integer ordinal = ordinals.get(player.getId());
+                return (ordinal != null)
+                        ? ColumnarStats.this.getBattingStat(ordinal, stat)
+                        : BattingStatLine.empty().get(stat);
+            }
+
+            @Override
+            public <T> T getPitchingStat(Player player, PitchingStat<T> stat) {
+                requireNonNull(stat);
+                Integer ordinal = ordinals.get(player.getId());
+                return (ordinal != null)
+                        ? ColumnarStats.this.getPitchingStat(ordinal, stat)
+                        : PitchingStatLine.empty().get(stat);
+            }
+        };
+    }
+
+    /**
+     * Returns the at bats of all the players, as in {@link BattingStat#AT_BATS}.
+     */
+    public int[] atBats() {
+        int[] pa = batting[PrimitiveBattingStat.PLATE_APPEARANCES.ordinal()];
+        int[] bb = batting[PrimitiveBattingStat.WALKS.ordinal()];
+        int[] hbp = batting[PrimitiveBattingStat.HIT_BY_PITCHES.ordinal()];
+        int[] sh = batting[PrimitiveBattingStat.SACRIFICE_HITS.ordinal()];
+        int[] sf = batting[PrimitiveBattingStat.SACRIFICE_FLIES.ordinal()];
+        int[] ab = new int[pa.length];
+        for (int p = 0; p < ab.length; ++p) {
+            ab[p] = pa[p] - bb[p] - hbp[p] - sh[p] - sf[p];
+        }
+        return ab;
+    }
+
+    /**
+     * Returns the total bases of all the players, as in {@link BattingStat#TOTAL_BASES}.
+     */
+    public int[] totalBases() {
+        int[] h = batting[PrimitiveBattingStat.HITS.ordinal()];
+        int[] d = batting[PrimitiveBattingStat.DOUBLES.ordinal()];
+        int[] t = batting[PrimitiveBattingStat.TRIPLES.ordinal()];
+        int[] hr = batting[PrimitiveBattingStat.HOMERUNS.ordinal()];
+        int[] tb = new int[h.length];
+        for (int p = 0; p < tb.length; ++p) {
+            tb[p] = h[p] + d[p] + 2 * t[p] + 3 * hr[p];
+        }
+        return tb;
+    }
+
+    /**
+     * Returns the batting averages of all the players.
+     */
+    public double[] battingAverages() {
+        return averages(batting[PrimitiveBattingStat.HITS.ordinal()], atBats());
+    }
+
+    /**
+     * Returns the slugging percentages of all the players.
+     */
+    public double[] sluggingPercentages() {
+        return averages(totalBases(), atBats());
+    }
+
+    /**
+     * Returns the on-base percentages of all the players.
+     */
+    public double[] onBasePercentages() {
+        int[] h = batting[PrimitiveBattingStat.HITS.ordinal()];
+        int[] bb = batting[PrimitiveBattingStat.WALKS.ordinal()];
+        int[] hbp = batting[PrimitiveBattingStat.HIT_BY_PITCHES.ordinal()];
+        int[] pa = batting[PrimitiveBattingStat.PLATE_APPEARANCES.ordinal()];
+        int[] sh = batting[PrimitiveBattingStat.SACRIFICE_HITS.ordinal()];
+        double[] obp = new double[h.length];
+        for (int p = 0; p < obp.length; ++p) {
+            int denominator = pa[p] - sh[p];
+            obp[p] = (denominator > 0)
+                    ? (double) (h[p] + bb[p] + hbp[p]) / denominator
+                    : -1.0;
+        }
+        return obp;
+    }
+
+    /**
+     * Returns the OPS of all the players, which is -1 for the players who have no at bats.
+     */
+    public double[] ops() {
+        double[] obp = onBasePercentages();
+        double[] slg = sluggingPercentages();
+        double[] ops = new double[obp.length];
+        for (int p = 0; p < ops.length; ++p) {
+            ops[p] = (obp[p] >= 0 && slg[p] >= 0)
+                    ? obp[p] + slg[p]
+                    : -1.0;
+        }
+        return ops;
+    }
+
+    /**
+     * Returns the innings pitched by all the players, in outs. This is the
+     * {@link PrimitivePitchingStat#OUTS} column, as in {@link InningsPitched#toOuts()}.
+     */
+    public int[] inningsPitched() {
+        return getColumn(PrimitivePitchingStat.OUTS);
+    }
+
+    /**
+     * Returns the ERAs of all the players.
+     */
+    public double[] eras() {
+        return per9Innings(PrimitivePitchingStat.EARNED_RUNS);
+    }
+
+    /**
+     * Returns the given stat per 9 innings pitched for all the players, as in
+     * {@link Per9IPStat}. For example, {@code per9Innings(STRIKEOUTS)} are the SO9 of the
+     * players.
+     */
+    public double[] per9Innings(PrimitivePitchingStat stat) {
+        int[] values = pitching[stat.ordinal()];
+        int[] outs = pitching[PrimitivePitchingStat.OUTS.ordinal()];
+        double[] per9 = new double[values.length];
+        for (int p = 0; p < per9.length; ++p) {
+            per9[p] = (outs[p] > 0)
+                    ? (27.0 * values[p]) / outs[p]
+                    : Double.MAX_VALUE;
+        }
+        return per9;
+    }
+
+    /**
+     * Returns the WHIPs of all the players.
+     */
+    public double[] whips() {
+        int[] h = pitching[PrimitivePitchingStat.HITS.ordinal()];
+        int[] bb = pitching[PrimitivePitchingStat.WALKS.ordinal()];
+        int[] outs = pitching[PrimitivePitchingStat.OUTS.ordinal()];
+        double[] whip = new double[h.length];
+        for (int p = 0; p < whip.length; ++p) {
+            whip[p] = (outs[p] > 0)
+                    ? 3.0 * (h[p] + bb[p]) / outs[p]
+                    : -1.0;
+        }
+        return whip;
+    }
+
+    /**
+     * Returns the winning percentages of all the players.
+     */
+    public double[] winningPercentages() {
+        int[] w = pitching[PrimitivePitchingStat.WINS.ordinal()];
+        int[] l = pitching[PrimitivePitchingStat.LOSSES.ordinal()];
+        double[] pct = new double[w.length];
+        for (int p = 0; p < pct.length; ++p) {
+            int decisions = w[p] + l[p];
+            pct[p] = (decisions > 0)
+                    ? (double) w[p] / decisions
+                    : -1.0;
+        }
+        return pct;
+    }
+
+    private static double[] averages(int[] numerators, int[] denominators) {
+        double[] averages = new double[numerators.length];
+        for (int p = 0; p < averages.length; ++p) {
+            averages[p] = (denominators[p] > 0)
+                    ? (double) numerators[p] / denominators[p]
+                    : -1.0;
+        }
+        return averages;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Columnar stats of %d players", players.size());
+    }
+
+    /**
+     * Returns, in order, the ordinals of the players who have stats and whose values in
+     * the given column are at least the given minimum.
+     */
+    static int[] ordinalsAtLeast(int[] column, boolean[] hasStats, int minValue) {
+        int[] qualified = new int[column.length];
+        int count = 0;
+        for (int p = 0; p < column.length; ++p) {
+            if (hasStats[p] && column[p] >= minValue) {
+                qualified[count++] = p;
+            }
+        }
+        return Arrays.copyOf(qualified, count);
+    }
+
+    int[] battersWithAtBats(int minAtBats) {
+        return ordinalsAtLeast(atBats(), batted, minAtBats);
+    }
+
+    int[] pitchersWithOuts(int minOuts) {
+        return ordinalsAtLeast(pitching[PrimitivePitchingStat.OUTS.ordinal()], pitched, minOuts);
+    }
+}
@@ -0,0 +1,123 @@
+package bsbll.stats;
+
+import static java.util.Objects.requireNonNull;
+import static tzeth.preconds.MorePreconditions.checkNotNegative;
+import static tzeth.preconds.MorePreconditions.checkPositive;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import bsbll.player.PlayerId;
+import bsbll.stats.StatLeaders.Entry;
+
+/**
+ * Keeps the players who qualify for a stat ranked in leader order, as their stat lines
+ * change over the course of a season. This is the incremental counterpart of
+ * {@link StatLeaders#batting(Map, BattingStat, int, int)} and friends: updating a player
+ * re-ranks that player only, and the top K leaders are read off the front of the ranking
+ * in O(K) time.
+ * <p>
+ * Players with the same value are ranked by player ID.
+ *
+ * @param <L>
+ *            the type of stat line the stat is derived from
+ */
+@NotThreadSafe
+public final class Leaderboard<T, S extends Stat<T>, L> {
+    private final S stat;
+    private final BiFunction<L, S, T> getter;
+    private final Predicate<L> qualifies;
+    private final Map<PlayerId, Entry<T>> entries = new HashMap<>();
+    private final TreeSet<Entry<T>> ranking;
+
+    private Leaderboard(S stat, BiFunction<L, S, T> getter, Predicate<L> qualifies) {
+        this.stat = requireNonNull(stat);
+        this.getter = getter;
+        this.qualifies = qualifies;
+        Comparator<Entry<T>> order = Comparator.comparing(Entry::getValue, stat.leaderOrder());
+        this.ranking = new TreeSet<>(order.thenComparing(e -> e.getPlayerId().toString()));
+    }
+
+    /**
+     * Creates a batting leaderboard for the given stat, of the players with at least the
+     * given number of at bats. Use 0 to include everyone.
+     */
+    public static <T, S extends BattingStat<T>> Leaderboard<T, S, BattingStatLine> batting(S stat, int minAtBats) {
+        checkNotNegative(minAtBats);
+        return new Leaderboard<>(stat, BattingStatLine::get,
+                line -> line.get(BattingStat.AT_BATS) >= minAtBats);
+    }
+
+    /**
+     * Creates a pitching leaderboard for the given stat, of the players with at least the
+     * given number of innings pitched.
+     */
+    public static <T, S extends PitchingStat<T>> Leaderboard<T, S, PitchingStatLine> pitching(S stat,
+            InningsPitched minIPs) {
+        requireNonNull(minIPs);
+        return new Leaderboard<>(stat, PitchingStatLine::get,
+                line -> line.get(PitchingStat.INNINGS_PITCHED).compareTo(minIPs) >= 0);
+    }
+
+    public S getStat() {
+        return stat;
+    }
+
+    /**
+     * Re-ranks a player, given the player's stat line for the season so far.
+     */
+    public void update(PlayerId playerId, L statLine) {
+        requireNonNull(playerId);
+        requireNonNull(statLine);
+        Entry<T> previous = entries.remove(playerId);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        if (qualifies.test(statLine)) {
+            Entry<T> entry = new Entry<>(playerId, getter.apply(statLine, stat));
+            entries.put(playerId, entry);
+            ranking.add(entry);
+        }
+    }
+
+    /**
+     * Re-ranks all the given players.
+     */
+    public void updateAll(Map<PlayerId, L> statLines) {
+        statLines.forEach(this::update);
+    }
+
+    /**
+     * Returns the number of players who currently qualify for the leaderboard.
+     */
+    public int getNumberOfQualifiedPlayers() {
+        return ranking.size();
+    }
+
+    /**
+     * Returns the top leaders.
+     */
+    public StatLeaders<T, S> getLeaders(int top) {
+        checkPositive(top);
+        List<Entry<T>> leaders = new ArrayList<>(Math.min(top, ranking.size()));
+        Iterator<Entry<T>> it = ranking.iterator();
+        while (it.hasNext() && leaders.size() < top) {
+            leaders.add(it.next());
+        }
+        return new StatLeaders<>(stat, leaders);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s leaderboard: %d qualified players", stat.abbrev(), ranking.size());
+    }
+}
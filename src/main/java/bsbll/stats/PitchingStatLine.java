@@ -6,6 +6,7 @@ import static tzeth.preconds.MorePreconditions.checkNotNegative;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 import javax.annotation.concurrent.Immutable;
 
@@ -58,6 +59,25 @@ public final class PitchingStatLine extends StatLine<PrimitivePitchingStat, Pitc
         return new Builder();
     }
     
+    /**
+     * Hands what the given play adds to the stats of the pitcher to the given consumer, as
+     * (stat, delta) pairs. Every stat that a play can change is handed over, including the
+     * ones that this play adds 0 to. This is what {@link Builder#add(PlayOutcome, int)} adds,
+     * and is shared with the components that keep their own counters of the stats.
+     */
+    public static void forEachStatOfPlay(PlayOutcome o, int runs, ObjIntConsumer<PrimitivePitchingStat> consumer) {
+        EventType t = o.getType();
+        consumer.accept(BATTERS_FACED, 1);
+        consumer.accept(OUTS, o.getNumberOfOuts());
+        consumer.accept(HITS, o.isBaseHit() ? 1 : 0);
+        consumer.accept(HOMERUNS, t == EventType.HOMERUN ? 1 : 0);
+        consumer.accept(RUNS, runs);
+        consumer.accept(EARNED_RUNS, runs);
+        consumer.accept(WALKS, t == EventType.WALK ? 1 : 0);
+        consumer.accept(STRIKEOUTS, t == EventType.STRIKEOUT ? 1 : 0);
+        consumer.accept(HIT_BY_PITCHES, t == EventType.HIT_BY_PITCH ? 1 : 0);
+    }
+    
     public static Builder forNewGame() {
         return builder().set(GAMES, 1);
     }
@@ -84,16 +104,8 @@ public final class PitchingStatLine extends StatLine<PrimitivePitchingStat, Pitc
         public Builder add(PlayOutcome o, int runs) {
             requireNonNull(o);
             checkNotNegative(runs);
-            EventType t = o.getType();
-            return set(BATTERS_FACED, get(BATTERS_FACED) + 1)
-                    .set(OUTS, get(OUTS) + o.getNumberOfOuts())
-                    .set(HITS, get(HITS) + (o.isBaseHit() ? 1 : 0))
-                    .set(HOMERUNS, get(HOMERUNS) + (t == EventType.HOMERUN ? 1 : 0))
-                    .set(RUNS, get(RUNS) + runs)
-                    .set(EARNED_RUNS, get(EARNED_RUNS) + runs)
-                    .set(WALKS, get(WALKS) + (t == EventType.WALK ? 1 : 0))
-                    .set(STRIKEOUTS, get(STRIKEOUTS) + (t == EventType.STRIKEOUT ? 1 : 0))
-                    .set(HIT_BY_PITCHES, get(HIT_BY_PITCHES) + (t == EventType.HIT_BY_PITCH ? 1 : 0));
+            forEachStatOfPlay(o, runs, (stat, delta) -> set(stat, get(stat) + delta));
+            return this;
         }
 
         public int get(PrimitivePitchingStat stat) {
@@ -4,20 +4,45 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 import static tzeth.preconds.MorePreconditions.checkPositive;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import javax.annotation.concurrent.Immutable;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import bsbll.player.PlayerId;
 
 @Immutable
 public final class StatLeaders<T, S extends Stat<T>> {
+    /**
+     * The derived stats whose leaders in a {@link ColumnarStats} are ranked straight from
+     * the column loops. The values of a loop order the players the same way as the
+     * {@link Stat#leaderOrder() leader order} of the stat, so only the leaders themselves
+     * need their values computed.
+     */
+    private static final ImmutableMap<Stat<?>, ColumnRanking> COLUMN_RANKINGS =
+            ImmutableMap.<Stat<?>, ColumnRanking>builder()
+            .put(BattingStat.AT_BATS, ColumnRanking.highestFirst(s -> asDoubles(s.atBats())))
+            .put(BattingStat.TOTAL_BASES, ColumnRanking.highestFirst(s -> asDoubles(s.totalBases())))
+            .put(BattingStat.BATTING_AVERAGE, ColumnRanking.highestFirst(ColumnarStats::battingAverages))
+            .put(BattingStat.SLUGGING_PERCENTAGE, ColumnRanking.highestFirst(ColumnarStats::sluggingPercentages))
+            .put(BattingStat.ON_BASE_PERCENTAGE, ColumnRanking.highestFirst(ColumnarStats::onBasePercentages))
+            .put(PitchingStat.INNINGS_PITCHED, ColumnRanking.highestFirst(s -> asDoubles(s.inningsPitched())))
+            .put(PitchingStat.WIN_PCT, ColumnRanking.highestFirst(ColumnarStats::winningPercentages))
+            .put(PitchingStat.ERA, ColumnRanking.lowestFirst(ColumnarStats::eras))
+            .put(PitchingStat.H9, ColumnRanking.lowestFirst(s -> s.per9Innings(PitchingStat.HITS)))
+            .put(PitchingStat.SO9, ColumnRanking.highestFirst(s -> s.per9Innings(PitchingStat.STRIKEOUTS)))
+            .put(PitchingStat.BB9, ColumnRanking.lowestFirst(s -> s.per9Innings(PitchingStat.WALKS)))
+            .put(PitchingStat.WHIP, ColumnRanking.lowestFirst(ColumnarStats::whips))
+            .build();
+
     private final S stat;
     private final ImmutableList<Entry<T>> entries;
     
@@ -58,6 +83,77 @@ public final class StatLeaders<T, S extends Stat<T>> {
         return compute(statLines, stat, top, filter, PitchingStatLine::get);
     }
 
+    /**
+     * Returns the leaders among all the players of a columnar store who have batted.
+     */
+    public static <T, S extends BattingStat<T>> StatLeaders<T, S> batting(ColumnarStats stats, S stat, int top) {
+        return batting(stats, stat, top, stats.battersWithAtBats(Integer.MIN_VALUE));
+    }
+
+    /**
+     * Returns the leaders among the players of a columnar store with at least the given
+     * number of at bats. The players are qualified by a pass over the columns, and ranked
+     * by the column loop of the stat, if it has one.
+     */
+    public static <T, S extends BattingStat<T>> StatLeaders<T, S> batting(ColumnarStats stats, S stat, int top,
+            int minAtBats) {
+        checkPositive(minAtBats);
+        return batting(stats, stat, top, stats.battersWithAtBats(minAtBats));
+    }
+
+    private static <T, S extends BattingStat<T>> StatLeaders<T, S> batting(ColumnarStats stats, S stat, int top,
+            int[] qualified) {
+        return compute(stats, stat, top, qualified, stats::getBattingStat);
+    }
+
+    /**
+     * Returns the leaders among all the players of a columnar store who have pitched.
+     */
+    public static <T, S extends PitchingStat<T>> StatLeaders<T, S> pitching(ColumnarStats stats, S stat, int top) {
+        return pitching(stats, stat, top, stats.pitchersWithOuts(Integer.MIN_VALUE));
+    }
+
+    /**
+     * Returns the leaders among the players of a columnar store with at least the given
+     * number of innings pitched. The players are qualified by a pass over the columns, and
+     * ranked by the column loop of the stat, if it has one.
+     */
+    public static <T, S extends PitchingStat<T>> StatLeaders<T, S> pitching(ColumnarStats stats, S stat, int top,
+            InningsPitched minIPs) {
+        return pitching(stats, stat, top, stats.pitchersWithOuts(minIPs.toOuts()));
+    }
+
+    private static <T, S extends PitchingStat<T>> StatLeaders<T, S> pitching(ColumnarStats stats, S stat, int top,
+            int[] qualified) {
+        return compute(stats, stat, top, qualified, stats::getPitchingStat);
+    }
+
+    private static <T, S extends Stat<T>> StatLeaders<T, S> compute(ColumnarStats stats, S stat, int top,
+            int[] qualified, BiFunction<Integer, S, T> getter) {
+        requireNonNull(stat);
+        checkPositive(top);
+        ColumnRanking ranking = COLUMN_RANKINGS.get(stat);
+        if (ranking == null) {
+            List<Entry<T>> entries = Arrays.stream(qualified)
+                    .mapToObj(p -> new Entry<>(stats.getPlayer(p), getter.apply(p, stat)))
+                    .sorted(Comparator.comparing(Entry::getValue, stat.leaderOrder()))
+                    .limit(top)
+                    .collect(toList());
+            return new StatLeaders<>(stat, entries);
+        }
+        List<Entry<T>> entries = Arrays.stream(qualified)
+                .boxed()
+                .sorted(ranking.order(stats))
+                .limit(top)
+                .map(p -> new Entry<>(stats.getPlayer(p), getter.apply(p, stat)))
+                .collect(toList());
+        return new StatLeaders<>(stat, entries);
+    }
+
+    private static double[] asDoubles(int[] values) {
+        return Arrays.stream(values).asDoubleStream().toArray();
+    }
+
     private static <T, S extends Stat<T>, L> StatLeaders<T, S> compute(Map<PlayerId, L> statLines, S stat, 
             int top, Predicate<Map.Entry<PlayerId, L>> filter, BiFunction<L, S, T> getter) {
         requireNonNull(stat);
@@ -86,6 +182,40 @@ public final class StatLeaders<T, S extends Stat<T>> {
     }
 
 
+    /**
+     * Ranks the players of a ColumnarStats by one of its column loops.
+     */
+    @Immutable
+    private static final class ColumnRanking {
+        private final Function<ColumnarStats, double[]> values;
+        private final boolean highestFirst;
+
+        private ColumnRanking(Function<ColumnarStats, double[]> values, boolean highestFirst) {
+            this.values = values;
+            this.highestFirst = highestFirst;
+        }
+
+        static ColumnRanking highestFirst(Function<ColumnarStats, double[]> values) {
+            return new ColumnRanking(values, true);
+        }
+
+        static ColumnRanking lowestFirst(Function<ColumnarStats, double[]> values) {
+            return new ColumnRanking(values, false);
+        }
+
+        /**
+         * Returns the order of the ordinals of the players in the given store.
+         */
+        Comparator<Integer> order(ColumnarStats stats) {
+            double[] v = values.apply(stats);
+            Comparator<Integer> ascending = Comparator.comparingDouble(p -> v[p]);
+            return highestFirst
+                    ? ascending.reversed()
+                    : ascending;
+        }
+    }
+
+
     @Immutable
     public static final class Entry<T> {
         private final PlayerId playerId;
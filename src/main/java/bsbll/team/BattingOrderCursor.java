@@ -0,0 +1,53 @@
+package bsbll.team;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import bsbll.player.Player;
+
+/**
+ * Keeps track of whose turn it is to bat in a {@link BattingOrder}, over the course of a
+ * single game. Obtain an instance by calling {@link BattingOrder#newCursor()}.
+ */
+@NotThreadSafe
+public final class BattingOrderCursor {
+    private final BattingOrder battingOrder;
+    private Player currentBatter;
+    private int nextBatter;
+
+    BattingOrderCursor(BattingOrder battingOrder) {
+        this.battingOrder = requireNonNull(battingOrder);
+    }
+
+    public BattingOrder getBattingOrder() {
+        return battingOrder;
+    }
+
+    /**
+     * Returns the next batter, and moves the cursor to the batter after that.
+     */
+    public Player nextBatter() {
+        Player batter = battingOrder.getBatters().get(nextBatter);
+        ++nextBatter;
+        if (nextBatter == battingOrder.getBatters().size()) {
+            nextBatter = 0;
+        }
+        this.currentBatter = batter;
+        return batter;
+    }
+    
+    /**
+     * Moves the cursor back to the current batter, who did not complete his turn at bat,
+     * for example because the inning ended with the runner caught stealing.
+     */
+    public void returnBatter(Player batter) {
+        requireNonNull(batter);
+        checkArgument(batter == this.currentBatter, "%s is not the current batter.", batter);
+        --nextBatter;
+        if (nextBatter == -1) {
+            nextBatter = battingOrder.getBatters().size() - 1;
+        }
+    }
+}
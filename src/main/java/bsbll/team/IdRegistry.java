@@ -0,0 +1,135 @@
+package bsbll.team;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.concurrent.Immutable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+
+/**
+ * Assigns dense int ordinals to the teams and the players of a simulation, so that
+ * components on the hot path can keep per-team and per-player state in arrays rather than
+ * in maps keyed by the string-based IDs.
+ * <p>
+ * The teams are numbered from 0 in the order they are given, and the players are numbered
+ * from 0 in the order they appear in the rosters of the teams, batters before pitchers. A
+ * player who is on more than one roster keeps the first ordinal.
+ */
+@Immutable
+public final class IdRegistry {
+    private final ImmutableList<Team> teams;
+    private final ImmutableList<Player> players;
+    private final ImmutableMap<TeamId, Integer> teamOrdinals;
+    private final ImmutableMap<PlayerId, Integer> playerOrdinals;
+
+    private IdRegistry(ImmutableList<Team> teams, ImmutableList<Player> players,
+            ImmutableMap<TeamId, Integer> teamOrdinals, ImmutableMap<PlayerId, Integer> playerOrdinals) {
+        this.teams = teams;
+        this.players = players;
+        this.teamOrdinals = teamOrdinals;
+        this.playerOrdinals = playerOrdinals;
+    }
+
+    public static IdRegistry of(Collection<Team> teams) {
+        ImmutableList.Builder<Team> teamList = ImmutableList.builder();
+        ImmutableList.Builder<Player> playerList = ImmutableList.builder();
+        Map<TeamId, Integer> teamOrdinals = new HashMap<>();
+        Map<PlayerId, Integer> playerOrdinals = new HashMap<>();
+        for (Team team : teams) {
+            checkArgument(!teamOrdinals.containsKey(team.getId()), "Duplicate team: %s", team.getId());
+            teamOrdinals.put(team.getId(), teamOrdinals.size());
+            teamList.add(team);
+            for (Player player : team.getRoster().getBatters()) {
+                if (playerOrdinals.putIfAbsent(player.getId(), playerOrdinals.size()) == null) {
+                    playerList.add(player);
+                }
+            }
+            for (Player player : team.getRoster().getStartingPitchers()) {
+                if (playerOrdinals.putIfAbsent(player.getId(), playerOrdinals.size()) == null) {
+                    playerList.add(player);
+                }
+            }
+        }
+        return new IdRegistry(teamList.build(), playerList.build(), ImmutableMap.copyOf(teamOrdinals),
+                ImmutableMap.copyOf(playerOrdinals));
+    }
+
+    public int getNumberOfTeams() {
+        return teams.size();
+    }
+
+    public int getNumberOfPlayers() {
+        return players.size();
+    }
+
+    public boolean contains(PlayerId playerId) {
+        return playerOrdinals.containsKey(requireNonNull(playerId));
+    }
+
+    /**
+     * Returns the ordinal of the given team.
+     *
+     * @throws IllegalArgumentException
+     *             if the team is not in this registry
+     */
+    public int ordinal(TeamId teamId) {
+        Integer ordinal = teamOrdinals.get(requireNonNull(teamId));
+        checkArgument(ordinal != null, "No such team: %s", teamId);
+        return ordinal;
+    }
+
+    public int ordinal(Player player) {
+        return ordinal(player.getId());
+    }
+
+    /**
+     * Returns the ordinal of the given player.
+     *
+     * @throws IllegalArgumentException
+     *             if the player is not in this registry
+     */
+    public int ordinal(PlayerId playerId) {
+        Integer ordinal = playerOrdinals.get(requireNonNull(playerId));
+        checkArgument(ordinal != null, "No such player: %s", playerId);
+        return ordinal;
+    }
+
+    /**
+     * Returns the ordinal of the given player, or -1 if the player is not in this
+     * registry.
+     */
+    public int ordinalOrMinusOne(PlayerId playerId) {
+        return playerOrdinals.getOrDefault(requireNonNull(playerId), -1);
+    }
+
+    public Team getTeam(int ordinal) {
+        return teams.get(ordinal);
+    }
+
+    public Player getPlayer(int ordinal) {
+        return players.get(ordinal);
+    }
+
+    /**
+     * Returns the IDs of the players, in the order of their ordinals.
+     */
+    public ImmutableList<PlayerId> getPlayerIds() {
+        return players.stream()
+                .map(Player::getId)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d teams, %d players", teams.size(), players.size());
+    }
+}
@@ -3,8 +3,11 @@ package bsbll.team;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import javax.annotation.concurrent.Immutable;
+
 import bsbll.player.Player;
 
+@Immutable
 public final class Lineup {
     private final BattingOrder battingOrder;
     private final Player pitcher;
@@ -5,10 +5,13 @@ import static com.google.common.base.Preconditions.checkArgument;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.concurrent.Immutable;
+
 import com.google.common.collect.ImmutableList;
 
 import bsbll.player.Player;
 
+@Immutable
 public final class Roster {
     private final ImmutableList<Player> batters;
     private final Rotation rotation;
@@ -20,15 +23,31 @@ public final class Roster {
         this.rotation = new Rotation(startingPitchers);
     }
 
+    public ImmutableList<Player> getBatters() {
+        return batters;
+    }
+    
+    public ImmutableList<Player> getStartingPitchers() {
+        return rotation.getPitchers();
+    }
+    
+    public Rotation getRotation() {
+        return rotation;
+    }
+
     /**
-     * Gets the lineup for a new game.
+     * Gets the lineup for a new game, with the given starting pitcher.
      * <p>
-     * A new {@code Lineup} instance is returned by each call.
+     * Which pitcher starts is decided by the caller, typically with the help of a
+     * {@link RotationCursor}. A new {@code Lineup} instance is returned by each call.
+     * 
+     * @throws IllegalArgumentException
+     *             if the pitcher is not in the rotation
      */
-    public Lineup getLineup() {
-        Player pitcher = rotation.nextStartingPitcher();
-        BattingOrder bo = createBattingOrder(pitcher);
-        return new Lineup(bo, pitcher);
+    public Lineup getLineup(Player startingPitcher) {
+        checkArgument(rotation.contains(startingPitcher), "%s is not in the rotation", startingPitcher);
+        BattingOrder bo = createBattingOrder(startingPitcher);
+        return new Lineup(bo, startingPitcher);
     }
 
     private BattingOrder createBattingOrder(Player pitcher) {
@@ -4,32 +4,53 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import java.util.List;
 
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.Immutable;
 
 import com.google.common.collect.ImmutableList;
 
 import bsbll.player.Player;
 
-@NotThreadSafe
+/**
+ * The starting pitchers of a team, in the order they take their turns.
+ * <p>
+ * The Rotation itself does not keep track of whose turn it is to start. That is up to
+ * whoever schedules the games, either by passing a {@link RotationCursor} from one game
+ * to the next, or by asking directly for the starter of a given turn.
+ */
+@Immutable
 public final class Rotation {
     private final ImmutableList<Player> pitchers;
-    private int nextStartingPitcher;
-    
-    // TODO: Same question as for Lineup. Where should we keep track of the 
-    // next starting pitcher?
     
     public Rotation(List<Player> pitchers) {
         checkArgument(!pitchers.isEmpty());
         this.pitchers = ImmutableList.copyOf(pitchers);
     }
     
-    public Player nextStartingPitcher() {
-        Player p = pitchers.get(nextStartingPitcher);
-        ++nextStartingPitcher;
-        if (nextStartingPitcher == pitchers.size()) {
-            nextStartingPitcher = 0;
-        }
-        return p;
+    public ImmutableList<Player> getPitchers() {
+        return pitchers;
+    }
+    
+    public int size() {
+        return pitchers.size();
+    }
+    
+    /**
+     * Returns the starting pitcher of the given turn, where turn 0 is the first game of
+     * the team. The turns wrap around after the last pitcher in the rotation.
+     */
+    public Player getStartingPitcher(int turn) {
+        checkArgument(turn >= 0, "turn must not be negative, was %s", turn);
+        return pitchers.get(turn % pitchers.size());
+    }
+    
+    /**
+     * Returns a cursor pointing at the first pitcher in the rotation.
+     */
+    public RotationCursor cursor() {
+        return new RotationCursor(this, 0);
+    }
+    
+    boolean contains(Player p) {
+        return pitchers.contains(p);
     }
-
 }
@@ -0,0 +1,71 @@
+package bsbll.team;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import bsbll.player.Player;
+
+/**
+ * Points at the pitcher whose turn it is to start in a {@link Rotation}.
+ * <p>
+ * The cursor is immutable: {@link #next()} returns a new cursor rather than moving this
+ * one. A scheduler can therefore hand out the starters of several games up front, and
+ * the games can then be played in any order, or concurrently.
+ */
+@Immutable
+public final class RotationCursor {
+    private final Rotation rotation;
+    private final int position;
+
+    RotationCursor(Rotation rotation, int position) {
+        this.rotation = requireNonNull(rotation);
+        this.position = position;
+    }
+
+    public Rotation getRotation() {
+        return rotation;
+    }
+
+    /**
+     * Returns the position in the rotation, where 0 is the first pitcher.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public Player getStartingPitcher() {
+        return rotation.getPitchers().get(position);
+    }
+
+    /**
+     * Returns a cursor pointing at the next pitcher in the rotation, wrapping around after
+     * the last one.
+     */
+    public RotationCursor next() {
+        return new RotationCursor(rotation, (position + 1) % rotation.size());
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rotation.hashCode() + position;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof RotationCursor) {
+            RotationCursor o = (RotationCursor) obj;
+            return this.rotation == o.rotation && this.position == o.position;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%d of %d)", getStartingPitcher(), position + 1, rotation.size());
+    }
+}
@@ -0,0 +1,96 @@
+package bsbll;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Predicate;
+
+import bsbll.card.PlayerCard;
+import bsbll.card.PlayerCardLookup;
+import bsbll.player.Player;
+
+/**
+ * Creates the PlayerCardLookups that are used by the unit tests.
+ */
+public final class TestCardLookups {
+    /**
+     * The card of an average player, over 600 plate appearances.
+     */
+    public static final PlayerCard AVERAGE_CARD = PlayerCard.builder(600)
+            .hits(150)
+            .doubles(30)
+            .triples(5)
+            .homeruns(10)
+            .strikeouts(60)
+            .walks(50)
+            .hitByPitches(5)
+            .build();
+    /**
+     * The card of a slugger, with a lot of homeruns and walks.
+     */
+    public static final PlayerCard SLUGGER_CARD = PlayerCard.builder(600)
+            .hits(180)
+            .doubles(40)
+            .triples(5)
+            .homeruns(45)
+            .strikeouts(80)
+            .walks(90)
+            .hitByPitches(5)
+            .build();
+    /**
+     * The card of a strong, all-around hitter.
+     */
+    public static final PlayerCard STRONG_CARD = PlayerCard.builder(600)
+            .hits(200)
+            .doubles(40)
+            .triples(10)
+            .homeruns(30)
+            .strikeouts(40)
+            .walks(80)
+            .hitByPitches(5)
+            .build();
+
+    /**
+     * Returns a lookup that gives everybody the average card.
+     */
+    public static PlayerCardLookup fixed() {
+        return withBattingCard(p -> false, AVERAGE_CARD);
+    }
+
+    /**
+     * Returns a lookup that gives the strong card to the batters of the teams whose id
+     * starts with "STR", and the average card to everybody else.
+     */
+    public static PlayerCardLookup strongTeams() {
+        return withBattingCard(p -> p.getId().toString().startsWith("STR"), STRONG_CARD);
+    }
+
+    /**
+     * Returns a lookup that gives the given batting card to the batters that match the
+     * given predicate, and the average card to everybody else.
+     */
+    public static PlayerCardLookup withBattingCard(Predicate<? super Player> batters, PlayerCard card) {
+        requireNonNull(batters);
+        requireNonNull(card);
+        return new PlayerCardLookup() {
+
+            @Override
+            public PlayerCard getBattingCard(Player player) {
+                return batters.test(player)
+                        ? card
+                        : AVERAGE_CARD;
+            }
+
+            @Override
+            public PlayerCard getPitchingCard(Player player) {
+                return AVERAGE_CARD;
+            }
+
+            @Override
+            public PlayerCard getLeagueCard() {
+                return AVERAGE_CARD;
+            }
+        };
+    }
+
+    private TestCardLookups() {/**/}
+}
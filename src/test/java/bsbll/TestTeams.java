@@ -0,0 +1,33 @@
+package bsbll;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import bsbll.player.Player;
+import bsbll.team.Roster;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import bsbll.team.TeamName;
+
+/**
+ * Creates the teams that are used by the unit tests.
+ */
+public final class TestTeams {
+    /**
+     * Creates a team with the given id, with 8 batters and 4 pitchers. The ids of the players
+     * are "[id] Batter [n]" and "[id] Pitcher [n]".
+     */
+    public static Team createTeam(String id) {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 1; n <= 8; ++n) {
+            batters.add(new Player(id + " Batter " + n, "John Doe"));
+        }
+        List<Player> pitchers = new ArrayList<>();
+        for (int n = 1; n <= 4; ++n) {
+            pitchers.add(new Player(id + " Pitcher " + n, "John Doe"));
+        }
+        return new Team(TeamId.of(id), new TeamName(id, id, id), new Roster(batters, pitchers));
+    }
+
+    private TestTeams() {/**/}
+}
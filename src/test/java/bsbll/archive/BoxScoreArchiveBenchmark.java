@@ -0,0 +1,108 @@
+package bsbll.archive;
+
+import static bsbll.TestTeams.createTeam;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.params.GamePlayParams;
+import bsbll.league.BoxScoreSink;
+import bsbll.league.League;
+import bsbll.league.LeagueId;
+import bsbll.league.RetainingBoxScoreSink;
+import bsbll.league.ScheduleExecutor;
+import bsbll.league.ScheduleGenerator;
+import bsbll.team.Team;
+
+/**
+ * Measures the write and read throughput of the box score archive, for a season of an
+ * eight-team league with 154 games per team.
+ */
+public final class BoxScoreArchiveBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        List<Team> teams = new ArrayList<>();
+        for (int t = 0; t < 8; ++t) {
+            teams.add(createTeam(String.format("T%02d", t)));
+        }
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(ScheduleGenerator.builder(teams).gamesPerMatchup(22).build().generate(), 1L);
+        ImmutableList<BoxScore> boxScores = sink.getBoxScores();
+        for (boolean includePlays : new boolean[] {true, false}) {
+            System.out.println(includePlays ? "With plays:" : "Without plays:");
+            for (int run = 1; run <= 5; ++run) {
+                Path directory = Files.createTempDirectory("bsbll-archive");
+                try {
+                    runOnce(directory, boxScores, teams, includePlays);
+                } finally {
+                    delete(directory);
+                }
+            }
+        }
+    }
+
+    private static void runOnce(Path directory, ImmutableList<BoxScore> boxScores, List<Team> teams,
+            boolean includePlays) throws IOException {
+        long start = System.nanoTime();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory)
+                .includePlays(includePlays)
+                .build()) {
+            for (BoxScore boxScore : boxScores) {
+                writer.append(boxScore);
+            }
+        }
+        long written = System.nanoTime() - start;
+        long bytes = size(directory);
+
+        start = System.nanoTime();
+        BoxScoreArchiveReader reader = BoxScoreArchiveReader.open(directory, teams);
+        int innings = 0;
+        for (int g = 0; g < reader.getNumberOfGames(); ++g) {
+            ArchivedGame game = reader.getGame(g);
+            innings += game.getLineScore().getHomeLine().getInnings().size();
+            innings += game.getBattingLines().size() + game.getPitchingLines().size();
+            innings += game.getPlays().size();
+        }
+        long readAll = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        innings += reader.getGameLog().size();
+        long readLineScores = System.nanoTime() - start;
+
+        System.out.println(String.format(
+                "  %d games, %.1f KB (%.0f bytes/game): write %s, read all %s, read line scores %s [%d]",
+                boxScores.size(), bytes / 1024.0, (double) bytes / boxScores.size(),
+                throughput(boxScores.size(), bytes, written), throughput(boxScores.size(), bytes, readAll),
+                throughput(boxScores.size(), bytes, readLineScores), innings));
+    }
+
+    private static String throughput(int games, long bytes, long nanos) {
+        double seconds = nanos / 1e9;
+        return String.format("%.0f games/s (%.1f MB/s)", games / seconds, bytes / seconds / (1 << 20));
+    }
+
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(f -> f.toFile().length()).sum();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
@@ -0,0 +1,224 @@
+package bsbll.archive;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.LineScore;
+import bsbll.game.PitcherOfRecord;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.play.Play;
+import bsbll.league.BoxScoreSink;
+import bsbll.league.League;
+import bsbll.league.LeagueId;
+import bsbll.league.RetainingBoxScoreSink;
+import bsbll.league.Schedule;
+import bsbll.league.ScheduleExecutor;
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.Lineup;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for BoxScoreArchiveWriter and BoxScoreArchiveReader.
+ */
+public final class BoxScoreArchiveTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"));
+    private final ImmutableList<BoxScore> boxScores = play(Schedule.homeAndAwaySeries(teams, 3));
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsBackWhatWasWritten() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory).build()) {
+            for (int g = 0; g < boxScores.size(); ++g) {
+                assertEquals(g, writer.append(boxScores.get(g)));
+            }
+        }
+        BoxScoreArchiveReader reader = BoxScoreArchiveReader.open(directory, teams);
+        assertEquals(boxScores.size(), reader.getNumberOfGames());
+        // Read the games backwards, to make sure they are located through the index.
+        for (int g = boxScores.size() - 1; g >= 0; --g) {
+            assertSameGame(boxScores.get(g), reader.getGame(g));
+        }
+    }
+
+    @Test
+    public void startsNewSegmentsWhenTheyAreFull() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory)
+                .includePlays(false)
+                .maximumSegmentSize(1000)
+                .build()) {
+            boxScores.forEach(writer.asSink(teams)::add);
+        }
+        assertTrue(Files.exists(directory.resolve(ArchiveFormat.segmentFileName(1))));
+        for (int n = 0; Files.exists(directory.resolve(ArchiveFormat.segmentFileName(n))); ++n) {
+            assertTrue(Files.size(directory.resolve(ArchiveFormat.segmentFileName(n))) <= 1000);
+        }
+        BoxScoreArchiveReader reader = BoxScoreArchiveReader.open(directory, teams);
+        for (int g = 0; g < boxScores.size(); ++g) {
+            ArchivedGame game = reader.getGame(g);
+            assertFalse(game.hasPlays());
+            assertTrue(game.getPlays().isEmpty());
+            assertSameLineScore(boxScores.get(g).getLineScore(), game.getLineScore());
+        }
+    }
+
+    @Test
+    public void sinkReadsTheGameLogFromTheArchive() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory).build()) {
+            League league = new League(LeagueId.AL, Year.of(1923), teams, writer.asSink(teams));
+            new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+                .run(Schedule.homeAndAwaySeries(teams, 3), 11L);
+            ImmutableList<LineScore> gameLog = league.getGameLog();
+            assertEquals(boxScores.size(), gameLog.size());
+            for (int g = 0; g < gameLog.size(); ++g) {
+                assertSameLineScore(boxScores.get(g).getLineScore(), gameLog.get(g));
+            }
+        }
+    }
+
+    @Test
+    public void readerOpenedDuringTheWriteSeesOnlyWholeGames() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory)
+                .maximumSegmentSize(20_000)
+                .build()) {
+            for (int g = 0; g < boxScores.size(); ++g) {
+                writer.append(boxScores.get(g));
+                BoxScoreArchiveReader reader = BoxScoreArchiveReader.open(directory, teams);
+                assertTrue(reader.getNumberOfGames() <= g + 1);
+                for (int r = 0; r < reader.getNumberOfGames(); ++r) {
+                    assertSameGame(boxScores.get(r), reader.getGame(r));
+                }
+            }
+            writer.flush();
+            assertEquals(boxScores.size(), BoxScoreArchiveReader.open(directory, teams).getNumberOfGames());
+        }
+    }
+
+    @Test
+    public void sinkSeesTheGamesAppendedSinceTheGameLogWasLastRead() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory).build()) {
+            BoxScoreSink sink = writer.asSink(teams);
+            sink.add(boxScores.get(0));
+            assertEquals(1, sink.getGameLog().size());
+            assertEquals(1, sink.getGameLog().size());
+            sink.add(boxScores.get(1));
+            ImmutableList<LineScore> gameLog = sink.getGameLog();
+            assertEquals(2, gameLog.size());
+            assertSameLineScore(boxScores.get(1).getLineScore(), gameLog.get(1));
+        }
+    }
+
+    @Test
+    public void rejectsOtherVersionsOfTheFormat() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        try (BoxScoreArchiveWriter writer = BoxScoreArchiveWriter.builder(directory).build()) {
+            writer.append(boxScores.get(0));
+        }
+        Path index = directory.resolve(ArchiveFormat.INDEX_FILE);
+        byte[] bytes = Files.readAllBytes(index);
+        ByteBuffer.wrap(bytes).putInt(4, ArchiveFormat.VERSION + 1);
+        Files.write(index, bytes);
+        try {
+            BoxScoreArchiveReader.open(directory, teams);
+            fail("Expected the archive to be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("version"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void doesNotOverwriteAnExistingArchive() throws IOException {
+        Path directory = folder.newFolder().toPath();
+        BoxScoreArchiveWriter.builder(directory).build().close();
+        BoxScoreArchiveWriter.builder(directory).build();
+    }
+
+    private void assertSameGame(BoxScore expected, ArchivedGame actual) {
+        assertSameLineScore(expected.getLineScore(), actual.getLineScore());
+        assertSameLineup(expected.getHomeLineup(), actual.getHomeLineup());
+        assertSameLineup(expected.getVisitingLineup(), actual.getVisitingLineup());
+        assertSamePitcherOfRecord(expected.getWinningPitcher().get(), actual.getWinningPitcher().get());
+        assertSamePitcherOfRecord(expected.getLosingPitcher().get(), actual.getLosingPitcher().get());
+        Map<PlayerId, BattingStatLine> battingLines = new HashMap<>();
+        expected.getPlayerStats().gatherBattingStats(battingLines::put);
+        assertEquals(battingLines.keySet(), actual.getBattingLines().keySet());
+        battingLines.forEach((id, line) -> {
+            for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                assertEquals(line.get(stat), actual.getBattingLines().get(id).get(stat));
+            }
+        });
+        Map<PlayerId, PitchingStatLine> pitchingLines = new HashMap<>();
+        expected.getPlayerStats().gatherPitchingStats(pitchingLines::put);
+        assertEquals(pitchingLines.keySet(), actual.getPitchingLines().keySet());
+        pitchingLines.forEach((id, line) -> {
+            for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                assertEquals(line.get(stat), actual.getPitchingLines().get(id).get(stat));
+            }
+        });
+        assertTrue(actual.hasPlays());
+        ImmutableList<Play> plays = actual.getPlays();
+        assertEquals(expected.getPlays().size(), plays.size());
+        for (int p = 0; p < plays.size(); ++p) {
+            Play play = expected.getPlays().get(p);
+            assertEquals(play.getBatter(), plays.get(p).getBatter());
+            assertEquals(play.getPitcher(), plays.get(p).getPitcher());
+            assertEquals(play.getOutcome().getType(), plays.get(p).getOutcome().getType());
+            assertEquals(play.getNumberOfErrors(), plays.get(p).getNumberOfErrors());
+            assertEquals(ImmutableList.copyOf(play.getAdvances()), ImmutableList.copyOf(plays.get(p).getAdvances()));
+        }
+    }
+
+    private static void assertSameLineScore(LineScore expected, LineScore actual) {
+        assertSame(expected.getHomeTeam(), actual.getHomeTeam());
+        assertSame(expected.getVisitingTeam(), actual.getVisitingTeam());
+        assertEquals(expected.getHomeLine().getInnings(), actual.getHomeLine().getInnings());
+        assertEquals(expected.getVisitingLine().getInnings(), actual.getVisitingLine().getInnings());
+    }
+
+    private static void assertSameLineup(Lineup expected, Lineup actual) {
+        assertEquals(expected.getPitcher(), actual.getPitcher());
+        assertEquals(expected.getBattingOrder().getBatters(), actual.getBattingOrder().getBatters());
+    }
+
+    private static void assertSamePitcherOfRecord(PitcherOfRecord expected, PitcherOfRecord actual) {
+        assertEquals(expected.getPitcher(), actual.getPitcher());
+        assertEquals(expected.getDecision(), actual.getDecision());
+        assertEquals(expected.getRecord().getWins(), actual.getRecord().getWins());
+        assertEquals(expected.getRecord().getLosses(), actual.getRecord().getLosses());
+    }
+
+    private ImmutableList<BoxScore> play(Schedule schedule) {
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(schedule, 11L);
+        return sink.getBoxScores();
+    }
+}
@@ -0,0 +1,47 @@
+package bsbll.card;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bsbll.card.PlayerCard.Category;
+
+/**
+ * Unit test for PlayerCard.
+ */
+public final class PlayerCardTest {
+    
+    private static PlayerCard card() {
+        return PlayerCard.builder(600)
+                .hits(150)
+                .doubles(30)
+                .triples(5)
+                .homeruns(20)
+                .strikeouts(90)
+                .walks(60)
+                .hitByPitches(6)
+                .build();
+    }
+
+    @Test
+    public void derivedCategories() {
+        PlayerCard card = card();
+        assertEquals(card.hits().subtract(card.doubles()).subtract(card.triples()).subtract(card.homeruns()), 
+                card.singles());
+        assertEquals(card.doubles().add(card.triples()).add(card.homeruns()), card.extraBaseHits());
+        assertEquals(card.strikeouts().add(card.walks()).add(card.hitByPitches()), card.noContact());
+        assertEquals(Probability.complementOf(card.noContact()), card.contact());
+        assertEquals(card.contact().subtract(card.hits()), card.battedOuts());
+    }
+    
+    @Test
+    public void unscaledValuesMatchTheProbabilities() {
+        PlayerCard card = card();
+        for (Category c : Category.values()) {
+            assertEquals(c.name(), card.probability(c).unscaledValue(), card.unscaledValue(c));
+        }
+        assertEquals(card.battedOuts(), card.probability(Category.BATTED_OUTS));
+        assertEquals(card.walks(), card.probability(Category.WALKS));
+    }
+    
+}
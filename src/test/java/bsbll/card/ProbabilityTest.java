@@ -29,6 +29,23 @@ public final class ProbabilityTest {
         assertEquals(Probability.ZERO, Probability.complementOf(Probability.COMPLETE));
     }
     
+    @Test
+    public void primitiveNormalizeMatchesObjectVersion() {
+        Probability a = Probability.of(0.123);
+        Probability b = Probability.of(0.456);
+        assertEquals(Probability.normalize(a, b).get(0).unscaledValue(),
+                Probability.normalize(a.unscaledValue(), b.unscaledValue()));
+    }
+    
+    @Test
+    public void primitiveLog5MatchesObjectVersion() {
+        Probability batter = Probability.of(0.320);
+        Probability pitcher = Probability.of(0.240);
+        Probability league = Probability.of(0.270);
+        assertEquals(Probability.log5(batter, pitcher, league).unscaledValue(),
+                Probability.log5(batter.unscaledValue(), pitcher.unscaledValue(), league.unscaledValue()));
+    }
+    
     private static Die fixedDie(int value) {
         return () -> value;
     }
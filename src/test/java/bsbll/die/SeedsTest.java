@@ -0,0 +1,49 @@
+package bsbll.die;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for Seeds.
+ */
+public final class SeedsTest {
+    private enum Key { A, B, C, D, E, F }
+
+    @Test
+    public void keyStreamsOfAdjacentReplicasDoNotOverlap() {
+        for (long n = 0; n < 20; ++n) {
+            Set<List<Integer>> streams = new HashSet<>();
+            streams.addAll(keyStreams(Seeds.spread(17L, n)));
+            for (List<Integer> stream : keyStreams(Seeds.spread(17L, n + 1))) {
+                assertTrue("Replicas " + n + " and " + (n + 1) + " share a stream", streams.add(stream));
+            }
+        }
+    }
+
+    @Test
+    public void sameSeedGivesTheSameSeeds() {
+        assertEquals(Seeds.spread(17L, 3), Seeds.spread(17L, 3));
+        assertNotEquals(Seeds.spread(17L, 3), Seeds.spread(17L, 4));
+        assertNotEquals(Seeds.spread(17L, 3), Seeds.spread(18L, 3));
+    }
+
+    private static List<List<Integer>> keyStreams(long seed) {
+        KeyedDieFactory<Key> factory = KeyedDieFactory.random(Key.class, seed);
+        List<List<Integer>> streams = new ArrayList<>();
+        for (Key key : Key.values()) {
+            Die die = factory.forKey(key).getDie(1_000_000);
+            List<Integer> stream = new ArrayList<>();
+            for (int r = 0; r < 10; ++r) {
+                stream.add(die.roll());
+            }
+            streams.add(stream);
+        }
+        return streams;
+    }
+}
@@ -0,0 +1,146 @@
+package bsbll.expectancy;
+
+import static bsbll.TestCardLookups.AVERAGE_CARD;
+import static bsbll.TestCardLookups.SLUGGER_CARD;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.card.PlayerCard;
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.DieFactory;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.player.Player;
+
+/**
+ * Unit tests for BattingOrderOptimizer.
+ */
+public final class BattingOrderOptimizerTest {
+    private final Player pitcher = new Player("Pitcher", "John Doe");
+    private final PlayerCardLookup cardLookup = new TestCardLookup();
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+    private final Log5BasedMatchupRunner matchupRunner = new Log5BasedMatchupRunner(cardLookup, DieFactory.random());
+    private final BattingOrderOptimizer optimizer = new BattingOrderOptimizer(params, matchupRunner);
+
+    @Test
+    public void findsTheSameOrderAsExhaustiveSearch() {
+        // The slugger bats ninth and the weak hitter leads off in the given order.
+        List<Player> batters = new ArrayList<>();
+        batters.add(new Player("Weak", "John Doe"));
+        for (int n = 1; n <= 7; ++n) {
+            batters.add(new Player("Average " + n, "John Doe"));
+        }
+        batters.add(new Player("Slugger", "John Doe"));
+        OptimalBattingOrder optimal = optimizer.optimize(batters, pitcher);
+
+        // The average hitters are interchangeable, so it is enough to try every pair of
+        // slots for the slugger and the weak hitter.
+        RunExpectancyCalculator calculator = new RunExpectancyCalculator(params, matchupRunner);
+        double best = 0.0;
+        for (int slugger = 0; slugger < 9; ++slugger) {
+            for (int weak = 0; weak < 9; ++weak) {
+                if (slugger != weak) {
+                    List<Player> order = new ArrayList<>(batters.subList(1, 8));
+                    order.add(Math.min(slugger, weak), batters.get(slugger < weak ? 8 : 0));
+                    order.add(Math.max(slugger, weak), batters.get(slugger < weak ? 0 : 8));
+                    best = Math.max(best, calculator.calculate(order, pitcher).getExpectedRunsForInnings(9));
+                }
+            }
+        }
+        assertEquals(best, optimal.getExpectedRuns(), 1e-6);
+        assertEquals(optimal.getExpectedRuns(),
+                calculator.calculate(optimal.getBatters(), pitcher).getExpectedRunsForInnings(9), 1e-6);
+        assertTrue(optimal.getBatters().containsAll(batters));
+        assertTrue(optimal.getBatters().indexOf(batters.get(8)) < optimal.getBatters().indexOf(batters.get(0)));
+    }
+
+    @Test
+    public void identicalBattersAreOnlyEvaluatedOnce() {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 1; n <= 9; ++n) {
+            batters.add(new Player("Average " + n, "John Doe"));
+        }
+        OptimalBattingOrder optimal = optimizer.optimize(batters, pitcher);
+        assertEquals(batters, optimal.getBatters());
+        assertEquals(1, optimal.getNumberOfEvaluatedOrders());
+    }
+
+    @Test
+    public void resultIsReproducible() {
+        ImmutableList<Player> batters = createDistinctBatters();
+        OptimalBattingOrder first = optimizer.optimize(batters, pitcher);
+        OptimalBattingOrder second = optimizer.optimize(batters, pitcher);
+        assertEquals(first.getBatters(), second.getBatters());
+        assertEquals(first.getExpectedRuns(), second.getExpectedRuns(), 0.0);
+        OptimalBattingOrder reversed = optimizer.optimize(batters.reverse(), pitcher);
+        assertEquals(first.getExpectedRuns(), reversed.getExpectedRuns(), 0.0);
+        // 9! / 4! orders, since the four average hitters are interchangeable.
+        assertEquals(15_120, first.getNumberOfEvaluatedOrders());
+    }
+
+    private static ImmutableList<Player> createDistinctBatters() {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 1; n <= 5; ++n) {
+            batters.add(new Player("Distinct " + n, "John Doe"));
+        }
+        for (int n = 1; n <= 4; ++n) {
+            batters.add(new Player("Average " + n, "John Doe"));
+        }
+        return ImmutableList.copyOf(batters);
+    }
+
+
+    /**
+     * Gives the slugger and the weak hitter their own cards, the distinct hitters cards of
+     * increasing strength, and everybody else an average card.
+     */
+    private static final class TestCardLookup implements PlayerCardLookup {
+        private final PlayerCard weakCard = PlayerCard.builder(600)
+                .hits(110)
+                .doubles(15)
+                .triples(2)
+                .homeruns(1)
+                .strikeouts(120)
+                .walks(20)
+                .hitByPitches(2)
+                .build();
+
+        @Override
+        public PlayerCard getBattingCard(Player player) {
+            String id = player.getId().toString();
+            if (id.equals("Slugger")) {
+                return SLUGGER_CARD;
+            } else if (id.equals("Weak")) {
+                return weakCard;
+            } else if (id.startsWith("Distinct ")) {
+                int n = Integer.parseInt(id.substring("Distinct ".length()));
+                return PlayerCard.builder(600)
+                        .hits(120 + 8 * n)
+                        .doubles(20 + 2 * n)
+                        .triples(n % 3)
+                        .homeruns(3 * n)
+                        .strikeouts(70 + 3 * n)
+                        .walks(30 + 6 * n)
+                        .hitByPitches(3)
+                        .build();
+            }
+            return AVERAGE_CARD;
+        }
+
+        @Override
+        public PlayerCard getPitchingCard(Player player) {
+            return AVERAGE_CARD;
+        }
+
+        @Override
+        public PlayerCard getLeagueCard() {
+            return AVERAGE_CARD;
+        }
+    }
+}
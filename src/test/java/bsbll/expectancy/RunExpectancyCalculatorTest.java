@@ -0,0 +1,112 @@
+package bsbll.expectancy;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.bases.OccupiedBases;
+import bsbll.card.PlayerCardLookup;
+import bsbll.die.DieFactory;
+import bsbll.game.FastHalfInning;
+import bsbll.game.GamePlayDriver;
+import bsbll.game.RunsNeededToWin;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.player.Player;
+import bsbll.team.BattingOrder;
+
+/**
+ * Unit tests for RunExpectancyCalculator.
+ */
+public final class RunExpectancyCalculatorTest {
+    private final Player pitcher = new Player("Pitcher", "John Doe");
+    private final ImmutableList<Player> batters = createBatters();
+    private final PlayerCardLookup cardLookup = TestCardLookups.withBattingCard(
+            p -> p.getId().toString().equals("Batter 4"), TestCardLookups.SLUGGER_CARD);
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+
+    @Test
+    public void outcomeProbabilitiesAddUpToOne() {
+        Log5BasedMatchupRunner runner = new Log5BasedMatchupRunner(cardLookup, DieFactory.random(1L));
+        for (Player batter : batters) {
+            double sum = runner.getOutcomeProbabilities(batter, pitcher).values().stream()
+                    .mapToDouble(Double::doubleValue)
+                    .sum();
+            assertEquals(1.0, sum, 1e-9);
+        }
+    }
+
+    @Test
+    public void runDistributionMatchesExpectedRuns() {
+        RunExpectancy re = calculate();
+        for (int leadoff = 0; leadoff < batters.size(); ++leadoff) {
+            ImmutableList<Double> distribution = re.getRunDistribution(leadoff);
+            double total = 0.0;
+            double mean = 0.0;
+            for (int runs = 0; runs < distribution.size(); ++runs) {
+                total += distribution.get(runs);
+                mean += runs * distribution.get(runs);
+            }
+            assertEquals(1.0, total, 1e-9);
+            assertEquals(re.getExpectedRuns(leadoff), mean, 1e-6);
+            double nextLeadoff = re.getNextLeadoffDistribution(leadoff).stream()
+                    .mapToDouble(Double::doubleValue)
+                    .sum();
+            assertEquals(1.0, nextLeadoff, 1e-9);
+        }
+    }
+
+    @Test
+    public void runnersOnBaseAndFewerOutsMeanMoreRuns() {
+        RunExpectancy re = calculate();
+        assertTrue(re.getExpectedRuns(0, 0, OccupiedBases.LOADED) > re.getExpectedRuns(0, 0, OccupiedBases.NONE));
+        assertTrue(re.getExpectedRuns(0, 0, OccupiedBases.FIRST) > re.getExpectedRuns(0, 1, OccupiedBases.FIRST));
+        assertTrue(re.getExpectedRuns(0, 1, OccupiedBases.FIRST) > re.getExpectedRuns(0, 2, OccupiedBases.FIRST));
+    }
+
+    @Test
+    public void expectedRunsForInnings() {
+        RunExpectancy re = calculate();
+        assertEquals(0.0, re.getExpectedRunsForInnings(0), 0.0);
+        assertEquals(re.getExpectedRuns(0), re.getExpectedRunsForInnings(1), 1e-12);
+        double nine = re.getExpectedRunsForInnings(9);
+        assertTrue(nine > 8 * re.getExpectedRuns(8) && nine < 10 * re.getExpectedRuns(0));
+    }
+
+    @Test
+    public void agreesWithSimulation() {
+        DieFactory dieFactory = DieFactory.random(17L);
+        GamePlayDriver driver = new GamePlayDriver(new Log5BasedMatchupRunner(cardLookup, dieFactory),
+                params, dieFactory);
+        FastHalfInning halfInning = new FastHalfInning(driver);
+        int halfInnings = 50_000;
+        long runs = 0;
+        for (int n = 0; n < halfInnings; ++n) {
+            halfInning.run(BattingOrder.of(batters).newCursor(), pitcher, RunsNeededToWin.notApplicable());
+            runs += halfInning.getRuns();
+        }
+        double simulated = (1.0 * runs) / halfInnings;
+        // The standard error of the simulated value is about 0.005.
+        assertEquals(calculate().getExpectedRuns(0), simulated, 0.03);
+    }
+
+    private RunExpectancy calculate() {
+        RunExpectancyCalculator calculator = new RunExpectancyCalculator(params,
+                new Log5BasedMatchupRunner(cardLookup, DieFactory.random()));
+        return calculator.calculate(batters, pitcher);
+    }
+
+    private static ImmutableList<Player> createBatters() {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 1; n <= 9; ++n) {
+            batters.add(new Player("Batter " + n, "John Doe"));
+        }
+        return ImmutableList.copyOf(batters);
+    }
+}
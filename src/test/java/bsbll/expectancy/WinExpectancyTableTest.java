@@ -0,0 +1,84 @@
+package bsbll.expectancy;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bsbll.TestCardLookups;
+import bsbll.bases.OccupiedBases;
+import bsbll.card.PlayerCardLookup;
+import bsbll.card.Probability;
+import bsbll.die.DieFactory;
+import bsbll.game.Game;
+import bsbll.game.GamePlayDriver;
+import bsbll.game.GameResult;
+import bsbll.game.Inning;
+import bsbll.game.OfficialScorer;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for WinExpectancyTable.
+ */
+public final class WinExpectancyTableTest {
+    private final PlayerCardLookup cardLookup = TestCardLookups.fixed();
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+    private final WinExpectancyTable table = WinExpectancyTable.calculate(params, cardLookup);
+
+    @Test
+    public void evenMatchupAtTheStartOfTheGame() {
+        double p = table.getHomeWinProbability(Inning.startOfGame(), 0).asDouble();
+        assertTrue("Was " + p, p > 0.45 && p < 0.56);
+    }
+
+    @Test
+    public void largerLeadMeansHigherWinProbability() {
+        Inning inning = Inning.topOf(5);
+        Probability trailing = table.getHomeWinProbability(inning, -2);
+        Probability tied = table.getHomeWinProbability(inning, 0);
+        Probability leading = table.getHomeWinProbability(inning, 2);
+        assertTrue(trailing.compareTo(tied) < 0);
+        assertTrue(tied.compareTo(leading) < 0);
+    }
+
+    @Test
+    public void lateInningExtremes() {
+        assertTrue(table.getHomeWinProbability(Inning.bottomOf(9), 2, OccupiedBases.NONE, -10).asDouble() < 0.001);
+        assertTrue(table.getHomeWinProbability(Inning.topOf(9), 5).asDouble() > 0.99);
+        assertEquals(Probability.COMPLETE, table.getHomeWinProbability(Inning.bottomOf(9), 1));
+        // Bases loaded, nobody out, in a tie game in the bottom of the ninth.
+        assertTrue(table.getHomeWinProbability(Inning.bottomOf(9), 0, OccupiedBases.LOADED, 0).asDouble() > 0.8);
+    }
+
+    @Test
+    public void extraInningsAreLikeTheNinth() {
+        assertEquals(table.getHomeWinProbability(Inning.topOf(9), 0),
+                table.getHomeWinProbability(Inning.topOf(13), 0));
+        assertEquals(table.getHomeWinProbability(Inning.bottomOf(9), 1, OccupiedBases.SECOND, -1),
+                table.getHomeWinProbability(Inning.bottomOf(11), 1, OccupiedBases.SECOND, -1));
+    }
+
+    @Test
+    public void agreesWithSimulation() {
+        DieFactory dieFactory = DieFactory.random(3L);
+        GamePlayDriver driver = new GamePlayDriver(new Log5BasedMatchupRunner(cardLookup, dieFactory),
+                params, dieFactory);
+        Team home = createTeam("HOM");
+        Team visitors = createTeam("VIS");
+        int games = 5_000;
+        int homeWins = 0;
+        for (int n = 0; n < games; ++n) {
+            GameResult result = new Game(home, home.getRoster().getRotation().getStartingPitcher(n), 
+                    visitors, visitors.getRoster().getRotation().getStartingPitcher(n), 
+                    driver, new OfficialScorer()).runForResult();
+            if (result.getHomeScore() > result.getVisitingScore()) {
+                ++homeWins;
+            }
+        }
+        double simulated = (1.0 * homeWins) / games;
+        // The standard error of the simulated value is about 0.007.
+        assertEquals(table.getHomeWinProbability(Inning.startOfGame(), 0).asDouble(), simulated, 0.03);
+    }
+}
@@ -11,7 +11,9 @@ import org.junit.Test;
 import com.google.common.collect.ImmutableList;
 
 import bsbll.bases.Base;
+import bsbll.bases.BaseSituation;
 import bsbll.bases.OccupiedBases;
+import bsbll.die.DieFactory;
 import bsbll.game.RunsScored.Run;
 import bsbll.game.params.GamePlayParams;
 import bsbll.game.play.EventType;
@@ -19,10 +21,11 @@ import bsbll.game.play.Play;
 import bsbll.game.play.PlayOutcome;
 import bsbll.player.Player;
 import bsbll.team.BattingOrder;
+import bsbll.team.BattingOrderCursor;
 
-public final class ReconstructedInningTest {
+public final class EarnedRunTrackerTest {
     private final Player pitcher = new Player("pitcher", "Pitcher Doe");
-    private final BattingOrder batters = buildBattingOrder();
+    private final BattingOrderCursor batters = buildBattingOrder().newCursor();
     
     private static BattingOrder buildBattingOrder() {
         List<Player> batters = new ArrayList<>();
@@ -48,9 +51,7 @@ public final class ReconstructedInningTest {
         plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
         plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
         plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
-        ReconstructedInning reconstructed = new ReconstructedInning(Inning.startOfGame(), plays, GamePlayParams.defaultParams());
-        
-        ImmutableList<Run> earnedRuns = reconstructed.getEarnedRuns();
+        ImmutableList<Run> earnedRuns = getEarnedRuns(Inning.startOfGame(), plays);
         
         assertTrue(earnedRuns.isEmpty());
     }
@@ -68,11 +69,39 @@ public final class ReconstructedInningTest {
         plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
         plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
         plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
-        ReconstructedInning reconstructed = new ReconstructedInning(inning, plays, GamePlayParams.defaultParams());
+        ImmutableList<Run> earnedRuns = getEarnedRuns(inning, plays);
+        
+        Run expectedEarnedRun = new Run(inning, new BaseRunner(homerunHitter, pitcher));
+        assertEquals(ImmutableList.of(expectedEarnedRun), earnedRuns);
+    }
+    
+    @Test
+    public void errorWithoutSubsequentRunsLeavesEarlierRunsEarned() {
+        Inning inning = Inning.startOfGame();
+        List<Play> plays = new ArrayList<>();
+        Player homerunHitter = batters.nextBatter();
+        plays.add(new Play(homerunHitter, pitcher, PlayOutcome.homerun(OccupiedBases.NONE)));
+        plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.builder(EventType.OUT)
+                .withSafeOnError(Base.HOME, Base.FIRST)
+                .withErrors(1)
+                .build()));
+        plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
+        plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
+        plays.add(new Play(batters.nextBatter(), pitcher, PlayOutcome.strikeout()));
         
-        ImmutableList<Run> earnedRuns = reconstructed.getEarnedRuns();
+        ImmutableList<Run> earnedRuns = getEarnedRuns(inning, plays);
         
         Run expectedEarnedRun = new Run(inning, new BaseRunner(homerunHitter, pitcher));
         assertEquals(ImmutableList.of(expectedEarnedRun), earnedRuns);
     }
+    
+    private static ImmutableList<Run> getEarnedRuns(Inning inning, List<Play> plays) {
+        EarnedRunTracker tracker = new EarnedRunTracker(inning, GamePlayParams.defaultParams(), DieFactory.random(1L));
+        BaseSituation bases = BaseSituation.empty();
+        for (Play p : plays) {
+            tracker.process(p, bases);
+            bases = p.advanceRunners(bases).getNewSituation();
+        }
+        return tracker.getEarnedRuns();
+    }
 }
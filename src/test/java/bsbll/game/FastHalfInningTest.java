@@ -0,0 +1,151 @@
+package bsbll.game;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import bsbll.TestCardLookups;
+import bsbll.die.DieFactory;
+import bsbll.game.params.BaseHitAdvanceDistribution;
+import bsbll.game.params.ErrorAdvanceDistribution;
+import bsbll.game.params.ErrorCountDistribution;
+import bsbll.game.params.FieldersChoiceProbabilities;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.params.OutAdvanceDistribution;
+import bsbll.game.params.PitchingEventProbabilities;
+import bsbll.game.play.EventType;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.matchup.MatchupRunner;
+import bsbll.matchup.MatchupRunner.Outcome;
+import bsbll.player.Player;
+import bsbll.team.BattingOrder;
+import bsbll.team.BattingOrderCursor;
+
+/**
+ * Unit tests for FastHalfInning.
+ */
+public final class FastHalfInningTest {
+    private final Player pitcher = new Player("Pitcher", "John Doe");
+    private final BattingOrderCursor battingOrder = createBattingOrder().newCursor();
+    private final GamePlayParams params = new GamePlayParams(
+            BaseHitAdvanceDistribution.defaultAdvances(),
+            OutAdvanceDistribution.defaultAdvances(),
+            FieldersChoiceProbabilities.defaultValues(),
+            ErrorCountDistribution.noErrors(),
+            ErrorAdvanceDistribution.defaultAdvances(),
+            PitchingEventProbabilities.zeroProbabilities());
+
+    @Test
+    public void threeStrikeouts() {
+        FastHalfInning halfInning = createHalfInning(
+                Outcome.STRIKEOUT, Outcome.STRIKEOUT, Outcome.STRIKEOUT);
+        halfInning.run(battingOrder, pitcher, RunsNeededToWin.notApplicable());
+        assertEquals(new HalfInning.Stats(0, 0, 0, 3, 0), halfInning.getStats());
+        assertEquals(3, halfInning.getNumberOfPlays());
+        assertEquals(EventType.STRIKEOUT, halfInning.getType(2));
+    }
+
+    @Test
+    public void walksForceInRuns() {
+        FastHalfInning halfInning = createHalfInning(
+                Outcome.WALK, Outcome.HIT_BY_PITCH, Outcome.WALK, Outcome.WALK, Outcome.WALK,
+                Outcome.STRIKEOUT, Outcome.STRIKEOUT, Outcome.STRIKEOUT);
+        halfInning.run(battingOrder, pitcher, RunsNeededToWin.notApplicable());
+        assertEquals(new HalfInning.Stats(2, 0, 0, 3, 3), halfInning.getStats());
+    }
+
+    @Test
+    public void homerunClearsTheBases() {
+        FastHalfInning halfInning = createHalfInning(
+                Outcome.SINGLE, Outcome.SINGLE, Outcome.HOMERUN,
+                Outcome.STRIKEOUT, Outcome.STRIKEOUT, Outcome.DOUBLE, Outcome.STRIKEOUT);
+        halfInning.run(battingOrder, pitcher, RunsNeededToWin.notApplicable());
+        assertEquals(new HalfInning.Stats(3, 4, 0, 3, 1), halfInning.getStats());
+    }
+
+    @Test
+    public void walkOff() {
+        FastHalfInning halfInning = createHalfInning(
+                Outcome.STRIKEOUT, Outcome.TRIPLE, Outcome.SINGLE, Outcome.STRIKEOUT);
+        halfInning.run(battingOrder, pitcher, RunsNeededToWin.of(1));
+        assertEquals(new HalfInning.Stats(1, 2, 0, 1, 1), halfInning.getStats());
+        assertEquals(3, halfInning.getNumberOfPlays());
+    }
+
+    @Test
+    public void battingOrderContinuesInNextHalfInning() {
+        FastHalfInning halfInning = createHalfInning(Outcome.STRIKEOUT);
+        halfInning.run(battingOrder, pitcher, RunsNeededToWin.notApplicable());
+        halfInning.run(battingOrder, pitcher, RunsNeededToWin.notApplicable());
+        assertSame(battingOrder.getBattingOrder().getBatters().get(3), halfInning.getBatter(0));
+    }
+
+    @Test
+    public void noGarbageIsProducedPerPlateAppearance() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        DieFactory dieFactory = DieFactory.random(1L);
+        GamePlayDriver driver = new GamePlayDriver(
+                new Log5BasedMatchupRunner(TestCardLookups.fixed(), dieFactory),
+                GamePlayParams.defaultParams(),
+                dieFactory);
+        FastHalfInning halfInning = new FastHalfInning(driver);
+        RunsNeededToWin notApplicable = RunsNeededToWin.notApplicable();
+        // Warm up, letting the play buffers grow to their final size.
+        for (int n = 0; n < 10_000; ++n) {
+            halfInning.run(battingOrder, pitcher, notApplicable);
+        }
+        long threadId = Thread.currentThread().getId();
+        long plateAppearances = 0;
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int n = 0; n < 10_000; ++n) {
+            halfInning.run(battingOrder, pitcher, notApplicable);
+            plateAppearances += halfInning.getNumberOfPlays();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(plateAppearances > 30_000);
+        // Leave some room for the allocations made by the measurement itself.
+        assertTrue("Allocated " + allocated + " bytes in " + plateAppearances + " plays", allocated < 1024);
+    }
+
+    private FastHalfInning createHalfInning(Outcome... outcomes) {
+        // Rolling the highest possible number fails all probability tests, which means
+        // no fielder's choices, and all outs in the outfield.
+        DieFactory dieFactory = sides -> () -> sides;
+        GamePlayDriver driver = new GamePlayDriver(new ScriptedMatchupRunner(outcomes), params, dieFactory);
+        return new FastHalfInning(driver);
+    }
+
+    private static BattingOrder createBattingOrder() {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 1; n <= 9; ++n) {
+            batters.add(new Player("Batter " + n, "John Doe"));
+        }
+        return BattingOrder.of(batters);
+    }
+
+    private static final class ScriptedMatchupRunner implements MatchupRunner {
+        private final Outcome[] outcomes;
+        private int next;
+
+        public ScriptedMatchupRunner(Outcome... outcomes) {
+            this.outcomes = outcomes;
+        }
+
+        @Override
+        public Outcome run(Player batter, Player pitcher) {
+            Outcome outcome = outcomes[next];
+            next = (next + 1) % outcomes.length;
+            return outcome;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package bsbll.game;
+
+import static bsbll.TestTeams.createTeam;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import bsbll.TestCardLookups;
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.BaseSituation;
+import bsbll.die.DieFactory;
+import bsbll.die.KeyedDieFactory;
+import bsbll.game.event.GameEventDetector;
+import bsbll.game.params.AdvanceChoices;
+import bsbll.game.params.CompiledGamePlayParams;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.params.OutAdvanceKey;
+import bsbll.game.params.OutLocation;
+import bsbll.game.play.EventType;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.player.Player;
+import bsbll.team.BattingOrderCursor;
+import bsbll.team.Team;
+
+/**
+ * Measures the throughput of the game play engines: the advance lookups of the game play
+ * parameters and of their compiled form, a half inning played by HalfInning and by
+ * FastHalfInning, and a game played at each level of fidelity.
+ */
+public final class GamePlayBenchmark {
+    private static final int LOOKUPS = 10_000_000;
+    private static final int HALF_INNINGS = 500_000;
+    private static final int GAMES = 20_000;
+
+    public static void main(String[] args) {
+        GamePlayParams params = GamePlayParams.defaultParams();
+        System.out.println("Advance lookups on outs:");
+        for (int run = 1; run <= 5; ++run) {
+            report(LOOKUPS, "lookups", "GamePlayParams", lookups(params));
+            report(LOOKUPS, "lookups", "CompiledGamePlayParams", compiledLookups(params.compile()));
+        }
+
+        Team home = createTeam("HOM");
+        Team visitors = createTeam("VIS");
+        KeyedDieFactory<DecisionPoint> dice = KeyedDieFactory.random(DecisionPoint.class, 1L);
+        GamePlayDriver driver = new GamePlayDriver(
+                new Log5BasedMatchupRunner(TestCardLookups.fixed(), dice.forKey(DecisionPoint.MATCHUP)),
+                params, dice);
+        System.out.println("Half innings:");
+        for (int run = 1; run <= 5; ++run) {
+            report(HALF_INNINGS, "half innings", "HalfInning", halfInnings(home, visitors, driver));
+            report(HALF_INNINGS, "half innings", "FastHalfInning", fastHalfInnings(home, visitors, driver));
+        }
+
+        System.out.println("Games:");
+        for (int run = 1; run <= 5; ++run) {
+            report(GAMES, "games", "BOX_SCORE", games(() -> newGame(home, visitors, driver).run()
+                    .getLineScore().getTotalRuns()));
+            report(GAMES, "games", "STATS", games(() -> newGame(home, visitors, driver).run(Fidelity.STATS)
+                    .getLineScore().getTotalRuns()));
+            report(GAMES, "games", "LINE_SCORE", games(() -> newGame(home, visitors, driver).runForLineScore()
+                    .getTotalRuns()));
+            report(GAMES, "games", "SCORE", games(() -> newGame(home, visitors, driver).runForResult()
+                    .getHomeScore()));
+        }
+    }
+
+    private static Result lookups(GamePlayParams params) {
+        List<BaseSituation> situations = allBaseSituations();
+        DieFactory dieFactory = DieFactory.random(1L);
+        long start = System.nanoTime();
+        int check = 0;
+        for (int n = 0; n < LOOKUPS; ++n) {
+            BaseSituation situation = situations.get(n & 7);
+            OutAdvanceKey key = OutAdvanceKey.of(EventType.OUT, location(n), n % 3);
+            check += System.identityHashCode(params.getAdvancesOnOut(key, situation, dieFactory));
+        }
+        return new Result(System.nanoTime() - start, check);
+    }
+
+    private static Result compiledLookups(CompiledGamePlayParams params) {
+        List<BaseSituation> situations = allBaseSituations();
+        int[] bases = situations.stream()
+                .mapToInt(s -> BaseOccupancy.of(s.getOccupiedBases()))
+                .toArray();
+        DieFactory dieFactory = DieFactory.random(1L);
+        long start = System.nanoTime();
+        int check = 0;
+        for (int n = 0; n < LOOKUPS; ++n) {
+            AdvanceChoices choices = params.getAdvancesOnOut(EventType.OUT, location(n), n % 3, bases[n & 7]);
+            check += choices.getResult(choices.pickIndex(dieFactory));
+        }
+        return new Result(System.nanoTime() - start, check);
+    }
+
+    private static OutLocation location(int n) {
+        return ((n & 8) == 0)
+                ? OutLocation.INFIELD
+                : OutLocation.OUTFIELD;
+    }
+
+    private static List<BaseSituation> allBaseSituations() {
+        Player pitcher = new Player("Pitcher", "John Doe");
+        List<BaseSituation> situations = new ArrayList<>();
+        for (int mask = 0; mask < 8; ++mask) {
+            situations.add(new BaseSituation(
+                    runner(mask, 1, pitcher), runner(mask, 2, pitcher), runner(mask, 4, pitcher)));
+        }
+        return situations;
+    }
+
+    private static BaseRunner runner(int mask, int bit, Player pitcher) {
+        return ((mask & bit) != 0)
+                ? new BaseRunner(new Player("Runner" + bit, "John Doe"), pitcher)
+                : null;
+    }
+
+    private static Result halfInnings(Team batting, Team fielding, GamePlayDriver driver) {
+        BattingOrderCursor batters = batting.getRoster().getLineup(batting.getRoster().getStartingPitchers().get(0))
+                .getBattingOrder().newCursor();
+        Player pitcher = fielding.getRoster().getStartingPitchers().get(0);
+        PlayerGameStats playerStats = new PlayerGameStats();
+        long start = System.nanoTime();
+        int check = 0;
+        for (int n = 0; n < HALF_INNINGS; ++n) {
+            HalfInning halfInning = new HalfInning(Inning.startOfGame(), batters, pitcher, driver, playerStats,
+                    GameEventDetector.NO_EVENTS, RunsNeededToWin.notApplicable(), Fidelity.LINE_SCORE);
+            check += halfInning.run().getStats().getRuns();
+        }
+        return new Result(System.nanoTime() - start, check);
+    }
+
+    private static Result fastHalfInnings(Team batting, Team fielding, GamePlayDriver driver) {
+        BattingOrderCursor batters = batting.getRoster().getLineup(batting.getRoster().getStartingPitchers().get(0))
+                .getBattingOrder().newCursor();
+        Player pitcher = fielding.getRoster().getStartingPitchers().get(0);
+        FastHalfInning halfInning = new FastHalfInning(driver);
+        long start = System.nanoTime();
+        int check = 0;
+        for (int n = 0; n < HALF_INNINGS; ++n) {
+            halfInning.run(batters, pitcher, RunsNeededToWin.notApplicable());
+            check += halfInning.getStats().getRuns();
+        }
+        return new Result(System.nanoTime() - start, check);
+    }
+
+    private static Result games(IntSupplier game) {
+        long start = System.nanoTime();
+        int check = 0;
+        for (int n = 0; n < GAMES; ++n) {
+            check += game.getAsInt();
+        }
+        return new Result(System.nanoTime() - start, check);
+    }
+
+    private static Game newGame(Team home, Team visitors, GamePlayDriver driver) {
+        return new Game(home, home.getRoster().getStartingPitchers().get(0),
+                visitors, visitors.getRoster().getStartingPitchers().get(0), driver, new OfficialScorer());
+    }
+
+    private static void report(int count, String unit, String name, Result result) {
+        double seconds = result.nanos / 1e9;
+        System.out.println(String.format("  %-22s %,12.0f %s/s [%d]", name, count / seconds, unit, result.check));
+    }
+
+
+    private static final class Result {
+        private final long nanos;
+        private final int check;
+
+        public Result(long nanos, int check) {
+            this.nanos = nanos;
+            this.check = check;
+        }
+    }
+}
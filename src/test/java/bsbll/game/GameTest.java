@@ -0,0 +1,80 @@
+package bsbll.game;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bsbll.TestCardLookups;
+import bsbll.die.DieFactory;
+import bsbll.game.params.GamePlayParams;
+import bsbll.matchup.Log5BasedMatchupRunner;
+import bsbll.player.Player;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for Game.
+ */
+public final class GameTest {
+    private final Team home = createTeam("HOM");
+    private final Team visitors = createTeam("VIS");
+    private final GamePlayDriver driver = new GamePlayDriver(
+            new Log5BasedMatchupRunner(TestCardLookups.fixed(), DieFactory.random(1L)), 
+            GamePlayParams.defaultParams(), 
+            DieFactory.random(2L));
+    
+    @Test
+    public void scoreOnly() {
+        for (int n = 0; n < 20; ++n) {
+            GameResult result = newGame().runForResult();
+            assertEquals(home.getId(), result.getHomeTeamId());
+            assertEquals(visitors.getId(), result.getVisitingTeamId());
+            assertFalse(result.isTie());
+        }
+    }
+    
+    @Test
+    public void lineScore() {
+        for (int n = 0; n < 20; ++n) {
+            LineScore lineScore = newGame().runForLineScore();
+            assertTrue(lineScore.getVisitingLine().getInnings().size() >= 9);
+            assertFalse(lineScore.toGameResult().isTie());
+        }
+    }
+    
+    @Test
+    public void statsOnlyBoxScoreHasNoPlays() {
+        BoxScore boxScore = newGame().run(Fidelity.STATS);
+        assertTrue(boxScore.getPlays().isEmpty());
+        assertTrue(boxScore.getGameEvents().isEmpty());
+        assertEquals(boxScore.getLineScore().getTotalRuns(), boxScore.getRunsScored().stream().count());
+    }
+    
+    @Test
+    public void fullBoxScoreHasPlays() {
+        BoxScore boxScore = newGame().run();
+        assertFalse(boxScore.getPlays().isEmpty());
+    }
+    
+    @Test
+    public void startingPitchersAreGivenByTheCaller() {
+        Player homeStarter = home.getRoster().getStartingPitchers().get(2);
+        Player visitingStarter = visitors.getRoster().getStartingPitchers().get(3);
+        for (int n = 0; n < 2; ++n) {
+            BoxScore boxScore = new Game(home, homeStarter, visitors, visitingStarter, driver, new OfficialScorer())
+                    .run(Fidelity.STATS);
+            assertSame(homeStarter, boxScore.getHomeLineup().getPitcher());
+            assertSame(visitingStarter, boxScore.getVisitingLineup().getPitcher());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void boxScoreRequiresStats() {
+        newGame().run(Fidelity.LINE_SCORE);
+    }
+    
+    private Game newGame() {
+        return new Game(home, home.getRoster().getRotation().cursor(), 
+                visitors, visitors.getRoster().getRotation().cursor(), driver, new OfficialScorer());
+    }
+}
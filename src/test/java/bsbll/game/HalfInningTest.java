@@ -10,20 +10,27 @@ import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 
+import bsbll.TestCardLookups;
+import bsbll.bases.OccupiedBases;
 import bsbll.die.DieFactory;
+import bsbll.die.KeyedDieFactory;
 import bsbll.game.HalfInning.Stats;
 import bsbll.game.event.GameEventDetector;
+import bsbll.game.params.ErrorCountDistribution;
 import bsbll.game.params.GamePlayParams;
+import bsbll.game.play.EventType;
+import bsbll.matchup.Log5BasedMatchupRunner;
 import bsbll.matchup.MatchupRunner;
 import bsbll.matchup.MatchupRunner.Outcome;
 import bsbll.player.Player;
 import bsbll.team.BattingOrder;
+import bsbll.team.BattingOrderCursor;
 
 /**
  * Unit tests for HalfInning.
  */
 public final class HalfInningTest {
-    private final BattingOrder battingOrder = createBattingOrder();
+    private final BattingOrderCursor battingOrder = createBattingOrder().newCursor();
     private final Player pitcher = new Player("Pitcher 1", "John Doe");
     
     @Test
@@ -65,6 +72,32 @@ public final class HalfInningTest {
         assertEquals(new Stats(1, 2, 0, 0, 3), stats);
     }
     
+    @Test
+    public void scoringTheHalfInningDoesNotChangeHowItIsPlayed() {
+        ErrorCountDistribution.Builder errors = ErrorCountDistribution.builder();
+        for (OccupiedBases bases : OccupiedBases.values()) {
+            errors.setCount(EventType.OUT, bases, 0, 70)
+                .setCount(EventType.OUT, bases, 1, 30);
+        }
+        GamePlayParams params = GamePlayParams.defaultParams().withErrorCountDistribution(errors.build());
+        assertEquals(playHalfInnings(params, Fidelity.LINE_SCORE), playHalfInnings(params, Fidelity.STATS));
+    }
+    
+    private List<Stats> playHalfInnings(GamePlayParams params, Fidelity fidelity) {
+        KeyedDieFactory<DecisionPoint> dice = KeyedDieFactory.random(DecisionPoint.class, 5L);
+        GamePlayDriver driver = new GamePlayDriver(
+                new Log5BasedMatchupRunner(TestCardLookups.fixed(), dice.forKey(DecisionPoint.MATCHUP)),
+                params, dice);
+        BattingOrderCursor batters = createBattingOrder().newCursor();
+        List<Stats> stats = new ArrayList<>();
+        for (int n = 0; n < 200; ++n) {
+            HalfInning halfInning = new HalfInning(Inning.startOfGame(), batters, pitcher, driver,
+                    new PlayerGameStats(), GameEventDetector.NO_EVENTS, RunsNeededToWin.notApplicable(), fidelity);
+            stats.add(halfInning.run().getStats());
+        }
+        return stats;
+    }
+    
     
     private static BattingOrder createBattingOrder() {
         List<Player> batters = new ArrayList<>();
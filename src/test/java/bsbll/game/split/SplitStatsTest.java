@@ -0,0 +1,168 @@
+package bsbll.game.split;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.bases.OccupiedBases;
+import bsbll.game.BaseRunner;
+import bsbll.game.BoxScore;
+import bsbll.game.Inning;
+import bsbll.game.PlayerGameStats;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.play.PlayOutcome;
+import bsbll.league.BoxScoreSink;
+import bsbll.league.League;
+import bsbll.league.LeagueId;
+import bsbll.league.RetainingBoxScoreSink;
+import bsbll.league.Schedule;
+import bsbll.league.ScheduleExecutor;
+import bsbll.player.Player;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.IdRegistry;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for SplitStats.
+ */
+public final class SplitStatsTest {
+    /**
+     * The pitching stats that belong to the game as a whole, rather than to an inning.
+     */
+    private static final EnumSet<PrimitivePitchingStat> GAME_PITCHING_STATS = EnumSet.of(
+            PrimitivePitchingStat.GAMES, PrimitivePitchingStat.WINS, PrimitivePitchingStat.LOSSES,
+            PrimitivePitchingStat.COMPLETE_GAMES, PrimitivePitchingStat.SHUTOUTS);
+
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"));
+    private final IdRegistry ids = IdRegistry.of(teams);
+
+    @Test
+    public void splitsAddUpToTheSeason() {
+        SplitStats splits = SplitStats.builder(ids)
+                .homeAway()
+                .opponent()
+                .period(5, 3)
+                .inning()
+                .build();
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink);
+        ScheduleExecutor executor = new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed());
+        executor.setSplitStats(splits);
+        executor.run(Schedule.homeAndAwaySeries(teams, 3), 13L);
+        ImmutableList<BoxScore> boxScores = sink.getBoxScores();
+        for (Team team : teams) {
+            for (Player batter : team.getRoster().getBatters()) {
+                BattingStatLine season = league.getBattingStatLine(batter);
+                assertBattingEquals(season, splits.getBattingSplit(batter, Split.home())
+                        .plus(splits.getBattingSplit(batter, Split.away())));
+                BattingStatLine home = BattingStatLine.empty();
+                for (BoxScore boxScore : boxScores) {
+                    if (boxScore.getHomeTeam() == team) {
+                        home = home.plus(boxScore.getPlayerStats().getBattingLine(batter));
+                    }
+                }
+                assertBattingEquals(home, splits.getBattingSplit(batter, Split.home()));
+                BattingStatLine opponents = BattingStatLine.empty();
+                for (Team opponent : teams) {
+                    opponents = opponents.plus(splits.getBattingSplit(batter, Split.vs(opponent.getId())));
+                }
+                assertBattingEquals(season, opponents);
+                BattingStatLine periods = BattingStatLine.empty();
+                for (int period = 0; period < 3; ++period) {
+                    periods = periods.plus(splits.getBattingSplit(batter, Split.period(period)));
+                }
+                assertBattingEquals(season, periods);
+                BattingStatLine innings = BattingStatLine.empty();
+                for (int inning = 1; inning <= 10; ++inning) {
+                    innings = innings.plus(splits.getBattingSplit(batter, Split.inning(inning)));
+                }
+                for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                    int expected = (stat == PrimitiveBattingStat.GAMES) ? 0 : season.get(stat);
+                    assertEquals(stat.abbrev(), expected, innings.get(stat).intValue());
+                }
+            }
+            for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                PitchingStatLine season = league.getPitchingStatLine(pitcher);
+                assertPitchingEquals(season, splits.getPitchingSplit(pitcher, Split.home())
+                        .plus(splits.getPitchingSplit(pitcher, Split.away())));
+                PitchingStatLine innings = PitchingStatLine.empty();
+                for (int inning = 1; inning <= 10; ++inning) {
+                    innings = innings.plus(splits.getPitchingSplit(pitcher, Split.inning(inning)));
+                }
+                for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                    int expected = GAME_PITCHING_STATS.contains(stat) ? 0 : season.get(stat);
+                    assertEquals(stat.abbrev(), expected, innings.get(stat).intValue());
+                }
+            }
+            BattingStatLine teamHome = splits.getTeamBattingSplit(team.getId(), Split.home());
+            assertEquals(6, teamHome.get(PrimitiveBattingStat.GAMES).intValue());
+            int hits = 0;
+            for (Player batter : team.getRoster().getBatters()) {
+                hits += splits.getBattingSplit(batter, Split.home()).get(PrimitiveBattingStat.HITS);
+            }
+            for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                hits += splits.getBattingSplit(pitcher, Split.home()).get(PrimitiveBattingStat.HITS);
+            }
+            assertEquals(hits, teamHome.get(PrimitiveBattingStat.HITS).intValue());
+            PitchingStatLine teamPitching = splits.getTeamPitchingSplit(team.getId(), Split.home())
+                    .plus(splits.getTeamPitchingSplit(team.getId(), Split.away()));
+            assertEquals(league.getRecord(team).getWins(), teamPitching.get(PrimitivePitchingStat.WINS).intValue());
+            assertEquals(12, teamPitching.get(PrimitivePitchingStat.GAMES).intValue());
+        }
+    }
+
+    @Test
+    public void playsAreRecordedLikeTheGameStats() {
+        SplitStats splits = SplitStats.builder(ids).homeAway().inning().build();
+        Team home = teams.get(0);
+        Team visiting = teams.get(1);
+        Player batter = home.getRoster().getBatters().get(0);
+        Player runner = home.getRoster().getBatters().get(1);
+        Player pitcher = visiting.getRoster().getStartingPitchers().get(0);
+        SplitRecorder recorder = splits.newGame(home.getId(), visiting.getId());
+        PlayerGameStats gameStats = new PlayerGameStats();
+        gameStats.setSplitRecorder(recorder);
+        recorder.startHalfInning(Inning.bottomOf(1));
+        gameStats.update(batter, pitcher, PlayOutcome.strikeout(), ImmutableList.of());
+        gameStats.update(batter, pitcher, PlayOutcome.homerun(OccupiedBases.FIRST), ImmutableList.of(
+                new BaseRunner(runner, pitcher), new BaseRunner(batter, pitcher)));
+        recorder.endOfPlay();
+        assertBattingEquals(gameStats.getBattingLine(batter), splits.getBattingSplit(batter, Split.home()));
+        assertBattingEquals(gameStats.getBattingLine(runner), splits.getBattingSplit(runner, Split.home()));
+        assertPitchingEquals(gameStats.getPitchingLine(pitcher), splits.getPitchingSplit(pitcher, Split.away()));
+        BattingStatLine firstInning = splits.getBattingSplit(batter, Split.inning(1));
+        assertEquals(2, firstInning.get(PrimitiveBattingStat.RUNS_BATTED_IN).intValue());
+        assertEquals(0, firstInning.get(PrimitiveBattingStat.GAMES).intValue());
+        assertEquals(2, splits.getTeamBattingSplit(home.getId(), Split.inning(1))
+                .get(PrimitiveBattingStat.RUNS).intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void splitsMustBeDeclared() {
+        SplitStats splits = SplitStats.builder(ids).homeAway().build();
+        splits.getBattingSplit(teams.get(0).getRoster().getBatters().get(0), Split.inning(1));
+    }
+
+    private static void assertBattingEquals(BattingStatLine expected, BattingStatLine actual) {
+        for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+            assertEquals(stat.abbrev(), expected.get(stat), actual.get(stat));
+        }
+    }
+
+    private static void assertPitchingEquals(PitchingStatLine expected, PitchingStatLine actual) {
+        for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+            assertEquals(stat.abbrev(), expected.get(stat), actual.get(stat));
+        }
+    }
+}
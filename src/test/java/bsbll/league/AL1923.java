@@ -13,20 +13,14 @@ import com.google.common.collect.ImmutableList;
 import bsbll.NameMode;
 import bsbll.Year;
 import bsbll.card.LahmanPlayerCardLookup;
-import bsbll.die.DieFactory;
 import bsbll.game.BoxScore;
-import bsbll.game.Game;
-import bsbll.game.GamePlayDriver;
 import bsbll.game.LineScore;
-import bsbll.game.OfficialScorer;
-import bsbll.game.event.DefaultGameEventDetector;
-import bsbll.game.event.GameEventDetector;
 import bsbll.game.params.GamePlayParams;
 import bsbll.game.params.GamePlayParamsFactory;
 import bsbll.game.report.BoxScorePlainTextReport;
 import bsbll.game.report.LineScorePlainTextReport;
+import bsbll.league.Schedule.ScheduledGame;
 import bsbll.league.report.StandingsPlainTextReport;
-import bsbll.matchup.Log5BasedMatchupRunner;
 import bsbll.player.Player;
 import bsbll.player.PlayerFactory;
 import bsbll.stats.BattingStat;
@@ -44,7 +38,7 @@ import tzeth.strings.Padding;
 public final class AL1923 {
     private final League league;
     private final GamePlayParams gamePlayParams;
-    private final GamePlayDriver gamePlayDriver;
+    private final ScheduleExecutor scheduleExecutor;
     private final Random random = new Random();
     
     public AL1923() {
@@ -58,7 +52,8 @@ public final class AL1923 {
                 buildAthletics(),
                 buildWhiteSox());
         gamePlayParams = createGamePlayParams();
-        gamePlayDriver = createGamePlayDriver();
+        scheduleExecutor = new ScheduleExecutor(league, gamePlayParams, 
+                new LahmanPlayerCardLookup(LeagueId.AL, Year.of(1923)));
         checkState(league.getNumberOfTeams() % 2 == 0);
     }
 
@@ -66,63 +61,39 @@ public final class AL1923 {
         return GamePlayParamsFactory.configBased(Year.of(1923)).createParams();
     }
     
-    private GamePlayDriver createGamePlayDriver() {
-        DieFactory dieFactory = DieFactory.random();
-        Log5BasedMatchupRunner matchupRunner = new Log5BasedMatchupRunner(
-                new LahmanPlayerCardLookup(LeagueId.AL, Year.of(1923)), 
-                dieFactory);
-        return new GamePlayDriver(matchupRunner, gamePlayParams, dieFactory);
-    }
-
     public Standings run() {
-        List<BoxScore> scores = new ArrayList<>();
         List<Team> teams = new ArrayList<>(league.getTeams());
         Collections.shuffle(teams);
-        for (int a = 0; a < teams.size(); ++a) {
-            for (int b = a + 1; b < teams.size(); ++b) {
-                Team teamA = teams.get(a);
-                Team teamB = teams.get(b);
-                scores.addAll(runSeries(teamA, teamB, 11));
-                scores.addAll(runSeries(teamB, teamA, 11));
-            }
-        }
+        Schedule schedule = ScheduleGenerator.builder(teams)
+                .gamesPerMatchup(22)
+                .seriesLength(4)
+                .offDaysBetweenSeries(1)
+                .build()
+                .generate();
+        scheduleExecutor.run(schedule, random.nextLong());
         return league.getStandings();
     }
     
     public void runRoundsOfRandomSeries(int numberOfRounds) {
         List<Team> teams = new ArrayList<>(league.getTeams());
         for (int n = 0; n < numberOfRounds; ++n) {
-            List<BoxScore> scores = new ArrayList<>();
+            List<ScheduledGame> games = new ArrayList<>();
             Collections.shuffle(teams);
             for (int t = 0; t < teams.size(); t += 2) {
-                Team home = teams.get(t);
-                Team visiting = teams.get(t + 1);
+                ScheduledGame game = new ScheduledGame(teams.get(t).getId(), teams.get(t + 1).getId());
                 int numberOfGames = random.nextInt(4) + 1;
-                scores.addAll(runSeries(home, visiting, numberOfGames));
+                for (int g = 0; g < numberOfGames; ++g) {
+                    games.add(game);
+                }
             }
-            league.addBoxScores(scores);
+            scheduleExecutor.run(new Schedule(games), random.nextLong());
             Standings standings = league.getStandings();
             print(standings, n + 1);
         }
     }
     
     private List<BoxScore> runSeries(Team home, Team visiting, int numberOfGames) {
-        List<BoxScore> scores = new ArrayList<>();
-        for (int n = 0; n < numberOfGames; ++n) {
-            BoxScore score = runGame(home, visiting);
-            league.addBoxScores(score);
-            scores.add(score);
-        }
-        return scores;
-    }
-    
-    private BoxScore runGame(Team home, Team visiting) {
-        OfficialScorer officialScorer = new OfficialScorer(league.getPlayerStatLookup(), gamePlayParams);
-        Game game = new Game(home, visiting, gamePlayDriver, officialScorer);
-        GameEventDetector eventDetector = new DefaultGameEventDetector(league.getPlayerStatLookup());
-        game.setGameEventDetector(eventDetector);
-        BoxScore boxScore = game.run();
-        return boxScore;
+        return scheduleExecutor.run(Schedule.series(home, visiting, numberOfGames), random.nextLong());
     }
     
     @SuppressWarnings("unused")
@@ -0,0 +1,94 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.LineScore;
+import bsbll.game.params.GamePlayParams;
+import bsbll.player.Player;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for the BoxScoreSink implementations.
+ */
+public final class BoxScoreSinkTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"));
+    private final Schedule schedule = Schedule.homeAndAwaySeries(teams, 2);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void retainAllKeepsTheBoxScores() {
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = play(sink);
+        ImmutableList<BoxScore> boxScores = sink.getBoxScores();
+        assertEquals(schedule.getNumberOfGames(), boxScores.size());
+        for (int g = 0; g < boxScores.size(); ++g) {
+            assertSame(boxScores.get(g).getLineScore(), league.getGameLog().get(g));
+        }
+    }
+
+    @Test
+    public void discardKeepsNothingButTheRecordsAndStats() {
+        League discarding = play(BoxScoreSink.discard());
+        League retaining = play(BoxScoreSink.retainAll());
+        assertTrue(discarding.getGameLog().isEmpty());
+        for (Team team : teams) {
+            assertEquals(retaining.getRecord(team).getWins(), discarding.getRecord(team).getWins());
+            assertEquals(retaining.getRecord(team).getRunsScored(), discarding.getRecord(team).getRunsScored());
+            for (Player batter : team.getRoster().getBatters()) {
+                assertEquals(retaining.getBattingStatLine(batter), discarding.getBattingStatLine(batter));
+            }
+        }
+    }
+
+    @Test
+    public void lineScoresOnlyIsTheDefault() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(schedule, 11L);
+        assertSameGameLog(play(BoxScoreSink.retainAll()).getGameLog(), league.getGameLog());
+    }
+
+    @Test
+    public void appendOnlyLogReadsBackTheLineScores() throws IOException {
+        Path file = folder.newFile("games.log").toPath();
+        Files.write(file, "Old content\n".getBytes());
+        League league = play(BoxScoreSink.appendOnlyLog(file, teams));
+        assertEquals(schedule.getNumberOfGames(), Files.readAllLines(file).size());
+        assertSameGameLog(play(BoxScoreSink.retainAll()).getGameLog(), league.getGameLog());
+    }
+
+    private League play(BoxScoreSink sink) {
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(schedule, 11L);
+        return league;
+    }
+
+    private static void assertSameGameLog(List<LineScore> expected, List<LineScore> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int g = 0; g < expected.size(); ++g) {
+            assertSame(expected.get(g).getHomeTeam(), actual.get(g).getHomeTeam());
+            assertSame(expected.get(g).getVisitingTeam(), actual.get(g).getVisitingTeam());
+            assertEquals(expected.get(g).getHomeLine().getInnings(), actual.get(g).getHomeLine().getInnings());
+            assertEquals(expected.get(g).getVisitingLine().getInnings(), actual.get(g).getVisitingLine().getInnings());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.params.GamePlayParams;
+import bsbll.player.Player;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.team.IdRegistry;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for ConcurrentPlayerLeagueStats.
+ */
+public final class ConcurrentPlayerLeagueStatsTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"), createTeam("DDD"));
+
+    @Test
+    public void concurrentUpdatesAddUpToTheSequentialTotals() throws Exception {
+        ImmutableList<BoxScore> boxScores = play();
+        PlayerLeagueStats expected = new PlayerLeagueStats();
+        boxScores.forEach(expected::update);
+        ConcurrentPlayerLeagueStats stats = new ConcurrentPlayerLeagueStats(IdRegistry.of(teams));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> updates = new ArrayList<>();
+            for (int t = 0; t < 4; ++t) {
+                int thread = t;
+                updates.add(executor.submit(() -> {
+                    for (int g = thread; g < boxScores.size(); g += 4) {
+                        stats.update(boxScores.get(g));
+                    }
+                }));
+            }
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        ConcurrentPlayerLeagueStats.Snapshot snapshot = stats.snapshot();
+        for (Team team : teams) {
+            for (Player batter : team.getRoster().getBatters()) {
+                for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                    assertEquals(expected.getBattingStats(batter).get(stat), stats.getBattingStats(batter).get(stat));
+                    assertEquals(expected.getBattingStats(batter).get(stat),
+                            snapshot.getBattingStats(batter.getId()).get(stat));
+                }
+            }
+            for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                    assertEquals(expected.getPitchingStats(pitcher).get(stat), stats.getPitchingStats(pitcher).get(stat));
+                    assertEquals(expected.getPitchingStats(pitcher).get(stat),
+                            snapshot.getPitchingStats(pitcher.getId()).get(stat));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void snapshotsIncludeWholeGames() throws Exception {
+        ImmutableList<BoxScore> boxScores = play();
+        ConcurrentPlayerLeagueStats stats = new ConcurrentPlayerLeagueStats(IdRegistry.of(teams));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> updates = executor.submit(() -> boxScores.forEach(stats::update));
+            do {
+                // Every hit by a batter is a hit allowed by a pitcher in the same game.
+                ConcurrentPlayerLeagueStats.Snapshot snapshot = stats.snapshot();
+                int hits = snapshot.getBattingStats().values().stream()
+                        .mapToInt(line -> line.get(PrimitiveBattingStat.HITS))
+                        .sum();
+                int hitsAllowed = snapshot.getPitchingStats().values().stream()
+                        .mapToInt(line -> line.get(PrimitivePitchingStat.HITS))
+                        .sum();
+                assertEquals(hits, hitsAllowed);
+            } while (!updates.isDone());
+            updates.get();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private ImmutableList<BoxScore> play() {
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(Schedule.homeAndAwaySeries(teams, 3), 3L);
+        return sink.getBoxScores();
+    }
+}
@@ -0,0 +1,88 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.params.GamePlayParams;
+import bsbll.player.Player;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for the "as of game" queries of League, which are backed by LeagueHistory.
+ */
+public final class LeagueHistoryTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"));
+
+    @Test
+    public void replaysTheSeason() {
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink, Tracking.HISTORY);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(Schedule.homeAndAwaySeries(teams, 3), 5L);
+        ImmutableList<BoxScore> boxScores = sink.getBoxScores();
+        assertEquals(boxScores.size(), league.getNumberOfGames());
+        for (int asOfGame = 0; asOfGame <= boxScores.size(); ++asOfGame) {
+            League replay = new League(LeagueId.AL, Year.of(1923), teams, BoxScoreSink.discard());
+            replay.addBoxScores(boxScores.subList(0, asOfGame));
+            Standings expected = replay.getStandings();
+            Standings actual = league.getStandings(asOfGame);
+            assertEquals(expected.sortByWinPct(), actual.sortByWinPct());
+            for (int n = 0; n < teams.size(); ++n) {
+                assertEquals(expected.list().get(n).getGamesBehind(), actual.list().get(n).getGamesBehind());
+            }
+            for (Team team : teams) {
+                assertEquals(replay.getRecord(team).getWins(), league.getRecord(team, asOfGame).getWins());
+                assertEquals(replay.getRecord(team).getRunsScored(), league.getRecord(team, asOfGame).getRunsScored());
+                for (Player batter : team.getRoster().getBatters()) {
+                    for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                        assertEquals(replay.getBattingStatLine(batter).get(stat),
+                                league.getBattingStatLine(batter, asOfGame).get(stat));
+                    }
+                }
+                for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                    for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                        assertEquals(replay.getPitchingStatLine(pitcher).get(stat),
+                                league.getPitchingStatLine(pitcher, asOfGame).get(stat));
+                    }
+                }
+            }
+        }
+        assertSame(league.getStandings(), league.getStandings(boxScores.size()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannotLookAheadOfTheSeason() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams, BoxScoreSink.discard(), Tracking.HISTORY);
+        league.getStandings(1);
+    }
+
+    @Test
+    public void historyIsOptIn() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams, BoxScoreSink.discard());
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(Schedule.homeAndAwaySeries(teams, 1), 5L);
+        assertSame(league.getStandings(), league.getStandings(league.getNumberOfGames()));
+        try {
+            league.getStandings(1);
+            fail("The standings as of an earlier game require the history");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            league.getBattingStatLine(teams.get(0).getRoster().getBatters().get(0), 1);
+            fail("The stats as of an earlier game require the history");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.params.GamePlayParams;
+import bsbll.player.Player;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.BattingStatLine;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for the game logs of League, which are backed by GameLogIndex.
+ */
+public final class PlayerGameLogTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"));
+
+    @Test
+    public void gameLogsMatchTheBoxScores() {
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink, Tracking.GAME_LOGS);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(Schedule.homeAndAwaySeries(teams, 4), 11L);
+        ImmutableList<BoxScore> boxScores = sink.getBoxScores();
+        for (Team team : teams) {
+            for (Player batter : team.getRoster().getBatters()) {
+                PlayerGameLog<PrimitiveBattingStat, BattingStatLine> log = league.getBattingGameLog(batter);
+                List<BoxScore> games = new ArrayList<>();
+                for (BoxScore boxScore : boxScores) {
+                    if (boxScore.getHomeTeam() == team || boxScore.getVisitingTeam() == team) {
+                        games.add(boxScore);
+                    }
+                }
+                assertEquals(games.size(), log.size());
+                int streak = 0;
+                int longest = 0;
+                for (int n = 0; n < log.size(); ++n) {
+                    BoxScore boxScore = games.get(n);
+                    assertSame(boxScores.get(log.getGame(n) - 1), boxScore);
+                    assertSame(team, log.getTeam(n));
+                    assertEquals(boxScore.getHomeTeam() == team, log.isHomeGame(n));
+                    assertSame(log.isHomeGame(n) ? boxScore.getVisitingTeam() : boxScore.getHomeTeam(),
+                            log.getOpponent(n));
+                    BattingStatLine line = boxScore.getPlayerStats().getBattingLine(batter);
+                    for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                        assertEquals(line.get(stat).intValue(), log.get(n, stat));
+                        assertEquals(line.get(stat), log.getLine(n).get(stat));
+                    }
+                    streak = (line.get(PrimitiveBattingStat.HITS) > 0)
+                            ? streak + 1
+                            : 0;
+                    longest = Math.max(longest, streak);
+                }
+                assertEquals(streak, log.getCurrentStreak(PrimitiveBattingStat.HITS));
+                assertEquals(longest, log.getLongestStreak(PrimitiveBattingStat.HITS));
+                BattingStatLine total = log.getLastGames(log.size() + 1);
+                for (PrimitiveBattingStat stat : PrimitiveBattingStat.values()) {
+                    assertEquals(league.getBattingStatLine(batter).get(stat), total.get(stat));
+                }
+            }
+            for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                PitchingStatLine total = league.getPitchingGameLog(pitcher).getLastGames(Integer.MAX_VALUE);
+                for (PrimitivePitchingStat stat : PrimitivePitchingStat.values()) {
+                    assertEquals(league.getPitchingStatLine(pitcher).get(stat), total.get(stat));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void gameLogsDoNotNeedTheBoxScores() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams, BoxScoreSink.discard(), Tracking.GAME_LOGS);
+        Player batter = teams.get(0).getRoster().getBatters().get(0);
+        assertTrue(league.getBattingGameLog(batter).isEmpty());
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(Schedule.homeAndAwaySeries(teams, 2), 3L);
+        PlayerGameLog<PrimitiveBattingStat, BattingStatLine> log = league.getBattingGameLog(batter);
+        assertEquals(8, log.size());
+        assertEquals(league.getBattingStatLine(batter).get(PrimitiveBattingStat.PLATE_APPEARANCES),
+                log.getTotal(0, 8).get(PrimitiveBattingStat.PLATE_APPEARANCES));
+        BattingStatLine lastTwo = log.getLine(6).plus(log.getLine(7));
+        assertEquals(lastTwo.get(PrimitiveBattingStat.HITS), log.getLastGames(2).get(PrimitiveBattingStat.HITS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void gameLogsAreOptIn() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams, BoxScoreSink.discard());
+        league.getBattingGameLog(teams.get(0).getRoster().getBatters().get(0));
+    }
+}
@@ -0,0 +1,64 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.game.BoxScore;
+import bsbll.game.params.GamePlayParams;
+import bsbll.player.Player;
+import bsbll.stats.BattingStat;
+import bsbll.stats.PitchingStat;
+import bsbll.stats.StatLeaders;
+import bsbll.team.IdRegistry;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for PlayerLeagueStats.
+ */
+public final class PlayerLeagueStatsTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"), createTeam("DDD"));
+
+    @Test
+    public void playersOutsideTheRegistryAreKeptAsWell() {
+        ImmutableList<BoxScore> boxScores = play();
+        PlayerLeagueStats expected = new PlayerLeagueStats();
+        boxScores.forEach(expected::update);
+        // Only half of the teams are in the registry.
+        PlayerLeagueStats stats = new PlayerLeagueStats(IdRegistry.of(teams.subList(0, 2)));
+        boxScores.forEach(stats::update);
+        for (Team team : teams) {
+            for (Player batter : team.getRoster().getBatters()) {
+                assertEquals(expected.getBattingStats(batter), stats.getBattingStats(batter));
+            }
+            for (Player pitcher : team.getRoster().getStartingPitchers()) {
+                assertEquals(expected.getPitchingStats(pitcher), stats.getPitchingStats(pitcher));
+            }
+        }
+        assertSameValues(expected.getBattingLeaders(BattingStat.HITS, 10),
+                stats.getBattingLeaders(BattingStat.HITS, 10));
+        assertSameValues(expected.getPitchingLeaders(PitchingStat.STRIKEOUTS, 10),
+                stats.getPitchingLeaders(PitchingStat.STRIKEOUTS, 10));
+    }
+
+    private static void assertSameValues(StatLeaders<?, ?> expected, StatLeaders<?, ?> actual) {
+        assertEquals(expected.getEntries().size(), actual.getEntries().size());
+        for (int n = 0; n < expected.getEntries().size(); ++n) {
+            assertEquals(expected.getEntries().get(n).getValue(), actual.getEntries().get(n).getValue());
+        }
+    }
+
+    private ImmutableList<BoxScore> play() {
+        RetainingBoxScoreSink sink = BoxScoreSink.retainAll();
+        League league = new League(LeagueId.AL, Year.of(1923), teams, sink);
+        new ScheduleExecutor(league, GamePlayParams.defaultParams(), TestCardLookups.fixed())
+            .run(Schedule.homeAndAwaySeries(teams, 3), 5L);
+        return sink.getBoxScores();
+    }
+}
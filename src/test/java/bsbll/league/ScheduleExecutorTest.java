@@ -0,0 +1,167 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.Year;
+import bsbll.bases.Advance;
+import bsbll.bases.Advances;
+import bsbll.bases.Base;
+import bsbll.bases.OccupiedBases;
+import bsbll.card.PlayerCardLookup;
+import bsbll.game.BoxScore;
+import bsbll.game.params.ErrorCountDistribution;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.params.OutAdvanceDistribution;
+import bsbll.game.params.OutAdvanceKey;
+import bsbll.game.params.OutLocation;
+import bsbll.game.play.EventType;
+import bsbll.league.Schedule.ScheduledGame;
+import bsbll.player.Player;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+import bsbll.stats.PitchingStatLine;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for ScheduleExecutor.
+ */
+public final class ScheduleExecutorTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("AAA"), createTeam("BBB"), createTeam("CCC"), createTeam("DDD"));
+    private final Schedule schedule = Schedule.homeAndAwaySeries(teams, 3);
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+    private final PlayerCardLookup cardLookup = TestCardLookups.fixed();
+
+    @Test
+    public void parallelRunGivesTheSameResultAsSequentialRun() {
+        League parallelLeague = new League(LeagueId.AL, Year.of(1923), teams);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            new ScheduleExecutor(parallelLeague, params, cardLookup, pool).run(schedule, 17L);
+        } finally {
+            pool.shutdown();
+        }
+        League sequentialLeague = new League(LeagueId.AL, Year.of(1923), teams);
+        new ScheduleExecutor(sequentialLeague, params, cardLookup).runSequentially(schedule, 17L);
+
+        assertEquals(sequentialLeague.getGameLog().size(), parallelLeague.getGameLog().size());
+        for (int g = 0; g < schedule.getNumberOfGames(); ++g) {
+            assertEquals(sequentialLeague.getGameLog().get(g).getHomeLine().getInnings(),
+                    parallelLeague.getGameLog().get(g).getHomeLine().getInnings());
+            assertEquals(sequentialLeague.getGameLog().get(g).getVisitingLine().getInnings(),
+                    parallelLeague.getGameLog().get(g).getVisitingLine().getInnings());
+        }
+        for (Team team : teams) {
+            assertEquals(sequentialLeague.getRecord(team).getWins(), parallelLeague.getRecord(team).getWins());
+            assertEquals(sequentialLeague.getRecord(team).getRunsScored(),
+                    parallelLeague.getRecord(team).getRunsScored());
+            for (Player batter : team.getRoster().getBatters()) {
+                assertEquals(sequentialLeague.getBattingStatLine(batter), parallelLeague.getBattingStatLine(batter));
+            }
+            for (Player pitcher : team.getRoster().getRotation().getPitchers()) {
+                assertEquals(sequentialLeague.getPitchingStatLine(pitcher), parallelLeague.getPitchingStatLine(pitcher));
+            }
+        }
+    }
+
+    @Test
+    public void parallelRunGivesTheSameEarnedRunsAsSequentialRunWhenThereAreErrors() {
+        // The earned runs depend on the location of the outs in the reconstructed inning
+        // only if the runners advance differently on infield and outfield outs.
+        ErrorCountDistribution.Builder errors = ErrorCountDistribution.builder();
+        OutAdvanceDistribution.Builder outAdvances = OutAdvanceDistribution.builder();
+        for (OccupiedBases bases : OccupiedBases.values()) {
+            errors.setCount(EventType.OUT, bases, 0, 80)
+                .setCount(EventType.OUT, bases, 1, 17)
+                .setCount(EventType.OUT, bases, 2, 3);
+            if (bases.contains(Base.THIRD)) {
+                for (int outs = 0; outs < 2; ++outs) {
+                    outAdvances.add(OutAdvanceKey.of(EventType.OUT, OutLocation.OUTFIELD, outs), bases,
+                            Advances.of(Advance.safe(Base.THIRD, Base.HOME)));
+                }
+            }
+        }
+        GamePlayParams paramsWithErrors = params.withErrorCountDistribution(errors.build())
+                .withOutAdvanceDistribution(outAdvances.build());
+        Schedule season = Schedule.homeAndAwaySeries(teams, 10);
+        League parallelLeague = new League(LeagueId.AL, Year.of(1923), teams);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            new ScheduleExecutor(parallelLeague, paramsWithErrors, cardLookup, pool).run(season, 19L);
+        } finally {
+            pool.shutdown();
+        }
+        League sequentialLeague = new League(LeagueId.AL, Year.of(1923), teams);
+        new ScheduleExecutor(sequentialLeague, paramsWithErrors, cardLookup).runSequentially(season, 19L);
+
+        int unearnedRuns = 0;
+        for (Team team : teams) {
+            for (Player pitcher : team.getRoster().getRotation().getPitchers()) {
+                PitchingStatLine sequential = sequentialLeague.getPitchingStatLine(pitcher);
+                assertEquals(sequential.get(PrimitivePitchingStat.EARNED_RUNS),
+                        parallelLeague.getPitchingStatLine(pitcher).get(PrimitivePitchingStat.EARNED_RUNS));
+                unearnedRuns += sequential.get(PrimitivePitchingStat.RUNS)
+                        - sequential.get(PrimitivePitchingStat.EARNED_RUNS);
+            }
+        }
+        // Make sure the earned run reconstruction was exercised.
+        assertTrue(unearnedRuns > 0);
+    }
+
+    @Test
+    public void boxScoresAreAddedToTheLeagueInScheduleOrder() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams);
+        ImmutableList<BoxScore> boxScores = new ScheduleExecutor(league, params, cardLookup).run(schedule, 3L);
+        assertEquals(schedule.getNumberOfGames(), boxScores.size());
+        assertEquals(schedule.getNumberOfGames(), league.getGameLog().size());
+        for (int g = 0; g < boxScores.size(); ++g) {
+            ScheduledGame game = schedule.getGames().get(g);
+            assertSame(boxScores.get(g).getLineScore(), league.getGameLog().get(g));
+            assertEquals(game.getHomeTeam(), boxScores.get(g).getHomeTeam().getId());
+            assertEquals(game.getVisitingTeam(), boxScores.get(g).getVisitingTeam().getId());
+        }
+        for (Team team : teams) {
+            assertEquals(schedule.getNumberOfGames(team.getId()), league.getRecord(team).getGamesPlayed());
+        }
+    }
+
+    @Test
+    public void startingPitchersFollowTheRotation() {
+        League league = new League(LeagueId.AL, Year.of(1923), teams);
+        Team home = teams.get(0);
+        Team visiting = teams.get(1);
+        ScheduleExecutor executor = new ScheduleExecutor(league, params, cardLookup);
+        ImmutableList<BoxScore> first = executor.run(Schedule.series(home, visiting, 3), 1L);
+        // The rotation continues where the first series left off.
+        ImmutableList<BoxScore> second = executor.run(Schedule.series(visiting, home, 3), 2L);
+        List<Player> homeStarters = new ArrayList<>();
+        first.forEach(b -> homeStarters.add(b.getHomeLineup().getPitcher()));
+        second.forEach(b -> homeStarters.add(b.getVisitingLineup().getPitcher()));
+        List<Player> expected = new ArrayList<>();
+        for (int turn = 0; turn < 6; ++turn) {
+            expected.add(home.getRoster().getRotation().getStartingPitcher(turn));
+        }
+        assertEquals(expected, homeStarters);
+    }
+
+    @Test
+    public void sameSeedGivesSameResult() {
+        League first = new League(LeagueId.AL, Year.of(1923), teams);
+        League second = new League(LeagueId.AL, Year.of(1923), teams);
+        new ScheduleExecutor(first, params, cardLookup).run(schedule, 5L);
+        new ScheduleExecutor(second, params, cardLookup).run(schedule, 5L);
+        for (Team team : teams) {
+            assertEquals(first.getRecord(team).getWins(), second.getRecord(team).getWins());
+            assertEquals(first.getRecord(team).getRunsScored(), second.getRecord(team).getRunsScored());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package bsbll.league;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.league.Schedule.Round;
+import bsbll.league.Schedule.ScheduledGame;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * Unit tests for ScheduleGenerator.
+ */
+public final class ScheduleGeneratorTest {
+
+    @Test
+    public void everyTeamPlaysEveryOtherTeamHalfTheTimeAtHome() {
+        ImmutableList<Team> teams = createTeams(8);
+        ScheduleGenerator generator = ScheduleGenerator.builder(teams)
+                .gamesPerMatchup(22)
+                .seriesLength(4)
+                .build();
+        Schedule schedule = generator.generate();
+        assertEquals(154, generator.getGamesPerTeam());
+        assertEquals(8 * 154 / 2, schedule.getNumberOfGames());
+        Map<List<TeamId>, Integer> homeGames = countHomeGames(schedule);
+        for (Team a : teams) {
+            assertEquals(154, schedule.getNumberOfGames(a.getId()));
+            for (Team b : teams) {
+                if (a != b) {
+                    assertEquals(11, homeGames.get(ImmutableList.of(a.getId(), b.getId())).intValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void noTeamPlaysTwiceInARound() {
+        Schedule schedule = ScheduleGenerator.builder(createTeams(9))
+                .gamesPerMatchup(5)
+                .build()
+                .generate();
+        int games = 0;
+        for (int r = 0; r < schedule.getNumberOfRounds(); ++r) {
+            Round round = schedule.getRounds().get(r);
+            // With an odd number of teams, one team is idle in every round.
+            assertEquals(4, round.getNumberOfGames());
+            assertEquals(games, schedule.getFirstGame(r));
+            Set<TeamId> teams = new HashSet<>();
+            for (ScheduledGame game : round.getGames()) {
+                assertTrue(teams.add(game.getHomeTeam()));
+                assertTrue(teams.add(game.getVisitingTeam()));
+            }
+            games += round.getNumberOfGames();
+        }
+        assertEquals(schedule.getNumberOfGames(), games);
+        assertEquals(9 * 8 * 5 / 2, games);
+    }
+
+    @Test
+    public void homeGamesAreSpreadOutOverTheSeason() {
+        ImmutableList<Team> teams = createTeams(6);
+        Schedule schedule = ScheduleGenerator.builder(teams)
+                .gamesPerMatchup(1)
+                .seriesLength(1)
+                .build()
+                .generate();
+        // A single round robin, where nobody plays more than two home games, or two road
+        // games, in a row.
+        for (Team team : teams) {
+            int homeGames = 0;
+            int streak = 0;
+            Boolean previous = null;
+            for (ScheduledGame game : schedule.getGames()) {
+                if (game.involves(team.getId())) {
+                    boolean home = game.getHomeTeam().equals(team.getId());
+                    streak = (previous != null && previous == home) ? streak + 1 : 1;
+                    assertTrue(streak <= 2);
+                    previous = home;
+                    homeGames += home ? 1 : 0;
+                }
+            }
+            assertTrue(homeGames == 2 || homeGames == 3);
+        }
+    }
+
+    @Test
+    public void seriesAreSeparatedByOffDays() {
+        Schedule schedule = ScheduleGenerator.builder(createTeams(4))
+                .seriesLength(3)
+                .offDaysBetweenSeries(1)
+                .build()
+                .generate();
+        // Two series against each of the three opponents, of three games each.
+        assertEquals(18, schedule.getNumberOfRounds());
+        List<Integer> days = new ArrayList<>();
+        schedule.getRounds().forEach(r -> days.add(r.getDay()));
+        assertEquals(ImmutableList.of(1, 2, 3, 5, 6, 7, 9, 10, 11), days.subList(0, 9));
+        assertEquals(23, days.get(17).intValue());
+    }
+
+    @Test
+    public void generatesLargeSchedules() {
+        Schedule schedule = ScheduleGenerator.builder(createTeams(30))
+                .gamesPerMatchup(6)
+                .build()
+                .generate();
+        assertEquals(30 * 29 * 6 / 2, schedule.getNumberOfGames());
+        assertEquals(29 * 6, schedule.getNumberOfRounds());
+        assertEquals(29 * 6 - 1, schedule.getHomeTeamTurn(schedule.getNumberOfGames() - 1));
+    }
+
+    @Test
+    public void scheduleGroupsConsecutiveGamesIntoRounds() {
+        ImmutableList<Team> teams = createTeams(4);
+        TeamId a = teams.get(0).getId();
+        TeamId b = teams.get(1).getId();
+        TeamId c = teams.get(2).getId();
+        TeamId d = teams.get(3).getId();
+        Schedule schedule = new Schedule(ImmutableList.of(
+                new ScheduledGame(a, b), new ScheduledGame(c, d), new ScheduledGame(a, c),
+                new ScheduledGame(b, d), new ScheduledGame(d, a)));
+        assertEquals(3, schedule.getNumberOfRounds());
+        assertEquals(ImmutableList.of(2, 2, 1), ImmutableList.of(schedule.getRounds().get(0).getNumberOfGames(),
+                schedule.getRounds().get(1).getNumberOfGames(), schedule.getRounds().get(2).getNumberOfGames()));
+        assertEquals(4, schedule.getFirstGame(2));
+        assertEquals(3, schedule.getRounds().get(2).getDay());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aTeamCannotPlayTwiceInARound() {
+        TeamId a = TeamId.of("AAA");
+        new Round(1, ImmutableList.of(new ScheduledGame(a, TeamId.of("BBB")), new ScheduledGame(TeamId.of("CCC"), a)));
+    }
+
+    private static Map<List<TeamId>, Integer> countHomeGames(Schedule schedule) {
+        Map<List<TeamId>, Integer> homeGames = new HashMap<>();
+        for (ScheduledGame game : schedule.getGames()) {
+            homeGames.merge(ImmutableList.of(game.getHomeTeam(), game.getVisitingTeam()), 1, Integer::sum);
+        }
+        return homeGames;
+    }
+
+    private static ImmutableList<Team> createTeams(int numberOfTeams) {
+        ImmutableList.Builder<Team> teams = ImmutableList.builder();
+        for (int t = 0; t < numberOfTeams; ++t) {
+            teams.add(createTeam(String.format("T%02d", t)));
+        }
+        return teams.build();
+    }
+}
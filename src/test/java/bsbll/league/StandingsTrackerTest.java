@@ -0,0 +1,113 @@
+package bsbll.league;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.league.Standings.Entry;
+import bsbll.player.Player;
+import bsbll.team.GamesBehind;
+import bsbll.team.Record;
+import bsbll.team.Roster;
+import bsbll.team.RunDifferential;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+import bsbll.team.TeamName;
+
+/**
+ * Unit tests for StandingsTracker.
+ */
+public final class StandingsTrackerTest {
+    private final ImmutableList<Team> teams = ImmutableList.of(
+            createTeam("Boston"), createTeam("Chicago"), createTeam("Detroit"), createTeam("New York"),
+            createTeam("St. Louis"), createTeam("Washington"));
+
+    @Test
+    public void matchesStandingsComputedFromScratch() {
+        StandingsTracker tracker = new StandingsTracker(teams);
+        Map<Team, Record> records = new HashMap<>();
+        teams.forEach(t -> records.put(t, new Record()));
+        Random random = new Random(7L);
+        for (int game = 0; game < 1000; ++game) {
+            Team home = teams.get(random.nextInt(teams.size()));
+            Team visiting = teams.get(random.nextInt(teams.size()));
+            if (home == visiting) {
+                continue;
+            }
+            RunDifferential score = new RunDifferential(random.nextInt(8), random.nextInt(8));
+            tracker.addGame(home.getId(), visiting.getId(), score);
+            records.merge(home, new Record().plus(score), Record::plus);
+            records.merge(visiting, new Record().plus(score.reverse()), Record::plus);
+            assertSameStandings(Standings.of(records), tracker.getStandings());
+        }
+    }
+
+    @Test
+    public void gamesBehindFollowTheLeader() {
+        StandingsTracker tracker = new StandingsTracker(teams);
+        TeamId boston = teams.get(0).getId();
+        TeamId chicago = teams.get(1).getId();
+        TeamId detroit = teams.get(2).getId();
+        tracker.addGame(boston, chicago, new RunDifferential(5, 2));
+        tracker.addGame(boston, chicago, new RunDifferential(5, 2));
+        Standings standings = tracker.getStandings();
+        assertEquals(teams.get(0), standings.sortByWinPct().get(0));
+        // Teams without decisions have no winning percentage, and are ranked last.
+        assertEquals(teams.get(1), standings.sortByWinPct().get(1));
+        assertEquals(new GamesBehind(4), standings.list().get(1).getGamesBehind());
+        // The leader loses, and the teams that did not play move up half a game.
+        tracker.addGame(detroit, boston, new RunDifferential(3, 1));
+        standings = tracker.getStandings();
+        assertEquals(new GamesBehind(0), standings.list().get(0).getGamesBehind());
+        assertEquals(new GamesBehind(1), getEntry(standings, teams.get(3)).getGamesBehind());
+        assertEquals(new GamesBehind(3), getEntry(standings, teams.get(1)).getGamesBehind());
+        assertSame(standings, tracker.getStandings());
+    }
+
+    @Test
+    public void tiesAreBrokenByName() {
+        StandingsTracker tracker = new StandingsTracker(teams.reverse());
+        assertEquals(teams, tracker.getStandings().sortByWinPct());
+    }
+
+    private static Entry getEntry(Standings standings, Team team) {
+        return standings.list().stream()
+                .filter(e -> e.getTeam() == team)
+                .findFirst()
+                .get();
+    }
+
+    private static void assertSameStandings(Standings expected, Standings actual) {
+        List<Entry> expectedEntries = expected.list();
+        List<Entry> actualEntries = actual.list();
+        assertEquals(expectedEntries.size(), actualEntries.size());
+        for (int n = 0; n < expectedEntries.size(); ++n) {
+            Entry e = expectedEntries.get(n);
+            Entry a = actualEntries.get(n);
+            assertSame(e.getTeam(), a.getTeam());
+            assertEquals(e.getRecord().getWlt().getWins(), a.getRecord().getWlt().getWins());
+            assertEquals(e.getRecord().getWlt().getLosses(), a.getRecord().getWlt().getLosses());
+            assertEquals(e.getRecord().getWlt().getTies(), a.getRecord().getWlt().getTies());
+            assertEquals(e.getRecord().getRunsScored(), a.getRecord().getRunsScored());
+            assertEquals(e.getGamesBehind(), a.getGamesBehind());
+        }
+    }
+
+    private static Team createTeam(String name) {
+        String id = name.substring(0, 3).toUpperCase();
+        List<Player> batters = new ArrayList<>();
+        for (int n = 1; n <= 8; ++n) {
+            batters.add(new Player(id + " Batter " + n, "John Doe"));
+        }
+        List<Player> pitchers = ImmutableList.of(new Player(id + " Pitcher", "John Doe"));
+        return new Team(TeamId.of(id), new TeamName(name, name, id), new Roster(batters, pitchers));
+    }
+}
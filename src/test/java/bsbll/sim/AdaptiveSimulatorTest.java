@@ -0,0 +1,131 @@
+package bsbll.sim;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import bsbll.TestCardLookups;
+import bsbll.card.PlayerCardLookup;
+import bsbll.game.params.GamePlayParams;
+import bsbll.league.Schedule;
+import bsbll.sim.AdaptiveResult.StopReason;
+import bsbll.team.Team;
+import bsbll.team.TeamId;
+
+/**
+ * Unit tests for AdaptiveSimulator.
+ */
+public final class AdaptiveSimulatorTest {
+    private final PlayerCardLookup cardLookup = TestCardLookups.fixed();
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+
+    @Test
+    public void constantMetricStopsAtTheMinimum() {
+        AdaptiveResult result = AdaptiveSimulator.<Double>builder(seed -> 1.0)
+                .metric("Constant", Double::doubleValue, 0.01)
+                .batchSize(10)
+                .minimumReplicas(30)
+                .build()
+                .run(1L);
+        assertEquals(StopReason.ON_TARGET, result.getStopReason());
+        // The replicas are run in whole batches.
+        assertEquals(30, result.getNumberOfReplicas());
+        MetricEstimate estimate = result.getEstimate("Constant");
+        assertEquals(1.0, estimate.getMean(), 0.0);
+        assertEquals(0.0, estimate.getHalfWidth(), 0.0);
+        assertTrue(estimate.isOnTarget());
+    }
+
+    @Test
+    public void tighterTargetNeedsMoreReplicas() {
+        AdaptiveResult loose = uniform(0.05).run(2L);
+        AdaptiveResult tight = uniform(0.01).run(2L);
+        assertEquals(StopReason.ON_TARGET, loose.getStopReason());
+        assertEquals(StopReason.ON_TARGET, tight.getStopReason());
+        assertTrue(tight.getNumberOfReplicas() > 10 * loose.getNumberOfReplicas());
+        MetricEstimate estimate = tight.getEstimate("Uniform");
+        assertTrue(estimate.getHalfWidth() <= 0.01);
+        assertEquals(0.5, estimate.getMean(), 0.03);
+    }
+
+    @Test
+    public void stopsAtTheMaximumNumberOfReplicas() {
+        AdaptiveResult result = AdaptiveSimulator.<Double>builder(seed -> new SplittableRandom(seed).nextDouble())
+                .metric("Uniform", Double::doubleValue, 1e-6)
+                .batchSize(64)
+                .maximumReplicas(100)
+                .build()
+                .run(3L);
+        assertEquals(StopReason.MAXIMUM_REPLICAS, result.getStopReason());
+        assertEquals(100, result.getNumberOfReplicas());
+        assertFalse(result.getEstimate("Uniform").isOnTarget());
+    }
+
+    @Test
+    public void stopsWhenTheTimeBudgetIsUsedUp() {
+        AdaptiveResult result = AdaptiveSimulator.<Double>builder(seed -> new SplittableRandom(seed).nextDouble())
+                .metric("Uniform", Double::doubleValue, 1e-9)
+                .timeBudget(Duration.ofMillis(50))
+                .build()
+                .run(4L);
+        assertEquals(StopReason.TIME_BUDGET, result.getStopReason());
+        assertTrue(result.getElapsedTime().compareTo(Duration.ofMillis(50)) >= 0);
+    }
+
+    @Test
+    public void sameSeedGivesSameResult() {
+        AdaptiveSimulator<Double> simulator = uniform(0.02);
+        AdaptiveResult first = simulator.run(5L);
+        AdaptiveResult second = simulator.run(5L);
+        assertEquals(first.getNumberOfReplicas(), second.getNumberOfReplicas());
+        assertEquals(first.getEstimate("Uniform").getMean(), second.getEstimate("Uniform").getMean(), 0.0);
+        assertEquals(first.getEstimate("Uniform").getHalfWidth(), second.getEstimate("Uniform").getHalfWidth(), 0.0);
+    }
+
+    @Test
+    public void games() {
+        GameVariant variant = GameVariant.of(createTeam("HOM"), createTeam("VIS"), params, cardLookup);
+        AdaptiveResult result = AdaptiveSimulator.games(variant)
+                .metric("Home Win%", AdaptiveSimulator.homeWinPct(), 0.1)
+                .metric("Runs per Game", AdaptiveSimulator.runsPerGame(), 1.0)
+                .build()
+                .run(6L);
+        assertEquals(StopReason.ON_TARGET, result.getStopReason());
+        assertEquals(ImmutableList.of("Home Win%", "Runs per Game"), result.getEstimates().stream()
+                .map(MetricEstimate::getName)
+                .collect(ImmutableList.toImmutableList()));
+        double winPct = result.getEstimate("Home Win%").getMean();
+        assertTrue("Was " + winPct, winPct > 0.3 && winPct < 0.7);
+        assertTrue(result.getEstimate("Runs per Game").getMean() > 2.0);
+    }
+
+    @Test
+    public void seasons() {
+        ImmutableList<Team> teams = ImmutableList.of(createTeam("AAA"), createTeam("BBB"));
+        Schedule schedule = Schedule.homeAndAwaySeries(teams, 3);
+        SeasonSimulator simulator = new SeasonSimulator(teams, schedule, params, cardLookup);
+        AdaptiveResult result = AdaptiveSimulator.seasons(simulator)
+                .metric("AAA Wins", AdaptiveSimulator.wins(TeamId.of("AAA")), 0.5)
+                .metric("BBB Wins", AdaptiveSimulator.wins(TeamId.of("BBB")), 0.5)
+                .build()
+                .run(7L);
+        // There are no tie games, so the wins add up to the number of games.
+        assertEquals(schedule.getNumberOfGames(), result.getEstimate("AAA Wins").getMean()
+                + result.getEstimate("BBB Wins").getMean(), 1e-9);
+        ImmutableMap<TeamId, Integer> wins = simulator.playSeason(8L);
+        assertEquals(wins, simulator.playSeason(8L));
+    }
+
+    private static AdaptiveSimulator<Double> uniform(double targetHalfWidth) {
+        return AdaptiveSimulator.<Double>builder(seed -> new SplittableRandom(seed).nextDouble())
+                .metric("Uniform", Double::doubleValue, targetHalfWidth)
+                .build();
+    }
+}
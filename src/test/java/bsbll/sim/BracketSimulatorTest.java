@@ -0,0 +1,83 @@
+package bsbll.sim;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bsbll.TestCardLookups;
+import bsbll.card.Probability;
+import bsbll.game.params.GamePlayParams;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for BracketSimulator.
+ */
+public final class BracketSimulatorTest {
+    private final Team strong = createTeam("STR");
+    private final Team averageA = createTeam("AVA");
+    private final Team averageB = createTeam("AVB");
+    private final Team averageC = createTeam("AVC");
+    private final Team averageD = createTeam("AVD");
+    private final Team averageE = createTeam("AVE");
+    // The strong team has a bye into the semifinal.
+    private final Bracket bracket = Bracket.series(SeriesFormat.BEST_OF_SEVEN_2_3_2,
+            Bracket.series(SeriesFormat.BEST_OF_FIVE_2_2_1,
+                    Bracket.team(strong, 1),
+                    Bracket.series(SeriesFormat.BEST_OF_THREE,
+                            Bracket.team(averageC, 4),
+                            Bracket.team(averageD, 5))),
+            Bracket.series(SeriesFormat.BEST_OF_FIVE_2_2_1,
+                    Bracket.team(averageA, 2),
+                    Bracket.series(SeriesFormat.BEST_OF_THREE,
+                            Bracket.team(averageB, 3),
+                            Bracket.team(averageE, 6))));
+    private final BracketSimulator simulator = new BracketSimulator(bracket, GamePlayParams.defaultParams(),
+            TestCardLookups.strongTeams());
+
+    @Test
+    public void everyReplicaHasOneChampion() {
+        BracketOdds odds = simulator.run(300, 1L);
+        assertEquals(300, odds.getNumberOfReplicas());
+        assertEquals(2, odds.getNumberOfRounds(strong));
+        assertEquals(3, odds.getNumberOfRounds(averageC));
+        int champions = 0;
+        for (Team t : odds.getTeams()) {
+            champions += Math.round(odds.getChampionshipProbability(t).asDouble() * 300);
+            assertEquals(odds.getChampionshipProbability(t),
+                    odds.getAdvanceProbability(t, odds.getNumberOfRounds(t)));
+        }
+        assertEquals(300, champions);
+        // One of the two wild card teams on each side advances.
+        assertEquals(Probability.COMPLETE,
+                odds.getAdvanceProbability(averageC, 1).add(odds.getAdvanceProbability(averageD, 1)));
+        assertTrue(odds.getAdvanceProbability(averageC, 2).compareTo(odds.getAdvanceProbability(averageC, 1)) <= 0);
+    }
+
+    @Test
+    public void strongTeamIsTheFavorite() {
+        BracketOdds odds = simulator.run(300, 2L);
+        Probability strongTitle = odds.getChampionshipProbability(strong);
+        for (Team t : odds.getTeams()) {
+            if (t != strong) {
+                assertTrue(strongTitle.compareTo(odds.getChampionshipProbability(t)) > 0);
+            }
+        }
+    }
+
+    @Test
+    public void sameSeedGivesSameOdds() {
+        BracketOdds first = simulator.run(100, 3L);
+        BracketOdds second = simulator.run(100, 3L);
+        for (Team t : first.getTeams()) {
+            for (int round = 1; round <= first.getNumberOfRounds(t); ++round) {
+                assertEquals(first.getAdvanceProbability(t, round), second.getAdvanceProbability(t, round));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void teamCannotAppearTwice() {
+        Bracket.series(SeriesFormat.ONE_GAME, Bracket.team(strong, 1), Bracket.team(strong, 2));
+    }
+}
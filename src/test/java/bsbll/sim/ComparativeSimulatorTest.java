@@ -0,0 +1,58 @@
+package bsbll.sim;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bsbll.TestCardLookups;
+import bsbll.card.PlayerCardLookup;
+import bsbll.game.GameResult;
+import bsbll.game.params.GamePlayParams;
+import bsbll.sim.ComparativeSimulator.Sampling;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for ComparativeSimulator.
+ */
+public final class ComparativeSimulatorTest {
+    private final PlayerCardLookup cardLookup = TestCardLookups.withBattingCard(
+            p -> p.getId().toString().equals("SLG Batter 4"), TestCardLookups.SLUGGER_CARD);
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+    private final Team visitors = createTeam("VIS");
+    private final GameVariant baseline = GameVariant.of(createTeam("AVG"), visitors, params, cardLookup);
+    private final GameVariant withSlugger = GameVariant.of(createTeam("SLG"), visitors, params, cardLookup);
+
+    @Test
+    public void identicalVariantsGiveIdenticalResults() {
+        ComparativeSimulator simulator = new ComparativeSimulator(baseline, baseline, GameResult::getHomeScore);
+        Comparison comparison = simulator.run(50, 1L, Sampling.COMMON_RANDOM_NUMBERS);
+        assertEquals(0.0, comparison.getMeanDifference(), 0.0);
+        assertEquals(0.0, comparison.getStandardError(), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, comparison.getVarianceReductionFactor(), 0.0);
+    }
+
+    @Test
+    public void commonRandomNumbersReduceTheVariance() {
+        ComparativeSimulator simulator = new ComparativeSimulator(baseline, withSlugger, GameResult::getHomeScore);
+        Comparison independent = simulator.run(400, 2L, Sampling.INDEPENDENT);
+        Comparison common = simulator.run(400, 2L, Sampling.COMMON_RANDOM_NUMBERS);
+        Comparison antithetic = simulator.run(200, 2L, Sampling.ANTITHETIC);
+        assertEquals(400, antithetic.getNumberOfGames());
+        assertTrue(independent.toString(), independent.getVarianceReductionFactor() < 1.5);
+        assertTrue(common.toString(), common.getVarianceReductionFactor() > 2.0);
+        assertTrue(antithetic.toString(), antithetic.getVarianceReductionFactor() > 2.0);
+        assertTrue(common.getStandardError() < independent.getStandardError());
+        // The slugger adds runs.
+        assertTrue(common.toString(), common.getMeanDifference() > 2 * common.getStandardError());
+    }
+
+    @Test
+    public void sameSeedGivesSameComparison() {
+        ComparativeSimulator simulator = new ComparativeSimulator(baseline, withSlugger, GameResult::getHomeScore);
+        Comparison first = simulator.run(50, 3L, Sampling.ANTITHETIC);
+        Comparison second = simulator.run(50, 3L, Sampling.ANTITHETIC);
+        assertEquals(first.getMeanDifference(), second.getMeanDifference(), 0.0);
+        assertEquals(first.getStandardError(), second.getStandardError(), 0.0);
+    }
+}
@@ -0,0 +1,74 @@
+package bsbll.sim;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.card.Probability;
+import bsbll.game.params.GamePlayParams;
+import bsbll.league.Schedule;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for SeasonSimulator.
+ */
+public final class SeasonSimulatorTest {
+    private final Team strong = createTeam("STR");
+    private final Team averageA = createTeam("AVA");
+    private final Team averageB = createTeam("AVB");
+    private final ImmutableList<Team> teams = ImmutableList.of(strong, averageA, averageB);
+    private final Schedule schedule = Schedule.homeAndAwaySeries(teams, 5);
+    private final SeasonSimulator simulator = new SeasonSimulator(
+            teams, schedule, GamePlayParams.defaultParams(), TestCardLookups.strongTeams());
+
+    @Test
+    public void everySeasonIsAccountedFor() {
+        SeasonProjection projection = simulator.run(200, 1L);
+        assertEquals(200, projection.getNumberOfSeasons());
+        double totalWins = 0.0;
+        int pennants = 0;
+        for (Team t : teams) {
+            assertEquals(200, projection.getWins(t).size());
+            assertEquals(200, projection.getFinishingPositions(t).size());
+            assertTrue(projection.getWins(t).lastEntry().getElement() <= schedule.getNumberOfGames(t.getId()));
+            totalWins += projection.getAverageWins(t);
+            pennants += projection.getFinishingPositions(t).count(1);
+        }
+        // There are no tie games.
+        assertEquals(schedule.getNumberOfGames(), totalWins, 1e-9);
+        assertEquals(200, pennants);
+    }
+
+    @Test
+    public void sameSeedGivesSameProjection() {
+        SeasonProjection first = simulator.run(100, 42L);
+        SeasonProjection second = simulator.run(100, 42L);
+        for (Team t : teams) {
+            assertEquals(first.getWins(t), second.getWins(t));
+            assertEquals(first.getFinishingPositions(t), second.getFinishingPositions(t));
+        }
+    }
+
+    @Test
+    public void strongTeamIsTheFavorite() {
+        SeasonProjection projection = simulator.run(200, 7L);
+        Probability strongPennant = projection.getPennantProbability(strong);
+        assertTrue(strongPennant.compareTo(projection.getPennantProbability(averageA)) > 0);
+        assertTrue(strongPennant.compareTo(projection.getPennantProbability(averageB)) > 0);
+        assertTrue(projection.getAverageWins(strong) > projection.getAverageWins(averageA));
+    }
+
+    @Test
+    public void startingPitchersFollowFromTheSchedule() {
+        // STR hosts AVA five times, then visits AVA five times, then hosts AVB.
+        assertEquals(0, schedule.getHomeTeamTurn(0));
+        assertEquals(4, schedule.getHomeTeamTurn(4));
+        assertEquals(5, schedule.getVisitingTeamTurn(5));
+        assertEquals(10, schedule.getHomeTeamTurn(10));
+        assertEquals(0, schedule.getVisitingTeamTurn(10));
+    }
+}
@@ -0,0 +1,146 @@
+package bsbll.sim;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.TestCardLookups;
+import bsbll.bases.BaseHit;
+import bsbll.bases.BaseOccupancy;
+import bsbll.bases.OccupiedBases;
+import bsbll.card.PlayerCardLookup;
+import bsbll.game.GameResult;
+import bsbll.game.params.CompiledGamePlayParams;
+import bsbll.game.params.ErrorCountDistribution;
+import bsbll.game.params.GamePlayParams;
+import bsbll.game.play.EventType;
+import bsbll.league.Schedule;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for SensitivitySweep.
+ */
+public final class SensitivitySweepTest {
+    private final GamePlayParams baseline = GamePlayParams.defaultParams();
+    private final Team home = createTeam("HOM");
+    private final Team visitors = createTeam("VIS");
+    private final PlayerCardLookup cardLookup = TestCardLookups.strongTeams();
+
+    @Test
+    public void gridPointsAreOrderedWithTheLastAxisChangingTheFastest() {
+        SweepTable table = SensitivitySweep.games(baseline, home, visitors, cardLookup)
+                .axis(ParameterAxis.fieldersChoiceRate(0.5, 1.0, 2.0))
+                .axis(ParameterAxis.pitchingEventRate(1.0, 2.0))
+                .metric("Runs", r -> r.getHomeScore() + r.getVisitingScore())
+                .replicasPerPoint(10)
+                .build()
+                .run(1L);
+        assertEquals(ImmutableList.of("Fielder's Choice Rate", "Pitching Event Rate"), table.getAxisNames());
+        assertEquals(6, table.getNumberOfPoints());
+        assertEquals(10, table.getReplicasPerPoint());
+        assertEquals(0.5, table.getAxisValue(0, "Fielder's Choice Rate"), 0.0);
+        assertEquals(2.0, table.getAxisValue(1, "Pitching Event Rate"), 0.0);
+        assertEquals(1.0, table.getAxisValue(2, "Fielder's Choice Rate"), 0.0);
+        assertEquals(2.0, table.getAxisValue(5, "Fielder's Choice Rate"), 0.0);
+    }
+
+    @Test
+    public void morePitchingEventsMeanMoreRuns() {
+        SweepTable table = SensitivitySweep.games(baseline, home, visitors, cardLookup)
+                .axis(ParameterAxis.pitchingEventRate(0.0, 1.0, 25.0))
+                .metric("Runs", r -> r.getHomeScore() + r.getVisitingScore())
+                .metric("Home Win%", r -> r.getHomeScore() > r.getVisitingScore() ? 1.0 : 0.0)
+                .replicasPerPoint(300)
+                .build()
+                .run(2L);
+        assertTrue(table.toString(), table.getMean(2, "Runs") > table.getMean(0, "Runs") 
+                + 2 * table.getStandardError(2, "Runs"));
+        assertEquals(300, table.getReplicasPerPoint());
+    }
+
+    @Test
+    public void sameSeedGivesSameTable() {
+        SensitivitySweep<GameResult> sweep = SensitivitySweep.games(baseline, home, visitors, cardLookup)
+                .axis(ParameterAxis.pitchingEventRate(1.0, 5.0))
+                .metric("Runs", r -> r.getHomeScore() + r.getVisitingScore())
+                .replicasPerPoint(100)
+                .build();
+        SweepTable first = sweep.run(3L);
+        SweepTable second = sweep.run(3L);
+        for (int p = 0; p < first.getNumberOfPoints(); ++p) {
+            assertEquals(first.getMean(p, "Runs"), second.getMean(p, "Runs"), 0.0);
+            assertEquals(first.getStandardError(p, "Runs"), second.getStandardError(p, "Runs"), 0.0);
+        }
+    }
+
+    @Test
+    public void seasons() {
+        Team strong = createTeam("STR");
+        ImmutableList<Team> teams = ImmutableList.of(strong, home);
+        Schedule schedule = Schedule.homeAndAwaySeries(teams, 3);
+        SweepTable table = SensitivitySweep.seasons(baseline, teams, schedule, cardLookup)
+                .axis(ParameterAxis.errorRate(1.0, 2.0))
+                .metric("STR Wins", w -> w.get(strong.getId()))
+                .replicasPerPoint(20)
+                .build()
+                .run(4L);
+        assertEquals(2, table.getNumberOfPoints());
+        assertTrue(table.getMean(0, "STR Wins") > schedule.getNumberOfGames() / 2.0);
+    }
+
+    @Test
+    public void derivedParamsShareTheCompiledAdvances() {
+        GamePlayParams derived = baseline.withPitchingEventProbabilities(
+                baseline.getPitchingEventProbabilities().scaledBy(2.0));
+        assertSame(baseline.getErrorCountDistribution(), derived.getErrorCountDistribution());
+        CompiledGamePlayParams a = baseline.compile();
+        CompiledGamePlayParams b = derived.compile();
+        assertSame(a.getAdvancesOnBaseHit(BaseHit.SINGLE, 1, BaseOccupancy.EMPTY), 
+                b.getAdvancesOnBaseHit(BaseHit.SINGLE, 1, BaseOccupancy.EMPTY));
+        assertEquals(2 * a.getWildPitchProbability(), b.getWildPitchProbability(), 1e-6);
+    }
+
+    @Test
+    public void chainsOfDerivedParamsShareTheCompiledAdvances() {
+        GamePlayParams derived = baseline;
+        for (int n = 0; n < 3; ++n) {
+            derived = derived.withFieldersChoiceProbabilities(
+                    derived.getFieldersChoiceProbabilities().scaledBy(1.1));
+        }
+        // The advances are shared no matter which of the parameters is compiled first.
+        CompiledGamePlayParams last = derived.compile();
+        assertSame(last.getAdvancesOnBaseHit(BaseHit.DOUBLE, 0, BaseOccupancy.LOADED),
+                baseline.compile().getAdvancesOnBaseHit(BaseHit.DOUBLE, 0, BaseOccupancy.LOADED));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fieldersChoiceProbabilityCannotExceedOne() {
+        baseline.getFieldersChoiceProbabilities().scaledBy(1000.0);
+    }
+
+    @Test
+    public void scaledErrorRate() {
+        ErrorCountDistribution errors = ErrorCountDistribution.builder()
+                .setCount(EventType.OUT, OccupiedBases.NONE, 0, 90)
+                .setCount(EventType.OUT, OccupiedBases.NONE, 1, 8)
+                .setCount(EventType.OUT, OccupiedBases.NONE, 2, 2)
+                .build();
+        GamePlayParams params = baseline.withErrorCountDistribution(errors);
+        CompiledGamePlayParams scaled = params.withErrorCountDistribution(errors.scaledBy(3.0)).compile();
+        assertEquals(0.24, scaled.getErrorProbability(EventType.OUT, 1, BaseOccupancy.EMPTY), 1e-9);
+        assertEquals(0.06, scaled.getErrorProbability(EventType.OUT, 2, BaseOccupancy.EMPTY), 1e-9);
+        assertEquals(0.70, scaled.getErrorProbability(EventType.OUT, 0, BaseOccupancy.EMPTY), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void errorProbabilityCannotExceedOne() {
+        ErrorCountDistribution.builder()
+                .setCount(EventType.OUT, OccupiedBases.NONE, 0, 1)
+                .setCount(EventType.OUT, OccupiedBases.NONE, 1, 1)
+                .build()
+                .scaledBy(3.0);
+    }
+}
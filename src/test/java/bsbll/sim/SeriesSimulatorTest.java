@@ -0,0 +1,82 @@
+package bsbll.sim;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import bsbll.TestCardLookups;
+import bsbll.card.PlayerCardLookup;
+import bsbll.card.Probability;
+import bsbll.game.params.GamePlayParams;
+import bsbll.team.Team;
+
+/**
+ * Unit tests for SeriesSimulator.
+ */
+public final class SeriesSimulatorTest {
+    private final Team strong = createTeam("STR");
+    private final Team average = createTeam("AVG");
+    private final PlayerCardLookup cardLookup = TestCardLookups.strongTeams();
+    private final GamePlayParams params = GamePlayParams.defaultParams();
+
+    @Test
+    public void everySeriesIsAccountedFor() {
+        SeriesSimulator simulator = new SeriesSimulator(average, strong, SeriesFormat.BEST_OF_SEVEN_2_3_2,
+                params, cardLookup);
+        SeriesOdds odds = simulator.run(500, 1L);
+        assertEquals(500, odds.getNumberOfSeries());
+        assertEquals(Probability.COMPLETE, odds.getWinProbability(average).add(odds.getWinProbability(strong)));
+        Probability total = Probability.ZERO;
+        for (int games = 4; games <= 7; ++games) {
+            total = total.add(odds.getWinProbability(strong, games));
+        }
+        assertEquals(odds.getWinProbability(strong), total);
+        assertTrue(odds.getAverageNumberOfGames() >= 4.0 && odds.getAverageNumberOfGames() <= 7.0);
+    }
+
+    @Test
+    public void strongTeamIsTheFavorite() {
+        SeriesSimulator simulator = new SeriesSimulator(average, strong, SeriesFormat.BEST_OF_SEVEN_2_3_2,
+                params, cardLookup);
+        SeriesOdds odds = simulator.run(500, 2L);
+        assertTrue(odds.toString(), odds.getWinProbability(strong).asDouble() > 0.7);
+    }
+
+    @Test
+    public void longerSeriesFavorTheStrongerTeam() {
+        SeriesOdds oneGame = new SeriesSimulator(strong, average, SeriesFormat.ONE_GAME, params, cardLookup)
+                .run(1000, 3L);
+        SeriesOdds sevenGames = new SeriesSimulator(strong, average, SeriesFormat.BEST_OF_SEVEN_2_2_1_1_1,
+                params, cardLookup).run(1000, 3L);
+        assertTrue(oneGame.getWinProbability(strong).compareTo(sevenGames.getWinProbability(strong)) < 0);
+        assertEquals(1.0, oneGame.getAverageNumberOfGames(), 0.0);
+    }
+
+    @Test
+    public void sameSeedGivesSameOdds() {
+        SeriesSimulator simulator = new SeriesSimulator(strong, average, SeriesFormat.BEST_OF_FIVE_2_2_1,
+                params, cardLookup);
+        SeriesOdds first = simulator.run(200, 4L);
+        SeriesOdds second = simulator.run(200, 4L);
+        for (int games = 3; games <= 5; ++games) {
+            assertEquals(first.getWinProbability(average, games), second.getWinProbability(average, games));
+        }
+    }
+
+    @Test
+    public void seriesFormat() {
+        SeriesFormat format = SeriesFormat.of("HHAAAHH");
+        assertEquals(SeriesFormat.BEST_OF_SEVEN_2_3_2, format);
+        assertEquals(7, format.getMaximumNumberOfGames());
+        assertEquals(4, format.getWinsNeeded());
+        assertTrue(format.isHomeGameForHigherSeed(1));
+        assertFalse(format.isHomeGameForHigherSeed(3));
+        assertTrue(format.isHomeGameForHigherSeed(7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void seriesFormatMustHaveAnOddNumberOfGames() {
+        SeriesFormat.of("HHAA");
+    }
+}
@@ -0,0 +1,157 @@
+package bsbll.stats;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+import bsbll.player.PlayerName;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+
+/**
+ * Unit tests for ColumnarStats.
+ */
+public final class ColumnarStatsTest {
+    private static final double DELTA = 1e-9;
+
+    private final List<PlayerId> players = createPlayers(30);
+    private final Map<PlayerId, BattingStatLine> battingLines = new HashMap<>();
+    private final Map<PlayerId, PitchingStatLine> pitchingLines = new HashMap<>();
+    private final ColumnarStats stats = new ColumnarStats(players);
+
+    public ColumnarStatsTest() {
+        Random random = new Random(7L);
+        for (int game = 0; game < 1000; ++game) {
+            PlayerId batter = players.get(random.nextInt(20));
+            int pa = 3 + random.nextInt(3);
+            BattingStatLine batting = BattingStatLine.builder()
+                    .set(PrimitiveBattingStat.PLATE_APPEARANCES, pa)
+                    .set(PrimitiveBattingStat.HITS, random.nextInt(pa))
+                    .set(PrimitiveBattingStat.DOUBLES, random.nextInt(2))
+                    .set(PrimitiveBattingStat.HOMERUNS, random.nextInt(2) * random.nextInt(2))
+                    .set(PrimitiveBattingStat.WALKS, random.nextInt(2))
+                    .build();
+            battingLines.merge(batter, batting, BattingStatLine::plus);
+            stats.addBattingStats(batter, batting);
+            PlayerId pitcher = players.get(20 + random.nextInt(9));
+            PitchingStatLine pitching = PitchingStatLine.builder()
+                    .set(PrimitivePitchingStat.OUTS, random.nextInt(28))
+                    .set(PrimitivePitchingStat.HITS, random.nextInt(12))
+                    .set(PrimitivePitchingStat.WALKS, random.nextInt(5))
+                    .set(PrimitivePitchingStat.EARNED_RUNS, random.nextInt(6))
+                    .set(PrimitivePitchingStat.WINS, random.nextInt(2))
+                    .build();
+            pitchingLines.merge(pitcher, pitching, PitchingStatLine::plus);
+            stats.addPitchingStats(pitcher, pitching);
+        }
+    }
+
+    @Test
+    public void derivedStatsMatchTheStatLines() {
+        double[] ba = stats.battingAverages();
+        double[] obp = stats.onBasePercentages();
+        double[] slg = stats.sluggingPercentages();
+        double[] ops = stats.ops();
+        int[] ab = stats.atBats();
+        double[] era = stats.eras();
+        double[] h9 = stats.per9Innings(PrimitivePitchingStat.HITS);
+        double[] whip = stats.whips();
+        double[] pct = stats.winningPercentages();
+        int[] outs = stats.inningsPitched();
+        for (int p = 0; p < players.size(); ++p) {
+            BattingStatLine batting = battingLines.getOrDefault(players.get(p), BattingStatLine.empty());
+            assertEquals(batting.get(BattingStat.AT_BATS).intValue(), ab[p]);
+            assertEquals(batting.get(BattingStat.BATTING_AVERAGE).asDouble(), ba[p], DELTA);
+            assertEquals(batting.get(BattingStat.ON_BASE_PERCENTAGE).asDouble(), obp[p], DELTA);
+            assertEquals(batting.get(BattingStat.SLUGGING_PERCENTAGE).asDouble(), slg[p], DELTA);
+            if (ab[p] > 0) {
+                assertEquals(batting.get(BattingStat.OPS).asDouble(), ops[p], DELTA);
+            }
+            PitchingStatLine pitching = pitchingLines.getOrDefault(players.get(p), PitchingStatLine.empty());
+            assertEquals(pitching.get(PitchingStat.INNINGS_PITCHED).toOuts(), outs[p]);
+            assertEquals(pitching.get(PitchingStat.ERA).asDouble(), era[p], DELTA);
+            assertEquals(pitching.get(PitchingStat.H9).asDouble(), h9[p], DELTA);
+            assertEquals(pitching.get(PitchingStat.WHIP).asDouble(), whip[p], DELTA);
+            assertEquals(pitching.get(PitchingStat.WIN_PCT).asDouble(), pct[p], DELTA);
+        }
+    }
+
+    @Test
+    public void leadersMatchTheMapBasedLeaders() {
+        assertEquals(entries(StatLeaders.batting(battingLines, BattingStat.BATTING_AVERAGE, 5, 200)),
+                entries(StatLeaders.batting(stats, BattingStat.BATTING_AVERAGE, 5, 200)));
+        assertEquals(values(StatLeaders.batting(battingLines, PrimitiveBattingStat.HOMERUNS, 25)),
+                values(StatLeaders.batting(stats, PrimitiveBattingStat.HOMERUNS, 25)));
+        assertEquals(20, StatLeaders.batting(stats, PrimitiveBattingStat.HOMERUNS, 25).getEntries().size());
+        InningsPitched minIPs = InningsPitched.fromOuts(1200);
+        assertEquals(entries(StatLeaders.pitching(pitchingLines, PitchingStat.ERA, 3, minIPs)),
+                entries(StatLeaders.pitching(stats, PitchingStat.ERA, 3, minIPs)));
+    }
+
+    @Test
+    public void leadersRankedByTheColumnsMatchTheMapBasedLeaders() {
+        List<BattingStat<?>> battingStats = Arrays.asList(BattingStat.AT_BATS, BattingStat.TOTAL_BASES,
+                BattingStat.BATTING_AVERAGE, BattingStat.SLUGGING_PERCENTAGE, BattingStat.ON_BASE_PERCENTAGE);
+        for (BattingStat<?> stat : battingStats) {
+            assertEquals(stat.abbrev(), values(StatLeaders.batting(battingLines, stat, 10)),
+                    values(StatLeaders.batting(stats, stat, 10)));
+        }
+        List<PitchingStat<?>> pitchingStats = Arrays.asList(PitchingStat.INNINGS_PITCHED, PitchingStat.WIN_PCT,
+                PitchingStat.ERA, PitchingStat.H9, PitchingStat.SO9, PitchingStat.BB9, PitchingStat.WHIP);
+        for (PitchingStat<?> stat : pitchingStats) {
+            assertEquals(stat.abbrev(), values(StatLeaders.pitching(pitchingLines, stat, 5)),
+                    values(StatLeaders.pitching(stats, stat, 5)));
+        }
+    }
+
+    @Test
+    public void replicasAddUp() {
+        ColumnarStats total = new ColumnarStats(players);
+        total.addAll(stats);
+        total.addAll(stats);
+        PlayerStatLookup lookup = total.asLookup();
+        for (PlayerId id : players) {
+            Player player = new Player(id, PlayerName.fromFullName("John Doe"));
+            BattingStatLine batting = battingLines.getOrDefault(id, BattingStatLine.empty());
+            assertEquals(2 * batting.get(PrimitiveBattingStat.HITS),
+                    lookup.getBattingStat(player, PrimitiveBattingStat.HITS).intValue());
+            assertEquals(batting.plus(batting).get(BattingStat.SLUGGING_PERCENTAGE),
+                    lookup.getBattingStat(player, BattingStat.SLUGGING_PERCENTAGE));
+            PitchingStatLine pitching = pitchingLines.getOrDefault(id, PitchingStatLine.empty());
+            assertEquals(pitching.plus(pitching).get(PitchingStat.INNINGS_PITCHED),
+                    lookup.getPitchingStat(player, PitchingStat.INNINGS_PITCHED));
+        }
+        assertFalse(total.hasBattingStats(29));
+        assertFalse(total.hasPitchingStats(29));
+    }
+
+    private static List<PlayerId> createPlayers(int count) {
+        List<PlayerId> players = new ArrayList<>();
+        for (int n = 0; n < count; ++n) {
+            players.add(PlayerId.of("p" + n));
+        }
+        return players;
+    }
+
+    private static <T> List<String> entries(StatLeaders<T, ?> leaders) {
+        return leaders.getEntries().stream()
+                .map(Object::toString)
+                .collect(Collectors.toList());
+    }
+
+    private static <T> List<T> values(StatLeaders<T, ?> leaders) {
+        return leaders.getEntries().stream()
+                .map(StatLeaders.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+}
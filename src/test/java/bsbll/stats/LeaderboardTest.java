@@ -0,0 +1,92 @@
+package bsbll.stats;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import bsbll.player.PlayerId;
+import bsbll.stats.BattingStat.PrimitiveBattingStat;
+import bsbll.stats.PitchingStat.PrimitivePitchingStat;
+
+/**
+ * Unit tests for Leaderboard.
+ */
+public final class LeaderboardTest {
+
+    @Test
+    public void battingLeadersMatchAFullRanking() {
+        Leaderboard<Average, BattingStat<Average>, BattingStatLine> leaderboard =
+                Leaderboard.batting(BattingStat.BATTING_AVERAGE, 100);
+        Map<PlayerId, BattingStatLine> lines = new HashMap<>();
+        Random random = new Random(1L);
+        for (int game = 0; game < 2000; ++game) {
+            PlayerId player = PlayerId.of("p" + random.nextInt(40));
+            int atBats = 3 + random.nextInt(3);
+            BattingStatLine line = BattingStatLine.builder()
+                    .set(PrimitiveBattingStat.PLATE_APPEARANCES, atBats)
+                    .set(PrimitiveBattingStat.HITS, random.nextInt(atBats + 1))
+                    .build();
+            BattingStatLine seasonLine = lines.merge(player, line, BattingStatLine::plus);
+            leaderboard.update(player, seasonLine);
+            if (game % 50 == 0) {
+                assertEquals(values(StatLeaders.batting(lines, BattingStat.BATTING_AVERAGE, 10, 100)),
+                        values(leaderboard.getLeaders(10)));
+            }
+        }
+        assertEquals(40, leaderboard.getNumberOfQualifiedPlayers());
+        assertEquals(values(StatLeaders.batting(lines, BattingStat.BATTING_AVERAGE, 40, 100)),
+                values(leaderboard.getLeaders(100)));
+    }
+
+    @Test
+    public void pitchersMoveUpAndDownTheLeaderboard() {
+        Leaderboard<Per9IPStat, PitchingStat<Per9IPStat>, PitchingStatLine> leaderboard =
+                Leaderboard.pitching(PitchingStat.ERA, InningsPitched.fromOuts(27));
+        PlayerId a = PlayerId.of("a");
+        PlayerId b = PlayerId.of("b");
+        leaderboard.update(a, pitchingLine(27, 1));
+        leaderboard.update(b, pitchingLine(24, 0));
+        // b has not pitched enough innings to qualify.
+        assertEquals(1, leaderboard.getNumberOfQualifiedPlayers());
+        assertEquals(a, leaderboard.getLeaders(5).getEntries().get(0).getPlayerId());
+        leaderboard.update(b, pitchingLine(51, 0));
+        assertEquals(b, leaderboard.getLeaders(5).getEntries().get(0).getPlayerId());
+        leaderboard.update(b, pitchingLine(54, 9));
+        List<StatLeaders.Entry<Per9IPStat>> entries = leaderboard.getLeaders(5).getEntries();
+        assertEquals(2, entries.size());
+        assertEquals(a, entries.get(0).getPlayerId());
+        assertEquals(b, entries.get(1).getPlayerId());
+        assertEquals(new Per9IPStat(9, InningsPitched.fromOuts(54)), entries.get(1).getValue());
+    }
+
+    @Test
+    public void tiesAreRankedByPlayerId() {
+        Leaderboard<Integer, PrimitiveBattingStat, BattingStatLine> leaderboard =
+                Leaderboard.batting(PrimitiveBattingStat.HOMERUNS, 0);
+        BattingStatLine line = BattingStatLine.builder().set(PrimitiveBattingStat.HOMERUNS, 3).build();
+        leaderboard.update(PlayerId.of("c"), line);
+        leaderboard.update(PlayerId.of("a"), line);
+        leaderboard.update(PlayerId.of("b"), line);
+        assertEquals(3, leaderboard.getNumberOfQualifiedPlayers());
+        assertEquals("[a: 3, b: 3]", leaderboard.getLeaders(2).getEntries().toString());
+    }
+
+    private static PitchingStatLine pitchingLine(int outs, int earnedRuns) {
+        return PitchingStatLine.builder()
+                .set(PrimitivePitchingStat.OUTS, outs)
+                .set(PrimitivePitchingStat.EARNED_RUNS, earnedRuns)
+                .build();
+    }
+
+    private static <T> List<T> values(StatLeaders<T, ?> leaders) {
+        return leaders.getEntries().stream()
+                .map(StatLeaders.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+}
@@ -11,9 +11,9 @@ import org.junit.Test;
 
 import bsbll.player.Player;
 
-public final class BattingOrderTest {
+public final class BattingOrderCursorTest {
     private List<Player> batters;
-    private BattingOrder bo;
+    private BattingOrderCursor bo;
 
     @Before
     public void setup() {
@@ -21,7 +21,7 @@ public final class BattingOrderTest {
         for (int n = 0; n < 9; ++n) {
             batters.add(new Player("p-" + n, "John-" + n + " Doe"));
         }
-        bo = BattingOrder.of(batters);
+        bo = BattingOrder.of(batters).newCursor();
     }
     
     @Test
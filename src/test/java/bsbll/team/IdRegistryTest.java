@@ -0,0 +1,51 @@
+package bsbll.team;
+
+import static bsbll.TestTeams.createTeam;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import bsbll.player.Player;
+import bsbll.player.PlayerId;
+
+public final class IdRegistryTest {
+    private final Team boston = createTeam("BOS");
+    private final Team newYork = createTeam("NYA");
+    private final IdRegistry registry = IdRegistry.of(ImmutableList.of(boston, newYork));
+
+    @Test
+    public void ordinalsAreDense() {
+        assertEquals(2, registry.getNumberOfTeams());
+        assertEquals(0, registry.ordinal(boston.getId()));
+        assertEquals(1, registry.ordinal(newYork.getId()));
+        assertSame(newYork, registry.getTeam(1));
+        assertEquals(24, registry.getNumberOfPlayers());
+        for (int ordinal = 0; ordinal < registry.getNumberOfPlayers(); ++ordinal) {
+            Player player = registry.getPlayer(ordinal);
+            assertEquals(ordinal, registry.ordinal(player));
+            assertTrue(registry.contains(player.getId()));
+        }
+        assertSame(boston.getRoster().getBatters().get(0), registry.getPlayer(0));
+        assertSame(newYork.getRoster().getStartingPitchers().get(3), registry.getPlayer(23));
+    }
+
+    @Test
+    public void unknownPlayers() {
+        PlayerId stranger = PlayerId.of("stranger");
+        assertFalse(registry.contains(stranger));
+        assertEquals(-1, registry.ordinalOrMinusOne(stranger));
+        try {
+            registry.ordinal(stranger);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void teamsMustBeUnique() {
+        IdRegistry.of(ImmutableList.of(boston, boston));
+    }
+}
@@ -0,0 +1,64 @@
+package bsbll.team;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import bsbll.player.Player;
+
+public final class RotationCursorTest {
+    private final List<Player> pitchers = createPitchers();
+    private final Rotation rotation = new Rotation(pitchers);
+
+    private static List<Player> createPitchers() {
+        List<Player> pitchers = new ArrayList<>();
+        for (int n = 0; n < 4; ++n) {
+            pitchers.add(new Player("p-" + n, "John-" + n + " Doe"));
+        }
+        return pitchers;
+    }
+
+    @Test
+    public void twoTimesThroughTheRotation() {
+        RotationCursor cursor = rotation.cursor();
+        for (int n = 0; n < 8; ++n) {
+            assertSame(pitchers.get(n % 4), cursor.getStartingPitcher());
+            assertSame(rotation.getStartingPitcher(n), cursor.getStartingPitcher());
+            cursor = cursor.next();
+        }
+    }
+
+    @Test
+    public void nextDoesNotModifyTheCursor() {
+        RotationCursor first = rotation.cursor();
+        RotationCursor second = first.next();
+        assertSame(pitchers.get(0), first.getStartingPitcher());
+        assertSame(pitchers.get(1), second.getStartingPitcher());
+        assertEquals(first, rotation.cursor());
+        assertEquals(first, second.next().next().next());
+    }
+
+    @Test
+    public void lineupDoesNotAdvanceTheRotation() {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 0; n < 8; ++n) {
+            batters.add(new Player("b-" + n, "John-" + n + " Doe"));
+        }
+        Roster roster = new Roster(batters, pitchers);
+        assertSame(pitchers.get(2), roster.getLineup(pitchers.get(2)).getPitcher());
+        assertSame(pitchers.get(2), roster.getLineup(pitchers.get(2)).getPitcher());
+        assertSame(pitchers.get(2), roster.getLineup(pitchers.get(2)).getBattingOrder().getBatters().get(8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void startingPitcherMustBeInTheRotation() {
+        List<Player> batters = new ArrayList<>();
+        for (int n = 0; n < 8; ++n) {
+            batters.add(new Player("b-" + n, "John-" + n + " Doe"));
+        }
+        new Roster(batters, pitchers).getLineup(batters.get(0));
+    }
+}